@@ -0,0 +1,114 @@
+package com.pawsitivedrive.backend.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Maps local date-times to hour, day and month bucket numbers counted from a fixed start date.
+ * Days are always 24 hours (timestamps are zone-less LocalDateTime, as stored in donations).
+ */
+final class BucketCalendar {
+
+    private final LocalDate start;
+    private final int months;
+    private final int days;
+    // monthStartDay[m] = first day index of month m; dayMonth[d] = month index of day d
+    private final int[] monthStartDay;
+    private final short[] dayMonth;
+
+    BucketCalendar(LocalDate start, int years) {
+        this.start = start.withDayOfMonth(1);
+        this.months = years * 12;
+        this.days = (int) ChronoUnit.DAYS.between(this.start, this.start.plusMonths(months));
+        this.monthStartDay = new int[months];
+        this.dayMonth = new short[days];
+        for (int m = 0; m < months; m++) {
+            monthStartDay[m] = (int) ChronoUnit.DAYS.between(this.start, this.start.plusMonths(m));
+            int end = m + 1 < months ? (int) ChronoUnit.DAYS.between(this.start, this.start.plusMonths(m + 1)) : days;
+            for (int d = monthStartDay[m]; d < end; d++) {
+                dayMonth[d] = (short) m;
+            }
+        }
+    }
+
+    int hours() {
+        return days * 24;
+    }
+
+    int days() {
+        return days;
+    }
+
+    int months() {
+        return months;
+    }
+
+    int monthOfDay(int day) {
+        return dayMonth[day];
+    }
+
+    int firstDayOfMonth(int month) {
+        return monthStartDay[month];
+    }
+
+    /**
+     * Day index of a date; negative or past days() when it falls outside the calendar.
+     */
+    long dayNumber(LocalDate date) {
+        return ChronoUnit.DAYS.between(start, date);
+    }
+
+    /**
+     * Hour bucket of a timestamp, or -1 if it falls outside the calendar.
+     */
+    int hourIndex(LocalDateTime time) {
+        long day = ChronoUnit.DAYS.between(start, time.toLocalDate());
+        if (day < 0 || day >= days) {
+            return -1;
+        }
+        return (int) day * 24 + time.getHour();
+    }
+
+    /**
+     * Clamps a timestamp to an hour index in [0, hours()], rounding up to the next hour boundary.
+     */
+    int clampHourCeil(LocalDateTime time) {
+        long day = ChronoUnit.DAYS.between(start, time.toLocalDate());
+        if (day < 0) {
+            return 0;
+        }
+        if (day >= days) {
+            return hours();
+        }
+        boolean onBoundary = time.getMinute() == 0 && time.getSecond() == 0 && time.getNano() == 0;
+        return (int) Math.min(hours(), day * 24 + time.getHour() + (onBoundary ? 0 : 1));
+    }
+
+    /**
+     * Bucket of the given granularity that contains the hour index.
+     */
+    int bucketOfHour(Granularity granularity, int hour) {
+        return switch (granularity) {
+            case HOUR -> hour;
+            case DAY -> hour / 24;
+            case MONTH -> dayMonth[hour / 24];
+        };
+    }
+
+    int firstHourOf(Granularity granularity, int bucket) {
+        return switch (granularity) {
+            case HOUR -> bucket;
+            case DAY -> bucket * 24;
+            case MONTH -> monthStartDay[bucket] * 24;
+        };
+    }
+
+    LocalDateTime timeOfHour(int hour) {
+        return start.plusDays(hour / 24).atTime(hour % 24, 0);
+    }
+
+    LocalDate start() {
+        return start;
+    }
+}
@@ -0,0 +1,139 @@
+package com.pawsitivedrive.backend.analytics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Donation counts and amounts (centavos) of one (payment_method, status) pair, bucketed by hour, day and
+ * month on a fixed calendar. Days and months are primitive atomic arrays over the whole calendar, so a
+ * donation is a few atomic adds and a query is a loop over a few array slots.
+ *
+ * Hours are only kept for a recent window of days (the caller passes its first day): each day's 24 slots
+ * are allocated on first use and dropped once the day leaves the window, so the hour tier costs a few
+ * hundred bytes per recent day instead of 12 bytes per hour of the calendar.
+ */
+final class BucketSeries {
+
+    final String paymentMethod;
+    final String status;
+
+    private final BucketCalendar calendar;
+    private final int hourlyDays;
+    private final ConcurrentHashMap<Integer, HourDay> hours = new ConcurrentHashMap<>();
+    private final AtomicIntegerArray dayCounts;
+    private final AtomicLongArray dayCents;
+    private final AtomicIntegerArray monthCounts;
+    private final AtomicLongArray monthCents;
+
+    BucketSeries(String paymentMethod, String status, BucketCalendar calendar, int hourlyDays) {
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+        this.calendar = calendar;
+        this.hourlyDays = hourlyDays;
+        this.dayCounts = new AtomicIntegerArray(calendar.days());
+        this.dayCents = new AtomicLongArray(calendar.days());
+        this.monthCounts = new AtomicIntegerArray(calendar.months());
+        this.monthCents = new AtomicLongArray(calendar.months());
+    }
+
+    /**
+     * @param hour          bucket index from {@link BucketCalendar#hourIndex}, already range-checked
+     * @param firstHourlyDay first day of the hour window; earlier days only reach the day and month buckets
+     */
+    void add(int hour, long cents, int firstHourlyDay) {
+        int day = hour / 24;
+        int month = calendar.monthOfDay(day);
+        // One spare day past the window for clocks slightly ahead
+        if (day >= firstHourlyDay && day <= firstHourlyDay + hourlyDays) {
+            HourDay slots = hours.get(day);
+            if (slots == null) {
+                slots = hours.computeIfAbsent(day, d -> new HourDay());
+                hours.keySet().removeIf(d -> d < firstHourlyDay);
+            }
+            slots.counts.incrementAndGet(hour % 24);
+            slots.cents.addAndGet(hour % 24, cents);
+        }
+        dayCounts.incrementAndGet(day);
+        dayCents.addAndGet(day, cents);
+        monthCounts.incrementAndGet(month);
+        monthCents.addAndGet(month, cents);
+    }
+
+    long count(Granularity granularity, int bucket) {
+        return switch (granularity) {
+            case HOUR -> {
+                HourDay slots = hours.get(bucket / 24);
+                yield slots != null ? slots.counts.get(bucket % 24) : 0;
+            }
+            case DAY -> dayCounts.get(bucket);
+            case MONTH -> monthCounts.get(bucket);
+        };
+    }
+
+    long cents(Granularity granularity, int bucket) {
+        return switch (granularity) {
+            case HOUR -> {
+                HourDay slots = hours.get(bucket / 24);
+                yield slots != null ? slots.cents.get(bucket % 24) : 0;
+            }
+            case DAY -> dayCents.get(bucket);
+            case MONTH -> monthCents.get(bucket);
+        };
+    }
+
+    /**
+     * Adds the totals of hours [fromHour, toHour) into {@code into} as {count, cents}. Whole months are
+     * read from the month buckets and whole days from the day buckets, so a multi-year range touches at
+     * most a few hundred slots. Partial days must lie within the hour window.
+     */
+    void sum(int fromHour, int toHour, long[] into) {
+        int h = fromHour;
+        // Leading hours up to the first day boundary
+        while (h < toHour && h % 24 != 0) {
+            addHour(h++, into);
+        }
+        if (h >= toHour) {
+            return;
+        }
+        int day = h / 24;
+        int endDay = toHour / 24;
+        // Leading days up to the first month boundary
+        while (day < endDay && calendar.firstDayOfMonth(calendar.monthOfDay(day)) != day) {
+            addDay(day++, into);
+        }
+        // Whole months
+        while (day < endDay) {
+            int month = calendar.monthOfDay(day);
+            int nextMonthDay = month + 1 < calendar.months() ? calendar.firstDayOfMonth(month + 1) : calendar.days();
+            if (nextMonthDay > endDay) {
+                break;
+            }
+            into[0] += monthCounts.get(month);
+            into[1] += monthCents.get(month);
+            day = nextMonthDay;
+        }
+        // Trailing days, then trailing hours
+        while (day < endDay) {
+            addDay(day++, into);
+        }
+        for (h = endDay * 24; h < toHour; h++) {
+            addHour(h, into);
+        }
+    }
+
+    private void addHour(int hour, long[] into) {
+        into[0] += count(Granularity.HOUR, hour);
+        into[1] += cents(Granularity.HOUR, hour);
+    }
+
+    private void addDay(int day, long[] into) {
+        into[0] += dayCounts.get(day);
+        into[1] += dayCents.get(day);
+    }
+
+    private static final class HourDay {
+        final AtomicIntegerArray counts = new AtomicIntegerArray(24);
+        final AtomicLongArray cents = new AtomicLongArray(24);
+    }
+}
@@ -0,0 +1,301 @@
+package com.pawsitivedrive.backend.analytics;
+
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.archive.DonationArchive;
+import com.pawsitivedrive.backend.service.DonationCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory donation volume by hour, day and month, split by payment_method and status, for charts
+ * over years of history without scanning the donations table per request. Day and month buckets cover
+ * the whole calendar; hour buckets only the last hourly-days days, which keeps the store to a few MB.
+ *
+ * At startup the store is backfilled in the background: the donation id range is cut into chunks that
+ * a small pool scans in parallel with plain JDBC (no entities). Donations committed during or after the
+ * backfill arrive through {@link DonationCreatedEvent}; those the backfill already covered are skipped.
+ * Until the backfill finishes, query results say {@code complete = false}. Archived donations (see
+ * {@link DonationArchive}) are scanned too, so charts keep covering years the hot table no longer holds.
+ */
+@Component
+public class DonationAnalytics {
+
+    public record Bucket(LocalDateTime start, long count, BigDecimal amount) {
+    }
+
+    public record Total(String paymentMethod, String status, long count, BigDecimal amount) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(DonationAnalytics.class);
+    private static final String OTHER = "Other";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchivedDonations archivedDonations;
+    private final BucketCalendar calendar;
+    private final int maxSeries;
+    private final int hourlyDays;
+    private final int backfillWorkers;
+    private final int backfillChunk;
+    private final ConcurrentHashMap<String, BucketSeries> series = new ConcurrentHashMap<>();
+    // Named series created so far, counted inside computeIfAbsent so concurrent new keys cannot pass max-series
+    private final AtomicInteger namedSeries = new AtomicInteger();
+    private final AtomicLong outOfRange = new AtomicLong();
+
+    private final Queue<DonationCreatedEvent> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean complete;
+    private volatile long snapshotMaxId;
+
+    public DonationAnalytics(JdbcTemplate jdbcTemplate,
+                             ArchivedDonations archivedDonations,
+                             @Value("${app.analytics.start-date:2015-01-01}") LocalDate startDate,
+                             @Value("${app.analytics.years:20}") int years,
+                             @Value("${app.analytics.max-series:32}") int maxSeries,
+                             @Value("${app.analytics.hourly-days:92}") int hourlyDays,
+                             @Value("${app.analytics.backfill-workers:4}") int backfillWorkers,
+                             @Value("${app.analytics.backfill-chunk:50000}") int backfillChunk) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archivedDonations = archivedDonations;
+        this.calendar = new BucketCalendar(startDate, years);
+        this.maxSeries = maxSeries;
+        this.hourlyDays = Math.max(1, hourlyDays);
+        this.backfillWorkers = backfillWorkers;
+        this.backfillChunk = backfillChunk;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        Thread thread = new Thread(this::backfill, "analytics-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @TransactionalEventListener
+    public void onDonationCreated(DonationCreatedEvent event) {
+        if (!complete) {
+            pending.add(event);
+            if (complete) {
+                drainPending();
+            }
+            return;
+        }
+        apply(event);
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Buckets of the given size overlapping [from, to), summed over the series that match the filters
+     * (null = any payment method / status). Hourly buckets are only available for the last hourly-days days.
+     */
+    public List<Bucket> series(Granularity granularity, LocalDateTime from, LocalDateTime to,
+                               String paymentMethod, String status, int maxBuckets) {
+        int fromHour = calendar.clampHourCeil(from.withMinute(0).withSecond(0).withNano(0));
+        int toHour = calendar.clampHourCeil(to);
+        List<Bucket> buckets = new ArrayList<>();
+        if (fromHour >= toHour) {
+            return buckets;
+        }
+        int first = calendar.bucketOfHour(granularity, fromHour);
+        int last = calendar.bucketOfHour(granularity, toHour - 1);
+        if (last - first + 1 > maxBuckets) {
+            throw new IllegalArgumentException("Range has " + (last - first + 1) + " buckets; the maximum is " + maxBuckets);
+        }
+        if (granularity == Granularity.HOUR && first / 24 < firstHourlyDay()) {
+            throw new IllegalArgumentException("Hourly buckets only cover the last " + hourlyDays + " days");
+        }
+        List<BucketSeries> matching = matching(paymentMethod, status);
+        for (int b = first; b <= last; b++) {
+            long count = 0;
+            long cents = 0;
+            for (BucketSeries s : matching) {
+                count += s.count(granularity, b);
+                cents += s.cents(granularity, b);
+            }
+            buckets.add(new Bucket(calendar.timeOfHour(calendar.firstHourOf(granularity, b)), count,
+                    BigDecimal.valueOf(cents, 2)));
+        }
+        return buckets;
+    }
+
+    /**
+     * Totals over [from, to) grouped by payment method and/or status. Bounds before the hour window are
+     * widened to whole days.
+     */
+    public List<Total> rollup(LocalDateTime from, LocalDateTime to, boolean byPaymentMethod, boolean byStatus) {
+        int fromHour = calendar.clampHourCeil(from.withMinute(0).withSecond(0).withNano(0));
+        int toHour = calendar.clampHourCeil(to);
+        int firstHourlyDay = firstHourlyDay();
+        if (fromHour / 24 < firstHourlyDay) {
+            fromHour -= fromHour % 24;
+        }
+        if (toHour % 24 != 0 && toHour / 24 < firstHourlyDay) {
+            toHour = Math.min(calendar.hours(), toHour - toHour % 24 + 24);
+        }
+        Map<String, long[]> groups = new LinkedHashMap<>();
+        Map<String, String[]> labels = new LinkedHashMap<>();
+        if (fromHour < toHour) {
+            for (BucketSeries s : series.values()) {
+                String method = byPaymentMethod ? s.paymentMethod : null;
+                String status = byStatus ? s.status : null;
+                String key = method + "\u0000" + status;
+                labels.putIfAbsent(key, new String[] {method, status});
+                s.sum(fromHour, toHour, groups.computeIfAbsent(key, k -> new long[2]));
+            }
+        }
+        List<Total> totals = new ArrayList<>(groups.size());
+        for (Map.Entry<String, long[]> group : groups.entrySet()) {
+            String[] label = labels.get(group.getKey());
+            totals.add(new Total(label[0], label[1], group.getValue()[0], BigDecimal.valueOf(group.getValue()[1], 2)));
+        }
+        return totals;
+    }
+
+    private void backfill() {
+        long start = System.nanoTime();
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(donation_id) FROM donations", Long.class);
+            long snapshot = maxId != null ? maxId : 0L;
+            Long archivedMaxId = archivedDonations.findMaxDonationId();
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, backfillWorkers), runnable -> {
+                Thread thread = new Thread(runnable, "analytics-backfill-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Long>> chunks = new ArrayList<>();
+                for (long from = 0; from < snapshot; from += backfillChunk) {
+                    long lower = from;
+                    long upper = Math.min(snapshot, from + backfillChunk);
+                    chunks.add(pool.submit(() -> scan("donations", lower, upper)));
+                }
+                for (long from = 0; archivedMaxId != null && from < archivedMaxId; from += backfillChunk) {
+                    long lower = from;
+                    long upper = Math.min(archivedMaxId, from + backfillChunk);
+                    chunks.add(pool.submit(() -> scan(DonationArchive.DONATIONS, lower, upper)));
+                }
+                long rows = 0;
+                for (Future<Long> chunk : chunks) {
+                    rows += chunk.get();
+                }
+                snapshotMaxId = snapshot;
+                // Replay parked donations before reporting complete; the second drain catches any parked meanwhile
+                drainPending();
+                complete = true;
+                drainPending();
+                log.info("Donation analytics backfilled {} donations ({} series, {} outside {}+{} months) in {} ms",
+                        rows, series.size(), outOfRange.get(), calendar.start(), calendar.months(),
+                        (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                pool.shutdownNow();
+            }
+        } catch (Exception e) {
+            log.error("Donation analytics backfill failed; charts will stay incomplete", e);
+        }
+    }
+
+    // Streams one id range; each worker adds straight into the shared atomic buckets
+    private long scan(String table, long afterId, long upToId) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT donation_date, amount, payment_method, status FROM " + table + " "
+                            + "WHERE donation_id > ? AND donation_id <= ?");
+            statement.setFetchSize(1000);
+            statement.setLong(1, afterId);
+            statement.setLong(2, upToId);
+            return statement;
+        }, resultSet -> {
+            Timestamp date = resultSet.getTimestamp(1);
+            if (date != null) {
+                record(date.toLocalDateTime(), resultSet.getDouble(2), resultSet.getString(3), resultSet.getString(4));
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private void drainPending() {
+        DonationCreatedEvent event;
+        while ((event = pending.poll()) != null) {
+            apply(event);
+        }
+    }
+
+    private void apply(DonationCreatedEvent event) {
+        if (event.donationId() != null && event.donationId() <= snapshotMaxId) {
+            return;
+        }
+        record(event.donationDate() != null ? event.donationDate() : LocalDateTime.now(), event.amount(),
+                event.paymentMethod(), event.status());
+    }
+
+    private void record(LocalDateTime date, double amount, String paymentMethod, String status) {
+        int hour = calendar.hourIndex(date);
+        if (hour < 0) {
+            outOfRange.incrementAndGet();
+            return;
+        }
+        seriesFor(label(paymentMethod), label(status)).add(hour, Math.round(amount * 100), firstHourlyDay());
+    }
+
+    private int firstHourlyDay() {
+        long today = calendar.dayNumber(LocalDate.now());
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, today - hourlyDays + 1));
+    }
+
+    private BucketSeries seriesFor(String paymentMethod, String status) {
+        String key = paymentMethod + "\u0000" + status;
+        BucketSeries existing = series.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        // Payment methods are free text; past the cap new combinations share one series
+        BucketSeries created = series.computeIfAbsent(key, k ->
+                namedSeries.getAndUpdate(n -> n < maxSeries ? n + 1 : n) < maxSeries
+                        ? new BucketSeries(paymentMethod, status, calendar, hourlyDays) : null);
+        if (created != null) {
+            return created;
+        }
+        return series.computeIfAbsent(OTHER + "\u0000" + OTHER, k -> new BucketSeries(OTHER, OTHER, calendar, hourlyDays));
+    }
+
+    private List<BucketSeries> matching(String paymentMethod, String status) {
+        List<BucketSeries> matching = new ArrayList<>();
+        for (BucketSeries s : series.values()) {
+            if ((paymentMethod == null || s.paymentMethod.equalsIgnoreCase(paymentMethod))
+                    && (status == null || s.status.equalsIgnoreCase(status))) {
+                matching.add(s);
+            }
+        }
+        return matching;
+    }
+
+    private static String label(String value) {
+        return value == null || value.isBlank() ? "Unknown" : value.trim();
+    }
+}
@@ -0,0 +1,6 @@
+package com.pawsitivedrive.backend.analytics;
+
+/**
+ * Bucket size of the donation analytics series.
+ */
+public enum Granularity { HOUR, DAY, MONTH }
@@ -0,0 +1,227 @@
+package com.pawsitivedrive.backend.archive;
+
+import com.pawsitivedrive.backend.entity.DonationHistory;
+import com.pawsitivedrive.backend.entity.DonationReceipt;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads of the archive tables written by {@link DonationArchive}, for requests that explicitly ask for
+ * archived donations (?includeArchived=true). Rows come back as detached entities in the same JSON shape
+ * as the hot tables; users and pets are still looked up from their tables. Without archive tables (see
+ * {@link DonationArchive#available}) every read finds nothing.
+ */
+@Component
+public class ArchivedDonations {
+
+    private static final int CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UsersRepository usersRepository;
+    private final PetsRepository petsRepository;
+    private final DonationArchive donationArchive;
+
+    // DonationArchive moves the rows these queries read
+    public ArchivedDonations(JdbcTemplate jdbcTemplate, UsersRepository usersRepository, PetsRepository petsRepository,
+                             DonationArchive donationArchive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.usersRepository = usersRepository;
+        this.petsRepository = petsRepository;
+        this.donationArchive = donationArchive;
+    }
+
+    public List<Donations> findAll() {
+        if (!donationArchive.available()) {
+            return List.of();
+        }
+        return donations(jdbcTemplate.query("SELECT " + DonationArchive.DONATION_COLUMNS + " FROM "
+                + DonationArchive.DONATIONS + " ORDER BY donation_id", DONATION_ROW));
+    }
+
+    public List<Donations> findByUser(Long userId) {
+        if (!donationArchive.available()) {
+            return List.of();
+        }
+        return donations(jdbcTemplate.query("SELECT " + DonationArchive.DONATION_COLUMNS + " FROM "
+                + DonationArchive.DONATIONS + " WHERE user_id = ? ORDER BY donation_id", DONATION_ROW, userId));
+    }
+
+    public Optional<Donations> findById(Long donationId) {
+        if (!donationArchive.available()) {
+            return Optional.empty();
+        }
+        return donations(jdbcTemplate.query("SELECT " + DonationArchive.DONATION_COLUMNS + " FROM "
+                + DonationArchive.DONATIONS + " WHERE donation_id = ?", DONATION_ROW, donationId)).stream().findFirst();
+    }
+
+    public List<DonationHistory> history(Donations donation) {
+        return jdbcTemplate.query("SELECT " + DonationArchive.HISTORY_COLUMNS + " FROM " + DonationArchive.HISTORY
+                + " WHERE donation_id = ? ORDER BY history_id", (rs, row) -> {
+                    DonationHistory history = new DonationHistory();
+                    history.setHistory_id(rs.getLong("history_id"));
+                    history.setAction(rs.getString("action"));
+                    history.setAction_date(dateTime(rs, "action_date"));
+                    history.setDonation(donation);
+                    return history;
+                }, donation.getDonation_id());
+    }
+
+    public Optional<DonationReceipt> findReceipt(Donations donation) {
+        return jdbcTemplate.query("SELECT " + DonationArchive.RECEIPT_COLUMNS + " FROM " + DonationArchive.RECEIPTS
+                + " WHERE donation_id = ?", (rs, row) -> {
+                    DonationReceipt receipt = new DonationReceipt();
+                    receipt.setReceipt_id(rs.getLong("receipt_id"));
+                    receipt.setReceipt_number(rs.getString("receipt_number"));
+                    receipt.setReceipt_date(dateTime(rs, "receipt_date"));
+                    receipt.setDonor_name(rs.getString("donor_name"));
+                    receipt.setDonor_email(rs.getString("donor_email"));
+                    receipt.setDonor_address(rs.getString("donor_address"));
+                    receipt.setPayment_method(rs.getString("payment_method"));
+                    receipt.setStatus(rs.getString("status"));
+                    receipt.setTransaction_id(rs.getString("transaction_id"));
+                    receipt.setNotes(rs.getString("notes"));
+                    receipt.setDocument_hash(rs.getString("document_hash"));
+                    receipt.setDonation(donation);
+                    return receipt;
+                }, donation.getDonation_id()).stream().findFirst();
+    }
+
+    /**
+     * Returns [receipt_id, document_hash, donation_id] of the archived receipt for a donation (at most one row).
+     */
+    public List<Object[]> findReceiptDocumentRefByDonationId(Long donationId) {
+        return receiptDocumentRef("donation_id", donationId);
+    }
+
+    /**
+     * Returns [receipt_id, document_hash, donation_id] of the archived receipt with this number (at most one row).
+     */
+    public List<Object[]> findReceiptDocumentRefByReceiptNumber(String receiptNumber) {
+        return receiptDocumentRef("receipt_number", receiptNumber);
+    }
+
+    public void setReceiptDocumentHashIfMissing(Long receiptId, String hash) {
+        jdbcTemplate.update("UPDATE " + DonationArchive.RECEIPTS + " SET document_hash = ? WHERE receipt_id = ?"
+                + " AND document_hash IS NULL", hash, receiptId);
+    }
+
+    /**
+     * Returns [user_id, SUM(amount), COUNT] of archived Completed donations, like
+     * DonationsRepository#sumCompletedByUserSince.
+     */
+    public List<Object[]> sumCompletedByUser() {
+        if (!donationArchive.available()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT user_id, SUM(amount), COUNT(*) FROM " + DonationArchive.DONATIONS
+                + " WHERE LOWER(status) = 'completed' GROUP BY user_id", SUM_ROW);
+    }
+
+    /**
+     * Returns [pet_id, SUM(amount), COUNT] of archived Completed donations for pets.
+     */
+    public List<Object[]> sumCompletedByPet() {
+        if (!donationArchive.available()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT pet_id, SUM(amount), COUNT(*) FROM " + DonationArchive.DONATIONS
+                + " WHERE pet_id IS NOT NULL AND LOWER(status) = 'completed' GROUP BY pet_id", SUM_ROW);
+    }
+
+    public Long findMaxDonationId() {
+        if (!donationArchive.available()) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject("SELECT MAX(donation_id) FROM " + DonationArchive.DONATIONS, Long.class);
+    }
+
+    /**
+     * The ids among {@code donationIds} that are archived.
+     */
+    public Set<Long> archivedIds(Collection<Long> donationIds) {
+        Set<Long> archived = new HashSet<>();
+        if (!donationArchive.available()) {
+            return archived;
+        }
+        List<Long> ids = new ArrayList<>(donationIds);
+        for (int from = 0; from < ids.size(); from += CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + CHUNK));
+            archived.addAll(jdbcTemplate.queryForList("SELECT donation_id FROM " + DonationArchive.DONATIONS
+                    + " WHERE donation_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")",
+                    Long.class, chunk.toArray()));
+        }
+        return archived;
+    }
+
+    private List<Object[]> receiptDocumentRef(String column, Object value) {
+        if (!donationArchive.available()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT receipt_id, document_hash, donation_id FROM " + DonationArchive.RECEIPTS
+                + " WHERE " + column + " = ?", (rs, row) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getLong(3)},
+                value);
+    }
+
+    private record Row(Donations donation, Long userId, Long petId) {
+    }
+
+    private static final RowMapper<Row> DONATION_ROW = (rs, row) -> {
+        Donations donation = new Donations();
+        donation.setDonation_id(rs.getLong("donation_id"));
+        donation.setAmount(rs.getDouble("amount"));
+        donation.setDonation_date(dateTime(rs, "donation_date"));
+        donation.setPayment_method(rs.getString("payment_method"));
+        donation.setStatus(rs.getString("status"));
+        donation.setHistories(new ArrayList<>());
+        return new Row(donation, rs.getObject("user_id", Long.class), rs.getObject("pet_id", Long.class));
+    };
+
+    private static final RowMapper<Object[]> SUM_ROW = (rs, row) ->
+            new Object[] {rs.getLong(1), rs.getDouble(2), rs.getLong(3)};
+
+    // One query each for the users and pets of all rows
+    private List<Donations> donations(List<Row> rows) {
+        Map<Long, Users> users = usersRepository.findAllById(ids(rows, Row::userId)).stream()
+                .collect(Collectors.toMap(Users::getUser_id, Function.identity()));
+        Map<Long, Pets> pets = petsRepository.findAllById(ids(rows, Row::petId)).stream()
+                .collect(Collectors.toMap(Pets::getPet_id, Function.identity()));
+        List<Donations> donations = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            row.donation().setUser(users.get(row.userId()));
+            row.donation().setPet(row.petId() != null ? pets.get(row.petId()) : null);
+            donations.add(row.donation());
+        }
+        return donations;
+    }
+
+    private static Set<Long> ids(List<Row> rows, Function<Row, Long> id) {
+        return rows.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static LocalDateTime dateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
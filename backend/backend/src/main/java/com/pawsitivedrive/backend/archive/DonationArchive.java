@@ -0,0 +1,211 @@
+package com.pawsitivedrive.backend.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps donations, donation_history and donation_receipt small: once a calendar month is older than
+ * hot-months, its donations are moved together with their history and receipts into donations_archive,
+ * donation_history_archive and donation_receipt_archive, in batches of one transaction each.
+ *
+ * The archive tables carry an archive_month column (yyyyMM of the donation date, also on the history and
+ * receipt rows so a month stays together). Migration V7 creates them on MySQL compressed and
+ * RANGE-partitioned by that column, and a partition is split off for each archived month; the hot tables
+ * cannot be partitioned because MySQL does not allow foreign keys on partitioned tables. Where ddl-auto
+ * builds the schema the tables come from the archive entities, unpartitioned. Archived rows are only read
+ * when a request asks for them, see {@link ArchivedDonations}.
+ */
+@Component
+public class DonationArchive implements AutoCloseable {
+
+    public static final String DONATIONS = "donations_archive";
+    public static final String HISTORY = "donation_history_archive";
+    public static final String RECEIPTS = "donation_receipt_archive";
+
+    static final String DONATION_COLUMNS = "donation_id, amount, donation_date, payment_method, status, user_id, pet_id";
+    static final String HISTORY_COLUMNS = "history_id, action, action_date, donation_id";
+    static final String RECEIPT_COLUMNS = "receipt_id, receipt_number, receipt_date, donor_name, donor_email, "
+            + "donor_address, payment_method, status, transaction_id, notes, document_hash, donation_id";
+
+    private static final Logger log = LoggerFactory.getLogger(DonationArchive.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean mysql;
+    private final boolean available;
+    private final int hotMonths;
+    private final int batchSize;
+    private final Counter archived;
+    private final ScheduledExecutorService archiver;
+
+    public DonationArchive(JdbcTemplate jdbcTemplate,
+                           DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.archive.enabled:true}") boolean enabled,
+                           @Value("${app.archive.hot-months:24}") int hotMonths,
+                           @Value("${app.archive.batch-size:500}") int batchSize,
+                           @Value("${app.archive.initial-delay:10m}") Duration initialDelay,
+                           @Value("${app.archive.interval:24h}") Duration interval) throws SQLException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotMonths = hotMonths;
+        this.batchSize = batchSize;
+        // The JPA transaction manager comes after the schema, so tables built by ddl-auto exist by now
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, DONATIONS,
+                     new String[] {"TABLE"})) {
+            this.mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            this.available = tables.next();
+        }
+        this.archived = Counter.builder("pawsitive.archive.donations")
+                .description("Donations moved to donations_archive (with their history and receipts)")
+                .register(meterRegistry);
+        if (!enabled || !available) {
+            if (enabled) {
+                log.warn("Donation archival is enabled but {} does not exist; run the migrations", DONATIONS);
+            }
+            archiver = null;
+            return;
+        }
+        archiver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "donation-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The first run waits so it does not move rows while the startup backfills read both tables
+        archiver.scheduleWithFixedDelay(this::archiveSafely, initialDelay.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether the archive tables exist, i.e. there can be archived donations to read.
+     */
+    public boolean available() {
+        return available;
+    }
+
+    /**
+     * Archives every month before the last hot-months (the current month counts as one); returns the
+     * number of donations moved.
+     */
+    public synchronized long archiveColdMonths() {
+        YearMonth cutoff = YearMonth.now().minusMonths(hotMonths - 1L);
+        long moved = 0;
+        // Jumps from one month with donations to the next (over idx_donations_date), skipping empty months
+        Timestamp next = jdbcTemplate.queryForObject("SELECT MIN(donation_date) FROM donations", Timestamp.class);
+        while (next != null && YearMonth.from(next.toLocalDateTime()).isBefore(cutoff)) {
+            YearMonth month = YearMonth.from(next.toLocalDateTime());
+            moved += archiveMonth(month);
+            next = jdbcTemplate.queryForObject("SELECT MIN(donation_date) FROM donations WHERE donation_date >= ?",
+                    Timestamp.class, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+        }
+        return moved;
+    }
+
+    @Override
+    public void close() {
+        if (archiver != null) {
+            archiver.shutdownNow();
+        }
+    }
+
+    static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private void archiveSafely() {
+        try {
+            archiveColdMonths();
+        } catch (Exception e) {
+            log.warn("Donation archival failed; it is retried on the next run", e);
+        }
+    }
+
+    private long archiveMonth(YearMonth month) {
+        if (mysql) {
+            // DDL commits implicitly on MySQL, so partitions are added before the batches start
+            for (String table : List.of(DONATIONS, HISTORY, RECEIPTS)) {
+                addPartition(table, month);
+            }
+        }
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        long start = System.nanoTime();
+        long moved = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status -> moveBatch(from, to, monthKey(month)));
+            batch = count != null ? count : 0;
+            moved += batch;
+            archived.increment(batch);
+        } while (batch == batchSize);
+        if (moved > 0) {
+            log.info("Archived {} donations from {} in {} ms", moved, month, (System.nanoTime() - start) / 1_000_000);
+        }
+        return moved;
+    }
+
+    private int moveBatch(Timestamp from, Timestamp to, int monthKey) {
+        // Locking the donations keeps history or receipt rows from being added to them mid-move
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT donation_id FROM donations WHERE donation_date >= ? AND donation_date < ? "
+                        + "ORDER BY donation_id LIMIT " + batchSize + " FOR UPDATE", Long.class, from, to);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = " WHERE donation_id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] args = ids.toArray();
+        copy("donations", DONATIONS, DONATION_COLUMNS, monthKey, in, args);
+        copy("donation_history", HISTORY, HISTORY_COLUMNS, monthKey, in, args);
+        copy("donation_receipt", RECEIPTS, RECEIPT_COLUMNS, monthKey, in, args);
+        jdbcTemplate.update("DELETE FROM donation_history" + in, args);
+        jdbcTemplate.update("DELETE FROM donation_receipt" + in, args);
+        jdbcTemplate.update("DELETE FROM donations" + in, args);
+        return ids.size();
+    }
+
+    private void copy(String table, String archive, String columns, int monthKey, String where, Object[] args) {
+        jdbcTemplate.update("INSERT INTO " + archive + " (" + columns + ", archive_month) SELECT " + columns
+                + ", " + monthKey + " FROM " + table + where, args);
+    }
+
+    private void addPartition(String table, YearMonth month) {
+        // Tables built by ddl-auto (development) are not partitioned
+        Integer partitioned = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME = 'pmax'", Integer.class, table);
+        if (partitioned == null || partitioned == 0) {
+            return;
+        }
+        Long bound = jdbcTemplate.queryForObject(
+                "SELECT MAX(CAST(PARTITION_DESCRIPTION AS UNSIGNED)) FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_DESCRIPTION <> 'MAXVALUE'",
+                Long.class, table);
+        int upper = monthKey(month.plusMonths(1));
+        // Months below the last bound already fall into an existing partition
+        if (bound == null || bound < upper) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION pmax INTO (PARTITION p"
+                    + monthKey(month) + " VALUES LESS THAN (" + upper + "), PARTITION pmax VALUES LESS THAN MAXVALUE)");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pawsitivedrive.backend.audit;
+
+import java.util.Arrays;
+
+/**
+ * Donation id -> log offsets of its records, in primitive arrays: an open-addressing table from donation
+ * id to the newest record's slot, and an arena of (offset, older slot) links. That is about 12 bytes per
+ * record plus 24 per donation, without a boxed Long or list per entry.
+ */
+final class OffsetIndex {
+
+    private static final int NONE = -1;
+
+    private long[] keys = new long[1024];
+    private int[] heads = filled(1024);
+    private int donations;
+
+    private long[] offsets = new long[1024];
+    private int[] older = new int[1024];
+    private int records;
+
+    synchronized void add(long donationId, long offset) {
+        if ((donations + 1) * 2 > keys.length) {
+            resizeTable();
+        }
+        if (records == offsets.length) {
+            offsets = Arrays.copyOf(offsets, records * 2);
+            older = Arrays.copyOf(older, records * 2);
+        }
+        int slot = find(keys, heads, donationId);
+        if (heads[slot] == NONE) {
+            keys[slot] = donationId;
+            donations++;
+        }
+        offsets[records] = offset;
+        older[records] = heads[slot];
+        heads[slot] = records++;
+    }
+
+    /**
+     * Offsets of the donation's records, oldest first.
+     */
+    synchronized long[] get(long donationId) {
+        int slot = find(keys, heads, donationId);
+        int count = 0;
+        for (int r = heads[slot]; r != NONE; r = older[r]) {
+            count++;
+        }
+        long[] result = new long[count];
+        for (int r = heads[slot]; r != NONE; r = older[r]) {
+            result[--count] = offsets[r];
+        }
+        return result;
+    }
+
+    synchronized int donations() {
+        return donations;
+    }
+
+    synchronized int records() {
+        return records;
+    }
+
+    private void resizeTable() {
+        long[] newKeys = new long[keys.length * 2];
+        int[] newHeads = filled(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            if (heads[i] != NONE) {
+                int slot = find(newKeys, newHeads, keys[i]);
+                newKeys[slot] = keys[i];
+                newHeads[slot] = heads[i];
+            }
+        }
+        keys = newKeys;
+        heads = newHeads;
+    }
+
+    // Linear probing; the table is at most half full, so there is always an empty slot
+    private static int find(long[] keys, int[] heads, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (heads[slot] != NONE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+}
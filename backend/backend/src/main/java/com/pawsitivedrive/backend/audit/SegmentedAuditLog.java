@@ -0,0 +1,491 @@
+package com.pawsitivedrive.backend.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of audit entries in memory-mapped segment files named by their base offset. A record
+ * is [length][CRC32C][sequence, donation id, epoch second, nano, action]; a zero length marks the end.
+ *
+ * Appends are queued and written by one thread, which takes everything queued (up to max-batch), writes
+ * it in one go and forces that range to disk once: group commit, so a burst of donations costs one sync
+ * instead of one insert each. The returned future completes once the entry is durable.
+ *
+ * Full segments are sealed and a new one starts at the next offset. {@link #compact} rewrites all sealed
+ * segments into one, keeping only the donations the caller still knows. On startup the segments are
+ * scanned to rebuild the in-memory {@link OffsetIndex}; a torn or corrupt tail of the newest segment is
+ * cut off, and records already seen (left over from an interrupted compaction) are skipped by sequence.
+ *
+ * Sequence numbers only ever increase. The writer takes them in blocks from a {@link Sequences} source,
+ * asking for at least the one after the highest on disk, so they can share an id space with other records;
+ * by default the log numbers its entries itself, starting at 1.
+ */
+public class SegmentedAuditLog implements AutoCloseable {
+
+    public record Entry(long sequence, long donationId, LocalDateTime timestamp, String action) {
+    }
+
+    /**
+     * Hands out blocks of sequence numbers: returns the first of {@code count} numbers, none below
+     * {@code atLeast}, that nobody else will use.
+     */
+    @FunctionalInterface
+    public interface Sequences {
+        long reserve(long atLeast, int count);
+    }
+
+    private record Pending(long donationId, String action, LocalDateTime timestamp, CompletableFuture<Entry> done) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedAuditLog.class);
+    private static final int HEADER = 8;
+    private static final int FIXED = 8 + 8 + 8 + 4 + 2;
+    private static final int MAX_ACTION_BYTES = 1024;
+    private static final Pending STOP = new Pending(0, null, null, null);
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxBatch;
+    private final Sequences sequences;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // Readers and the writer share it; compaction takes it exclusively to swap segments and the index
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock compacting = new ReentrantLock();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong batches = new AtomicLong();
+    private final Thread writer;
+    private volatile OffsetIndex index;
+    private volatile Segment active;
+    private volatile boolean closed;
+    private volatile LocalDateTime newest;
+    // Writer thread only, after recovery; numbers from nextSequence up to reservedEnd are ours to use
+    private long nextSequence;
+    private long reservedEnd;
+
+    public SegmentedAuditLog(Path dir, int segmentBytes, int maxBatch) throws IOException {
+        this(dir, segmentBytes, maxBatch, (atLeast, count) -> atLeast);
+    }
+
+    public SegmentedAuditLog(Path dir, int segmentBytes, int maxBatch, Sequences sequences) throws IOException {
+        if (segmentBytes < (HEADER + FIXED + MAX_ACTION_BYTES) * maxBatch) {
+            throw new IllegalArgumentException("Segment size " + segmentBytes + " cannot hold a batch of " + maxBatch);
+        }
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = maxBatch;
+        this.sequences = sequences;
+        Files.createDirectories(dir);
+        recover();
+        this.writer = new Thread(this::writeLoop, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues an entry; the future completes with its sequence number once it is on disk.
+     */
+    public CompletableFuture<Entry> append(long donationId, String action, LocalDateTime timestamp) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Audit log is closed"));
+        }
+        if (action != null && action.getBytes(StandardCharsets.UTF_8).length > MAX_ACTION_BYTES) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Audit action is longer than " + MAX_ACTION_BYTES + " bytes"));
+        }
+        Pending pending = new Pending(donationId, action, timestamp, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.done();
+    }
+
+    /**
+     * The donation's entries, oldest first.
+     */
+    public List<Entry> read(long donationId) {
+        swapLock.readLock().lock();
+        try {
+            long[] offsets = index.get(donationId);
+            List<Entry> entries = new ArrayList<>(offsets.length);
+            for (long offset : offsets) {
+                Map.Entry<Long, Segment> segment = segments.floorEntry(offset);
+                Entry entry = segment == null ? null : decode(segment.getValue().buffer, (int) (offset - segment.getKey()));
+                if (entry == null) {
+                    log.warn("Audit record at offset {} failed its checksum; skipped", offset);
+                } else {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites every sealed segment into a single one that keeps the records of the donations returned by
+     * {@code live} (called with all donation ids found in those segments). Returns the number of records
+     * dropped, or -1 if a compaction is already running or there is nothing to compact.
+     */
+    public long compact(Function<Set<Long>, Set<Long>> live) throws IOException {
+        if (!compacting.tryLock()) {
+            return -1;
+        }
+        try {
+            List<Segment> sealed = new ArrayList<>(segments.headMap(active.base).values());
+            if (sealed.isEmpty()) {
+                return -1;
+            }
+            Set<Long> donationIds = new HashSet<>();
+            for (Segment segment : sealed) {
+                scan(segment, segment.limit, (offset, entry) -> donationIds.add(entry.donationId()));
+            }
+            Set<Long> keep = live.apply(donationIds);
+
+            long base = sealed.get(0).base;
+            Path target = dir.resolve(fileName(base));
+            Path temp = dir.resolve(fileName(base) + ".compacting");
+            long[] kept = new long[2];
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Segment segment : sealed) {
+                    scan(segment, segment.limit, (offset, entry) -> {
+                        kept[1]++;
+                        if (!keep.contains(entry.donationId())) {
+                            return;
+                        }
+                        int position = (int) (offset - segment.base);
+                        int length = HEADER + segment.buffer.getInt(position);
+                        byte[] record = new byte[length];
+                        segment.buffer.get(position, record);
+                        try {
+                            ByteBuffer source = ByteBuffer.wrap(record);
+                            while (source.hasRemaining()) {
+                                out.write(source);
+                            }
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                        kept[0]++;
+                    });
+                }
+                out.force(true);
+            }
+
+            swapLock.writeLock().lock();
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                for (Segment segment : sealed) {
+                    segments.remove(segment.base);
+                    if (segment.base != base) {
+                        Files.deleteIfExists(segment.path);
+                    }
+                }
+                Segment compacted = Segment.openSealed(target, base);
+                compacted.limit = compacted.buffer.capacity();
+                segments.put(base, compacted);
+                OffsetIndex rebuilt = new OffsetIndex();
+                for (Segment segment : segments.values()) {
+                    scan(segment, segment.limit, (offset, entry) -> rebuilt.add(entry.donationId(), offset));
+                }
+                index = rebuilt;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            long dropped = kept[1] - kept[0];
+            log.info("Compacted {} audit segments into one: kept {} records, dropped {}", sealed.size(), kept[0], dropped);
+            return dropped;
+        } finally {
+            compacting.unlock();
+        }
+    }
+
+    /**
+     * Whether the log holds any entry for the donation.
+     */
+    public boolean contains(long donationId) {
+        return index.get(donationId).length > 0;
+    }
+
+    /**
+     * Time of the newest entry, or null while the log is empty.
+     */
+    public LocalDateTime newestTimestamp() {
+        return newest;
+    }
+
+    public int sealedSegments() {
+        return segments.headMap(active.base).size();
+    }
+
+    public int records() {
+        return index.records();
+    }
+
+    public long batches() {
+        return batches.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        queue.add(STOP);
+        writer.join();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+        try (Stream<Path> listing = Files.list(dir)) {
+            for (Path leftover : listing.filter(path -> path.getFileName().toString().endsWith(".compacting")).toList()) {
+                Files.delete(leftover);
+            }
+        }
+        OffsetIndex rebuilt = new OffsetIndex();
+        long[] lastSequence = {0};
+        LocalDateTime[] newestSeen = {null};
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            long base = Long.parseLong(path.getFileName().toString().replace(".log", ""));
+            boolean last = i == files.size() - 1;
+            Segment segment = last ? Segment.openWritable(path, base, segmentBytes) : Segment.openSealed(path, base);
+            int end = scan(segment, segment.buffer.capacity(), (offset, entry) -> {
+                if (entry.sequence() > lastSequence[0]) {
+                    rebuilt.add(entry.donationId(), offset);
+                    lastSequence[0] = entry.sequence();
+                    newestSeen[0] = later(newestSeen[0], entry.timestamp());
+                }
+            });
+            segment.limit = end;
+            if (end + HEADER <= segment.buffer.capacity() && segment.buffer.getInt(end) != 0) {
+                log.warn("Audit segment {} has a torn or corrupt record at {}; later records are ignored", path, end);
+                if (last) {
+                    // Clear the tail so the next scan stops where new appends end
+                    for (int p = end; p < segment.buffer.capacity(); p++) {
+                        segment.buffer.put(p, (byte) 0);
+                    }
+                    segment.buffer.force();
+                }
+            }
+            segments.put(base, segment);
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, Segment.openWritable(dir.resolve(fileName(0)), 0, segmentBytes));
+        }
+        active = segments.lastEntry().getValue();
+        index = rebuilt;
+        nextSequence = lastSequence[0] + 1;
+        reservedEnd = nextSequence;
+        newest = newestSeen[0];
+        log.info("Audit log opened: {} records for {} donations in {} segments", rebuilt.records(),
+                rebuilt.donations(), segments.size());
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            boolean stop = batch.removeIf(pending -> pending == STOP);
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+            batch.clear();
+            if (stop) {
+                break;
+            }
+        }
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            if (pending != STOP) {
+                pending.done().completeExceptionally(new IllegalStateException("Audit log is closed"));
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        swapLock.readLock().lock();
+        try {
+            if (nextSequence + batch.size() > reservedEnd) {
+                int count = Math.max(batch.size(), maxBatch);
+                nextSequence = sequences.reserve(nextSequence, count);
+                reservedEnd = nextSequence + count;
+            }
+            List<Entry> entries = new ArrayList<>(batch.size());
+            ByteBuffer encoded = ByteBuffer.allocate(batch.size() * (HEADER + FIXED + MAX_ACTION_BYTES));
+            int[] starts = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+                Entry entry = new Entry(nextSequence++, pending.donationId(), pending.timestamp(), pending.action());
+                starts[i] = encoded.position();
+                encode(encoded, entry);
+                entries.add(entry);
+            }
+            if (active.limit + encoded.position() > active.buffer.capacity()) {
+                roll();
+            }
+            Segment segment = active;
+            int from = segment.limit;
+            segment.buffer.put(from, encoded.array(), 0, encoded.position());
+            segment.buffer.force(from, encoded.position());
+            segment.limit = from + encoded.position();
+            batches.incrementAndGet();
+            for (int i = 0; i < entries.size(); i++) {
+                index.add(entries.get(i).donationId(), segment.base + from + starts[i]);
+                newest = later(newest, entries.get(i).timestamp());
+                batch.get(i).done().complete(entries.get(i));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Audit log write of {} entries failed", batch.size(), e);
+            for (Pending pending : batch) {
+                pending.done().completeExceptionally(e);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        Segment full = active;
+        full.buffer.force();
+        long base = full.base + full.limit;
+        Segment next = Segment.openWritable(dir.resolve(fileName(base)), base, segmentBytes);
+        segments.put(base, next);
+        active = next;
+        log.info("Audit segment {} sealed at {} bytes; continuing in {}", full.path.getFileName(), full.limit,
+                next.path.getFileName());
+    }
+
+    private interface RecordVisitor {
+        void visit(long offset, Entry entry);
+    }
+
+    // Visits the valid records up to the first empty, torn or corrupt one; returns where that is
+    private static int scan(Segment segment, int upTo, RecordVisitor visitor) {
+        int position = 0;
+        while (position + HEADER <= upTo) {
+            int length = segment.buffer.getInt(position);
+            if (length < FIXED || position + HEADER + length > upTo) {
+                break;
+            }
+            Entry entry = decode(segment.buffer, position);
+            if (entry == null) {
+                break;
+            }
+            visitor.visit(segment.base + position, entry);
+            position += HEADER + length;
+        }
+        return position;
+    }
+
+    private static void encode(ByteBuffer out, Entry entry) {
+        byte[] action = entry.action() == null ? new byte[0] : entry.action().getBytes(StandardCharsets.UTF_8);
+        if (action.length > MAX_ACTION_BYTES) {
+            throw new IllegalArgumentException("Audit action is longer than " + MAX_ACTION_BYTES + " bytes");
+        }
+        int start = out.position();
+        out.position(start + HEADER);
+        out.putLong(entry.sequence());
+        out.putLong(entry.donationId());
+        out.putLong(entry.timestamp().toEpochSecond(ZoneOffset.UTC));
+        out.putInt(entry.timestamp().getNano());
+        out.putShort((short) action.length);
+        out.put(action);
+        int length = out.position() - start - HEADER;
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), start + HEADER, length);
+        out.putInt(start, length);
+        out.putInt(start + 4, (int) crc.getValue());
+    }
+
+    // Null if the checksum does not match
+    private static Entry decode(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        long sequence = in.getLong();
+        long donationId = in.getLong();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        int actionLength = in.getShort();
+        if (actionLength < 0 || actionLength != in.remaining()) {
+            return null;
+        }
+        byte[] action = new byte[actionLength];
+        in.get(action);
+        return new Entry(sequence, donationId, timestamp, new String(action, StandardCharsets.UTF_8));
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a == null || b.isAfter(a) ? b : a;
+    }
+
+    private static String fileName(long base) {
+        return String.format("%020d.log", base);
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long base;
+        final MappedByteBuffer buffer;
+        // End of the valid records; written by the writer thread (or compaction under the swap lock)
+        volatile int limit;
+
+        private Segment(Path path, long base, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.buffer = buffer;
+        }
+
+        // Maps the full segment size; the file grows to it (sparse until written)
+        static Segment openWritable(Path path, long base, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                return new Segment(path, base, channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.max(size, channel.size())));
+            }
+        }
+
+        static Segment openSealed(Path path, long base) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return new Segment(path, base, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+    }
+}
@@ -2,42 +2,78 @@ package com.pawsitivedrive.backend.config;
 
 import com.pawsitivedrive.backend.entity.Roles;
 import com.pawsitivedrive.backend.repository.RolesRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Ensures critical data (like application roles) are present in the database on startup.
  * This prevents the "Invalid role" error during the first user signup by guaranteeing
  * that the "Donor" and "Admin" roles are available for lookup.
+ *
+ * With app.seed.async=true (the prod profile) the check runs on a background thread so it does not
+ * delay serving traffic; on an already-seeded database it is a single query either way.
  */
 @Configuration
 public class DataSeeder {
 
     @Bean
-    public CommandLineRunner initDatabase(RolesRepository rolesRepository) {
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Roles must exist before other startup runners (e.g. the datagen profile)
+    public CommandLineRunner initDatabase(RolesRepository rolesRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.seed.async:false}") boolean async) {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
         return args -> {
-            // These are the exact role names expected by your frontend (Signup.jsx)
-            List<String> requiredRoles = Arrays.asList("Donor", "Admin");
+            if (async) {
+                Thread thread = new Thread(() -> seedRoles(rolesRepository, readWrite), "role-seeder");
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                seedRoles(rolesRepository, readWrite);
+            }
+        };
+    }
 
-            System.out.println("Starting database role seeding...");
+    private static void seedRoles(RolesRepository rolesRepository, TransactionTemplate readWrite) {
+        // These are the exact role names expected by your frontend (Signup.jsx)
+        List<String> requiredRoles = Arrays.asList("Donor", "Admin");
 
-            requiredRoles.forEach(roleName -> {
-                // Check if the role already exists using the case-insensitive repository method
-                if (rolesRepository.findByRoleNameIgnoreCase(roleName).isEmpty()) {
-                    Roles newRole = new Roles();
-                    newRole.setRole_name(roleName);
-                    rolesRepository.save(newRole);
-                    System.out.println("-> Successfully seeded required role: " + roleName);
-                } else {
-                    System.out.println("-> Role already exists: " + roleName);
-                }
-            });
-           
-            System.out.println("Database role seeding complete.");
-        };
+        // findAll() alone is a read-only transaction, which replica routing sends to a replica; read the primary
+        Set<String> existing = readWrite.execute(status -> rolesRepository.findAll()).stream()
+                .map(role -> role.getRole_name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<String> missing = requiredRoles.stream()
+                .filter(roleName -> !existing.contains(roleName.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (missing.isEmpty()) {
+            System.out.println("Database roles already seeded.");
+            return;
+        }
+
+        System.out.println("Starting database role seeding...");
+        missing.forEach(roleName -> {
+            try {
+                Roles newRole = new Roles();
+                newRole.setRole_name(roleName);
+                rolesRepository.save(newRole);
+                System.out.println("-> Successfully seeded required role: " + roleName);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance starting at the same time got there first (role_name is unique)
+                System.out.println("-> Role already exists: " + roleName);
+            }
+        });
+        System.out.println("Database role seeding complete.");
     }
-}
\ No newline at end of file
+}
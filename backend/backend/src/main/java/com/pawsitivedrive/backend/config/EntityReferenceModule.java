@@ -0,0 +1,123 @@
+package com.pawsitivedrive.backend.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional id-reference encoding for entity graphs: when active, a property holding another entity is
+ * written as that entity's id ({@code "user": 12}) and a collection of entities as an array of ids,
+ * instead of the nested object. Admin lists use it to avoid repeating the same user and pet in every row.
+ *
+ * It is switched on per response by writing with the {@link #ID_REFERENCES} filter provider, which
+ * controllers do through {@link #byId(Object)} and plain ObjectMapper users through
+ * {@code mapper.writer(ID_REFERENCES)}. The provider defines no filters of its own; it only marks the
+ * write. Works the same for JSON, CBOR and Smile.
+ */
+public class EntityReferenceModule extends SimpleModule {
+
+    public static final FilterProvider ID_REFERENCES = new SimpleFilterProvider().setFailOnUnknownId(false);
+
+    private static final ConcurrentHashMap<Class<?>, Field> ID_FIELDS = new ConcurrentHashMap<>();
+
+    public EntityReferenceModule() {
+        super("EntityReferenceModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> properties) {
+                for (int i = 0; i < properties.size(); i++) {
+                    BeanPropertyWriter writer = properties.get(i);
+                    JavaType type = writer.getType();
+                    if (isEntity(type.getRawClass())
+                            || (type.isCollectionLikeType() && isEntity(type.getContentType().getRawClass()))) {
+                        properties.set(i, new IdReferenceWriter(writer));
+                    }
+                }
+                return properties;
+            }
+        });
+    }
+
+    /**
+     * Wraps a response body so nested entities are written as ids.
+     */
+    public static MappingJacksonValue byId(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(ID_REFERENCES);
+        return value;
+    }
+
+    private static boolean isEntity(Class<?> type) {
+        return type.isAnnotationPresent(Entity.class);
+    }
+
+    private static Object identifier(Object entity) {
+        if (entity instanceof HibernateProxy proxy) {
+            // Does not initialize the proxy
+            return proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        Field field = ID_FIELDS.computeIfAbsent(entity.getClass(), EntityReferenceModule::findIdField);
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read the id of " + entity.getClass().getName(), e);
+        }
+    }
+
+    private static Field findIdField(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            }
+        }
+        throw new IllegalStateException(type.getName() + " has no @Id field");
+    }
+
+    private static final class IdReferenceWriter extends BeanPropertyWriter {
+
+        IdReferenceWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (prov.getConfig().getFilterProvider() != ID_REFERENCES) {
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+            Object value = get(bean);
+            gen.writeFieldName(_name);
+            if (value == null) {
+                gen.writeNull();
+            } else if (value instanceof Collection<?> entities) {
+                gen.writeStartArray();
+                for (Object entity : entities) {
+                    prov.defaultSerializeValue(entity != null ? identifier(entity) : null, gen);
+                }
+                gen.writeEndArray();
+            } else {
+                prov.defaultSerializeValue(identifier(value), gen);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.pawsitivedrive.backend.config;
+
+import com.pawsitivedrive.backend.loadshed.AdaptiveConcurrencyLimit;
+import com.pawsitivedrive.backend.loadshed.LoadSheddingFilter;
+import com.pawsitivedrive.backend.loadshed.LoadSheddingHealthIndicator;
+import com.pawsitivedrive.backend.loadshed.LoadSheddingProperties;
+import com.pawsitivedrive.backend.loadshed.PoolPressure;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive load shedding (see the loadshed package). The health indicator always exists because the
+ * readiness group lists it; with app.load-shedding.enabled=false it reports UP and no filter is registered.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+public class LoadSheddingConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(LoadSheddingProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimit(properties, new PoolPressure(meterRegistry));
+    }
+
+    @Bean
+    public LoadSheddingHealthIndicator loadSheddingHealthIndicator(AdaptiveConcurrencyLimit limit,
+                                                                   LoadSheddingProperties properties) {
+        return new LoadSheddingHealthIndicator(limit, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(AdaptiveConcurrencyLimit limit,
+                                                                         LoadSheddingProperties properties,
+                                                                         MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(
+                new LoadSheddingFilter(limit, properties, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // After the rate limiter, so abusive clients are turned away without taking a slot, and before
+        // idempotency, whose key lookups already need a database connection
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
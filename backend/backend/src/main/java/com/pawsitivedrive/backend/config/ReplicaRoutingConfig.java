@@ -0,0 +1,123 @@
+package com.pawsitivedrive.backend.config;
+
+import com.pawsitivedrive.backend.datasource.ReadYourWrites;
+import com.pawsitivedrive.backend.datasource.ReadYourWritesFilter;
+import com.pawsitivedrive.backend.datasource.ReplicaProperties;
+import com.pawsitivedrive.backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, enabled with app.datasource.replicas.enabled=true and one or more
+ * app.datasource.replicas.nodes[n].url entries. Replaces the auto-configured DataSource with
+ * LazyConnectionDataSourceProxy -> {@link ReplicaRoutingDataSource} -> Hikari pools for the primary
+ * (spring.datasource.*) and each replica.
+ *
+ * The pools are deliberately not beans: the only DataSource bean is the router, so Spring Boot's
+ * DataSource auto-configuration backs off and {@link SqlProxyConfig} wraps exactly one DataSource.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled=true needs at least one app.datasource.replicas.nodes[n].url");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // spring.datasource.hikari.* still applies to the primary pool
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            ReplicaProperties.Node node = properties.getNodes().get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : primary.getUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : primary.getPassword());
+            if (primary.getDriverClassName() != null) {
+                replica.setDriverClassName(primary.getDriverClassName());
+            }
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            replica.setReadOnly(true);
+            // A replica that is down at startup must not stop the application; it joins once reachable
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas,
+                properties.getHealthCheckInterval().toMillis(), meterRegistry);
+        return new RoutingProxy(router);
+    }
+
+    /**
+     * Spring's default DELAYED_ACQUISITION_AND_HOLD keeps one connection per EntityManager, which with
+     * open-in-view means per request: a request that reads and then writes would write to the replica
+     * its first read was routed to. Releasing after each transaction lets every transaction route anew.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaRoutingConnectionHandling() {
+        return hibernateProperties -> hibernateProperties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties properties) {
+        return new ReadYourWrites(properties.getStickyWindow().toMillis(), properties.getMaxTrackedClients());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWrites readYourWrites,
+                                                                             ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(readYourWrites, properties.isTrustForwardedFor()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 110);
+        return registration;
+    }
+
+    // Closeable so context shutdown (through the datasource-proxy wrapper) closes the pools
+    private static final class RoutingProxy extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final ReplicaRoutingDataSource router;
+
+        RoutingProxy(ReplicaRoutingDataSource router) {
+            super(router);
+            this.router = router;
+        }
+
+        @Override
+        public void close() {
+            router.close();
+        }
+    }
+}
@@ -2,6 +2,10 @@
 
 package com.pawsitivedrive.backend.config;
 
+import com.pawsitivedrive.backend.tracing.TracedPasswordEncoder;
+import com.pawsitivedrive.backend.tracing.Tracer;
+import com.pawsitivedrive.backend.web.AdminTokenFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,6 +13,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; 
 import org.springframework.security.crypto.password.PasswordEncoder;     
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.web.cors.CorsConfiguration;
@@ -22,14 +27,20 @@ public class SecurityConfig {
 
     /**
      * Defines the PasswordEncoder (BCrypt) required by AuthController for hashing passwords.
+     * The work factor is configurable so the benchmarks can measure the strength we actually run with.
+     * Each hash gets its own trace span.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength, Tracer tracer) {
+        return new TracedPasswordEncoder(new BCryptPasswordEncoder(strength), tracer);
     }
 
+    /**
+     * /api/admin/** needs the X-Admin-Token header to match app.admin.token; unset, those endpoints are closed.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${app.admin.token:}") String adminToken) throws Exception {
         http
             // 1. Explicitly enable and apply CORS configuration
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) 
@@ -46,7 +57,12 @@ public class SecurityConfig {
                 .requestMatchers("/api/applications/**").permitAll()
                 .requestMatchers("/api/donations/**").permitAll()
                 .requestMatchers("/api/users/**").permitAll()
+                .requestMatchers("/api/leaderboards/**").permitAll()
+                .requestMatchers("/api/analytics/**").permitAll()
+                .requestMatchers("/api/receipts/**").permitAll()
                 .requestMatchers("/uploads/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             
@@ -55,6 +71,8 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             );
 
+        http.addFilterBefore(new AdminTokenFilter(adminToken), AuthorizationFilter.class);
+
         // Disable unnecessary default security features
         http.httpBasic(AbstractHttpConfigurer::disable);
         http.formLogin(AbstractHttpConfigurer::disable);
@@ -0,0 +1,58 @@
+package com.pawsitivedrive.backend.config;
+
+import com.pawsitivedrive.backend.metrics.SqlStatementBudgetFilter;
+import com.pawsitivedrive.backend.metrics.SqlStatementListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes all JDBC traffic through a datasource-proxy so statements can be counted per HTTP request
+ * and slow ones logged with their bind parameter types. This replaces spring.jpa.show-sql, which printed
+ * every statement to stdout synchronously.
+ */
+@Configuration
+public class SqlProxyConfig {
+
+    /**
+     * Wraps the application's DataSource. Static so it is registered before the DataSource is created;
+     * the listener is looked up lazily for the same reason.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SqlStatementListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql.response-headers:false}") boolean responseHeaders,
+            @Value("${app.sql.repeated-statement-threshold:10}") int repeatedStatementThreshold,
+            @Value("${app.sql.statement-budget:25}") int statementBudget) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementBudgetFilter(meterRegistry, responseHeaders, repeatedStatementThreshold, statementBudget));
+        registration.addUrlPatterns("/api/*");
+        // Outside the security filter chain so the whole request is measured
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
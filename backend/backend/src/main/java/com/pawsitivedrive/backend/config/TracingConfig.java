@@ -0,0 +1,68 @@
+package com.pawsitivedrive.backend.config;
+
+import com.pawsitivedrive.backend.tracing.OtlpJsonFileExporter;
+import com.pawsitivedrive.backend.tracing.RepositorySpans;
+import com.pawsitivedrive.backend.tracing.SerializationSpans;
+import com.pawsitivedrive.backend.tracing.Tracer;
+import com.pawsitivedrive.backend.tracing.TracingFilter;
+import com.pawsitivedrive.backend.tracing.TracingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+
+/**
+ * In-process request tracing (see the tracing package). The Tracer bean always exists so services can open
+ * spans unconditionally; with app.tracing.enabled=false no request starts a trace and every span is a no-op.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public Tracer tracer(TracingProperties properties, MeterRegistry meterRegistry) throws IOException {
+        if (!properties.isEnabled()) {
+            return Tracer.noop();
+        }
+        return new Tracer(properties.getSampleRate(), new OtlpJsonFileExporter(properties, meterRegistry));
+    }
+
+    /**
+     * Static, like the DataSource proxy post-processor, so it is registered before the repositories are created.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static RepositorySpans repositorySpans(ObjectProvider<Tracer> tracer) {
+        return new RepositorySpans(tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.addUrlPatterns("/api/*");
+        // Outermost of our filters, so the request span covers SQL counting, replica routing, security,
+        // rate limiting and idempotency as well
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 90);
+        return registration;
+    }
+
+    // Ends the serialize span once the handler has written the response
+    @Bean
+    public WebMvcConfigurer serializationSpanInterceptor(SerializationSpans serializationSpans) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(serializationSpans);
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.pawsitivedrive.backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings next to JSON for every controller: clients that send Accept: application/cbor or
+ * application/x-jackson-smile get the same document in that format (request bodies are accepted in them
+ * too). JSON stays the default for Accept: *&#47;* and browsers.
+ *
+ * The converters are built from Spring Boot's ObjectMapper builder, so spring.jackson.* settings and
+ * registered modules apply to all three formats alike. As beans they replace the unconfigured CBOR/Smile
+ * converters Spring MVC would add on its own, at the same position after the JSON converter.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public Module entityReferenceModule() {
+        return new EntityReferenceModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
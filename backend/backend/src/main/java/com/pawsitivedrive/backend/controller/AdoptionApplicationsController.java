@@ -1,11 +1,13 @@
 package com.pawsitivedrive.backend.controller;
 
+import com.pawsitivedrive.backend.config.EntityReferenceModule;
 import com.pawsitivedrive.backend.entity.AdoptionApplications;
-import com.pawsitivedrive.backend.entity.Pets;
-import com.pawsitivedrive.backend.entity.Users;
-import com.pawsitivedrive.backend.repository.AdoptionApplicationsRepository;
-import com.pawsitivedrive.backend.repository.PetsRepository;
-import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.AdoptionService;
+import com.pawsitivedrive.backend.service.BulkResult;
+import com.pawsitivedrive.backend.service.PendingApplicationIndex;
+import com.pawsitivedrive.backend.service.SparseFieldsets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
@@ -13,128 +15,130 @@ import org.springframework.web.server.ResponseStatusException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/applications")
 public class AdoptionApplicationsController {
 
-	private final AdoptionApplicationsRepository repository;
-	private final PetsRepository petsRepository;
-	private final UsersRepository usersRepository;
+	private final AdoptionService adoptionService;
+	private final PendingApplicationIndex pendingIndex;
+	private final SparseFieldsets sparseFieldsets;
+	private final int bulkMaxIds;
 
 	public AdoptionApplicationsController(
-			AdoptionApplicationsRepository repository,
-			PetsRepository petsRepository,
-			UsersRepository usersRepository) {
-		this.repository = repository;
-		this.petsRepository = petsRepository;
-		this.usersRepository = usersRepository;
+			AdoptionService adoptionService,
+			PendingApplicationIndex pendingIndex,
+			SparseFieldsets sparseFieldsets,
+			@Value("${app.bulk.max-ids:1000}") int bulkMaxIds) {
+		this.adoptionService = adoptionService;
+		this.pendingIndex = pendingIndex;
+		this.sparseFieldsets = sparseFieldsets;
+		this.bulkMaxIds = bulkMaxIds;
 	}
 
+	// ?refs=id writes pet, user and reviewer as ids instead of nested objects; ?fields=status,pet_name
+	// returns only those columns (plus application_id), see SparseFieldsets
 	@GetMapping
-	public List<AdoptionApplications> list() {
-		return repository.findAll();
+	public Object list(@RequestParam(required = false) String refs,
+			@RequestParam(required = false) String fields) {
+		if (fields != null) {
+			return sparseFieldsets.list(SparseFieldsets.APPLICATIONS, fields, Map.of());
+		}
+		List<AdoptionApplications> applications = adoptionService.list();
+		return "id".equalsIgnoreCase(refs) ? EntityReferenceModule.byId(applications) : applications;
 	}
 
 	@GetMapping("/user/{userId}")
 	public List<AdoptionApplications> getByUser(@PathVariable Long userId) {
-		Users user = usersRepository.findById(userId)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-		return repository.findByUser(user);
+		return adoptionService.listByUser(userId);
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<AdoptionApplications> get(@PathVariable Long id) {
-		return repository.findById(id)
+	public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields) {
+		if (fields != null) {
+			Optional<Map<String, Object>> row = sparseFieldsets.get(SparseFieldsets.APPLICATIONS, fields, id);
+			return row.isPresent() ? ResponseEntity.ok(row.get()) : ResponseEntity.notFound().build();
+		}
+		return adoptionService.get(id)
 			.map(ResponseEntity::ok)
 			.orElse(ResponseEntity.notFound().build());
 	}
 
 	@PostMapping
-	public ResponseEntity<AdoptionApplications> create(@RequestBody Map<String, Object> request) {
+	public ResponseEntity<?> create(@RequestBody Map<String, Object> request) {
+		boolean reserved = false;
+		Long petId = null;
+		Long userId = null;
 		try {
 			// Extract pet and user from request
-			Map<String, Object> petMap = (Map<String, Object>) request.get("pet");
-			Map<String, Object> userMap = (Map<String, Object>) request.get("user");
-			
-			if (petMap == null || userMap == null) {
+			if (request.get("pet") == null || request.get("user") == null) {
 				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pet and user are required");
 			}
 			
-			// Get pet_id and user_id
-			Long petId = null;
-			Long userId = null;
-			
-			// Try different possible field names for IDs
-			if (petMap.get("pet_id") != null) {
-				petId = Long.valueOf(petMap.get("pet_id").toString());
-			} else if (petMap.get("id") != null) {
-				petId = Long.valueOf(petMap.get("id").toString());
-			}
-			
-			if (userMap.get("user_id") != null) {
-				userId = Long.valueOf(userMap.get("user_id").toString());
-			} else if (userMap.get("id") != null) {
-				userId = Long.valueOf(userMap.get("id").toString());
-			}
+			// Get pet_id and user_id (either "pet_id"/"user_id" or "id")
+			petId = RequestPayloads.nestedId(request, "pet", "pet_id");
+			userId = RequestPayloads.nestedId(request, "user", "user_id");
 			
 			if (petId == null || userId == null) {
 				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pet ID and User ID are required");
 			}
+
+			String status = request.get("status") != null ? request.get("status").toString() : "Pending";
+
+			// Repeat submissions (e.g. a double-click in Adopt.jsx) are turned away before any query
+			if ("Pending".equalsIgnoreCase(status)) {
+				if (!pendingIndex.tryReserve(userId, petId)) {
+					return duplicate();
+				}
+				reserved = true;
+			}
 			
-			// Fetch entities from database
-			Pets pet = petsRepository.findById(petId)
-				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pet not found"));
-			
-			Users user = usersRepository.findById(userId)
-				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-			
-			// Create new application
-			AdoptionApplications app = new AdoptionApplications();
-			app.setPet(pet);
-			app.setUser(user);
-			app.setStatus(request.get("status") != null ? request.get("status").toString() : "Pending");
-			
-			AdoptionApplications saved = repository.save(app);
+			// Pet and user lookups and the insert share one transaction
+			AdoptionApplications saved = adoptionService.submit(petId, userId, status);
+			reserved = false;
 			return ResponseEntity.created(URI.create("/api/applications/" + saved.getApplication_id())).body(saved);
+		} catch (DataIntegrityViolationException e) {
+			if (!ApiExceptionHandler.isUniqueViolation(e)) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to create application: " + e.getMessage());
+			}
+			// Lost the race on the unique pending_key (e.g. another instance, or the index was cold)
+			return duplicate();
 		} catch (ResponseStatusException e) {
 			throw e;
 		} catch (Exception e) {
 			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to create application: " + e.getMessage());
+		} finally {
+			if (reserved) {
+				pendingIndex.release(userId, petId);
+			}
 		}
 	}
 
+	private ResponseEntity<Map<String, Object>> duplicate() {
+		return ResponseEntity.status(HttpStatus.CONFLICT)
+			.body(Map.of("message", "You already have a pending application for this pet."));
+	}
+
 	@PutMapping("/{id}")
 	public ResponseEntity<AdoptionApplications> updateStatus(
 			@PathVariable Long id,
 			@RequestBody Map<String, Object> request) {
-		AdoptionApplications app = repository.findById(id)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Application not found"));
-		
-		// Update status
-		if (request.get("status") != null) {
-			String status = request.get("status").toString();
-			app.setStatus(status);
-			
-			// If approved, update pet status to Adopted
-			if ("Approved".equalsIgnoreCase(status)) {
-				Pets pet = app.getPet();
-				pet.setStatus("Adopted");
-				petsRepository.save(pet);
-			}
-		}
-		
-		// Update reviewed_by if provided
-		if (request.get("reviewed_by") != null) {
-			Long reviewerId = Long.valueOf(request.get("reviewed_by").toString());
-			Users reviewer = usersRepository.findById(reviewerId)
-				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reviewer not found"));
-			app.setReviewedBy(reviewer);
+		String status = request.get("status") != null ? request.get("status").toString() : null;
+		Long reviewerId = request.get("reviewed_by") != null ? RequestPayloads.toLong(request.get("reviewed_by")) : null;
+
+		// Approval claims the pet and rejects competing applications atomically (409 if it lost the race)
+		return ResponseEntity.ok(adoptionService.review(id, status, reviewerId));
+	}
+
+	// Body: {"ids": [4, 5, 6], "status": "Approved", "reviewed_by": 1}
+	@PutMapping("/bulk/review")
+	public ResponseEntity<BulkResult> bulkReview(@RequestBody Map<String, Object> request) {
+		List<Long> ids = RequestPayloads.idList(request, "ids", bulkMaxIds);
+		if (request.get("status") == null || request.get("status").toString().isBlank()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status is required");
 		}
-		
-		AdoptionApplications updated = repository.save(app);
-		return ResponseEntity.ok(updated);
+		Long reviewerId = request.get("reviewed_by") != null ? RequestPayloads.toLong(request.get("reviewed_by")) : null;
+		return ResponseEntity.ok(adoptionService.reviewAll(ids, request.get("status").toString(), reviewerId));
 	}
 }
-
-
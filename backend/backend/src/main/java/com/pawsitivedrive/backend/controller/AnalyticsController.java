@@ -0,0 +1,99 @@
+package com.pawsitivedrive.backend.controller;
+
+import com.pawsitivedrive.backend.analytics.DonationAnalytics;
+import com.pawsitivedrive.backend.analytics.Granularity;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Donation volume charts served from {@link DonationAnalytics}.
+ * Dates are ISO (2024-05-01 or 2024-05-01T13:00); ranges are [from, to).
+ */
+@RestController
+@RequestMapping("/api/analytics/donations")
+public class AnalyticsController {
+
+    private static final int MAX_BUCKETS = 10_000;
+
+    private final DonationAnalytics analytics;
+
+    public AnalyticsController(DonationAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    // e.g. /series?granularity=day&from=2024-01-01&to=2024-02-01&status=Completed
+    @GetMapping("/series")
+    public Map<String, Object> series(@RequestParam(defaultValue = "day") String granularity,
+                                      @RequestParam(required = false) String from,
+                                      @RequestParam(required = false) String to,
+                                      @RequestParam(name = "payment_method", required = false) String paymentMethod,
+                                      @RequestParam(required = false) String status) {
+        Granularity size = parseGranularity(granularity);
+        LocalDateTime end = to != null ? parseDate(to, "to") : LocalDateTime.now();
+        LocalDateTime start = from != null ? parseDate(from, "from") : switch (size) {
+            case HOUR -> end.minusHours(48);
+            case DAY -> end.minusDays(30);
+            case MONTH -> end.minusMonths(12);
+        };
+
+        long started = System.nanoTime();
+        Map<String, Object> body = new LinkedHashMap<>();
+        try {
+            body.put("buckets", analytics.series(size, start, end, paymentMethod, status, MAX_BUCKETS));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        body.put("granularity", size);
+        body.put("from", start);
+        body.put("to", end);
+        body.put("complete", analytics.isComplete());
+        body.put("took_us", (System.nanoTime() - started) / 1_000);
+        return body;
+    }
+
+    // e.g. /rollup?from=2020-01-01&to=2025-01-01&group_by=payment_method
+    @GetMapping("/rollup")
+    public Map<String, Object> rollup(@RequestParam(required = false) String from,
+                                      @RequestParam(required = false) String to,
+                                      @RequestParam(name = "group_by", defaultValue = "payment_method,status") String groupBy) {
+        LocalDateTime end = to != null ? parseDate(to, "to") : LocalDateTime.now();
+        LocalDateTime start = from != null ? parseDate(from, "from") : end.minusYears(1);
+        String grouping = groupBy.toLowerCase(Locale.ROOT);
+
+        long started = System.nanoTime();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("totals", analytics.rollup(start, end, grouping.contains("payment_method"), grouping.contains("status")));
+        body.put("from", start);
+        body.put("to", end);
+        body.put("complete", analytics.isComplete());
+        body.put("took_us", (System.nanoTime() - started) / 1_000);
+        return body;
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        try {
+            return Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be hour, day or month");
+        }
+    }
+
+    private static LocalDateTime parseDate(String value, String name) {
+        try {
+            return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be an ISO date or date-time");
+        }
+    }
+}
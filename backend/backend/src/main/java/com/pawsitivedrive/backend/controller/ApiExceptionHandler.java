@@ -0,0 +1,44 @@
+package com.pawsitivedrive.backend.controller;
+
+import com.pawsitivedrive.backend.service.SparseFieldsets;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Maps persistence conflicts to HTTP status codes so concurrent edits surface as 409 instead of 500,
+ * and bad ?fields= selections to 400.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> optimisticLock(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "The record was modified by someone else. Reload and try again."));
+    }
+
+    @ExceptionHandler(SparseFieldsets.UnknownFieldException.class)
+    public ResponseEntity<Map<String, Object>> unknownField(SparseFieldsets.UnknownFieldException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    /**
+     * True if the violation was a unique constraint/index (duplicate key) rather than e.g. a NOT NULL
+     * or length violation. Spring reports all of them as DataIntegrityViolationException.
+     */
+    public static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+}
@@ -4,16 +4,22 @@ package com.pawsitivedrive.backend.controller;
 
 import com.pawsitivedrive.backend.entity.Roles;
 import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.metrics.DomainMetrics;
+import com.pawsitivedrive.backend.profiling.LoginVerificationEvent;
 import com.pawsitivedrive.backend.repository.RolesRepository;
 import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.EmailBloomFilter;
+import com.pawsitivedrive.backend.service.UserService;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder; // <-- NEW IMPORT
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestController // <-- CRITICAL: Must be a RestController
 @RequestMapping("/api/auth")
@@ -22,12 +28,21 @@ public class AuthController {
     private final UsersRepository usersRepository;
     private final RolesRepository rolesRepository;
     private final PasswordEncoder passwordEncoder; // <-- NEW: Inject the encoder
+    private final DomainMetrics domainMetrics;
+    private final EmailBloomFilter emailFilter;
+    private final UserService userService;
+    // Roles can be added but never renamed or deleted, so found roles are safe to keep
+    private final Map<String, Roles> rolesByName = new ConcurrentHashMap<>();
 
     // Inject PasswordEncoder into the constructor
-    public AuthController(UsersRepository usersRepository, RolesRepository rolesRepository, PasswordEncoder passwordEncoder) {
+    public AuthController(UsersRepository usersRepository, RolesRepository rolesRepository, PasswordEncoder passwordEncoder,
+                          DomainMetrics domainMetrics, EmailBloomFilter emailFilter, UserService userService) {
         this.usersRepository = usersRepository;
         this.rolesRepository = rolesRepository;
         this.passwordEncoder = passwordEncoder; // <-- Initialize the encoder
+        this.domainMetrics = domainMetrics;
+        this.emailFilter = emailFilter;
+        this.userService = userService;
     }
 
     @PostMapping("/signup")
@@ -44,11 +59,8 @@ public class AuthController {
         if (name.isEmpty() || email.isEmpty() || password.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Missing fields"));
         }
-        if (usersRepository.findByEmail(email).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Email already registered"));
-        }
-        
-        Optional<Roles> roleOpt = rolesRepository.findByRoleNameIgnoreCase(roleName);
+        // No findByEmail here: the unique index on users.email decides, in the same round trip as the insert
+        Optional<Roles> roleOpt = findRole(roleName);
         if (roleOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Invalid role"));
         }
@@ -69,10 +81,15 @@ public class AuthController {
         
         try {
             Users saved = usersRepository.save(user);
+            emailFilter.add(email);
             // Optionally remove the password before sending the response body back
             saved.setPassword(null);
+            domainMetrics.userSignedUp();
             return ResponseEntity.status(HttpStatus.CREATED).body(saved);
         } catch (DataIntegrityViolationException e) {
+            if (ApiExceptionHandler.isUniqueViolation(e)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Email already registered"));
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Registration failed due to data constraints."));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "An unexpected server error occurred during registration."));
@@ -83,12 +100,29 @@ public class AuthController {
     public ResponseEntity<?> login(@RequestBody Map<String, String> body) {
         String email = body.getOrDefault("email", "").trim().toLowerCase();
         String rawPassword = body.getOrDefault("password", "");
-        Optional<Users> userOpt = usersRepository.findByEmail(email);
+        LoginVerificationEvent event = new LoginVerificationEvent();
+        event.begin();
+
+        // Addresses that were never registered are turned away without a lookup
+        if (!emailFilter.mightContain(email)) {
+            return loginFailed(event, "unknown-email");
+        }
+        // The response includes the user's profiles and donations, loaded before the transaction ends
+        Optional<Users> userOpt = userService.findByEmail(email);
+        if (userOpt.isEmpty()) {
+            return loginFailed(event, "no-user");
+        }
+        event.userId = userOpt.get().getUser_id();
 
         // <-- CRITICAL FIX: Compare raw password with the hashed password -->
-        if (userOpt.isEmpty() || !passwordEncoder.matches(rawPassword, userOpt.get().getPassword())) { 
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid credentials"));
+        long hashStart = System.nanoTime();
+        boolean matches = passwordEncoder.matches(rawPassword, userOpt.get().getPassword());
+        event.hashTime = System.nanoTime() - hashStart;
+        if (!matches) {
+            return loginFailed(event, "bad-password");
         }
+        event.outcome = "ok";
+        event.commit();
         
         Users user = userOpt.get();
         // Remove password hash before returning the user object
@@ -96,4 +130,22 @@ public class AuthController {
         
         return ResponseEntity.ok(user);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> loginFailed(LoginVerificationEvent event, String outcome) {
+        event.outcome = outcome;
+        event.commit();
+        domainMetrics.loginFailed();
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid credentials"));
+    }
+
+    private Optional<Roles> findRole(String roleName) {
+        String key = roleName.toLowerCase(Locale.ROOT);
+        Roles cached = rolesByName.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Roles> role = rolesRepository.findByRoleNameIgnoreCase(roleName);
+        role.ifPresent(r -> rolesByName.put(key, r));
+        return role;
+    }
+}
@@ -1,165 +1,114 @@
 package com.pawsitivedrive.backend.controller;
 
+import com.pawsitivedrive.backend.config.EntityReferenceModule;
 import com.pawsitivedrive.backend.entity.Donations;
-import com.pawsitivedrive.backend.entity.Users;
-import com.pawsitivedrive.backend.entity.Pets;
 import com.pawsitivedrive.backend.entity.DonationHistory;
 import com.pawsitivedrive.backend.entity.DonationReceipt;
-import com.pawsitivedrive.backend.repository.DonationsRepository;
-import com.pawsitivedrive.backend.repository.UsersRepository;
-import com.pawsitivedrive.backend.repository.PetsRepository;
-import com.pawsitivedrive.backend.repository.DonationHistoryRepository;
-import com.pawsitivedrive.backend.repository.DonationReceiptRepository;
+import com.pawsitivedrive.backend.service.DonationService;
+import com.pawsitivedrive.backend.service.SparseFieldsets;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
-import org.springframework.transaction.annotation.Transactional;
 import java.net.URI;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/donations")
 @CrossOrigin(origins = "http://localhost:3000")
 public class DonationsController {
 
-	private final DonationsRepository donationsRepository;
-	private final UsersRepository usersRepository;
-	private final PetsRepository petsRepository;
-	private final DonationHistoryRepository donationHistoryRepository;
-	private final DonationReceiptRepository donationReceiptRepository;
+	private final DonationService donationService;
+	private final SparseFieldsets sparseFieldsets;
 
-	public DonationsController(
-			DonationsRepository donationsRepository, 
-			UsersRepository usersRepository,
-			PetsRepository petsRepository,
-			DonationHistoryRepository donationHistoryRepository,
-			DonationReceiptRepository donationReceiptRepository) {
-		this.donationsRepository = donationsRepository;
-		this.usersRepository = usersRepository;
-		this.petsRepository = petsRepository;
-		this.donationHistoryRepository = donationHistoryRepository;
-		this.donationReceiptRepository = donationReceiptRepository;
+	public DonationsController(DonationService donationService, SparseFieldsets sparseFieldsets) {
+		this.donationService = donationService;
+		this.sparseFieldsets = sparseFieldsets;
 	}
 
+	// ?refs=id writes user and pet as ids instead of nested objects; ?fields=amount,status,user_name
+	// returns only those columns (plus donation_id), see SparseFieldsets. Donations moved to the archive
+	// (see DonationArchive) are only included with ?includeArchived=true, which fields cannot be combined with
 	@GetMapping
-	public List<Donations> list() {
-		return donationsRepository.findAllWithRelations();
+	public Object list(@RequestParam(required = false) String refs,
+			@RequestParam(required = false) String fields,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		if (fields != null) {
+			if (includeArchived) {
+				// Sparse fieldsets only query the hot table
+				return ResponseEntity.badRequest().body(Map.of("message", "fields cannot be combined with includeArchived"));
+			}
+			return sparseFieldsets.list(SparseFieldsets.DONATIONS, fields, Map.of());
+		}
+		List<Donations> donations = donationService.list(includeArchived);
+		return "id".equalsIgnoreCase(refs) ? EntityReferenceModule.byId(donations) : donations;
 	}
 
 	@GetMapping("/user/{userId}")
-	public List<Donations> getByUser(@PathVariable Long userId) {
-		Users user = usersRepository.findById(userId)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-		return donationsRepository.findByUser(user);
+	public List<Donations> getByUser(@PathVariable Long userId,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		return donationService.listByUser(userId, includeArchived);
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Donations> get(@PathVariable Long id) {
-		return donationsRepository.findById(id)
+	public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		if (fields != null) {
+			if (includeArchived) {
+				// Sparse fieldsets only query the hot table
+				return ResponseEntity.badRequest().body(Map.of("message", "fields cannot be combined with includeArchived"));
+			}
+			Optional<Map<String, Object>> row = sparseFieldsets.get(SparseFieldsets.DONATIONS, fields, id);
+			return row.isPresent() ? ResponseEntity.ok(row.get()) : ResponseEntity.notFound().build();
+		}
+		return donationService.get(id, includeArchived)
 			.map(ResponseEntity::ok)
 			.orElse(ResponseEntity.notFound().build());
 	}
 
+	// The rendered document is at /api/receipts/{document_hash}.html (or .txt)
 	@GetMapping("/{id}/receipt")
-	public ResponseEntity<DonationReceipt> getReceipt(@PathVariable Long id) {
-		Donations donation = donationsRepository.findById(id)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Donation not found"));
-		
-		return donationReceiptRepository.findByDonation(donation)
+	public ResponseEntity<DonationReceipt> getReceipt(@PathVariable Long id,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		return donationService.receipt(id, includeArchived)
 			.map(ResponseEntity::ok)
 			.orElse(ResponseEntity.notFound().build());
 	}
 
 	@GetMapping("/{id}/history")
-	public ResponseEntity<List<DonationHistory>> getHistory(@PathVariable Long id) {
-		Donations donation = donationsRepository.findById(id)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Donation not found"));
-		
-		List<DonationHistory> history = donationHistoryRepository.findByDonation(donation);
-		return ResponseEntity.ok(history);
+	public ResponseEntity<List<DonationHistory>> getHistory(@PathVariable Long id,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		return ResponseEntity.ok(donationService.history(id, includeArchived));
 	}
 
 	@PostMapping
-	@Transactional
 	public ResponseEntity<Donations> create(@RequestBody Map<String, Object> request) {
 		try {
 			// Extract user from request
-			Map<String, Object> userMap = (Map<String, Object>) request.get("user");
-			if (userMap == null) {
+			if (request.get("user") == null) {
 				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User is required");
 			}
 			
-			Long userId = null;
-			if (userMap.get("user_id") != null) {
-				userId = Long.valueOf(userMap.get("user_id").toString());
-			} else if (userMap.get("id") != null) {
-				userId = Long.valueOf(userMap.get("id").toString());
-			}
+			Long userId = RequestPayloads.nestedId(request, "user", "user_id");
 			
 			if (userId == null) {
 				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User ID is required");
 			}
 			
-			// Fetch user from database
-			Users user = usersRepository.findById(userId)
-				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-			
-			// Create new donation
-			Donations donation = new Donations();
-			donation.setUser(user);
-			donation.setAmount(request.get("amount") != null ? 
-				Double.parseDouble(request.get("amount").toString()) : 0.0);
-			donation.setPayment_method(request.get("payment_method") != null ? 
-				request.get("payment_method").toString() : "Unknown");
-			donation.setStatus(request.get("status") != null ? 
-				request.get("status").toString() : "Pending");
-			
-			// Handle pet if provided
-			Map<String, Object> petMap = (Map<String, Object>) request.get("pet");
-			if (petMap != null) {
-				Long petId = null;
-				if (petMap.get("pet_id") != null) {
-					petId = Long.valueOf(petMap.get("pet_id").toString());
-				} else if (petMap.get("id") != null) {
-					petId = Long.valueOf(petMap.get("id").toString());
-				}
-				
-				if (petId != null) {
-					Pets pet = petsRepository.findById(petId)
-						.orElse(null); // Pet is optional, so don't throw error if not found
-					donation.setPet(pet);
-				}
-			}
-			
-			Donations saved = donationsRepository.save(donation);
+			double amount = request.get("amount") != null ? 
+				Double.parseDouble(request.get("amount").toString()) : 0.0;
+			String paymentMethod = request.get("payment_method") != null ? 
+				request.get("payment_method").toString() : "Unknown";
+			String status = request.get("status") != null ? 
+				request.get("status").toString() : "Pending";
 			
-			// Create donation history entry
-			DonationHistory history = new DonationHistory();
-			history.setDonation(saved);
-			history.setAction("Created");
-			history.setAction_date(LocalDateTime.now());
-			donationHistoryRepository.save(history);
-			
-			// Create donation receipt
-			DonationReceipt receipt = new DonationReceipt();
-			receipt.setDonation(saved);
-			// Generate receipt number: REC-{donation_id}-{timestamp}
-			String receiptNumber = "REC-" + saved.getDonation_id() + "-" + 
-				LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-			receipt.setReceipt_number(receiptNumber);
-			receipt.setReceipt_date(LocalDateTime.now());
-			receipt.setDonor_name(user.getName());
-			receipt.setDonor_email(user.getEmail());
-			receipt.setDonor_address(user.getAddress() != null ? user.getAddress() : "");
-			receipt.setPayment_method(saved.getPayment_method());
-			receipt.setStatus(saved.getStatus());
-			receipt.setTransaction_id(receiptNumber); // Use receipt number as transaction ID
-			donationReceiptRepository.save(receipt);
+			// Pet is optional
+			Long petId = RequestPayloads.nestedId(request, "pet", "pet_id");
 			
+			// Donation and receipt are written in one transaction
+			Donations saved = donationService.create(userId, amount, paymentMethod, status, petId);
 			return ResponseEntity.created(URI.create("/api/donations/" + saved.getDonation_id())).body(saved);
 		} catch (ResponseStatusException e) {
 			throw e;
@@ -169,5 +118,3 @@ public class DonationsController {
 		}
 	}
 }
-
-
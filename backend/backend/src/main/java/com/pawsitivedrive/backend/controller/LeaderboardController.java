@@ -0,0 +1,106 @@
+package com.pawsitivedrive.backend.controller;
+
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.DonationLeaderboards;
+import com.pawsitivedrive.backend.service.DonationLeaderboards.Dimension;
+import com.pawsitivedrive.backend.service.DonationLeaderboards.Standing;
+import com.pawsitivedrive.backend.service.DonationLeaderboards.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Campaign leaderboards: GET /api/leaderboards/donors and /api/leaderboards/pets
+ * with ?window=week|month|all (default all) and ?limit=N (default 10, max 100).
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final DonationLeaderboards leaderboards;
+    private final UsersRepository usersRepository;
+    private final PetsRepository petsRepository;
+
+    public LeaderboardController(DonationLeaderboards leaderboards, UsersRepository usersRepository,
+                                 PetsRepository petsRepository) {
+        this.leaderboards = leaderboards;
+        this.usersRepository = usersRepository;
+        this.petsRepository = petsRepository;
+    }
+
+    @GetMapping("/donors")
+    public List<Map<String, Object>> donors(@RequestParam(defaultValue = "all") String window,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        List<Standing> top = leaderboards.top(Dimension.DONORS, parseWindow(window), checkLimit(limit));
+        // Only the donor's name is shown; e-mail and the rest of the account stay private
+        Map<Long, String> names = new HashMap<>();
+        for (Users user : usersRepository.findAllById(ids(top))) {
+            names.put(user.getUser_id(), user.getName());
+        }
+        return rows(top, "user_id", names);
+    }
+
+    @GetMapping("/pets")
+    public List<Map<String, Object>> pets(@RequestParam(defaultValue = "all") String window,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        List<Standing> top = leaderboards.top(Dimension.PETS, parseWindow(window), checkLimit(limit));
+        Map<Long, String> names = new HashMap<>();
+        for (Pets pet : petsRepository.findAllById(ids(top))) {
+            names.put(pet.getPet_id(), pet.getName());
+        }
+        return rows(top, "pet_id", names);
+    }
+
+    private static List<Map<String, Object>> rows(List<Standing> top, String idField, Map<Long, String> names) {
+        List<Map<String, Object>> rows = new ArrayList<>(top.size());
+        int rank = 1;
+        for (Standing standing : top) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", rank++);
+            row.put(idField, standing.id());
+            row.put("name", names.get(standing.id()));
+            row.put("total", standing.total());
+            row.put("donations", standing.donations());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<Long> ids(List<Standing> top) {
+        List<Long> ids = new ArrayList<>(top.size());
+        for (Standing standing : top) {
+            ids.add(standing.id());
+        }
+        return ids;
+    }
+
+    private static Window parseWindow(String window) {
+        try {
+            return Window.valueOf(window.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "window must be week, month or all");
+        }
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
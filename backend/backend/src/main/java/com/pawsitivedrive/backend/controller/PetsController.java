@@ -1,10 +1,12 @@
 package com.pawsitivedrive.backend.controller;
 
 import com.pawsitivedrive.backend.entity.Pets;
-import com.pawsitivedrive.backend.entity.Users;
-import com.pawsitivedrive.backend.repository.PetsRepository;
-import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.search.PetSearchIndex;
+import com.pawsitivedrive.backend.service.BulkResult;
 import com.pawsitivedrive.backend.service.FileStorageService;
+import com.pawsitivedrive.backend.service.PetService;
+import com.pawsitivedrive.backend.service.SparseFieldsets;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
@@ -12,33 +14,83 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/pets")
 public class PetsController {
 
-    private final PetsRepository petsRepository;
-    private final UsersRepository usersRepository;
     private final FileStorageService fileStorageService;
+    private final PetService petService;
+    private final PetSearchIndex searchIndex;
+    private final SparseFieldsets sparseFieldsets;
+    private final int bulkMaxIds;
 
-    public PetsController(PetsRepository petsRepository, UsersRepository usersRepository, FileStorageService fileStorageService) {
-        this.petsRepository = petsRepository;
-        this.usersRepository = usersRepository;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    public PetsController(FileStorageService fileStorageService, PetService petService, PetSearchIndex searchIndex,
+                          SparseFieldsets sparseFieldsets, @Value("${app.bulk.max-ids:1000}") int bulkMaxIds) {
         this.fileStorageService = fileStorageService;
+        this.petService = petService;
+        this.searchIndex = searchIndex;
+        this.sparseFieldsets = sparseFieldsets;
+        this.bulkMaxIds = bulkMaxIds;
     }
 
+    // ?fields=name,species,image_url returns only those columns (plus pet_id), see SparseFieldsets
     @GetMapping
-    public List<Pets> list(@RequestParam(required = false) String species,
-                           @RequestParam(required = false) String status) {
-        if (species != null) {
-            return petsRepository.findBySpeciesIgnoreCase(species);
+    public Object list(@RequestParam(required = false) String species,
+                       @RequestParam(required = false) String status,
+                       @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            Map<String, String> filter = species != null ? Map.of("species", species)
+                    : status != null ? Map.of("status", status) : Map.of();
+            return sparseFieldsets.list(SparseFieldsets.PETS, fields, filter);
+        }
+        return petService.list(species, status);
+    }
+
+    // Free-text search over name, breed and description, e.g. ?q=calm senior lab; the last word also
+    // matches as a prefix unless prefix=false
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(defaultValue = "20") int limit,
+                                    @RequestParam(defaultValue = "true") boolean prefix) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "q is required"));
         }
-        if (status != null) {
-            return petsRepository.findByStatusIgnoreCase(status);
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().body(Map.of("message", "limit must be between 1 and " + MAX_SEARCH_LIMIT));
+        }
+        List<PetSearchIndex.Hit> hits = searchIndex.search(q, limit, prefix);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (PetSearchIndex.Hit hit : hits) {
+            ids.add(hit.petId());
+        }
+        Map<Long, Pets> pets = new HashMap<>();
+        for (Pets pet : petService.findAll(ids)) {
+            pets.put(pet.getPet_id(), pet);
+        }
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (PetSearchIndex.Hit hit : hits) {
+            Pets pet = pets.get(hit.petId());
+            if (pet != null) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("score", Math.round(hit.score() * 1000) / 1000.0);
+                row.put("pet", pet);
+                results.add(row);
+            }
         }
-        return petsRepository.findAll();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("query", q);
+        body.put("complete", searchIndex.isComplete());
+        body.put("results", results);
+        return ResponseEntity.ok(body);
     }
     
     @PostMapping("/upload-image")
@@ -55,51 +107,16 @@ public class PetsController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Pets> get(@PathVariable Long id) {
-        return petsRepository.findById(id)
+    public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            Optional<Map<String, Object>> row = sparseFieldsets.get(SparseFieldsets.PETS, fields, id);
+            return row.isPresent() ? ResponseEntity.ok(row.get()) : ResponseEntity.notFound().build();
+        }
+        return petService.get(id)
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
-    /**
-     * Helper function to safely extract the user ID from the 'addedBy' field.
-     * Fixes: Unchecked cast, Unnecessary temporary.
-     */
-    @SuppressWarnings("unchecked") // Fixes: Type safety: Unchecked cast
-    private Long extractUserId(Map<String, Object> payload) {
-        Object addedByObj = payload.get("addedBy");
-        
-        if (addedByObj == null) {
-             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valid user (addedBy) ID is required.");
-        }
-
-        if (addedByObj instanceof Map) {
-            // Case 1: 'addedBy' is sent as an object (e.g., {user_id: 1})
-            Map<String, Object> userMap = (Map<String, Object>) addedByObj; 
-            Object userIdObj = userMap.getOrDefault("user_id", userMap.get("id"));
-            
-            if (userIdObj instanceof Number number) {
-                // If it's already a number, convert directly to Long (Fixes "Unnecessary temporary")
-                return number.longValue();
-            } else if (userIdObj != null) {
-                // If it's a String, parse it
-                return Long.valueOf(userIdObj.toString());
-            }
-        } else {
-            // Case 2: 'addedBy' is sent as a raw user ID (e.g., 1 or "1")
-            if (addedByObj instanceof Number number) {
-                // If it's a number, convert directly to Long (Fixes "Unnecessary temporary")
-                return number.longValue();
-            } else {
-                // If it's a String, parse it
-                return Long.valueOf(addedByObj.toString());
-            }
-        }
-        
-        // If map was present but ID was missing or invalid format
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valid user (addedBy) ID is required.");
-    }
-    
     @PostMapping
     public ResponseEntity<?> create(@RequestBody Map<String, Object> payload) {
         try {
@@ -127,16 +144,10 @@ public class PetsController {
             pet.setDescription((String) payload.get("description"));
             pet.setImage_url((String) payload.get("image_url"));
 
-            // FIX: The result of extractUserId is assigned to a final variable, resolving the compilation errors.
-            final Long userId = extractUserId(payload);
+            Long userId = RequestPayloads.addedByUserId(payload);
             
-            // Fetch the user
-            Users addedBy = usersRepository.findById(userId)
-                    // The use of 'userId' here is now valid because it is final.
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "User not found for addedBy ID: " + userId));
-
-            pet.setAddedBy(addedBy);
-            Pets saved = petsRepository.save(pet);
+            // Looks up the adding user and saves the pet in one transaction
+            Pets saved = petService.create(pet, userId);
             return ResponseEntity.created(URI.create("/api/pets/" + saved.getPet_id())).body(saved);
         
         } catch (NumberFormatException e) {
@@ -153,30 +164,35 @@ public class PetsController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Pets> update(@PathVariable Long id, @RequestBody Pets input) {
-        return petsRepository.findById(id).map(existing -> {
-            existing.setName(input.getName());
-            existing.setSpecies(input.getSpecies());
-            existing.setBreed(input.getBreed());
-            existing.setAge(input.getAge());
-            existing.setGender(input.getGender());
-            existing.setStatus(input.getStatus());
-            existing.setDescription(input.getDescription());
-            existing.setImage_url(input.getImage_url());
-            
-            if (input.getAddedBy() != null) {
-                existing.setAddedBy(input.getAddedBy());
-            }
-            
-            return ResponseEntity.ok(petsRepository.save(existing));
-        }).orElse(ResponseEntity.notFound().build());
+        return petService.update(id, input)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (!petsRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
+        // Same statements as a bulk delete of one: applications go, donations keep their record
+        BulkResult result = petService.delete(List.of(id));
+        return BulkResult.NOT_FOUND.equals(result.getOutcomes().get(id)) ? ResponseEntity.notFound().build()
+                : ResponseEntity.noContent().build();
+    }
+
+    // Body: {"ids": [1, 2, 3], "status": "Adopted", "reviewed_by": 7}; reviewed_by (optional) is recorded
+    // on the pending applications that adopting rejects
+    @PutMapping("/bulk/status")
+    public ResponseEntity<BulkResult> bulkUpdateStatus(@RequestBody Map<String, Object> request) {
+        List<Long> ids = RequestPayloads.idList(request, "ids", bulkMaxIds);
+        Object status = request.get("status");
+        if (status == null || status.toString().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status is required");
         }
-        petsRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+        Long reviewerId = request.get("reviewed_by") != null ? RequestPayloads.toLong(request.get("reviewed_by")) : null;
+        return ResponseEntity.ok(petService.updateStatus(ids, status.toString(), reviewerId));
+    }
+
+    // Body: {"ids": [1, 2, 3]}; POST because DELETE bodies are dropped by some clients and proxies
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> bulkDelete(@RequestBody Map<String, Object> request) {
+        return ResponseEntity.ok(petService.delete(RequestPayloads.idList(request, "ids", bulkMaxIds)));
     }
 }
@@ -0,0 +1,86 @@
+package com.pawsitivedrive.backend.controller;
+
+import com.pawsitivedrive.backend.profiling.FlightRecordings;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * On-demand Java Flight Recorder recordings. Admin only: requests need the X-Admin-Token header (see
+ * SecurityConfig).
+ * POST /recordings?duration=2m&maxSize=100MB&settings=profile starts one, POST /recordings/stop ends it,
+ * GET /recordings lists the current recording and the finished files, GET /recordings/{file} downloads one.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+public class ProfilingController {
+
+    private final FlightRecordings recordings;
+
+    public ProfilingController(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @PostMapping("/recordings")
+    public ResponseEntity<?> start(@RequestParam(required = false) String duration,
+                                   @RequestParam(required = false) String maxSize,
+                                   @RequestParam(defaultValue = "default") String settings)
+            throws IOException, ParseException {
+        Duration parsedDuration;
+        DataSize parsedSize;
+        try {
+            parsedDuration = duration != null ? DurationStyle.detectAndParse(duration) : null;
+            parsedSize = maxSize != null ? DataSize.parse(maxSize) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "duration (e.g. 90s, 5m) or maxSize (e.g. 100MB) is invalid"));
+        }
+        if (!FlightRecordings.SETTINGS.contains(settings)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "settings must be one of " + FlightRecordings.SETTINGS));
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(recordings.start(parsedDuration, parsedSize, settings));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/recordings/stop")
+    public ResponseEntity<?> stop() {
+        return recordings.stop().<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "No recording is running")));
+    }
+
+    @GetMapping("/recordings")
+    public Map<String, Object> list() throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("current", recordings.current().orElse(null));
+        body.put("files", recordings.files());
+        return body;
+    }
+
+    @GetMapping("/recordings/{file}")
+    public ResponseEntity<?> download(@PathVariable String file) {
+        return recordings.file(file).<ResponseEntity<?>>map(path -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file).build().toString())
+                        .body(new FileSystemResource(path)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,95 @@
+package com.pawsitivedrive.backend.controller;
+
+import com.pawsitivedrive.backend.service.ReceiptDocuments;
+import com.pawsitivedrive.backend.service.ReceiptDocuments.Format;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issued receipt documents:
+ * GET /api/receipts/{hash}.html|.txt, /api/receipts/donation/{donationId}?format=html|txt and
+ * /api/receipts/number/{receiptNumber}?format=html|txt. The last two find archived receipts (see
+ * DonationArchive) only with ?includeArchived=true, like the donation endpoints.
+ *
+ * A receipt never changes after issue and the hash names its content, so every response is cacheable
+ * for a year as immutable, with the hash as a strong ETag for revalidation. Receipts carry the donor's
+ * name, e-mail and address, so only the client may cache them, never a shared proxy or CDN.
+ */
+@RestController
+@RequestMapping("/api/receipts")
+public class ReceiptsController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final ReceiptDocuments receiptDocuments;
+
+    public ReceiptsController(ReceiptDocuments receiptDocuments) {
+        this.receiptDocuments = receiptDocuments;
+    }
+
+    @GetMapping("/{hash}.{extension}")
+    public ResponseEntity<?> byHash(@PathVariable String hash, @PathVariable String extension, WebRequest request) {
+        Optional<Format> format = Format.of(extension);
+        if (format.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return document(hash, format.get(), request);
+    }
+
+    @GetMapping("/donation/{donationId}")
+    public ResponseEntity<?> byDonation(@PathVariable Long donationId,
+                                        @RequestParam(defaultValue = "html") String format,
+                                        @RequestParam(defaultValue = "false") boolean includeArchived,
+                                        WebRequest request) {
+        Optional<Format> parsed = Format.of(format);
+        if (parsed.isEmpty()) {
+            return badFormat();
+        }
+        return receiptDocuments.hashForDonation(donationId, includeArchived)
+                .map(hash -> document(hash, parsed.get(), request))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/number/{receiptNumber}")
+    public ResponseEntity<?> byNumber(@PathVariable String receiptNumber,
+                                      @RequestParam(defaultValue = "html") String format,
+                                      @RequestParam(defaultValue = "false") boolean includeArchived,
+                                      WebRequest request) {
+        Optional<Format> parsed = Format.of(format);
+        if (parsed.isEmpty()) {
+            return badFormat();
+        }
+        return receiptDocuments.hashForReceiptNumber(receiptNumber, includeArchived)
+                .map(hash -> document(hash, parsed.get(), request))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> document(String hash, Format format, WebRequest request) {
+        String etag = "\"" + hash + "-" + format.name().toLowerCase() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+        return receiptDocuments.read(hash, format)
+                .<ResponseEntity<?>>map(bytes -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(format.contentType()))
+                        .cacheControl(IMMUTABLE)
+                        .eTag(etag)
+                        .body(bytes))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<?> badFormat() {
+        return ResponseEntity.badRequest().body(Map.of("message", "format must be html or txt"));
+    }
+}
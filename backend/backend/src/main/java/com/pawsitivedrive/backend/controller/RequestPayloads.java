@@ -0,0 +1,102 @@
+package com.pawsitivedrive.backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for pulling ids out of the loosely-typed JSON maps the frontend posts
+ * (e.g. {"user": {"user_id": 1}} or {"addedBy": 1}).
+ */
+public final class RequestPayloads {
+
+    private RequestPayloads() {
+    }
+
+    /**
+     * Reads the id of a nested object such as request.user.user_id, falling back to request.user.id.
+     * Returns null when the nested object or both id fields are missing.
+     */
+    @SuppressWarnings("unchecked")
+    public static Long nestedId(Map<String, Object> request, String key, String idField) {
+        Object nested = request.get(key);
+        if (!(nested instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> map = (Map<String, Object>) nested;
+        if (map.get(idField) != null) {
+            return toLong(map.get(idField));
+        }
+        if (map.get("id") != null) {
+            return toLong(map.get("id"));
+        }
+        return null;
+    }
+
+    /**
+     * Safely extracts the user ID from the 'addedBy' field, which may be sent either as an
+     * object ({user_id: 1}) or as a raw id (1 or "1").
+     */
+    @SuppressWarnings("unchecked")
+    public static Long addedByUserId(Map<String, Object> payload) {
+        Object addedByObj = payload.get("addedBy");
+
+        if (addedByObj == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valid user (addedBy) ID is required.");
+        }
+
+        if (addedByObj instanceof Map) {
+            // Case 1: 'addedBy' is sent as an object (e.g., {user_id: 1})
+            Map<String, Object> userMap = (Map<String, Object>) addedByObj;
+            Object userIdObj = userMap.getOrDefault("user_id", userMap.get("id"));
+            if (userIdObj != null) {
+                return toLong(userIdObj);
+            }
+        } else {
+            // Case 2: 'addedBy' is sent as a raw user ID (e.g., 1 or "1")
+            return toLong(addedByObj);
+        }
+
+        // If map was present but ID was missing or invalid format
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valid user (addedBy) ID is required.");
+    }
+
+    /**
+     * Numbers are converted directly; anything else (usually a String) is parsed.
+     */
+    public static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.valueOf(value.toString());
+    }
+
+    /**
+     * Reads a non-empty list of ids for a bulk endpoint (e.g. {"ids": [1, 2, "3"]}), dropping duplicates
+     * but keeping request order.
+     */
+    public static List<Long> idList(Map<String, Object> request, String key, int maxIds) {
+        Object value = request.get(key);
+        if (!(value instanceof Collection<?> raw) || raw.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A non-empty '" + key + "' array is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        try {
+            for (Object id : raw) {
+                ids.add(toLong(id));
+            }
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'" + key + "' must contain numeric ids");
+        }
+        if (ids.size() > maxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxIds + " ids per request");
+        }
+        return new ArrayList<>(ids);
+    }
+}
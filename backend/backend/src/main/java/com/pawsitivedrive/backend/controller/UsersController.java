@@ -1,37 +1,53 @@
 package com.pawsitivedrive.backend.controller;
 
 import com.pawsitivedrive.backend.entity.Users;
-import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.EmailBloomFilter;
+import com.pawsitivedrive.backend.service.SparseFieldsets;
+import com.pawsitivedrive.backend.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.net.URI;
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
 public class UsersController {
 
-	private final UsersRepository usersRepository;
+	private final UserService userService;
+	private final EmailBloomFilter emailFilter;
+	private final SparseFieldsets sparseFieldsets;
 
-	public UsersController(UsersRepository usersRepository) {
-		this.usersRepository = usersRepository;
+	public UsersController(UserService userService, EmailBloomFilter emailFilter, SparseFieldsets sparseFieldsets) {
+		this.userService = userService;
+		this.emailFilter = emailFilter;
+		this.sparseFieldsets = sparseFieldsets;
 	}
 
+	// ?fields=name,email,role_name returns only those columns (plus user_id), see SparseFieldsets
 	@GetMapping
-	public List<Users> list() {
-		return usersRepository.findAll();
+	public Object list(@RequestParam(required = false) String fields) {
+		if (fields != null) {
+			return sparseFieldsets.list(SparseFieldsets.USERS, fields, Map.of());
+		}
+		return userService.list();
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Users> get(@PathVariable Long id) {
-		return usersRepository.findById(id)
+	public ResponseEntity<?> get(@PathVariable Long id, @RequestParam(required = false) String fields) {
+		if (fields != null) {
+			Optional<Map<String, Object>> row = sparseFieldsets.get(SparseFieldsets.USERS, fields, id);
+			return row.isPresent() ? ResponseEntity.ok(row.get()) : ResponseEntity.notFound().build();
+		}
+		return userService.get(id)
 			.map(ResponseEntity::ok)
 			.orElse(ResponseEntity.notFound().build());
 	}
 
 	@PostMapping
 	public ResponseEntity<Users> create(@RequestBody Users user) {
-		Users saved = usersRepository.save(user);
+		Users saved = userService.create(user);
+		emailFilter.add(saved.getEmail());
 		return ResponseEntity.created(URI.create("/api/users/" + saved.getUser_id())).body(saved);
 	}
 }
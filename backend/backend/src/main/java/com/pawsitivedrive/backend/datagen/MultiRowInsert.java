@@ -0,0 +1,100 @@
+package com.pawsitivedrive.backend.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Buffers rows and writes them as one multi-row statement:
+ * INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ...
+ * One round trip per {@code rowsPerStatement} rows is far cheaper than a JPA save() per row.
+ * Not thread-safe; each worker uses its own instance on its own connection.
+ */
+final class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final Object[] buffer;
+    private PreparedStatement fullBatch;
+    private int rows;
+    private long written;
+
+    MultiRowInsert(Connection connection, String table, String[] columns, int rowsPerStatement) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.buffer = new Object[rowsPerStatement * columns.length];
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(table + " expects " + columns.length + " values, got " + values.length);
+        }
+        System.arraycopy(values, 0, buffer, rows * columns.length, columns.length);
+        rows++;
+        if (rows == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        if (rows == rowsPerStatement) {
+            if (fullBatch == null) {
+                fullBatch = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullBatch);
+        } else {
+            // Only the last, partial batch of a chunk takes this path
+            try (PreparedStatement partial = connection.prepareStatement(sql(rows))) {
+                execute(partial);
+            }
+        }
+    }
+
+    long written() {
+        return written;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        if (fullBatch != null) {
+            fullBatch.close();
+        }
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        int count = rows * columns.length;
+        for (int i = 0; i < count; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+        statement.executeUpdate();
+        written += rows;
+        rows = 0;
+    }
+
+    private String sql(int rowCount) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columns.length; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+
+        StringBuilder sql = new StringBuilder(32 + rowCount * (row.length() + 2))
+                .append("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,502 @@
+package com.pawsitivedrive.backend.datagen;
+
+import com.pawsitivedrive.backend.entity.DonationReceipt;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.service.DonationHistoryIds;
+import com.pawsitivedrive.backend.service.ReceiptDocuments;
+import com.pawsitivedrive.backend.service.ReceiptNumbers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-loads realistic volumes of users, pets, applications, donations, histories and receipts so that
+ * performance problems show up in development. Only active with the "datagen" profile.
+ *
+ * <ul>
+ *   <li>Deterministic: every row is derived from (seed, table, row number), so the same settings
+ *       produce the same data regardless of worker count or timing.</li>
+ *   <li>Skewed: pets for applications/donations and donors are drawn from Zipf distributions, giving
+ *       a few hot pets and heavy donors, and donation dates grow denser towards the present.</li>
+ *   <li>Fast: rows are written with multi-row INSERTs by parallel workers, one transaction per chunk.</li>
+ *   <li>Consistent: a (user, pet) pair has at most one Pending application, with its pending_key set,
+ *       and every receipt has its documents rendered and document_hash set, as if issued by the API.</li>
+ * </ul>
+ * New rows are appended after the current maximum ids, so existing data is left untouched.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final int USERS = 1;
+    private static final int PETS = 2;
+    private static final int APPLICATIONS = 3;
+    private static final int DONATIONS = 4;
+
+    // One in every ADMIN_EVERY generated users is an admin (the first one always is)
+    private static final int ADMIN_EVERY = 1000;
+    // Application status rolls (0-99) below PENDING_PERCENT are Pending, then Approved, the rest Rejected
+    private static final int PENDING_PERCENT = 60;
+    private static final int APPROVED_PERCENT = 70;
+
+    private static final String[] FIRST_NAMES = {"Juan", "Maria", "Jose", "Ana", "Mark", "Angel", "John", "Grace",
+            "Paolo", "Andrea", "Carlo", "Bea", "Miguel", "Nicole", "Rafael", "Kristine", "Kurt", "Andrei", "Xavier", "Lea"};
+    private static final String[] LAST_NAMES = {"Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Garcia", "Mendoza",
+            "Torres", "Tomas", "Andrada", "Castillo", "Flores", "Villanueva", "Ramos", "Monteclaro", "Loy", "Sabornido"};
+    private static final String[] CITIES = {"Cebu City", "Mandaue", "Lapu-Lapu", "Talisay", "Quezon City", "Manila",
+            "Davao City", "Iloilo City", "Bacolod", "Cagayan de Oro"};
+    private static final String[] DOG_BREEDS = {"Aspin", "Shih Tzu", "Labrador Retriever", "Golden Retriever",
+            "Beagle", "Chihuahua", "Pomeranian", "Siberian Husky", "Poodle", "Dachshund"};
+    private static final String[] CAT_BREEDS = {"Puspin", "Persian", "Siamese", "British Shorthair", "Maine Coon",
+            "Bengal", "Ragdoll", "Scottish Fold"};
+    private static final String[] PET_NAMES = {"Bantay", "Muning", "Brownie", "Choco", "Max", "Luna", "Bella",
+            "Coco", "Mochi", "Tiger", "Snow", "Peanut", "Kisses", "Ginger", "Oreo", "Milo", "Lucky", "Shadow"};
+    private static final String[] TRAITS = {"calm", "playful", "gentle", "energetic", "shy", "affectionate",
+            "curious", "loyal", "senior", "house-trained", "hypoallergenic", "good with kids", "good with cats"};
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final ReceiptDocuments receiptDocuments;
+    private final DonationHistoryIds historyIds;
+    private final ConfigurableApplicationContext context;
+
+    private final long seed;
+    private final int userCount;
+    private final int petCount;
+    private final long applicationCount;
+    private final long donationCount;
+    private final int batchSize;
+    private final int chunkBatches;
+    private final int workers;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final double petSkew;
+    private final double donorSkew;
+    private final String password;
+    private final boolean renderReceipts;
+    private final boolean exitWhenDone;
+
+    public SyntheticDataGenerator(
+            DataSource dataSource,
+            PasswordEncoder passwordEncoder,
+            ReceiptDocuments receiptDocuments,
+            DonationHistoryIds historyIds,
+            ConfigurableApplicationContext context,
+            @Value("${app.datagen.seed:20250101}") long seed,
+            @Value("${app.datagen.users:1000000}") int userCount,
+            @Value("${app.datagen.pets:100000}") int petCount,
+            @Value("${app.datagen.applications:2000000}") long applicationCount,
+            @Value("${app.datagen.donations:5000000}") long donationCount,
+            @Value("${app.datagen.batch-size:500}") int batchSize,
+            @Value("${app.datagen.chunk-batches:20}") int chunkBatches,
+            @Value("${app.datagen.workers:8}") int workers,
+            @Value("${app.datagen.start-date:2019-01-01}") String startDate,
+            @Value("${app.datagen.end-date:2025-12-31}") String endDate,
+            @Value("${app.datagen.pet-skew:1.1}") double petSkew,
+            @Value("${app.datagen.donor-skew:1.2}") double donorSkew,
+            @Value("${app.datagen.password:Password123!}") String password,
+            @Value("${app.datagen.receipt-documents:true}") boolean renderReceipts,
+            @Value("${app.datagen.exit-when-done:true}") boolean exitWhenDone) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.passwordEncoder = passwordEncoder;
+        this.receiptDocuments = receiptDocuments;
+        this.historyIds = historyIds;
+        this.context = context;
+        this.seed = seed;
+        this.userCount = userCount;
+        this.petCount = petCount;
+        this.applicationCount = applicationCount;
+        this.donationCount = donationCount;
+        this.batchSize = batchSize;
+        this.chunkBatches = chunkBatches;
+        this.workers = workers;
+        this.startDate = LocalDate.parse(startDate).atStartOfDay();
+        this.endDate = LocalDate.parse(endDate).atTime(23, 59, 59);
+        this.petSkew = petSkew;
+        this.donorSkew = donorSkew;
+        this.password = password;
+        this.renderReceipts = renderReceipts;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (userCount < 1 || petCount < 1) {
+            throw new IllegalStateException("app.datagen.users and app.datagen.pets must be at least 1");
+        }
+        if (applicationCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("app.datagen.applications must be at most " + Integer.MAX_VALUE);
+        }
+        boolean mysql = isMySql();
+        long started = System.nanoTime();
+        System.out.printf("Synthetic data generation: seed=%d users=%d pets=%d applications=%d donations=%d workers=%d%n",
+                seed, userCount, petCount, applicationCount, donationCount, workers);
+
+        Long donorRoleId = roleId("Donor");
+        Long adminRoleId = roleId("Admin");
+        // Hash once: BCrypt per row would dominate the run time
+        String passwordHash = passwordEncoder.encode(password);
+
+        long userBase = maxId("users", "user_id");
+        long petBase = maxId("pets", "pet_id");
+        long applicationBase = maxId("adoption_applications", "application_id");
+        long donationBase = maxId("donations", "donation_id");
+        // History ids are shared with the audit log, so they are reserved rather than counted from the table
+        long historyBase = donationCount > 0 ? historyIds.reserve(1, Math.toIntExact(donationCount)) - 1 : 0;
+        long receiptBase = maxId("donation_receipt", "receipt_id");
+
+        ZipfSampler hotPets = new ZipfSampler(petCount, petSkew);
+        ZipfSampler heavyDonors = new ZipfSampler(userCount, donorSkew);
+        long petStride = coprimeStride(petCount);
+        long userStride = coprimeStride(userCount);
+        int adminCount = (userCount + ADMIN_EVERY - 1) / ADMIN_EVERY;
+
+        generate("users", userCount, mysql, (connection, from, to) -> {
+            try (MultiRowInsert users = new MultiRowInsert(connection, "users", new String[] {"user_id", "name",
+                    "email", "password", "role_id", "role_name", "status", "contact_number", "address", "created_at"},
+                    batchSize)) {
+                for (long i = from; i < to; i++) {
+                    SplittableRandom random = rowRandom(USERS, i);
+                    boolean admin = i % ADMIN_EVERY == 0;
+                    long id = userBase + i + 1;
+                    users.add(id, userName(i), userEmail(id), passwordHash,
+                            admin ? adminRoleId : donorRoleId, admin ? "Admin" : "Donor",
+                            random.nextInt(50) == 0 ? "suspended" : "active",
+                            String.format("09%09d", random.nextInt(1_000_000_000)), userAddress(i),
+                            timeBetween(random, startDate, endDate, 1.0));
+                }
+                return users.written();
+            }
+        });
+
+        generate("pets", petCount, mysql, (connection, from, to) -> {
+            try (MultiRowInsert pets = new MultiRowInsert(connection, "pets", new String[] {"pet_id", "name", "species",
+                    "breed", "age", "gender", "status", "description", "image_url", "created_at", "added_by", "version"},
+                    batchSize)) {
+                for (long i = from; i < to; i++) {
+                    SplittableRandom random = rowRandom(PETS, i);
+                    boolean dog = random.nextInt(100) < 60;
+                    String breed = dog ? pick(DOG_BREEDS, random) : pick(CAT_BREEDS, random);
+                    int statusRoll = random.nextInt(100);
+                    String status = statusRoll < 75 ? "Available" : statusRoll < 80 ? "Pending" : "Adopted";
+                    long addedBy = userBase + (long) random.nextInt(adminCount) * ADMIN_EVERY + 1;
+                    pets.add(petBase + i + 1, petName(i), dog ? "Dog" : "Cat", breed,
+                            random.nextInt(16), random.nextBoolean() ? "Male" : "Female", status,
+                            description(random, breed), null, timeBetween(random, startDate, endDate, 1.0), addedBy, 0L);
+                }
+                return pets.written();
+            }
+        });
+
+        BitSet repeatedPending = repeatedPendingApplications(hotPets, petStride);
+        generate("adoption_applications", applicationCount, mysql, (connection, from, to) -> {
+            try (MultiRowInsert applications = new MultiRowInsert(connection, "adoption_applications", new String[] {
+                    "application_id", "pet_id", "user_id", "reviewed_by", "application_date", "status", "version",
+                    "pending_key"}, batchSize)) {
+                for (long i = from; i < to; i++) {
+                    SplittableRandom random = rowRandom(APPLICATIONS, i);
+                    long[] draw = applicationDraw(random, hotPets, petStride);
+                    long petId = petBase + draw[0] + 1;
+                    long userId = userBase + draw[1] + 1;
+                    int statusRoll = (int) draw[2];
+                    String status = statusRoll < PENDING_PERCENT ? "Pending"
+                            : statusRoll < APPROVED_PERCENT ? "Approved" : "Rejected";
+                    if (repeatedPending.get((int) i)) {
+                        // The pair already has a Pending application; AdoptionService would have refused this one
+                        status = "Rejected";
+                    }
+                    Long reviewer = "Pending".equals(status) ? null
+                            : userBase + (long) random.nextInt(adminCount) * ADMIN_EVERY + 1;
+                    applications.add(applicationBase + i + 1, petId, userId, reviewer,
+                            timeBetween(random, startDate, endDate, 0.5), status, 0L,
+                            "Pending".equals(status) ? userId + ":" + petId : null);
+                }
+                return applications.written();
+            }
+        });
+
+        // Each donation is written together with its "Created" history entry and its receipt, like DonationsController.create
+        generate("donations (+ history, receipts)", donationCount, mysql, (connection, from, to) -> {
+            try (MultiRowInsert donations = new MultiRowInsert(connection, "donations", new String[] {"donation_id",
+                    "amount", "donation_date", "payment_method", "status", "user_id", "pet_id"}, batchSize);
+                 MultiRowInsert histories = new MultiRowInsert(connection, "donation_history", new String[] {
+                    "history_id", "action", "action_date", "donation_id"}, batchSize);
+                 MultiRowInsert receipts = new MultiRowInsert(connection, "donation_receipt", new String[] {"receipt_id",
+                    "receipt_number", "receipt_date", "donor_name", "donor_email", "donor_address", "payment_method",
+                    "status", "transaction_id", "notes", "document_hash", "donation_id"}, batchSize)) {
+                for (long i = from; i < to; i++) {
+                    SplittableRandom random = rowRandom(DONATIONS, i);
+                    long donationId = donationBase + i + 1;
+                    long userIndex = permute(heavyDonors.sample(random), userCount, userStride);
+                    long userId = userBase + userIndex + 1;
+                    Long petIndex = random.nextInt(100) < 70 ? permute(hotPets.sample(random), petCount, petStride) : null;
+                    Long petId = petIndex != null ? petBase + petIndex + 1 : null;
+                    // Log-normal amounts: mostly a few hundred, occasionally very large
+                    double amount = Math.round(Math.exp(5.3 + random.nextGaussian() * 0.9));
+                    LocalDateTime date = timeBetween(random, startDate, endDate, 0.5);
+                    String method = paymentMethod(random);
+                    int statusRoll = random.nextInt(100);
+                    String status = statusRoll < 90 ? "Completed" : statusRoll < 97 ? "Pending" : "Failed";
+
+                    donations.add(donationId, amount, date, method, status, userId, petId);
+                    histories.add(historyBase + i + 1, "Created", date, donationId);
+                    String receiptNumber = ReceiptNumbers.format(donationId, date);
+                    DonationReceipt receipt = receipt(receiptNumber, date, userIndex, userId, method, status);
+                    String documentHash = renderReceipts
+                            ? receiptDocuments.render(receipt, donation(amount, petIndex)) : null;
+                    receipts.add(receiptBase + i + 1, receiptNumber, date, receipt.getDonor_name(),
+                            receipt.getDonor_email(), receipt.getDonor_address(), method, status, receiptNumber, null,
+                            documentHash, donationId);
+                }
+                // Parents first so the foreign keys hold within the chunk's transaction
+                donations.flush();
+                histories.flush();
+                receipts.flush();
+                return donations.written();
+            }
+        });
+
+        if (!mysql) {
+            // MySQL moves AUTO_INCREMENT past explicit ids by itself; H2 identity columns must be told
+            restartIdentity("users", "user_id");
+            restartIdentity("pets", "pet_id");
+            restartIdentity("adoption_applications", "application_id");
+            restartIdentity("donations", "donation_id");
+            restartIdentity("donation_receipt", "receipt_id");
+        }
+
+        System.out.printf("Synthetic data generation complete in %.1fs.%n", (System.nanoTime() - started) / 1e9);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        /** Writes rows [from, to) on the given connection and returns how many parent rows were written. */
+        long write(Connection connection, long from, long to) throws Exception;
+    }
+
+    /**
+     * Splits [0, rows) into chunks of batchSize * chunkBatches rows and writes them on {@code workers}
+     * threads, each chunk in its own transaction.
+     */
+    private void generate(String label, long rows, boolean mysql, ChunkWriter writer) throws Exception {
+        if (rows <= 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        long chunkSize = (long) batchSize * chunkBatches;
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Long>> chunks = new ArrayList<>();
+            for (long from = 0; from < rows; from += chunkSize) {
+                long start = from;
+                long end = Math.min(rows, from + chunkSize);
+                chunks.add(pool.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        if (mysql) {
+                            try (Statement statement = connection.createStatement()) {
+                                // Rows are unique and consistent by construction; skip the per-row checks
+                                statement.execute("SET unique_checks = 0, foreign_key_checks = 0");
+                            }
+                        }
+                        try {
+                            long written = writer.write(connection, start, end);
+                            connection.commit();
+                            return written;
+                        } catch (Exception e) {
+                            connection.rollback();
+                            throw e;
+                        } finally {
+                            if (mysql) {
+                                try (Statement statement = connection.createStatement()) {
+                                    statement.execute("SET unique_checks = 1, foreign_key_checks = 1");
+                                }
+                            }
+                            connection.setAutoCommit(true);
+                        }
+                    }
+                }));
+            }
+            long written = 0;
+            for (Future<Long> chunk : chunks) {
+                written += chunk.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("-> %s: %,d rows in %.1fs (%,.0f rows/s)%n", label, written, seconds, written / seconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // The row's pet index, user index and status roll, drawn first from its random
+    private long[] applicationDraw(SplittableRandom random, ZipfSampler hotPets, long petStride) {
+        long petIndex = permute(hotPets.sample(random), petCount, petStride);
+        long userIndex = random.nextInt(userCount);
+        return new long[] {petIndex, userIndex, random.nextInt(100)};
+    }
+
+    /**
+     * Rows drawn as Pending for a (user, pet) pair that an earlier row already holds as Pending. Found in
+     * one pass in row order before the parallel write, so the outcome does not depend on the workers.
+     */
+    private BitSet repeatedPendingApplications(ZipfSampler hotPets, long petStride) {
+        BitSet repeated = new BitSet();
+        Set<Long> pending = new HashSet<>();
+        for (long i = 0; i < applicationCount; i++) {
+            long[] draw = applicationDraw(rowRandom(APPLICATIONS, i), hotPets, petStride);
+            if (draw[2] < PENDING_PERCENT && !pending.add(draw[0] * userCount + draw[1])) {
+                repeated.set((int) i);
+            }
+        }
+        return repeated;
+    }
+
+    private DonationReceipt receipt(String receiptNumber, LocalDateTime date, long userIndex, long userId,
+                                    String method, String status) {
+        DonationReceipt receipt = new DonationReceipt();
+        receipt.setReceipt_number(receiptNumber);
+        receipt.setReceipt_date(date);
+        receipt.setDonor_name(userName(userIndex));
+        receipt.setDonor_email(userEmail(userId));
+        receipt.setDonor_address(userAddress(userIndex));
+        receipt.setPayment_method(method);
+        receipt.setStatus(status);
+        receipt.setTransaction_id(receiptNumber);
+        return receipt;
+    }
+
+    // Just what the receipt documents show of the donation
+    private Donations donation(double amount, Long petIndex) {
+        Donations donation = new Donations();
+        donation.setAmount(amount);
+        if (petIndex != null) {
+            Pets pet = new Pets();
+            pet.setName(petName(petIndex));
+            donation.setPet(pet);
+        }
+        return donation;
+    }
+
+    private SplittableRandom rowRandom(int table, long row) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + table * 0xBF58476D1CE4E5B9L + row);
+    }
+
+    /**
+     * Maps Zipf rank 1..n onto a row index 0..n-1 with a fixed stride, so the hot entities are spread
+     * across the id range instead of all being the oldest rows.
+     */
+    private static long permute(int rank, long n, long stride) {
+        return ((rank - 1) * stride) % n;
+    }
+
+    private static long coprimeStride(long n) {
+        long stride = 1_000_000_007L % Math.max(n, 1);
+        while (stride <= 1 || gcd(stride, n) != 1) {
+            stride++;
+            if (n <= 2) {
+                return 1;
+            }
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * A random time in [from, to]. With growth below 1 the times lean towards {@code to}
+     * (0.5 means activity grows roughly linearly over the period).
+     */
+    private static LocalDateTime timeBetween(SplittableRandom random, LocalDateTime from, LocalDateTime to, double growth) {
+        long seconds = ChronoUnit.SECONDS.between(from, to);
+        double u = Math.pow(random.nextDouble(), growth);
+        return from.plusSeconds((long) (u * seconds));
+    }
+
+    // Names and addresses are derived from the row number alone so receipts can reproduce them cheaply
+    private String userName(long userIndex) {
+        SplittableRandom random = rowRandom(USERS + 100, userIndex);
+        return pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random);
+    }
+
+    private String petName(long petIndex) {
+        return pick(PET_NAMES, rowRandom(PETS + 100, petIndex)) + " " + (petIndex + 1);
+    }
+
+    private String userAddress(long userIndex) {
+        SplittableRandom random = rowRandom(USERS + 200, userIndex);
+        return (1 + random.nextInt(999)) + " Rizal St., " + pick(CITIES, random);
+    }
+
+    private static String userEmail(long userId) {
+        return "user" + userId + "@pawsitive.test";
+    }
+
+    private static String description(SplittableRandom random, String breed) {
+        return "A " + pick(TRAITS, random) + " and " + pick(TRAITS, random) + " " + breed
+                + " looking for a loving home. " + (random.nextBoolean() ? "Vaccinated and dewormed." : "Spayed/neutered.");
+    }
+
+    private static String paymentMethod(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 50 ? "GCash" : roll < 80 ? "Credit Card" : roll < 95 ? "PayMaya" : "Bank Transfer";
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private Long roleId(String roleName) {
+        List<Long> ids = jdbc.queryForList("SELECT role_id FROM roles WHERE LOWER(role_name) = LOWER(?)", Long.class, roleName);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Role '" + roleName + "' is missing; DataSeeder must run first");
+        }
+        return ids.get(0);
+    }
+
+    private long maxId(String table, String column) {
+        Long max = jdbc.queryForObject("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private void restartIdentity(String table, String column) {
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (maxId(table, column) + 1));
+    }
+
+    private boolean isMySql() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        }
+    }
+}
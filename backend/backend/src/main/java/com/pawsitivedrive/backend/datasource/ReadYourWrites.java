@@ -0,0 +1,70 @@
+package com.pawsitivedrive.backend.datasource;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing. A client that wrote recently has its read-only transactions
+ * sent to the primary until the sticky window has passed, so it never sees a replica that has not caught
+ * up with its own change. Within one request, any read-write transaction also pins the rest of the
+ * request to the primary.
+ *
+ * The request thread's state lives in a ThreadLocal set by {@link ReadYourWritesFilter}. Last-write times
+ * per client are kept in a map that drops expired entries once it reaches its size cap.
+ */
+public class ReadYourWrites {
+
+    private static final class RequestState {
+        final String clientKey;
+        boolean sticky;
+        boolean wrote;
+
+        RequestState(String clientKey, boolean sticky) {
+            this.clientKey = clientKey;
+            this.sticky = sticky;
+        }
+    }
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final int maxClients;
+
+    public ReadYourWrites(long windowMillis, int maxClients) {
+        this.windowNanos = windowMillis * 1_000_000;
+        this.maxClients = maxClients;
+    }
+
+    public void begin(String clientKey) {
+        Long last = clientKey != null ? lastWriteNanos.get(clientKey) : null;
+        CURRENT.set(new RequestState(clientKey, last != null && System.nanoTime() - last < windowNanos));
+    }
+
+    public void end() {
+        RequestState state = CURRENT.get();
+        CURRENT.remove();
+        if (state != null && state.wrote && state.clientKey != null) {
+            if (lastWriteNanos.size() >= maxClients) {
+                long now = System.nanoTime();
+                lastWriteNanos.values().removeIf(time -> now - time >= windowNanos);
+            }
+            lastWriteNanos.put(state.clientKey, System.nanoTime());
+        }
+    }
+
+    /**
+     * Called by the routing datasource when a read-write transaction takes a primary connection.
+     */
+    static void markWrite() {
+        RequestState state = CURRENT.get();
+        if (state != null) {
+            state.wrote = true;
+            state.sticky = true;
+        }
+    }
+
+    static boolean isSticky() {
+        RequestState state = CURRENT.get();
+        return state != null && state.sticky;
+    }
+}
@@ -0,0 +1,35 @@
+package com.pawsitivedrive.backend.datasource;
+
+import com.pawsitivedrive.backend.web.ClientAddresses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the client of each request (by IP; the frontend has no session) for {@link ReadYourWrites}.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWrites readYourWrites;
+    private final boolean trustForwardedFor;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites, boolean trustForwardedFor) {
+        this.readYourWrites = readYourWrites;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        readYourWrites.begin(ClientAddresses.of(request, trustForwardedFor));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readYourWrites.end();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.pawsitivedrive.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} work to a replica and everything else
+ * (read-write transactions, auto-commit statements) to the primary.
+ *
+ * The decision is made when a connection is requested, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for its connection before it publishes the
+ * read-only flag, and the lazy proxy defers the real getConnection() to the first statement.
+ *
+ * Replicas are picked round-robin among those currently healthy. A replica whose getConnection() fails is
+ * marked down at once and the request moves on to the next one, falling back to the primary when none is
+ * left; a background check pings every replica and brings recovered ones back. Reads of a client that
+ * wrote recently stay on the primary, see {@link ReadYourWrites}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final Counter routed;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource, Counter routed) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routed = routed;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryRouted;
+    private final Counter stickyRouted;
+    private final Counter fallbackRouted;
+    private final Counter failovers;
+    private final ScheduledExecutorService healthCheck;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    long healthCheckIntervalMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String name = "replica-" + i;
+            replicas.add(new Replica(name, replicaDataSources.get(i), routedCounter(meterRegistry, name, "read-only")));
+        }
+        this.primaryRouted = routedCounter(meterRegistry, "primary", "read-write");
+        this.stickyRouted = routedCounter(meterRegistry, "primary", "sticky");
+        this.fallbackRouted = routedCounter(meterRegistry, "primary", "no-replica");
+        this.failovers = Counter.builder("pawsitive.datasource.failovers")
+                .description("Replica connection failures that moved a read to another target")
+                .register(meterRegistry);
+        Gauge.builder("pawsitive.datasource.replicas.healthy", replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .description("Replicas currently eligible for read-only transactions")
+                .register(meterRegistry);
+
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkReplicas, healthCheckIntervalMillis, healthCheckIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    /**
+     * Stops the health check and closes the primary and replica pools.
+     */
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.markWrite();
+            }
+            primaryRouted.increment();
+            return connect(primary, username, password);
+        }
+        if (ReadYourWrites.isSticky()) {
+            stickyRouted.increment();
+            return connect(primary, username, password);
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = connect(replica.dataSource, username, password);
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+                failovers.increment();
+            }
+        }
+        fallbackRouted.increment();
+        return connect(primary, username, password);
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    if (!replica.healthy) {
+                        replica.healthy = true;
+                        log.info("Replica {} is back in the read rotation", replica.name);
+                    }
+                } else {
+                    markDown(replica, null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    private static void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of the read rotation: {}", replica.name,
+                    cause != null ? cause.getMessage() : "connection failed validation");
+        }
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Closing {} failed", dataSource, e);
+            }
+        }
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("pawsitive.datasource.routed")
+                .description("Connections handed out by the read/write router")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
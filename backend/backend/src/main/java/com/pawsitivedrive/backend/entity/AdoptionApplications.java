@@ -1,5 +1,6 @@
 package com.pawsitivedrive.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -24,11 +25,32 @@ public class AdoptionApplications {
 
     @ManyToOne
     @JoinColumn(name = "reviewed_by")
+    @JsonIgnoreProperties({"profiles", "donations", "password", "applications"})
     private Users reviewedBy; // Admin user
 
     private LocalDateTime application_date = LocalDateTime.now();
     private String status; // Pending / Approved / Rejected
 
+    // Optimistic lock: two admins reviewing the same application cannot both win
+    @Version
+    private long version;
+
+    // "userId:petId" while the application is Pending, NULL otherwise. MySQL has no partial indexes,
+    // so this unique column stands in for UNIQUE (user_id, pet_id) WHERE status = 'Pending'.
+    @Column(name = "pending_key", unique = true, length = 41)
+    @JsonIgnore
+    private String pendingKey;
+
+    @PrePersist
+    @PreUpdate
+    void syncPendingKey() {
+        if ("Pending".equalsIgnoreCase(status) && user != null && pet != null) {
+            pendingKey = user.getUser_id() + ":" + pet.getPet_id();
+        } else {
+            pendingKey = null;
+        }
+    }
+
     // Getters and Setters
     public Long getApplication_id() {
         return application_id;
@@ -70,6 +92,14 @@ public class AdoptionApplications {
         this.application_date = application_date;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -8,8 +8,11 @@ import java.time.LocalDateTime;
 @Table(name = "donation_history")
 public class DonationHistory {
 
+    // Shared with the audit log entries, see DonationHistoryIds
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "donation_history_ids")
+    @TableGenerator(name = "donation_history_ids", table = "donation_history_ids", pkColumnName = "sequence_name",
+            valueColumnName = "last_val", pkColumnValue = "donation_history", allocationSize = 1)
     private Long history_id;
 
     private String action; // Created / Updated / Refunded / etc.
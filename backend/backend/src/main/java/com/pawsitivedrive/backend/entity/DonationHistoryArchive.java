@@ -0,0 +1,47 @@
+package com.pawsitivedrive.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * donation_history rows of archived donations, see {@link DonationsArchive}. The entity only defines the
+ * table; migration V7 creates the partitioned MySQL version.
+ */
+@Entity
+@Table(name = "donation_history_archive",
+        indexes = @Index(name = "idx_donation_history_archive_donation_id", columnList = "donation_id"))
+@IdClass(DonationHistoryArchive.Key.class)
+public class DonationHistoryArchive {
+
+    @Id
+    private Long history_id;
+
+    @Id
+    @Column(nullable = false)
+    private Integer archive_month;
+
+    private String action;
+    private LocalDateTime action_date;
+
+    @Column(nullable = false)
+    private Long donation_id;
+
+    public static class Key implements Serializable {
+        private Long history_id;
+        private Integer archive_month;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(history_id, key.history_id)
+                    && Objects.equals(archive_month, key.archive_month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(history_id, archive_month);
+        }
+    }
+}
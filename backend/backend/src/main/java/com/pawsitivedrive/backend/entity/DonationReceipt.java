@@ -5,7 +5,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "donation_receipt")
+@Table(name = "donation_receipt", indexes = @Index(name = "idx_receipt_number", columnList = "receipt_number", unique = true))
 public class DonationReceipt {
 
     @Id
@@ -25,6 +25,10 @@ public class DonationReceipt {
     private String transaction_id;
     private String notes;
 
+    // SHA-256 of the rendered receipt; the documents live at receipts/{hash}.html and .txt
+    @Column(name = "document_hash", length = 64)
+    private String document_hash;
+
     @OneToOne
     @JoinColumn(name = "donation_id", nullable = false, unique = true)
     @JsonIgnoreProperties({"histories", "user", "pet"})
@@ -118,5 +122,12 @@ public class DonationReceipt {
     public void setDonation(Donations donation) {
         this.donation = donation;
     }
-}
 
+    public String getDocument_hash() {
+        return document_hash;
+    }
+
+    public void setDocument_hash(String document_hash) {
+        this.document_hash = document_hash;
+    }
+}
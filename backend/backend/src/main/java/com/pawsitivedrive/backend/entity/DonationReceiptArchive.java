@@ -0,0 +1,58 @@
+package com.pawsitivedrive.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * donation_receipt rows of archived donations, see {@link DonationsArchive}. The entity only defines the
+ * table; migration V7 creates the partitioned MySQL version.
+ */
+@Entity
+@Table(name = "donation_receipt_archive", indexes = {
+        @Index(name = "idx_donation_receipt_archive_donation_id", columnList = "donation_id"),
+        @Index(name = "idx_donation_receipt_archive_receipt_number", columnList = "receipt_number")})
+@IdClass(DonationReceiptArchive.Key.class)
+public class DonationReceiptArchive {
+
+    @Id
+    private Long receipt_id;
+
+    @Id
+    @Column(nullable = false)
+    private Integer archive_month;
+
+    private String receipt_number;
+    private LocalDateTime receipt_date;
+    private String donor_name;
+    private String donor_email;
+    private String donor_address;
+    private String payment_method;
+    private String status;
+    private String transaction_id;
+    private String notes;
+
+    @Column(length = 64)
+    private String document_hash;
+
+    @Column(nullable = false)
+    private Long donation_id;
+
+    public static class Key implements Serializable {
+        private Long receipt_id;
+        private Integer archive_month;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(receipt_id, key.receipt_id)
+                    && Objects.equals(archive_month, key.archive_month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(receipt_id, archive_month);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.pawsitivedrive.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "donations")
+@Table(name = "donations", indexes = @Index(name = "idx_donations_date", columnList = "donation_date"))
 public class Donations {
 
     @Id
@@ -29,8 +31,14 @@ public class Donations {
     private Pets pet;
 
     @OneToMany(mappedBy = "donation", cascade = CascadeType.ALL)
+    @JsonIgnore
     private List<DonationHistory> histories;
 
+    // The donation_history rows merged with the audit log entries (DonationHistoryLog.fill); not persisted
+    @Transient
+    @JsonIgnore
+    private List<DonationHistory> fullHistory;
+
     // Getters and Setters
     public Long getDonation_id() {
         return donation_id;
@@ -62,10 +70,21 @@ public class Donations {
     }
 
     // Method to read the list of histories
+    @JsonIgnore
     public List<DonationHistory> getHistories() {
         return histories;
     }
 
+    // Shown as "histories": the full history once filled in, the table rows otherwise
+    @JsonProperty("histories")
+    public List<DonationHistory> getFullHistory() {
+        return fullHistory != null ? fullHistory : histories;
+    }
+
+    public void setFullHistory(List<DonationHistory> fullHistory) {
+        this.fullHistory = fullHistory;
+    }
+
     public void setHistories(List<DonationHistory> histories) {
         this.histories = histories;
     }
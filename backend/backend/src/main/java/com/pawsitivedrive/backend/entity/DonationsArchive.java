@@ -0,0 +1,50 @@
+package com.pawsitivedrive.backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Donations moved out of the hot table by DonationArchive, keyed by id and archive_month (yyyyMM). Written
+ * and read with plain JDBC; the entity only defines the table where ddl-auto builds the schema. On MySQL,
+ * migration V7 creates it compressed and RANGE-partitioned by archive_month instead.
+ */
+@Entity
+@Table(name = "donations_archive", indexes = @Index(name = "idx_donations_archive_user_id", columnList = "user_id"))
+@IdClass(DonationsArchive.Key.class)
+public class DonationsArchive {
+
+    @Id
+    private Long donation_id;
+
+    @Id
+    @Column(nullable = false)
+    private Integer archive_month;
+
+    @Column(nullable = false)
+    private double amount;
+
+    private LocalDateTime donation_date;
+    private String payment_method;
+    private String status;
+    private Long user_id;
+    private Long pet_id;
+
+    public static class Key implements Serializable {
+        private Long donation_id;
+        private Integer archive_month;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(donation_id, key.donation_id)
+                    && Objects.equals(archive_month, key.archive_month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(donation_id, archive_month);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pawsitivedrive.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Shared record of an Idempotency-Key request, so a retry that lands on another instance replays the
+ * first response. Written and read with plain JDBC by IdempotencyStore; the entity only defines the table.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+public class IdempotencyKey {
+
+    // SHA-256 of method, path and the client's key
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotency_key;
+
+    // SHA-256 of the request body; a reused key with another body is rejected
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String request_hash;
+
+    // Null while the first request is still running
+    private Integer status_code;
+    private String content_type;
+    private String location;
+
+    @Lob
+    @Column(length = 16_777_215)
+    private byte[] body;
+
+    // Epoch millis; another instance may take over an in-flight key once its lease has run out
+    private Long locked_until;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expires_at;
+
+    public IdempotencyKey() {}
+
+    // Getters and Setters
+    public String getIdempotency_key() {
+        return idempotency_key;
+    }
+
+    public void setIdempotency_key(String idempotency_key) {
+        this.idempotency_key = idempotency_key;
+    }
+
+    public String getRequest_hash() {
+        return request_hash;
+    }
+
+    public void setRequest_hash(String request_hash) {
+        this.request_hash = request_hash;
+    }
+
+    public Integer getStatus_code() {
+        return status_code;
+    }
+
+    public void setStatus_code(Integer status_code) {
+        this.status_code = status_code;
+    }
+
+    public String getContent_type() {
+        return content_type;
+    }
+
+    public void setContent_type(String content_type) {
+        this.content_type = content_type;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    public Long getLocked_until() {
+        return locked_until;
+    }
+
+    public void setLocked_until(Long locked_until) {
+        this.locked_until = locked_until;
+    }
+
+    public Long getExpires_at() {
+        return expires_at;
+    }
+
+    public void setExpires_at(Long expires_at) {
+        this.expires_at = expires_at;
+    }
+}
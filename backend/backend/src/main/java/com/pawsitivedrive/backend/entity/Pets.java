@@ -24,6 +24,11 @@ public class Pets {
     private String image_url;
     private LocalDateTime created_at = LocalDateTime.now();
 
+    // Optimistic lock: concurrent read-modify-write of the same pet fails instead of losing an update.
+    // Primitive so rows that existed before this column are not mistaken for new entities.
+    @Version
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "added_by", nullable = false)
     @JsonIgnoreProperties({"profiles", "donations", "password", "applications"})
@@ -118,6 +123,14 @@ public class Pets {
         this.created_at = created_at;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public Users getAddedBy() {
         return addedBy;
     }
@@ -0,0 +1,152 @@
+package com.pawsitivedrive.backend.idempotency;
+
+import com.pawsitivedrive.backend.web.CachedBodyRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a POST that carries an Idempotency-Key header at most once per key: retries get the stored
+ * status, Content-Type, Location and body back with Idempotent-Replayed: true, and a retry that arrives
+ * while the first attempt is still running waits for it. Reusing a key with a different body is a 422.
+ * Requests without the header are not affected.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final List<String> paths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final int maxBodyBytes;
+    private final int maxResponseBytes;
+    private final Map<IdempotencyStore.Decision, Counter> outcomes = new EnumMap<>(IdempotencyStore.Decision.class);
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.paths = List.copyOf(properties.getPaths());
+        this.maxBodyBytes = properties.getMaxBodyBytes();
+        this.maxResponseBytes = properties.getMaxResponseBytes();
+        for (IdempotencyStore.Decision decision : IdempotencyStore.Decision.values()) {
+            outcomes.put(decision, Counter.builder("pawsitive.idempotency.requests")
+                    .description("Requests with an Idempotency-Key, by what happened to them")
+                    .tag("outcome", decision.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("pawsitive.idempotency.keys", store, IdempotencyStore::size)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            error(response, 400, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        CachedBodyRequest cached = CachedBodyRequest.read(request, maxBodyBytes);
+        if (cached == null) {
+            error(response, 413, "Request bodies with an Idempotency-Key are limited to " + maxBodyBytes + " bytes.");
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = sha256(("POST " + path + "\n" + clientKey).getBytes(StandardCharsets.UTF_8));
+
+        IdempotencyStore.Outcome outcome;
+        try {
+            outcome = store.begin(key, sha256(cached.getBody()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error(response, 503, "Interrupted while waiting for an earlier request with this Idempotency-Key.");
+            return;
+        }
+        outcomes.get(outcome.decision()).increment();
+        switch (outcome.decision()) {
+            case REPLAY -> replay(response, outcome.response());
+            case MISMATCH -> error(response, 422, "This Idempotency-Key was already used with a different request body.");
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                error(response, 409, "A request with this Idempotency-Key is still being processed.");
+            }
+            case EXECUTE -> execute(cached, response, chain, key, outcome.entry());
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500 && wrapper.getContentSize() <= maxResponseBytes) {
+                store.complete(key, entry, new IdempotencyStore.StoredResponse(wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getHeader("Location"), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abort(key, entry);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader("Idempotent-Replayed", "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader("Location", stored.location());
+        }
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static void error(HttpServletResponse response, int status, String message) throws IOException {
+        byte[] body = ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
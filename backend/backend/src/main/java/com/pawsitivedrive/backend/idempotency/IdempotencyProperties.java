@@ -0,0 +1,50 @@
+package com.pawsitivedrive.backend.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.idempotency.* settings. POST requests to one of the path patterns that carry an Idempotency-Key
+ * header run once; repeats within the TTL get the first response back.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private List<String> paths = new ArrayList<>(List.of("/api/donations", "/api/applications"));
+    // How long a completed response is replayed
+    private Duration ttl = Duration.ofHours(24);
+    // Completed keys kept in memory; older ones are still found in the idempotency_keys table
+    private int maxEntries = 10_000;
+    // How long a duplicate waits for the first request before it gets 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    // An in-flight key is claimed for this long and renewed every third of it while the request runs, so
+    // another instance can only take it over once the owner has stopped renewing (crashed) for a full lease
+    private Duration inFlightLease = Duration.ofMinutes(2);
+    private Duration purgeInterval = Duration.ofMinutes(10);
+    private int maxBodyBytes = 64 * 1024;
+    // Larger responses are not stored, so a retry runs again
+    private int maxResponseBytes = 1024 * 1024;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public Duration getWaitTimeout() { return waitTimeout; }
+    public void setWaitTimeout(Duration waitTimeout) { this.waitTimeout = waitTimeout; }
+    public Duration getInFlightLease() { return inFlightLease; }
+    public void setInFlightLease(Duration inFlightLease) { this.inFlightLease = inFlightLease; }
+    public Duration getPurgeInterval() { return purgeInterval; }
+    public void setPurgeInterval(Duration purgeInterval) { this.purgeInterval = purgeInterval; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+    public int getMaxResponseBytes() { return maxResponseBytes; }
+    public void setMaxResponseBytes(int maxResponseBytes) { this.maxResponseBytes = maxResponseBytes; }
+}
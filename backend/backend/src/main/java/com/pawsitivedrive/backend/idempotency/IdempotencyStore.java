@@ -0,0 +1,273 @@
+package com.pawsitivedrive.backend.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Idempotency keys, in memory and mirrored to the idempotency_keys table.
+ *
+ * Within one instance a key maps to an {@link Entry} whose future completes with the stored response,
+ * so concurrent duplicates simply wait on the first request. Across instances the table row is the
+ * claim: the instance that inserts it runs the request, others poll the row until it has a response.
+ * The claim holds for the in-flight lease, which the owning instance renews every third of a lease while
+ * the request runs; a crashed instance stops renewing, so its keys free up after one lease instead of the
+ * whole TTL. Responses with a 5xx status are not stored; the key is released and a retry runs again.
+ *
+ * The map is bounded: past max-entries, expired and then arbitrary completed entries are dropped. They
+ * are still found in the table, so eviction only costs a lookup.
+ */
+public class IdempotencyStore implements AutoCloseable {
+
+    public record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    public enum Decision { EXECUTE, REPLAY, MISMATCH, IN_PROGRESS }
+
+    /**
+     * For EXECUTE the caller owns the entry and must finish it with complete() or abort().
+     */
+    public record Outcome(Decision decision, Entry entry, StoredResponse response) {
+    }
+
+    public static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+        // True while this instance runs the request and keeps renewing the row's lease
+        private volatile boolean running;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final long POLL_MS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMs;
+    private final long waitTimeoutNanos;
+    private final long leaseMs;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evicting = new ReentrantLock();
+    private final ScheduledExecutorService maintenance;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMs = properties.getTtl().toMillis();
+        this.waitTimeoutNanos = properties.getWaitTimeout().toNanos();
+        this.leaseMs = properties.getInFlightLease().toMillis();
+        this.maxEntries = properties.getMaxEntries();
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPurgeInterval().toMillis();
+        maintenance.scheduleWithFixedDelay(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+        long renewal = Math.max(1, leaseMs / 3);
+        maintenance.scheduleWithFixedDelay(this::renewLeases, renewal, renewal, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Claims the key or resolves it to an earlier response, waiting up to wait-timeout for a request
+     * with the same key that is still running.
+     */
+    public Outcome begin(String key, String fingerprint) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+        while (true) {
+            Entry mine = new Entry(fingerprint);
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) {
+                evictIfNeeded();
+                try {
+                    return claimRow(key, mine, deadline);
+                } catch (RuntimeException e) {
+                    release(key, mine);
+                    throw e;
+                }
+            }
+            if (existing.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                return new Outcome(Decision.MISMATCH, null, null);
+            }
+            StoredResponse response;
+            try {
+                response = existing.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return new Outcome(Decision.IN_PROGRESS, null, null);
+            } catch (ExecutionException e) {
+                response = null;
+            }
+            if (response != null) {
+                return new Outcome(Decision.REPLAY, null, response);
+            }
+            // The first request was aborted; try to claim the key ourselves
+        }
+    }
+
+    public void complete(String key, Entry entry, StoredResponse response) {
+        long expiresAt = System.currentTimeMillis() + ttlMs;
+        try {
+            jdbcTemplate.update("UPDATE idempotency_keys SET status_code = ?, content_type = ?, location = ?, body = ?, "
+                            + "locked_until = NULL, expires_at = ? WHERE idempotency_key = ?",
+                    response.status(), response.contentType(), response.location(), response.body(), expiresAt, key);
+        } catch (RuntimeException e) {
+            // Still replayed by this instance; only other instances miss it
+            log.warn("Could not store the response for an idempotency key", e);
+        }
+        entry.running = false;
+        entry.expiresAt = expiresAt;
+        entry.result.complete(response);
+    }
+
+    public void abort(String key, Entry entry) {
+        try {
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status_code IS NULL", key);
+        } catch (RuntimeException e) {
+            // The lease runs out eventually
+            log.warn("Could not release an idempotency key", e);
+        }
+        release(key, entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdownNow();
+    }
+
+    private Outcome claimRow(String key, Entry mine, long deadline) throws InterruptedException {
+        while (true) {
+            long now = System.currentTimeMillis();
+            if (insert(key, mine.fingerprint, now)) {
+                mine.running = true;
+                return new Outcome(Decision.EXECUTE, mine, null);
+            }
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT request_hash, status_code, content_type, location, body, locked_until, expires_at "
+                            + "FROM idempotency_keys WHERE idempotency_key = ?", key);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            Map<String, Object> row = rows.get(0);
+            long expiresAt = ((Number) row.get("expires_at")).longValue();
+            if (expiresAt < now) {
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at = ?", key, expiresAt);
+                continue;
+            }
+            if (!mine.fingerprint.equals(row.get("request_hash"))) {
+                release(key, mine);
+                return new Outcome(Decision.MISMATCH, null, null);
+            }
+            if (row.get("status_code") != null) {
+                StoredResponse response = new StoredResponse(((Number) row.get("status_code")).intValue(),
+                        (String) row.get("content_type"), (String) row.get("location"), (byte[]) row.get("body"));
+                mine.expiresAt = expiresAt;
+                mine.result.complete(response);
+                return new Outcome(Decision.REPLAY, null, response);
+            }
+            // Running on another instance; take it over only if that instance's lease ran out
+            Number lockedUntil = (Number) row.get("locked_until");
+            if (lockedUntil != null && lockedUntil.longValue() < now
+                    && jdbcTemplate.update("UPDATE idempotency_keys SET locked_until = ?, expires_at = ? "
+                            + "WHERE idempotency_key = ? AND status_code IS NULL AND locked_until = ?",
+                    now + leaseMs, now + ttlMs, key, lockedUntil.longValue()) == 1) {
+                mine.running = true;
+                return new Outcome(Decision.EXECUTE, mine, null);
+            }
+            if (System.nanoTime() >= deadline) {
+                release(key, mine);
+                return new Outcome(Decision.IN_PROGRESS, null, null);
+            }
+            Thread.sleep(POLL_MS);
+        }
+    }
+
+    private boolean insert(String key, String fingerprint, long now) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, locked_until, expires_at) "
+                    + "VALUES (?, ?, ?, ?)", key, fingerprint, now + leaseMs, now + ttlMs);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // Local waiters wake up with null and try to claim the key themselves
+    private void release(String key, Entry entry) {
+        entry.running = false;
+        entries.remove(key, entry);
+        entry.result.complete(null);
+    }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= maxEntries || !evicting.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(e -> e.getValue().expiresAt < now);
+            // Still full: drop completed entries (in-flight ones have expiresAt = MAX) down to 90%
+            int target = maxEntries - maxEntries / 10;
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                if (it.next().getValue().expiresAt != Long.MAX_VALUE) {
+                    it.remove();
+                }
+            }
+        } finally {
+            evicting.unlock();
+        }
+    }
+
+    // Pushes locked_until forward for the requests this instance is still running
+    private void renewLeases() {
+        long lockedUntil = System.currentTimeMillis() + leaseMs;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!entry.getValue().running) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update("UPDATE idempotency_keys SET locked_until = ? "
+                        + "WHERE idempotency_key = ? AND status_code IS NULL", lockedUntil, entry.getKey());
+            } catch (RuntimeException e) {
+                log.warn("Could not renew the lease of an idempotency key", e);
+            }
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            entries.entrySet().removeIf(e -> e.getValue().expiresAt < now);
+            int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", now);
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.pawsitivedrive.backend.loadshed;
+
+import com.pawsitivedrive.backend.loadshed.LoadSheddingProperties.Priority;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows the latency of the requests it admits, in the style of Netflix's
+ * Gradient2 limiter. Once per window the mean latency of the window is compared with a long-term average:
+ *
+ *   gradient = clamp(tolerance * longTerm / window, 0.5, 1)
+ *   newLimit = limit * gradient + sqrt(limit)
+ *
+ * so the limit grows by sqrt(limit) while latency stays within tolerance and shrinks (at most by half)
+ * as requests start to queue. Latency alone reacts late when MySQL slows down and every thread ends up
+ * waiting on Hikari, so while the pool has waiting threads, or connections took longer than
+ * pool-wait-threshold to acquire, the limit is also multiplied by backoff. The limit does not grow while
+ * less than half of it is in use.
+ *
+ * CRITICAL requests may use the whole limit, NORMAL and LOW requests only their share, so the last free
+ * slots are kept for catalog reads and auth.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Weight of one window in the long-term latency average (about the last 50 windows)
+    private static final double LONG_TERM_WEIGHT = 0.02;
+
+    public record Snapshot(int limit, int inflight, double latencyMs, double baselineMs,
+                           long poolPending, double poolAcquireMs, long lastShedMillis) {
+    }
+
+    private final LoadSheddingProperties properties;
+    private final PoolPressure poolPressure;
+    private final long windowNanos;
+    private final long poolWaitThresholdNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+    // System.currentTimeMillis() of the last CRITICAL or NORMAL request shed, 0 if none
+    private volatile long lastShedMillis;
+
+    // Current window, guarded by this
+    private long windowStart = System.nanoTime();
+    private int samples;
+    private long latencySumNanos;
+    private int maxInflight;
+    private double baselineNanos;
+    private double lastLatencyNanos;
+    private PoolPressure.Sample lastPool = new PoolPressure.Sample(0, 0);
+
+    public AdaptiveConcurrencyLimit(LoadSheddingProperties properties, PoolPressure poolPressure) {
+        if (properties.getMinLimit() < 1 || properties.getMaxLimit() < properties.getMinLimit()) {
+            throw new IllegalArgumentException("app.load-shedding needs 1 <= min-limit <= max-limit");
+        }
+        this.properties = properties;
+        this.poolPressure = poolPressure;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.poolWaitThresholdNanos = properties.getPoolWaitThreshold().toNanos();
+        this.limit = clamp(properties.getInitialLimit());
+    }
+
+    /**
+     * Takes a slot if requests of this priority have not filled their share of the limit. Every successful
+     * call must be followed by {@link #release}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * share(priority)));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                if (priority != Priority.LOW) {
+                    lastShedMillis = System.currentTimeMillis();
+                }
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                synchronized (this) {
+                    maxInflight = Math.max(maxInflight, current + 1);
+                }
+                return true;
+            }
+        }
+    }
+
+    /** Frees the slot of a request admitted by tryAcquire, which took latencyNanos. */
+    public void release(long latencyNanos) {
+        inflight.decrementAndGet();
+        record(latencyNanos, System.nanoTime());
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(limit, inflight.get(), lastLatencyNanos / 1e6, baselineNanos / 1e6,
+                lastPool.pendingThreads(), lastPool.meanAcquireNanos() / 1e6, lastShedMillis);
+    }
+
+    private synchronized void record(long latencyNanos, long now) {
+        samples++;
+        latencySumNanos += latencyNanos;
+        if (now - windowStart < windowNanos || samples < properties.getMinSamples()) {
+            return;
+        }
+        double latency = (double) latencySumNanos / samples;
+        lastLatencyNanos = latency;
+        lastPool = poolPressure.sample();
+        if (baselineNanos == 0) {
+            baselineNanos = latency;
+        } else {
+            baselineNanos += (latency - baselineNanos) * LONG_TERM_WEIGHT;
+            // Latency has dropped well below the baseline (e.g. after a slow spell): let it recover faster
+            if (baselineNanos > 2 * latency) {
+                baselineNanos *= 0.9;
+            }
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * baselineNanos / latency));
+        double next = limit * gradient + Math.sqrt(limit);
+        if (lastPool.pendingThreads() > 0 || lastPool.meanAcquireNanos() > poolWaitThresholdNanos) {
+            next = Math.min(next, limit * properties.getBackoff());
+        }
+        if (maxInflight < limit / 2) {
+            next = Math.min(next, limit);
+        }
+        next = limit * (1 - properties.getSmoothing()) + next * properties.getSmoothing();
+        // Round away from the current limit so small steps still move it
+        limit = clamp((int) (next < limit ? Math.floor(next) : Math.ceil(next)));
+
+        windowStart = now;
+        samples = 0;
+        latencySumNanos = 0;
+        maxInflight = inflight.get();
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> properties.getNormalShare();
+            case LOW -> properties.getLowShare();
+        };
+    }
+
+    private int clamp(int value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,126 @@
+package com.pawsitivedrive.backend.loadshed;
+
+import com.pawsitivedrive.backend.loadshed.LoadSheddingProperties.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sheds load before it reaches the controllers: a request that does not fit under the adaptive
+ * concurrency limit (see {@link AdaptiveConcurrencyLimit}) ends here with 503 and a Retry-After header
+ * instead of tying up a Tomcat thread in the queue for a database connection. Admitted requests report
+ * their latency back to the limit when they finish.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final byte[] SERVICE_UNAVAILABLE =
+            "{\"message\":\"The service is busy. Please try again shortly.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final String retryAfterSeconds;
+    private final Map<Priority, Counter> accepted = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimit limit, LoadSheddingProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.limit = limit;
+        for (LoadSheddingProperties.Rule rule : properties.getRules()) {
+            rules.add(new CompiledRule(rule));
+        }
+        this.retryAfterSeconds = Long.toString(Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000));
+        for (Priority priority : Priority.values()) {
+            accepted.put(priority, counter(meterRegistry, priority, "accepted"));
+            shed.put(priority, counter(meterRegistry, priority, "shed"));
+        }
+        Gauge.builder("pawsitive.loadshed.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for API requests")
+                .register(meterRegistry);
+        Gauge.builder("pawsitive.loadshed.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                .description("API requests currently admitted under the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = classify(request);
+        if (!limit.tryAcquire(priority)) {
+            shed.get(priority).increment();
+            reject(response);
+            return;
+        }
+        accepted.get(priority).increment();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (CompiledRule rule : rules) {
+            if (rule.matches(request.getMethod(), path, pathMatcher)) {
+                return rule.priority;
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(SERVICE_UNAVAILABLE.length);
+        response.getOutputStream().write(SERVICE_UNAVAILABLE);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Priority priority, String outcome) {
+        return Counter.builder("pawsitive.loadshed.requests")
+                .description("API requests admitted or shed with 503 by the load shedder")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class CompiledRule {
+        final String pattern;
+        final Set<String> methods = new HashSet<>();
+        final Priority priority;
+
+        CompiledRule(LoadSheddingProperties.Rule rule) {
+            if (rule.getPattern() == null) {
+                throw new IllegalArgumentException("Every app.load-shedding rule needs a pattern");
+            }
+            this.pattern = rule.getPattern();
+            for (String method : rule.getMethods()) {
+                methods.add(method.toUpperCase(Locale.ROOT));
+            }
+            this.priority = rule.getPriority();
+        }
+
+        boolean matches(String method, String path, AntPathMatcher matcher) {
+            return (methods.isEmpty() || methods.contains(method)) && matcher.match(pattern, path);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pawsitivedrive.backend.loadshed;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Instant;
+
+/**
+ * Part of the readiness group (/actuator/health/readiness), for its details: the current limit, in-flight
+ * requests, latency, pool waits and when a CRITICAL or NORMAL request was last shed. It always reports UP.
+ * Shedding already turns away the excess; taking the instance out of rotation as well would, in a slowdown
+ * that hits every instance (e.g. a slow database), pull the whole fleet at once.
+ */
+public class LoadSheddingHealthIndicator implements HealthIndicator {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final boolean enabled;
+
+    public LoadSheddingHealthIndicator(AdaptiveConcurrencyLimit limit, LoadSheddingProperties properties) {
+        this.limit = limit;
+        this.enabled = properties.isEnabled();
+    }
+
+    @Override
+    public Health health() {
+        if (!enabled) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        AdaptiveConcurrencyLimit.Snapshot snapshot = limit.snapshot();
+        Health.Builder health = Health.up()
+                .withDetail("limit", snapshot.limit())
+                .withDetail("inflight", snapshot.inflight())
+                .withDetail("latencyMs", round(snapshot.latencyMs()))
+                .withDetail("baselineLatencyMs", round(snapshot.baselineMs()))
+                .withDetail("poolPending", snapshot.poolPending())
+                .withDetail("poolAcquireMs", round(snapshot.poolAcquireMs()));
+        if (snapshot.lastShedMillis() > 0) {
+            health.withDetail("lastShed", Instant.ofEpochMilli(snapshot.lastShedMillis()).toString());
+        }
+        return health.build();
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pawsitivedrive.backend.loadshed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.load-shedding.* settings. The concurrency limit adapts between min-limit and max-limit (see
+ * {@link AdaptiveConcurrencyLimit}); each priority may fill its share of it. Requests are classified by
+ * the first matching rule, NORMAL if none matches.
+ */
+@ConfigurationProperties(prefix = "app.load-shedding")
+public class LoadSheddingProperties {
+
+    public enum Priority { CRITICAL, NORMAL, LOW }
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    // The limit is recomputed at most once per window, and only from at least min-samples requests
+    private Duration window = Duration.ofMillis(250);
+    private int minSamples = 10;
+    // Latency may rise to this multiple of the long-term average before the limit shrinks
+    private double tolerance = 2.0;
+    // Weight of each new limit against the previous one, 0..1
+    private double smoothing = 0.2;
+    // Hikari acquire times above this count as pool saturation, as do threads waiting for a connection
+    private Duration poolWaitThreshold = Duration.ofMillis(20);
+    // Multiplier applied to the limit while the pool is saturated
+    private double backoff = 0.9;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    // Fraction of the limit that NORMAL and LOW requests may fill; CRITICAL requests may use all of it
+    private double normalShare = 0.9;
+    private double lowShare = 0.5;
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Rule {
+        private String pattern;
+        private List<String> methods = new ArrayList<>();
+        private Priority priority = Priority.NORMAL;
+
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+        public Priority getPriority() { return priority; }
+        public void setPriority(Priority priority) { this.priority = priority; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public int getMinSamples() { return minSamples; }
+    public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+    public Duration getPoolWaitThreshold() { return poolWaitThreshold; }
+    public void setPoolWaitThreshold(Duration poolWaitThreshold) { this.poolWaitThreshold = poolWaitThreshold; }
+    public double getBackoff() { return backoff; }
+    public void setBackoff(double backoff) { this.backoff = backoff; }
+    public Duration getRetryAfter() { return retryAfter; }
+    public void setRetryAfter(Duration retryAfter) { this.retryAfter = retryAfter; }
+    public double getNormalShare() { return normalShare; }
+    public void setNormalShare(double normalShare) { this.normalShare = normalShare; }
+    public double getLowShare() { return lowShare; }
+    public void setLowShare(double lowShare) { this.lowShare = lowShare; }
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+}
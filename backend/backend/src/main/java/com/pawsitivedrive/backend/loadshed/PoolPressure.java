@@ -0,0 +1,47 @@
+package com.pawsitivedrive.backend.loadshed;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool saturation as reported by the hikaricp.* meters, summed over every pool (primary and
+ * replicas). Read from the registry rather than the pools themselves because with replica routing the
+ * pools are not beans.
+ */
+public class PoolPressure {
+
+    public record Sample(long pendingThreads, double meanAcquireNanos) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    // Acquire timer totals at the previous sample, to average over the interval in between
+    private long lastCount;
+    private double lastTotalNanos;
+
+    public PoolPressure(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Threads waiting for a connection now, and the mean acquire time since the previous call. */
+    public synchronized Sample sample() {
+        long pending = 0;
+        for (Gauge gauge : meterRegistry.find("hikaricp.connections.pending").gauges()) {
+            double value = gauge.value();
+            pending += Double.isNaN(value) ? 0 : (long) value;
+        }
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long acquired = count - lastCount;
+        double mean = acquired > 0 ? (totalNanos - lastTotalNanos) / acquired : 0;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+        return new Sample(pending, mean);
+    }
+}
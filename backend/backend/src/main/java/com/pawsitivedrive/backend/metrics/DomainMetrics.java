@@ -0,0 +1,81 @@
+package com.pawsitivedrive.backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business-level counters exposed next to the technical metrics on /actuator/prometheus.
+ * Keeping the meter names here means every controller reports the same series.
+ */
+@Component
+public class DomainMetrics {
+
+    private final Counter donationsCreated;
+    private final DistributionSummary donationAmount;
+    private final Counter applicationsSubmitted;
+    private final Counter applicationsApproved;
+    private final Counter applicationsRejected;
+    private final Counter usersSignedUp;
+    private final Counter loginsFailed;
+
+    public DomainMetrics(MeterRegistry registry) {
+        this.donationsCreated = Counter.builder("pawsitive.donations.created")
+                .description("Donations successfully recorded")
+                .register(registry);
+        this.donationAmount = DistributionSummary.builder("pawsitive.donations.amount")
+                .description("Amount of each recorded donation")
+                .baseUnit("pesos")
+                .register(registry);
+        this.applicationsSubmitted = Counter.builder("pawsitive.applications.submitted")
+                .description("Adoption applications submitted")
+                .register(registry);
+        this.applicationsApproved = Counter.builder("pawsitive.applications.reviewed")
+                .tag("outcome", "approved")
+                .description("Adoption applications reviewed by an admin")
+                .register(registry);
+        this.applicationsRejected = Counter.builder("pawsitive.applications.reviewed")
+                .tag("outcome", "rejected")
+                .description("Adoption applications reviewed by an admin")
+                .register(registry);
+        this.usersSignedUp = Counter.builder("pawsitive.users.signed_up")
+                .description("Accounts created through /api/auth/signup")
+                .register(registry);
+        this.loginsFailed = Counter.builder("pawsitive.logins.failed")
+                .description("Login attempts rejected with invalid credentials")
+                .register(registry);
+    }
+
+    public void donationCreated(double amount) {
+        donationsCreated.increment();
+        donationAmount.record(amount);
+    }
+
+    public void applicationSubmitted() {
+        applicationsSubmitted.increment();
+    }
+
+    public void applicationApproved() {
+        applicationsApproved.increment();
+    }
+
+    public void applicationRejected() {
+        applicationsRejected.increment();
+    }
+
+    /** Applications rejected as a side effect, e.g. the other pending ones when a pet is adopted. */
+    public void applicationsRejected(int count) {
+        if (count > 0) {
+            applicationsRejected.increment(count);
+        }
+    }
+
+    public void userSignedUp() {
+        usersSignedUp.increment();
+    }
+
+    public void loginFailed() {
+        loginsFailed.increment();
+    }
+}
@@ -0,0 +1,104 @@
+package com.pawsitivedrive.backend.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes sampled slow queries to the "sql.slow" logger from a background thread, so the request that ran
+ * the slow query never waits on log I/O. When the queue is full, entries are dropped and counted instead
+ * of blocking.
+ *
+ * Bind parameters are written as their types only: they carry e-mail addresses, phone numbers and home
+ * addresses. The values themselves are logged only with app.sql.slow-query-log-values=true, and even then
+ * password hashes are redacted.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger("sql.slow");
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    record SlowQuery(String request, String sql, List<List<Object>> parameters, long millis) {
+    }
+
+    private final double sampleRate;
+    private final boolean logValues;
+    private final BlockingQueue<SlowQuery> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    public SlowQueryLog(@Value("${app.sql.slow-query-sample-rate:1.0}") double sampleRate,
+                        @Value("${app.sql.slow-query-log-values:false}") boolean logValues,
+                        @Value("${app.sql.slow-query-queue-size:1000}") int queueSize) {
+        this.sampleRate = sampleRate;
+        this.logValues = logValues;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writer = Thread.ofPlatform().name("slow-query-log").daemon().start(this::drain);
+    }
+
+    void offer(String request, String sql, List<List<Object>> parameters, long millis) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!queue.offer(new SlowQuery(request, sql, parameters, millis))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SlowQuery query = queue.take();
+                log.warn("Slow query ({} ms) during {}: {} params={}", query.millis(),
+                        query.request() == null ? "background work" : query.request(),
+                        query.sql(), format(query.parameters(), logValues));
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    log.warn("{} slow query samples were dropped because the log queue was full", lost);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One [...] per batch entry; the parameter types, or their values with logValues
+    static String format(List<List<Object>> parameters, boolean logValues) {
+        StringBuilder out = new StringBuilder();
+        for (List<Object> batch : parameters) {
+            out.append('[');
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                Object parameter = batch.get(i);
+                if (!logValues) {
+                    out.append(parameter == null ? "null" : parameter.getClass().getSimpleName());
+                    continue;
+                }
+                String value = String.valueOf(parameter);
+                if (value.length() == 60 && value.startsWith("$2")) {
+                    // Never write password hashes (users.password) to the log
+                    value = "<redacted>";
+                }
+                out.append(value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value);
+            }
+            out.append(']');
+        }
+        return out.toString();
+    }
+
+    @PreDestroy
+    void stop() {
+        writer.interrupt();
+    }
+}
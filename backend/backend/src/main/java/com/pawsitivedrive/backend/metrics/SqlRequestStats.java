@@ -0,0 +1,67 @@
+package com.pawsitivedrive.backend.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements executed while serving the current HTTP request. Bound to the request thread by
+ * {@link SqlStatementBudgetFilter} and filled in by {@link SqlStatementListener}.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private int statements;
+    private long elapsedMillis;
+    private final Map<String, Integer> perStatement = new HashMap<>();
+
+    private SqlRequestStats(String request) {
+        this.request = request;
+    }
+
+    static SqlRequestStats begin(String request) {
+        SqlRequestStats stats = new SqlRequestStats(request);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** Stats of the request running on this thread, or null outside of a request (startup, jobs). */
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, int count, long millis) {
+        statements += count;
+        elapsedMillis += millis;
+        perStatement.merge(sql, count, Integer::sum);
+    }
+
+    /** "METHOD /path" of the request, for log messages. */
+    String request() {
+        return request;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** The most repeated statement text and how often it ran, or null if nothing ran. */
+    Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> max = null;
+        for (Map.Entry<String, Integer> entry : perStatement.entrySet()) {
+            if (max == null || entry.getValue() > max.getValue()) {
+                max = entry;
+            }
+        }
+        return max;
+    }
+}
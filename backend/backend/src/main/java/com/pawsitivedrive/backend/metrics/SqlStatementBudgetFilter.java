@@ -0,0 +1,87 @@
+package com.pawsitivedrive.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and database time of each HTTP request.
+ * <ul>
+ *   <li>Warns when one statement repeats more than the N+1 threshold (typically lazy loading in a loop)
+ *       or when the request exceeds its statement budget.</li>
+ *   <li>Records statements per request by endpoint as the pawsitive.sql.statements metric.</li>
+ *   <li>With app.sql.response-headers, adds X-SQL-Statements and X-SQL-Time-Ms response headers. The
+ *       body is buffered for this so the headers also count statements run while serializing the
+ *       response, which costs a copy of every /api response; it is off unless turned on for profiling.</li>
+ * </ul>
+ */
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int repeatedStatementThreshold;
+    private final int statementBudget;
+
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry, boolean responseHeaders,
+                                    int repeatedStatementThreshold, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin(request.getMethod() + " " + request.getRequestURI());
+        ContentCachingResponseWrapper buffered = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            SqlRequestStats.end();
+            report(request, stats);
+            if (buffered != null) {
+                buffered.setHeader("X-SQL-Statements", Integer.toString(stats.getStatements()));
+                buffered.setHeader("X-SQL-Time-Ms", Long.toString(stats.getElapsedMillis()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("pawsitive.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() > repeatedStatementThreshold) {
+            log.warn("Possible N+1 in {} {}: the same statement ran {} times: {}",
+                    request.getMethod(), uri, repeated.getValue(), repeated.getKey());
+        }
+        if (stats.getStatements() > statementBudget) {
+            log.warn("{} {} ran {} SQL statements ({} ms), over the budget of {}",
+                    request.getMethod(), uri, stats.getStatements(), stats.getElapsedMillis(), statementBudget);
+        }
+    }
+}
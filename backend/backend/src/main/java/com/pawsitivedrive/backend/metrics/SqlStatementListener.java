@@ -0,0 +1,64 @@
+package com.pawsitivedrive.backend.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Receives every JDBC execution from the datasource proxy. Adds it to the current request's
+ * {@link SqlRequestStats} and hands statements slower than the threshold to the {@link SlowQueryLog}.
+ */
+@Component
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private final SlowQueryLog slowQueryLog;
+    private final long slowQueryThresholdMillis;
+
+    public SqlStatementListener(SlowQueryLog slowQueryLog,
+                                @Value("${app.sql.slow-query-threshold-ms:200}") long slowQueryThresholdMillis) {
+        this.slowQueryLog = slowQueryLog;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long millis = execInfo.getElapsedTime();
+        SqlRequestStats stats = SqlRequestStats.current();
+        // A JDBC batch counts as one statement per batched parameter set
+        int count = execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : 1;
+
+        for (QueryInfo query : queryInfoList) {
+            if (stats != null) {
+                stats.record(query.getQuery(), count, millis / queryInfoList.size());
+            }
+            if (millis >= slowQueryThresholdMillis) {
+                slowQueryLog.offer(stats != null ? stats.request() : null, query.getQuery(),
+                        parameters(query), millis);
+            }
+        }
+    }
+
+    private static List<List<Object>> parameters(QueryInfo query) {
+        List<List<Object>> result = new ArrayList<>();
+        for (List<ParameterSetOperation> operations : query.getParametersList()) {
+            List<Object> values = new ArrayList<>(operations.size());
+            for (ParameterSetOperation operation : operations) {
+                Object[] args = operation.getArgs();
+                boolean isNull = "setNull".equals(operation.getMethod().getName());
+                values.add(isNull || args.length < 2 ? null : args[1]);
+            }
+            result.add(values);
+        }
+        return result;
+    }
+}
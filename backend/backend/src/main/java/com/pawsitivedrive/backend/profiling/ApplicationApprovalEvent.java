@@ -0,0 +1,36 @@
+package com.pawsitivedrive.backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Approval of one adoption application (AdoptionService#review), including the pet update and the
+ * rejection of the pet's other pending applications.
+ */
+@Name("pawsitive.ApplicationApproval")
+@Label("Application Approval")
+@Category({"PawsitiveDrive", "Adoption"})
+@StackTrace(false)
+public class ApplicationApprovalEvent extends Event {
+
+    @Label("Application Id")
+    public long applicationId;
+
+    @Label("Pet Id")
+    public long petId;
+
+    @Label("Reviewer Id")
+    @Description("0 without a reviewer")
+    public long reviewerId;
+
+    @Label("Other Applications Rejected")
+    public int rejectedOthers;
+
+    @Label("Outcome")
+    @Description("approved, pet-unavailable or concurrent-review")
+    public String outcome;
+}
@@ -0,0 +1,28 @@
+package com.pawsitivedrive.backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A full rebuild of the in-memory pet catalog index (PetSearchIndex#rebuild).
+ */
+@Name("pawsitive.CatalogRebuild")
+@Label("Catalog Rebuild")
+@Category({"PawsitiveDrive", "Search"})
+@StackTrace(false)
+public class CatalogRebuildEvent extends Event {
+
+    @Label("Pets")
+    public int pets;
+
+    @Label("Terms")
+    public int terms;
+
+    @Label("Changes Replayed")
+    @Description("Pet changes that arrived during the scan and were applied to the new index")
+    public int replayed;
+}
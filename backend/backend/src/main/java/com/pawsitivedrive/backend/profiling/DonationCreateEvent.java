@@ -0,0 +1,37 @@
+package com.pawsitivedrive.backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * DonationService#create, from the user lookup to the receipt insert.
+ */
+@Name("pawsitive.DonationCreate")
+@Label("Donation Create")
+@Category({"PawsitiveDrive", "Donations"})
+@StackTrace(false)
+public class DonationCreateEvent extends Event {
+
+    @Label("Donation Id")
+    public long donationId;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Pet Id")
+    @Description("0 for a donation to the shelter")
+    public long petId;
+
+    @Label("Amount")
+    public double amount;
+
+    @Label("Receipt Time")
+    @Description("Rendering and storing the receipt document")
+    @Timespan
+    public long receiptTime;
+}
@@ -0,0 +1,236 @@
+package com.pawsitivedrive.backend.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Java Flight Recorder recordings started and stopped over HTTP (see ProfilingController), one at a time.
+ * Every recording is bounded: its duration is capped at max-duration (JFR stops it by itself and writes
+ * the file) and the data it keeps at max-size. Finished recordings are written to dir as .jfr files, which
+ * are pruned to max-files, max-age and max-total-size whenever a recording starts or stops.
+ *
+ * Besides the JDK events of the chosen settings ("default" costs about 1%, "profile" ~2% with more
+ * detail), recordings include the pawsitive.* domain events of this package.
+ */
+@Component
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class FlightRecordings implements AutoCloseable {
+
+    public static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+\\.jfr");
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordings.class);
+
+    private final Path dir;
+    private final ProfilingProperties properties;
+    // The last recording started; closed when the next one starts
+    private Recording recording;
+    private String settings;
+    private Path destination;
+
+    public FlightRecordings(ProfilingProperties properties) throws IOException {
+        this.properties = properties;
+        this.dir = Paths.get(properties.getDir()).toAbsolutePath().normalize();
+        Files.createDirectories(dir);
+    }
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration duration,
+                                long maxSize, String settings, String file) {
+    }
+
+    public record RecordingFile(String name, long size, Instant modified) {
+    }
+
+    /**
+     * Starts a recording, or throws IllegalStateException if one is running.
+     *
+     * @param duration null for default-duration; capped at max-duration
+     * @param maxSize  null for max-size; capped at max-size
+     * @param settings "default" or "profile"
+     */
+    public synchronized RecordingInfo start(Duration duration, DataSize maxSize, String settings)
+            throws IOException, ParseException {
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("settings must be one of " + SETTINGS);
+        }
+        if (isRunning()) {
+            throw new IllegalStateException("Recording " + recording.getId() + " is still running");
+        }
+        closeFinished();
+        applyRetention();
+
+        Duration limit = duration == null || duration.isNegative() || duration.isZero()
+                ? properties.getDefaultDuration() : duration;
+        limit = limit.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : limit;
+        long sizeLimit = maxSize == null || maxSize.toBytes() <= 0
+                ? properties.getMaxSize().toBytes() : Math.min(maxSize.toBytes(), properties.getMaxSize().toBytes());
+        String name = "pawsitive-" + LocalDateTime.now().format(FILE_TIME);
+
+        Recording next = new Recording(Configuration.getConfiguration(settings));
+        next.setName(name);
+        next.setSettings(withDomainEvents(next.getSettings()));
+        next.setToDisk(true);
+        next.setDuration(limit);
+        next.setMaxSize(sizeLimit);
+        destination = dir.resolve(name + ".jfr");
+        next.setDestination(destination);
+        next.start();
+        recording = next;
+        this.settings = settings;
+        log.info("Started flight recording {} ({} settings, up to {} / {} bytes)", name, settings, limit, sizeLimit);
+        return info(next);
+    }
+
+    /**
+     * Stops the running recording, which writes its file; empty if none is running.
+     */
+    public synchronized Optional<RecordingInfo> stop() {
+        if (!isRunning()) {
+            return Optional.empty();
+        }
+        Recording stopped = recording;
+        try {
+            stopped.stop();
+        } catch (IllegalStateException reachedDuration) {
+            // JFR stopped it in the meantime; the file is written either way
+        }
+        RecordingInfo info = info(stopped);
+        closeFinished();
+        applyRetention();
+        log.info("Stopped flight recording {}", stopped.getName());
+        return Optional.of(info);
+    }
+
+    /** The current or last recording, if it has not been closed yet. */
+    public synchronized Optional<RecordingInfo> current() {
+        return recording != null ? Optional.of(info(recording)) : Optional.empty();
+    }
+
+    /** Finished recordings, newest first. */
+    public synchronized List<RecordingFile> files() throws IOException {
+        List<RecordingFile> files = new ArrayList<>();
+        for (Path file : recordingFiles()) {
+            files.add(new RecordingFile(file.getFileName().toString(), Files.size(file),
+                    Files.getLastModifiedTime(file).toInstant()));
+        }
+        return files;
+    }
+
+    /** A finished recording by file name; empty for unknown or malformed names and the running recording. */
+    public synchronized Optional<Path> file(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path file = dir.resolve(name).normalize();
+        boolean finished = !isRunning() || !file.equals(destination);
+        return finished && file.getParent().equals(dir) && Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // A running recording is stopped so its file is written
+    @Override
+    public synchronized void close() {
+        if (isRunning()) {
+            recording.stop();
+        }
+        closeFinished();
+    }
+
+    private boolean isRunning() {
+        return recording != null
+                && (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED);
+    }
+
+    private void closeFinished() {
+        if (recording != null && !isRunning()) {
+            recording.close();
+            recording = null;
+            settings = null;
+            destination = null;
+        }
+    }
+
+    // Our events have no entries in the JDK settings files; spell them out so they do not depend on defaults
+    private static Map<String, String> withDomainEvents(Map<String, String> settings) {
+        Map<String, String> all = new HashMap<>(settings);
+        for (Class<?> event : List.of(DonationCreateEvent.class, LoginVerificationEvent.class,
+                ApplicationApprovalEvent.class, ImageStoreEvent.class, CatalogRebuildEvent.class)) {
+            String name = event.getAnnotation(Name.class).value();
+            all.put(name + "#enabled", "true");
+            all.put(name + "#threshold", "0 ms");
+        }
+        return all;
+    }
+
+    private RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getMaxSize(), settings,
+                destination.getFileName().toString());
+    }
+
+    // JFR creates the destination file when a recording starts; it is not finished until the recording ends
+    private List<Path> recordingFiles() throws IOException {
+        Path running = isRunning() ? destination : null;
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> FILE_NAME.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> !file.equals(running))
+                    .sorted(Comparator.comparing(FlightRecordings::modified).reversed())
+                    .toList();
+        }
+    }
+
+    // Keeps the newest files within all three limits
+    private void applyRetention() {
+        try {
+            Instant oldest = Instant.now().minus(properties.getMaxAge());
+            long totalSize = 0;
+            int kept = 0;
+            for (Path file : recordingFiles()) {
+                totalSize += Files.size(file);
+                if (kept >= properties.getMaxFiles() || modified(file).isBefore(oldest)
+                        || totalSize > properties.getMaxTotalSize().toBytes()) {
+                    Files.deleteIfExists(file);
+                    log.info("Deleted flight recording {} (retention)", file.getFileName());
+                } else {
+                    kept++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not prune flight recordings in {}", dir, e);
+        }
+    }
+
+    private static Instant modified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            // Deleted meanwhile
+            return Instant.EPOCH;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.pawsitivedrive.backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An uploaded image written by FileStorageService#store.
+ */
+@Name("pawsitive.ImageStore")
+@Label("Image Store")
+@Category({"PawsitiveDrive", "Storage"})
+@StackTrace(false)
+public class ImageStoreEvent extends Event {
+
+    @Label("File Name")
+    public String filename;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,32 @@
+package com.pawsitivedrive.backend.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One POST /api/auth/login. The email address is not recorded, only the user id once it is known.
+ */
+@Name("pawsitive.LoginVerification")
+@Label("Login Verification")
+@Category({"PawsitiveDrive", "Auth"})
+@StackTrace(false)
+public class LoginVerificationEvent extends Event {
+
+    @Label("User Id")
+    @Description("0 if no user has the email address")
+    public long userId;
+
+    @Label("Outcome")
+    @Description("ok, unknown-email (rejected by the email filter), no-user or bad-password")
+    public String outcome;
+
+    @Label("Hash Time")
+    @Description("Password hash comparison")
+    @Timespan
+    public long hashTime;
+}
@@ -0,0 +1,39 @@
+package com.pawsitivedrive.backend.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * app.profiling.* settings for on-demand Java Flight Recorder recordings (see {@link FlightRecordings}).
+ */
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+
+    private String dir = "recordings";
+    // Used when a start request gives no duration; requests are capped at max-duration
+    private Duration defaultDuration = Duration.ofMinutes(1);
+    private Duration maxDuration = Duration.ofMinutes(15);
+    // Data kept by one recording; JFR drops the oldest chunks beyond it
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+    // Retention of finished recordings in dir: whichever limit is hit first removes the oldest files
+    private int maxFiles = 20;
+    private Duration maxAge = Duration.ofDays(7);
+    private DataSize maxTotalSize = DataSize.ofGigabytes(2);
+
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+    public Duration getDefaultDuration() { return defaultDuration; }
+    public void setDefaultDuration(Duration defaultDuration) { this.defaultDuration = defaultDuration; }
+    public Duration getMaxDuration() { return maxDuration; }
+    public void setMaxDuration(Duration maxDuration) { this.maxDuration = maxDuration; }
+    public DataSize getMaxSize() { return maxSize; }
+    public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+    public int getMaxFiles() { return maxFiles; }
+    public void setMaxFiles(int maxFiles) { this.maxFiles = maxFiles; }
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+    public DataSize getMaxTotalSize() { return maxTotalSize; }
+    public void setMaxTotalSize(DataSize maxTotalSize) { this.maxTotalSize = maxTotalSize; }
+}
@@ -0,0 +1,169 @@
+package com.pawsitivedrive.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.web.CachedBodyRequest;
+import com.pawsitivedrive.backend.web.ClientAddresses;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Admission control in front of the controllers: every rule matching the request must hand out a token,
+ * otherwise the request ends here with 429 and a Retry-After header. Nothing is read from the database.
+ *
+ * IP rules use the remote address. ACCOUNT rules read one field of the JSON body (e.g. the login
+ * e-mail), so that a spread of IPs cannot hammer one account. To do that the body is buffered once
+ * and replayed to the controller. Requests without that field are only subject to the IP rules.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS =
+            "{\"message\":\"Too many requests. Please try again later.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private final TokenBucketStore store;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean trustForwardedFor;
+    private final int maxBodyBytes;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = new TokenBucketStore(properties.getStripes(), properties.getMaxKeys(),
+                properties.getIdleEviction().toMillis());
+        this.objectMapper = objectMapper;
+        this.trustForwardedFor = properties.isTrustForwardedFor();
+        this.maxBodyBytes = properties.getMaxBodyBytes();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            rules.add(new CompiledRule(rule, meterRegistry));
+        }
+        Gauge.builder("pawsitive.ratelimit.buckets", store, TokenBucketStore::size)
+                .description("Live rate-limit buckets (client keys across all rules)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        HttpServletRequest effective = request;
+        JsonNode body = null;
+        boolean bodyRead = false;
+
+        for (CompiledRule rule : rules) {
+            if (!rule.matches(request.getMethod(), path, pathMatcher)) {
+                continue;
+            }
+            String key;
+            if (rule.key == RateLimitProperties.KeyType.IP) {
+                key = ClientAddresses.of(request, trustForwardedFor);
+            } else {
+                if (!bodyRead) {
+                    bodyRead = true;
+                    CachedBodyRequest cached = CachedBodyRequest.tryWrap(request, maxBodyBytes);
+                    if (cached != null) {
+                        effective = cached;
+                        body = parse(cached.getBody());
+                    }
+                }
+                key = account(body, rule.accountPath);
+                if (key == null) {
+                    continue;
+                }
+            }
+            long waitMs = store.tryTake(rule.name, key, rule.limit);
+            if (waitMs > 0) {
+                rule.rejected.increment();
+                reject(response, waitMs);
+                return;
+            }
+        }
+        chain.doFilter(effective, response);
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            // Malformed JSON is the controller's problem; it just has no account key here
+            return null;
+        }
+    }
+
+    private static String account(JsonNode body, String[] path) {
+        JsonNode node = body;
+        for (String field : path) {
+            if (node == null || !node.isObject()) {
+                return null;
+            }
+            node = node.get(field);
+        }
+        if (node == null || !node.isValueNode() || node.isNull()) {
+            return null;
+        }
+        String value = node.asText().trim().toLowerCase(Locale.ROOT);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static void reject(HttpServletResponse response, long waitMs) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString((waitMs + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    private static final class CompiledRule {
+        final String name;
+        final String pattern;
+        final Set<String> methods = new HashSet<>();
+        final RateLimitProperties.KeyType key;
+        final String[] accountPath;
+        final TokenBucket.Limit limit;
+        final Counter rejected;
+
+        CompiledRule(RateLimitProperties.Rule rule, MeterRegistry meterRegistry) {
+            if (rule.getName() == null || rule.getPattern() == null) {
+                throw new IllegalArgumentException("Every app.rate-limit rule needs a name and a pattern");
+            }
+            if (rule.getKey() == RateLimitProperties.KeyType.ACCOUNT
+                    && (rule.getAccountField() == null || rule.getAccountField().isBlank())) {
+                throw new IllegalArgumentException("Rate limit rule '" + rule.getName() + "' keys by ACCOUNT but has no account-field");
+            }
+            this.name = rule.getName();
+            this.pattern = rule.getPattern();
+            for (String method : rule.getMethods()) {
+                methods.add(method.toUpperCase(Locale.ROOT));
+            }
+            this.key = rule.getKey();
+            this.accountPath = rule.getAccountField() != null ? rule.getAccountField().split("\\.") : new String[0];
+            this.limit = new TokenBucket.Limit(rule.getCapacity(), rule.getRefillTokens(), rule.getRefillPeriod().toMillis());
+            this.rejected = Counter.builder("pawsitive.ratelimit.rejected")
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("rule", name)
+                    .register(meterRegistry);
+        }
+
+        boolean matches(String method, String path, AntPathMatcher matcher) {
+            return (methods.isEmpty() || methods.contains(method)) && matcher.match(pattern, path);
+        }
+    }
+}
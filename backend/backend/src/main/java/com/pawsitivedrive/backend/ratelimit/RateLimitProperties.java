@@ -0,0 +1,73 @@
+package com.pawsitivedrive.backend.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.rate-limit.* settings. Each rule applies a token bucket to the requests matching its path
+ * pattern and methods, keyed by client IP or by an account field of the JSON body. A request must
+ * get a token from every rule it matches.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum KeyType { IP, ACCOUNT }
+
+    private boolean enabled = true;
+    // Upper bound on live buckets across all rules; beyond it new keys share an overflow bucket
+    private int maxKeys = 100_000;
+    private int stripes = 16;
+    private Duration idleEviction = Duration.ofMinutes(10);
+    // Only honour X-Forwarded-For when the app runs behind a proxy that sets it
+    private boolean trustForwardedFor = false;
+    // Bodies larger than this are not parsed for the account key
+    private int maxBodyBytes = 16 * 1024;
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Rule {
+        private String name;
+        private String pattern;
+        private List<String> methods = new ArrayList<>();
+        private KeyType key = KeyType.IP;
+        // Dotted path into the JSON body for ACCOUNT keys, e.g. "email" or "user.user_id"
+        private String accountField;
+        private int capacity;
+        private int refillTokens;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+        public KeyType getKey() { return key; }
+        public void setKey(KeyType key) { this.key = key; }
+        public String getAccountField() { return accountField; }
+        public void setAccountField(String accountField) { this.accountField = accountField; }
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public int getRefillTokens() { return refillTokens; }
+        public void setRefillTokens(int refillTokens) { this.refillTokens = refillTokens; }
+        public Duration getRefillPeriod() { return refillPeriod; }
+        public void setRefillPeriod(Duration refillPeriod) { this.refillPeriod = refillPeriod; }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(int maxKeys) { this.maxKeys = maxKeys; }
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+    public Duration getIdleEviction() { return idleEviction; }
+    public void setIdleEviction(Duration idleEviction) { this.idleEviction = idleEviction; }
+    public boolean isTrustForwardedFor() { return trustForwardedFor; }
+    public void setTrustForwardedFor(boolean trustForwardedFor) { this.trustForwardedFor = trustForwardedFor; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+}
@@ -0,0 +1,84 @@
+package com.pawsitivedrive.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The whole state lives in one AtomicLong so a take is a single CAS:
+ * the upper 40 bits hold the last refill time (ms since the store started, ~34 years) and the lower
+ * 24 bits the token count in thousandths of a token (so capacities up to 16,000 tokens).
+ */
+final class TokenBucket {
+
+    static final int MAX_CAPACITY = ((1 << 24) - 1) / 1000;
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE = 1000;
+
+    private final AtomicLong state;
+    private final long fullRefillMs;
+
+    TokenBucket(long nowMs, Limit limit) {
+        this.state = new AtomicLong(pack(nowMs, limit.capacityMilliTokens));
+        this.fullRefillMs = limit.fullRefillMs;
+    }
+
+    /**
+     * Takes one token. Returns 0 on success, otherwise how many ms until a token will be available.
+     */
+    long tryTake(long nowMs, Limit limit) {
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = refill(current & TOKEN_MASK, Math.max(0, nowMs - last), limit);
+            if (tokens >= ONE) {
+                if (state.compareAndSet(current, pack(Math.max(nowMs, last), tokens - ONE))) {
+                    return 0;
+                }
+            } else {
+                // Not enough tokens; no write needed, the next caller recomputes from the same state
+                return Math.max(1, ((ONE - tokens) * limit.periodMs + limit.milliTokensPerPeriod - 1) / limit.milliTokensPerPeriod);
+            }
+        }
+    }
+
+    /**
+     * True once the bucket is certainly full again, i.e. dropping it and starting a fresh one changes nothing.
+     */
+    boolean isIdle(long nowMs, long idleMs) {
+        return nowMs - (state.get() >>> TOKEN_BITS) >= Math.max(idleMs, fullRefillMs);
+    }
+
+    private static long refill(long tokens, long elapsedMs, Limit limit) {
+        if (elapsedMs >= limit.fullRefillMs) {
+            return limit.capacityMilliTokens;
+        }
+        return Math.min(limit.capacityMilliTokens, tokens + elapsedMs * limit.milliTokensPerPeriod / limit.periodMs);
+    }
+
+    private static long pack(long timeMs, long milliTokens) {
+        return (timeMs << TOKEN_BITS) | milliTokens;
+    }
+
+    /**
+     * A rule's bucket shape, precomputed in the bucket's fixed-point units.
+     */
+    static final class Limit {
+        final long capacityMilliTokens;
+        final long milliTokensPerPeriod;
+        final long periodMs;
+        final long fullRefillMs;
+
+        Limit(int capacity, int refillTokens, long periodMs) {
+            if (capacity < 1 || capacity > MAX_CAPACITY || refillTokens < 1 || periodMs < 1) {
+                throw new IllegalArgumentException("Rate limit needs 1.." + MAX_CAPACITY
+                        + " capacity, refill tokens >= 1 and a positive refill period");
+            }
+            this.capacityMilliTokens = capacity * ONE;
+            this.milliTokensPerPeriod = refillTokens * ONE;
+            this.periodMs = periodMs;
+            // Past this an empty bucket is full again; also keeps the refill product from overflowing
+            this.fullRefillMs = (capacityMilliTokens * periodMs + milliTokensPerPeriod - 1) / milliTokensPerPeriod;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.pawsitivedrive.backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets by key, split into independent stripes so memory stays bounded without a global lock.
+ *
+ * Each stripe holds at most maxKeys / stripes buckets. Buckets idle for longer than the eviction
+ * interval are swept out by whichever request first notices the sweep is due (no background thread).
+ * A bucket idle that long has refilled anyway, so dropping it loses nothing. When a stripe is still
+ * full, new keys share the stripe's overflow bucket: under a flood of distinct keys the limiter gets
+ * coarser instead of growing.
+ */
+final class TokenBucketStore {
+
+    private static final String OVERFLOW = "\u0000overflow";
+    // A full stripe re-sweeps at most this often, so a flood of new keys cannot make every request scan it
+    private static final long FULL_SWEEP_INTERVAL_MS = 1000;
+
+    private final Stripe[] stripes;
+    private final int keysPerStripe;
+    private final long idleMs;
+    private final long startNanos = System.nanoTime();
+
+    TokenBucketStore(int stripeCount, int maxKeys, long idleMs) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.keysPerStripe = Math.max(1, maxKeys / count);
+        this.idleMs = idleMs;
+    }
+
+    /**
+     * Takes a token from the rule's bucket for the key. Returns 0 if allowed, otherwise the ms until
+     * a retry can succeed.
+     */
+    long tryTake(String rule, String clientKey, TokenBucket.Limit limit) {
+        long now = nowMs();
+        String key = rule + '|' + clientKey;
+        int h = key.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+
+        TokenBucket bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            stripe.sweepIfDue(now, stripe.buckets.size() >= keysPerStripe ? FULL_SWEEP_INTERVAL_MS : idleMs, idleMs);
+            String slot = stripe.buckets.size() < keysPerStripe ? key : OVERFLOW + rule;
+            bucket = stripe.buckets.computeIfAbsent(slot, k -> new TokenBucket(now, limit));
+        }
+        return bucket.tryTake(now, limit);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private long nowMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static final class Stripe {
+        final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        final AtomicLong lastSweep = new AtomicLong();
+
+        void sweepIfDue(long now, long interval, long idleMs) {
+            long last = lastSweep.get();
+            if (now - last >= interval && lastSweep.compareAndSet(last, now)) {
+                buckets.values().removeIf(bucket -> bucket.isIdle(now, idleMs));
+            }
+        }
+    }
+}
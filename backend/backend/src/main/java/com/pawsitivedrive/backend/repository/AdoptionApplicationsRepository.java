@@ -3,12 +3,89 @@ package com.pawsitivedrive.backend.repository;
 import com.pawsitivedrive.backend.entity.AdoptionApplications;
 import com.pawsitivedrive.backend.entity.Pets;
 import com.pawsitivedrive.backend.entity.Users;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface AdoptionApplicationsRepository extends JpaRepository<AdoptionApplications, Long> {
+	// Same "userId:petId" value as AdoptionApplications.syncPendingKey, so a reopened application is
+	// covered by the unique constraint again
+	String PENDING_KEY = "CONCAT(CAST(a.user.user_id AS String), ':', CAST(a.pet.pet_id AS String))";
+
 	List<AdoptionApplications> findByPet(Pets pet);
+
+	// Pet, applicant and reviewer in the same select instead of one follow-up query per row
+	@EntityGraph(attributePaths = {"pet", "user", "reviewedBy"}, type = EntityGraph.EntityGraphType.LOAD)
 	List<AdoptionApplications> findByUser(Users user);
-}
 
+	@Override
+	@EntityGraph(attributePaths = {"pet", "user", "reviewedBy"}, type = EntityGraph.EntityGraphType.LOAD)
+	List<AdoptionApplications> findAll();
+
+	/**
+	 * Sets the review outcome only if nobody changed the application since it was read (version check).
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE AdoptionApplications a SET a.status = :status, a.reviewedBy = :reviewer, a.version = a.version + 1, "
+			+ "a.pendingKey = CASE WHEN LOWER(:status) = 'pending' THEN " + PENDING_KEY + " ELSE NULL END "
+			+ "WHERE a.application_id = :id AND a.version = :version")
+	int review(@Param("id") Long id, @Param("version") long version,
+			@Param("status") String status, @Param("reviewer") Users reviewer);
+
+	/**
+	 * Rejects every other pending application for a pet in one statement once it has been adopted.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE AdoptionApplications a SET a.status = 'Rejected', a.reviewedBy = :reviewer, a.version = a.version + 1, "
+			+ "a.pendingKey = NULL WHERE a.pet.pet_id = :petId AND a.application_id <> :approvedId AND a.status = 'Pending'")
+	int rejectOtherPending(@Param("petId") Long petId, @Param("approvedId") Long approvedId,
+			@Param("reviewer") Users reviewer);
+
+	/**
+	 * Returns [application_id, pet_id, status, user_id] rows so bulk review can plan without loading entities.
+	 */
+	@Query("SELECT a.application_id, a.pet.pet_id, a.status, a.user.user_id FROM AdoptionApplications a WHERE a.application_id IN :ids")
+	List<Object[]> findReviewState(@Param("ids") Collection<Long> ids);
 
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE AdoptionApplications a SET a.status = :status, a.reviewedBy = :reviewer, a.version = a.version + 1, "
+			+ "a.pendingKey = CASE WHEN LOWER(:status) = 'pending' THEN " + PENDING_KEY + " ELSE NULL END "
+			+ "WHERE a.application_id IN :ids")
+	int reviewAll(@Param("ids") Collection<Long> ids, @Param("status") String status,
+			@Param("reviewer") Users reviewer);
+
+	/**
+	 * Bulk counterpart of {@link #rejectOtherPending}: rejects the pending applications of adopted pets
+	 * that were not the approved one.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE AdoptionApplications a SET a.status = 'Rejected', a.reviewedBy = :reviewer, a.version = a.version + 1, "
+			+ "a.pendingKey = NULL WHERE a.pet.pet_id IN :petIds AND a.application_id NOT IN :approvedIds AND a.status = 'Pending'")
+	int rejectOtherPendingForPets(@Param("petIds") Collection<Long> petIds,
+			@Param("approvedIds") Collection<Long> approvedIds, @Param("reviewer") Users reviewer);
+
+	/**
+	 * Rejects all pending applications of pets that were adopted without an approval here (bulk status).
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE AdoptionApplications a SET a.status = 'Rejected', a.reviewedBy = :reviewer, a.version = a.version + 1, "
+			+ "a.pendingKey = NULL WHERE a.pet.pet_id IN :petIds AND a.status = 'Pending'")
+	int rejectPendingForPets(@Param("petIds") Collection<Long> petIds, @Param("reviewer") Users reviewer);
+
+	@Query("SELECT DISTINCT a.pet.pet_id FROM AdoptionApplications a WHERE a.pet.pet_id IN :petIds AND a.status = 'Approved'")
+	List<Long> findPetsWithApproved(@Param("petIds") Collection<Long> petIds);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM AdoptionApplications a WHERE a.pet.pet_id IN :petIds")
+	int deleteByPetIds(@Param("petIds") Collection<Long> petIds);
+
+	/**
+	 * Returns [user_id, pet_id] for every pending application; used to warm the in-memory duplicate index.
+	 */
+	@Query("SELECT a.user.user_id, a.pet.pet_id FROM AdoptionApplications a WHERE LOWER(a.status) = 'pending'")
+	List<Object[]> findPendingPairs();
+}
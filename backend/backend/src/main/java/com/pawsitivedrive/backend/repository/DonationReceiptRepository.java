@@ -3,9 +3,38 @@ package com.pawsitivedrive.backend.repository;
 import com.pawsitivedrive.backend.entity.DonationReceipt;
 import com.pawsitivedrive.backend.entity.Donations;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface DonationReceiptRepository extends JpaRepository<DonationReceipt, Long> {
     Optional<DonationReceipt> findByDonation(Donations donation);
-}
 
+    // donation_id is the unique foreign key, so this is one indexed read without loading the donation first
+    @Query("SELECT r FROM DonationReceipt r WHERE r.donation.donation_id = :donationId")
+    Optional<DonationReceipt> findByDonationId(@Param("donationId") Long donationId);
+
+    /**
+     * Returns [receipt_id, document_hash] of the receipt for a donation (at most one row).
+     */
+    @Query("SELECT r.receipt_id, r.document_hash FROM DonationReceipt r WHERE r.donation.donation_id = :donationId")
+    List<Object[]> findDocumentRefByDonationId(@Param("donationId") Long donationId);
+
+    /**
+     * Returns [receipt_id, document_hash] of the receipt with this number (at most one row).
+     */
+    @Query("SELECT r.receipt_id, r.document_hash FROM DonationReceipt r WHERE r.receipt_number = :receiptNumber")
+    List<Object[]> findDocumentRefByReceiptNumber(@Param("receiptNumber") String receiptNumber);
+
+    /**
+     * Records the document of a receipt issued before documents existed; never overwrites one.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DonationReceipt r SET r.document_hash = :hash WHERE r.receipt_id = :receiptId AND r.document_hash IS NULL")
+    int setDocumentHashIfMissing(@Param("receiptId") Long receiptId, @Param("hash") String hash);
+}
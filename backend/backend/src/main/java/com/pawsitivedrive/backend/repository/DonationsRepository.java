@@ -3,7 +3,11 @@ package com.pawsitivedrive.backend.repository;
 import com.pawsitivedrive.backend.entity.Donations;
 import com.pawsitivedrive.backend.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface DonationsRepository extends JpaRepository<Donations, Long> {
@@ -11,6 +15,30 @@ public interface DonationsRepository extends JpaRepository<Donations, Long> {
 	
 	@Query("SELECT d FROM Donations d LEFT JOIN FETCH d.user LEFT JOIN FETCH d.pet")
 	List<Donations> findAllWithRelations();
-}
 
+	/**
+	 * Keeps donation records when their pets are deleted; donations.pet_id is nullable.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Donations d SET d.pet = NULL WHERE d.pet.pet_id IN :petIds")
+	int detachPets(@Param("petIds") Collection<Long> petIds);
+
+	@Query("SELECT MAX(d.donation_id) FROM Donations d")
+	Long findMaxDonationId();
 
+	/**
+	 * Returns [user_id, SUM(amount), COUNT] of Completed donations since a date, up to a donation id.
+	 */
+	@Query("SELECT d.user.user_id, SUM(d.amount), COUNT(d) FROM Donations d "
+			+ "WHERE LOWER(d.status) = 'completed' AND d.donation_date >= :since AND d.donation_id <= :maxId "
+			+ "GROUP BY d.user.user_id")
+	List<Object[]> sumCompletedByUserSince(@Param("since") LocalDateTime since, @Param("maxId") long maxId);
+
+	/**
+	 * Returns [pet_id, SUM(amount), COUNT] of Completed donations for a pet since a date, up to a donation id.
+	 */
+	@Query("SELECT d.pet.pet_id, SUM(d.amount), COUNT(d) FROM Donations d "
+			+ "WHERE d.pet IS NOT NULL AND LOWER(d.status) = 'completed' AND d.donation_date >= :since "
+			+ "AND d.donation_id <= :maxId GROUP BY d.pet.pet_id")
+	List<Object[]> sumCompletedByPetSince(@Param("since") LocalDateTime since, @Param("maxId") long maxId);
+}
@@ -1,12 +1,53 @@
 package com.pawsitivedrive.backend.repository;
 
 import com.pawsitivedrive.backend.entity.Pets;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface PetsRepository extends JpaRepository<Pets, Long> {
 	List<Pets> findBySpeciesIgnoreCase(String species);
 	List<Pets> findByStatusIgnoreCase(String status);
-}
 
+	/**
+	 * Flips the pet to Adopted only if it is still available (a missing status counts as Available,
+	 * as in Adopt.jsx). Returns 0 when another approval got there first; the row lock taken by the
+	 * UPDATE serializes concurrent approvals for the same pet.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Pets p SET p.status = 'Adopted', p.version = p.version + 1 "
+			+ "WHERE p.pet_id = :petId AND (p.status IS NULL OR LOWER(p.status) = 'available')")
+	int markAdoptedIfAvailable(@Param("petId") Long petId);
+
+	@Query("SELECT p.pet_id FROM Pets p WHERE p.pet_id IN :ids")
+	List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Locks the still-available pets among the given ids until the transaction ends, so a bulk
+	 * approval can decide which pets it may claim without racing single approvals.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Pets p WHERE p.pet_id IN :ids AND (p.status IS NULL OR LOWER(p.status) = 'available')")
+	List<Pets> lockAvailable(@Param("ids") Collection<Long> ids);
 
+	/**
+	 * Locks the given pets until the transaction ends, whatever their status; a bulk status change holds
+	 * them so that no approval of one of them can run in between.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Pets p WHERE p.pet_id IN :ids")
+	List<Pets> lockAll(@Param("ids") Collection<Long> ids);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Pets p SET p.status = :status, p.version = p.version + 1 WHERE p.pet_id IN :ids")
+	int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM Pets p WHERE p.pet_id IN :ids")
+	int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,9 +1,19 @@
 package com.pawsitivedrive.backend.repository;
 
 import com.pawsitivedrive.backend.entity.Users;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UsersRepository extends JpaRepository<Users, Long> {
     Optional<Users> findByEmail(String email);
+
+    /**
+     * Keyset page of [user_id, email] rows with user_id greater than {@code after}, for rebuilding the email filter.
+     */
+    @Query("SELECT u.user_id, u.email FROM Users u WHERE u.user_id > :after ORDER BY u.user_id")
+    List<Object[]> findEmailsAfter(@Param("after") Long after, Pageable page);
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.pawsitivedrive.backend.search;
+
+import com.pawsitivedrive.backend.profiling.CatalogRebuildEvent;
+import com.pawsitivedrive.backend.service.PetChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over pet name, breed and description, ranked with BM25. Field matches are
+ * weighted (name > breed > description) by folding them into one term frequency. The term dictionary is a
+ * skip list, so the last query word also matches as a prefix for type-ahead ("lab" finds "labrador").
+ *
+ * Built from a plain JDBC scan at startup and kept current by {@link PetChangedEvent}s. Changes that
+ * arrive during a rebuild are applied to the live index and replayed onto the new one before the swap.
+ * Writers are serialized on this object; searches read the concurrent maps without locking, so a search
+ * racing an update may briefly score a pet by its old text.
+ */
+@Component
+public class PetSearchIndex {
+
+    public record Hit(long petId, double score) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(PetSearchIndex.class);
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float BREED_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // A prefix hit ("lab" -> "labrador") ranks below the same word typed out
+    private static final double PREFIX_DISCOUNT = 0.7;
+
+    private record Document(String[] terms, float length) {
+    }
+
+    private static final class Index {
+        final ConcurrentSkipListMap<String, ConcurrentHashMap<Long, Float>> postings = new ConcurrentSkipListMap<>();
+        final ConcurrentHashMap<Long, Document> documents = new ConcurrentHashMap<>();
+        volatile double totalLength;
+
+        void put(long petId, String name, String breed, String description) {
+            Map<String, Float> frequencies = new HashMap<>();
+            float length = addField(frequencies, name, NAME_WEIGHT)
+                    + addField(frequencies, breed, BREED_WEIGHT)
+                    + addField(frequencies, description, DESCRIPTION_WEIGHT);
+            Document document = new Document(frequencies.keySet().toArray(new String[0]), length);
+            // New postings go in before stale ones are dropped, so the pet never disappears from results
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new ConcurrentHashMap<>()).put(petId, entry.getValue());
+            }
+            Document previous = documents.put(petId, document);
+            double delta = length;
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    if (!frequencies.containsKey(term)) {
+                        dropPosting(term, petId);
+                    }
+                }
+                delta -= previous.length();
+            }
+            totalLength += delta;
+        }
+
+        void remove(long petId) {
+            Document previous = documents.remove(petId);
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    dropPosting(term, petId);
+                }
+                totalLength -= previous.length();
+            }
+        }
+
+        private void dropPosting(String term, long petId) {
+            postings.computeIfPresent(term, (t, pets) -> {
+                pets.remove(petId);
+                return pets.isEmpty() ? null : pets;
+            });
+        }
+
+        private static float addField(Map<String, Float> frequencies, String text, float weight) {
+            List<String> tokens = PetTokenizer.tokenize(text);
+            for (String token : tokens) {
+                frequencies.merge(token, weight, Float::sum);
+            }
+            return tokens.size() * weight;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Index current = new Index();
+    private volatile boolean complete;
+    // Non-null while a rebuild scans the table; guarded by this
+    private List<PetChangedEvent> pending;
+
+    public PetSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        CatalogRebuildEvent event = new CatalogRebuildEvent();
+        event.begin();
+        long start = System.nanoTime();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Index next = new Index();
+        try {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement("SELECT pet_id, name, breed, description FROM pets");
+                statement.setFetchSize(1000);
+                return statement;
+            }, resultSet -> {
+                next.put(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4));
+            });
+            synchronized (this) {
+                for (PetChangedEvent changed : pending) {
+                    apply(next, changed);
+                }
+                event.replayed = pending.size();
+                current = next;
+                complete = true;
+            }
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+        event.pets = next.documents.size();
+        event.terms = next.postings.size();
+        event.commit();
+        log.info("Pet search index built over {} pets ({} terms) in {} ms", next.documents.size(), next.postings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPetChanged(PetChangedEvent event) {
+        apply(current, event);
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Best-first pets matching any query word. With {@code prefix}, the last word also matches terms that
+     * start with it.
+     */
+    public List<Hit> search(String query, int limit, boolean prefix) {
+        Index index = current;
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(PetTokenizer.tokenize(query)));
+        int documentCount = index.documents.size();
+        if (terms.isEmpty() || documentCount == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(index.totalLength / documentCount, 1.0);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            // Best contribution per pet for this query word, so several expansions of one prefix do not add up
+            Map<Long, Double> termScores = new HashMap<>();
+            ConcurrentHashMap<Long, Float> exact = index.postings.get(term);
+            if (exact != null) {
+                score(index, exact, documentCount, averageLength, 1.0, termScores);
+            }
+            if (prefix && i == terms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH) {
+                int expansions = 0;
+                for (Map.Entry<String, ConcurrentHashMap<Long, Float>> entry
+                        : index.postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    score(index, entry.getValue(), documentCount, averageLength, PREFIX_DISCOUNT, termScores);
+                }
+            }
+            termScores.forEach((petId, score) -> scores.merge(petId, score, Double::sum));
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, PetSearchIndex::compareHits);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.add(new Hit(entry.getKey(), entry.getValue()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> compareHits(b, a));
+        return hits;
+    }
+
+    private static void apply(Index index, PetChangedEvent event) {
+        if (event.petId() == null) {
+            return;
+        }
+        if (event.deleted()) {
+            index.remove(event.petId());
+        } else {
+            index.put(event.petId(), event.name(), event.breed(), event.description());
+        }
+    }
+
+    private static void score(Index index, Map<Long, Float> postings, int documentCount, double averageLength,
+                              double boost, Map<Long, Double> termScores) {
+        int df = postings.size();
+        double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        for (Map.Entry<Long, Float> posting : postings.entrySet()) {
+            Document document = index.documents.get(posting.getKey());
+            if (document == null) {
+                continue;
+            }
+            double tf = posting.getValue();
+            double norm = K1 * (1 - B + B * document.length() / averageLength);
+            double score = boost * idf * tf * (K1 + 1) / (tf + norm);
+            termScores.merge(posting.getKey(), score, Math::max);
+        }
+    }
+
+    // Lower score first; on ties the higher id counts as lower, so equal scores list older pets first
+    private static int compareHits(Hit a, Hit b) {
+        int byScore = Double.compare(a.score(), b.score());
+        return byScore != 0 ? byScore : Long.compare(b.petId(), a.petId());
+    }
+}
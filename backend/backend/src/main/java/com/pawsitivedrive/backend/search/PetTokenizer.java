@@ -0,0 +1,55 @@
+package com.pawsitivedrive.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case letter/digit runs, drops stop words and folds simple English plurals
+ * ("puppies" -> "puppy", "labs" -> "lab"). Documents and queries go through the same steps.
+ */
+final class PetTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "he", "her",
+            "his", "in", "is", "it", "its", "of", "on", "or", "she", "so", "that", "the", "this", "to", "very",
+            "was", "who", "with");
+
+    private PetTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if ((c == '\'' || c == '’') && current.length() > 0) {
+                // "dog's" -> "dogs" -> "dog"
+                continue;
+            } else if (current.length() > 0) {
+                String token = current.toString();
+                current.setLength(0);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(stem(token));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String stem(String token) {
+        int n = token.length();
+        if (n > 4 && token.endsWith("ies")) {
+            return token.substring(0, n - 3) + "y";
+        }
+        if (n > 3 && token.charAt(n - 1) == 's' && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")) {
+            return token.substring(0, n - 1);
+        }
+        return token;
+    }
+}
@@ -0,0 +1,306 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.controller.ApiExceptionHandler;
+import com.pawsitivedrive.backend.entity.AdoptionApplications;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.metrics.DomainMetrics;
+import com.pawsitivedrive.backend.profiling.ApplicationApprovalEvent;
+import com.pawsitivedrive.backend.repository.AdoptionApplicationsRepository;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Adoption application use cases, one transaction each; reads are read-only transactions.
+ *
+ * Approval used to load the pet, set it to Adopted and save it, so two admins approving different
+ * applications for the same pet could both succeed. Now the pet is claimed with a conditional
+ * UPDATE ... WHERE status = 'Available'; only one transaction can match that row, the loser gets 409,
+ * and the winner rejects the remaining pending applications in the same transaction.
+ */
+@Service
+public class AdoptionService {
+
+    private final AdoptionApplicationsRepository applicationsRepository;
+    private final PetsRepository petsRepository;
+    private final UsersRepository usersRepository;
+    private final DomainMetrics domainMetrics;
+    private final PendingApplicationIndex pendingIndex;
+
+    public AdoptionService(AdoptionApplicationsRepository applicationsRepository,
+                           PetsRepository petsRepository,
+                           UsersRepository usersRepository,
+                           DomainMetrics domainMetrics,
+                           PendingApplicationIndex pendingIndex) {
+        this.applicationsRepository = applicationsRepository;
+        this.petsRepository = petsRepository;
+        this.usersRepository = usersRepository;
+        this.domainMetrics = domainMetrics;
+        this.pendingIndex = pendingIndex;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AdoptionApplications> list() {
+        return applicationsRepository.findAll();
+    }
+
+    /**
+     * @throws ResponseStatusException 404 for an unknown user
+     */
+    @Transactional(readOnly = true)
+    public List<AdoptionApplications> listByUser(Long userId) {
+        Users user = usersRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        return applicationsRepository.findByUser(user);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AdoptionApplications> get(Long applicationId) {
+        return applicationsRepository.findById(applicationId);
+    }
+
+    /**
+     * Looks up the pet and user and inserts the application on one connection.
+     *
+     * @throws ResponseStatusException 404 for an unknown pet or user
+     * @throws org.springframework.dao.DataIntegrityViolationException if the user already has a pending
+     *                                 application for the pet (unique pending_key)
+     */
+    @Transactional
+    public AdoptionApplications submit(Long petId, Long userId, String status) {
+        Pets pet = petsRepository.findById(petId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pet not found"));
+        Users user = usersRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        AdoptionApplications app = new AdoptionApplications();
+        app.setPet(pet);
+        app.setUser(user);
+        app.setStatus(status);
+        AdoptionApplications saved = applicationsRepository.save(app);
+        domainMetrics.applicationSubmitted();
+        return saved;
+    }
+
+    /**
+     * Sets the status (and optionally the reviewer) of an application.
+     *
+     * @param status     new status, or null to only change the reviewer
+     * @param reviewerId reviewing admin, or null to keep the current reviewer
+     * @throws ResponseStatusException 404 for an unknown application or reviewer, 409 if the pet is no
+     *                                 longer available, the application changed concurrently or reopening
+     *                                 it would duplicate a pending application
+     */
+    @Transactional
+    public AdoptionApplications review(Long applicationId, String status, Long reviewerId) {
+        AdoptionApplications app = applicationsRepository.findById(applicationId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Application not found"));
+
+        Users reviewer = app.getReviewedBy();
+        if (reviewerId != null) {
+            reviewer = usersRepository.findById(reviewerId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reviewer not found"));
+        }
+        String newStatus = status != null ? status : app.getStatus();
+        boolean approving = "Approved".equalsIgnoreCase(newStatus) && !"Approved".equalsIgnoreCase(app.getStatus());
+
+        int rejectedOthers = 0;
+        ApplicationApprovalEvent event = new ApplicationApprovalEvent();
+        if (approving) {
+            event.begin();
+            event.applicationId = applicationId;
+            event.petId = app.getPet().getPet_id();
+            event.reviewerId = reviewer != null ? reviewer.getUser_id() : 0;
+            Long petId = app.getPet().getPet_id();
+            if (petsRepository.markAdoptedIfAvailable(petId) == 0) {
+                commit(event, "pet-unavailable");
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Pet is no longer available for adoption");
+            }
+            rejectedOthers = applicationsRepository.rejectOtherPending(petId, applicationId, reviewer);
+            pendingIndex.releasePets(List.of(petId));
+        }
+
+        // Reopening puts the application back under the unique pending_key; reserve the pair like submit does
+        boolean reopening = "Pending".equalsIgnoreCase(newStatus) && !"Pending".equalsIgnoreCase(app.getStatus());
+        Long userId = app.getUser().getUser_id();
+        Long appPetId = app.getPet().getPet_id();
+        if (reopening && !pendingIndex.tryReserve(userId, appPetId)) {
+            throw duplicatePending();
+        }
+        boolean reserved = reopening;
+        try {
+            if (applicationsRepository.review(applicationId, app.getVersion(), newStatus, reviewer) == 0) {
+                // Someone else reviewed it after we read it; the pet update above rolls back with us
+                if (approving) {
+                    commit(event, "concurrent-review");
+                }
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Application was modified by another reviewer");
+            }
+            reserved = false;
+        } catch (DataIntegrityViolationException e) {
+            // Another pending application for the pair the index did not know about
+            throw ApiExceptionHandler.isUniqueViolation(e) ? duplicatePending() : e;
+        } finally {
+            if (reserved) {
+                pendingIndex.release(userId, appPetId);
+            }
+        }
+        if (!"Pending".equalsIgnoreCase(newStatus)) {
+            pendingIndex.release(userId, appPetId);
+        }
+
+        if (status != null && "Approved".equalsIgnoreCase(newStatus)) {
+            domainMetrics.applicationApproved();
+        } else if (status != null && "Rejected".equalsIgnoreCase(newStatus)) {
+            domainMetrics.applicationRejected();
+        }
+        domainMetrics.applicationsRejected(rejectedOthers);
+        if (approving) {
+            event.rejectedOthers = rejectedOthers;
+            commit(event, "approved");
+        }
+
+        // The bulk updates cleared the persistence context, so this re-reads the committed shape
+        return applicationsRepository.findById(applicationId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Application not found"));
+    }
+
+    /**
+     * Bulk review in one transaction. Non-approval statuses are a single UPDATE over the found ids;
+     * applications that cannot be reopened to Pending without duplicating a pending one are reported as
+     * conflicts.
+     * Approvals lock the candidate pets, approve at most one application per still-available pet
+     * (the first one in request order), adopt those pets and reject their other pending applications,
+     * each as one set-based statement.
+     */
+    @Transactional
+    public BulkResult reviewAll(List<Long> ids, String status, Long reviewerId) {
+        Users reviewer = null;
+        if (reviewerId != null) {
+            reviewer = usersRepository.findById(reviewerId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reviewer not found"));
+        }
+
+        // id -> [pet_id, status, user_id]
+        Map<Long, Object[]> found = new HashMap<>();
+        for (Object[] row : applicationsRepository.findReviewState(ids)) {
+            found.put((Long) row[0], new Object[] {row[1], row[2], row[3]});
+        }
+
+        BulkResult result = new BulkResult();
+        if (!"Approved".equalsIgnoreCase(status)) {
+            // Reopened applications need their pair reserved; ones that would duplicate a pending
+            // application (or each other) are left alone
+            Set<Long> conflicts = new HashSet<>();
+            List<Object[]> reserved = new ArrayList<>();
+            if ("Pending".equalsIgnoreCase(status)) {
+                for (Map.Entry<Long, Object[]> entry : found.entrySet()) {
+                    Object[] state = entry.getValue();
+                    if ("Pending".equalsIgnoreCase((String) state[1])) {
+                        continue;
+                    }
+                    if (pendingIndex.tryReserve((Long) state[2], (Long) state[0])) {
+                        reserved.add(state);
+                    } else {
+                        conflicts.add(entry.getKey());
+                    }
+                }
+                found.keySet().removeAll(conflicts);
+            }
+            if (!found.isEmpty()) {
+                try {
+                    applicationsRepository.reviewAll(found.keySet(), status, reviewer);
+                } catch (DataIntegrityViolationException e) {
+                    for (Object[] state : reserved) {
+                        pendingIndex.release((Long) state[2], (Long) state[0]);
+                    }
+                    throw ApiExceptionHandler.isUniqueViolation(e) ? duplicatePending() : e;
+                }
+                if ("Rejected".equalsIgnoreCase(status)) {
+                    domainMetrics.applicationsRejected(found.size());
+                }
+                if (!"Pending".equalsIgnoreCase(status)) {
+                    for (Object[] state : found.values()) {
+                        pendingIndex.release((Long) state[2], (Long) state[0]);
+                    }
+                }
+            }
+            for (Long id : ids) {
+                result.put(id, conflicts.contains(id) ? BulkResult.CONFLICT
+                        : found.containsKey(id) ? BulkResult.UPDATED : BulkResult.NOT_FOUND);
+            }
+            return result;
+        }
+
+        // First application per pet in request order is that pet's candidate
+        Map<Long, Long> candidateByPet = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Object[] state = found.get(id);
+            if (state != null && !"Approved".equalsIgnoreCase((String) state[1])) {
+                candidateByPet.putIfAbsent((Long) state[0], id);
+            }
+        }
+
+        Set<Long> adoptedPets = new HashSet<>();
+        if (!candidateByPet.isEmpty()) {
+            for (Pets pet : petsRepository.lockAvailable(candidateByPet.keySet())) {
+                adoptedPets.add(pet.getPet_id());
+            }
+        }
+        List<Long> approvedIds = new ArrayList<>();
+        for (Long petId : adoptedPets) {
+            approvedIds.add(candidateByPet.get(petId));
+        }
+        if (!approvedIds.isEmpty()) {
+            petsRepository.updateStatus(adoptedPets, "Adopted");
+            applicationsRepository.reviewAll(approvedIds, "Approved", reviewer);
+            int rejected = applicationsRepository.rejectOtherPendingForPets(adoptedPets, approvedIds, reviewer);
+            pendingIndex.releasePets(adoptedPets);
+            for (int i = 0; i < approvedIds.size(); i++) {
+                domainMetrics.applicationApproved();
+            }
+            domainMetrics.applicationsRejected(rejected);
+        }
+
+        Set<Long> approved = new HashSet<>(approvedIds);
+        for (Long id : ids) {
+            Object[] state = found.get(id);
+            if (state == null) {
+                result.put(id, BulkResult.NOT_FOUND);
+            } else if (approved.contains(id)) {
+                result.put(id, BulkResult.APPROVED);
+            } else if ("Approved".equalsIgnoreCase((String) state[1])) {
+                result.put(id, BulkResult.UNCHANGED);
+            } else if (adoptedPets.contains((Long) state[0]) && "Pending".equals(state[1])) {
+                // Lost to another application for the same pet in this request
+                result.put(id, BulkResult.REJECTED);
+            } else {
+                result.put(id, BulkResult.CONFLICT);
+            }
+        }
+        return result;
+    }
+
+    private static ResponseStatusException duplicatePending() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "The user already has a pending application for this pet");
+    }
+
+    private static void commit(ApplicationApprovalEvent event, String outcome) {
+        event.outcome = outcome;
+        event.commit();
+    }
+}
@@ -0,0 +1,37 @@
+package com.pawsitivedrive.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-id outcome of a bulk admin operation, in request order, plus a count per outcome.
+ * Serialized as {"outcomes": {"12": "updated", "13": "not_found"}, "summary": {"updated": 1, "not_found": 1}}.
+ */
+public class BulkResult {
+
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String APPROVED = "approved";
+    public static final String REJECTED = "rejected";
+    public static final String UNCHANGED = "unchanged";
+    public static final String NOT_FOUND = "not_found";
+    public static final String CONFLICT = "conflict";
+
+    private final Map<Long, String> outcomes = new LinkedHashMap<>();
+
+    void put(Long id, String outcome) {
+        outcomes.put(id, outcome);
+    }
+
+    public Map<Long, String> getOutcomes() {
+        return outcomes;
+    }
+
+    public Map<String, Integer> getSummary() {
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        for (String outcome : outcomes.values()) {
+            summary.merge(outcome, 1, Integer::sum);
+        }
+        return summary;
+    }
+}
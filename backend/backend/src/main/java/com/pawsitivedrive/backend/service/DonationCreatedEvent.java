@@ -0,0 +1,11 @@
+package com.pawsitivedrive.backend.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by DonationsController.create inside its transaction; listeners use
+ * {@code @TransactionalEventListener} so they only see donations that were actually committed.
+ */
+public record DonationCreatedEvent(Long donationId, Long userId, Long petId, double amount,
+                                   String status, String paymentMethod, LocalDateTime donationDate) {
+}
@@ -0,0 +1,75 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.archive.DonationArchive;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The history_id space shared by donation_history rows (through the table generator of
+ * {@link com.pawsitivedrive.backend.entity.DonationHistory}), audit log entries and generated data. The
+ * donation_history row of the donation_history_ids table holds the last id handed out (Hibernate's table
+ * generator stores the last used value), so ids only grow and are never reused, also after rows move to
+ * the archive.
+ *
+ * On startup the counter is moved up to the highest id in donation_history and its archive, for databases
+ * whose rows were written before the counter existed.
+ */
+@Component
+public class DonationHistoryIds {
+
+    static final String TABLE = "donation_history_ids";
+    static final String NAME = "donation_history";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public DonationHistoryIds(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              DonationArchive donationArchive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        long last = highest("donation_history");
+        if (donationArchive.available()) {
+            last = Math.max(last, highest(DonationArchive.HISTORY));
+        }
+        catchUp(last);
+    }
+
+    /**
+     * Takes {@code count} consecutive ids, none below {@code atLeast}, and returns the first one.
+     */
+    public long reserve(long atLeast, int count) {
+        return requiresNew.execute(status -> {
+            Long last = jdbcTemplate.queryForObject("SELECT last_val FROM " + TABLE + " WHERE sequence_name = ? FOR UPDATE",
+                    Long.class, NAME);
+            long start = Math.max(last + 1, atLeast);
+            jdbcTemplate.update("UPDATE " + TABLE + " SET last_val = ? WHERE sequence_name = ?", start + count - 1, NAME);
+            return start;
+        });
+    }
+
+    private void catchUp(long last) {
+        int updated = jdbcTemplate.update("UPDATE " + TABLE + " SET last_val = ? WHERE sequence_name = ? AND last_val < ?",
+                last, NAME, last);
+        if (updated > 0 || jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE + " WHERE sequence_name = ?",
+                Long.class, NAME) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO " + TABLE + " (sequence_name, last_val) VALUES (?, ?)", NAME, last);
+        } catch (DuplicateKeyException e) {
+            // Another instance inserted it first
+            catchUp(last);
+        }
+    }
+
+    private long highest(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(history_id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+}
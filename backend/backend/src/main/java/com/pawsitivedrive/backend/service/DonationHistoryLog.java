@@ -0,0 +1,282 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.audit.SegmentedAuditLog;
+import com.pawsitivedrive.backend.entity.DonationHistory;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.repository.DonationHistoryRepository;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Donation history, written to the append-only {@link SegmentedAuditLog} instead of one donation_history
+ * insert per event. The entry is appended once the donation has committed, and the request waits for the
+ * group commit that makes it durable. A crash between the commit and the append loses the entry; on
+ * startup donations without any history get their "Created" entry back (see {@link #reconcile}).
+ *
+ * A donation's history is its donation_history rows (older donations, the data generator, and entries
+ * written there because the log could not be opened or an append failed) followed by its log entries,
+ * ordered by time. The log takes its sequence numbers from {@link DonationHistoryIds}, the id space of the
+ * table rows, so an entry is reported with its sequence as history_id: positive, stable across restarts and
+ * never the id of a row.
+ */
+@Component
+public class DonationHistoryLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationHistoryLog.class);
+    private static final int LIVENESS_CHUNK = 1000;
+    private static final Comparator<DonationHistory> BY_TIME = Comparator.comparing(DonationHistory::getAction_date,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final DonationHistoryRepository historyRepository;
+    private final DonationsRepository donationsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchivedDonations archivedDonations;
+    private final DonationHistoryIds historyIds;
+    private final TransactionTemplate requiresNew;
+    private final Duration appendTimeout;
+    private final int compactAfterSegments;
+    private final Duration reconcileMargin;
+    private final Path dir;
+    private final boolean deleteOnClose;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final SegmentedAuditLog auditLog;
+    private final ScheduledExecutorService compactor;
+    private final Counter fallbacks;
+
+    public DonationHistoryLog(DonationHistoryRepository historyRepository,
+                              DonationsRepository donationsRepository,
+                              JdbcTemplate jdbcTemplate,
+                              ArchivedDonations archivedDonations,
+                              DonationHistoryIds historyIds,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.audit.enabled:true}") boolean enabled,
+                              @Value("${app.audit.dir:audit}") Path dir,
+                              @Value("${app.audit.delete-on-close:false}") boolean deleteOnClose,
+                              @Value("${app.audit.segment-size:64MB}") DataSize segmentSize,
+                              @Value("${app.audit.max-batch:256}") int maxBatch,
+                              @Value("${app.audit.append-timeout:5s}") Duration appendTimeout,
+                              @Value("${app.audit.compact-after-segments:8}") int compactAfterSegments,
+                              @Value("${app.audit.compact-check-interval:1h}") Duration compactCheckInterval,
+                              @Value("${app.audit.reconcile-margin:1h}") Duration reconcileMargin) {
+        this.historyRepository = historyRepository;
+        this.donationsRepository = donationsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.archivedDonations = archivedDonations;
+        this.historyIds = historyIds;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.appendTimeout = appendTimeout;
+        this.compactAfterSegments = compactAfterSegments;
+        this.reconcileMargin = reconcileMargin;
+        this.dir = dir;
+        this.deleteOnClose = deleteOnClose;
+        this.auditLog = enabled ? open(dir, segmentSize, maxBatch) : null;
+        this.fallbacks = Counter.builder("pawsitive.audit.fallbacks")
+                .description("History entries written to the donation_history table because the audit log failed")
+                .register(meterRegistry);
+        if (auditLog == null) {
+            compactor = null;
+            return;
+        }
+        Gauge.builder("pawsitive.audit.records", auditLog, SegmentedAuditLog::records)
+                .description("Records in the donation audit log")
+                .register(meterRegistry);
+        Gauge.builder("pawsitive.audit.segments.sealed", auditLog, SegmentedAuditLog::sealedSegments)
+                .description("Sealed audit log segments waiting for compaction")
+                .register(meterRegistry);
+        FunctionCounter.builder("pawsitive.audit.batches", auditLog, SegmentedAuditLog::batches)
+                .description("Group commits (one disk sync each) of the audit log")
+                .register(meterRegistry);
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = compactCheckInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gives the "Created" entry back to donations that committed but lost it to a crash before the append.
+     * Only donations made before this instance started are looked at (later ones get theirs from
+     * {@link #onDonationCreated}), and only from reconcile-margin before the newest log entry on, since
+     * anything older was followed by durable appends. Donations with donation_history rows are skipped.
+     * Runs after the startup runners, so rows the data generator writes count.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        LocalDateTime newest = auditLog != null ? auditLog.newestTimestamp() : null;
+        LocalDateTime from = newest != null ? newest.minus(reconcileMargin) : LocalDateTime.of(1970, 1, 1, 0, 0);
+        List<Object[]> candidates = jdbcTemplate.query("SELECT d.donation_id, d.donation_date FROM donations d"
+                        + " WHERE d.donation_date >= ? AND d.donation_date < ?"
+                        + " AND NOT EXISTS (SELECT 1 FROM donation_history h WHERE h.donation_id = d.donation_id)",
+                (rs, row) -> new Object[] {rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()},
+                Timestamp.valueOf(from), Timestamp.valueOf(startedAt));
+        int restored = 0;
+        for (Object[] candidate : candidates) {
+            Long donationId = (Long) candidate[0];
+            if (auditLog == null || !auditLog.contains(donationId)) {
+                append(donationId, "Created", (LocalDateTime) candidate[1]);
+                restored++;
+            }
+        }
+        if (restored > 0) {
+            log.warn("Restored the Created history entry of {} donations that lost it", restored);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onDonationCreated(DonationCreatedEvent event) {
+        append(event.donationId(), "Created", LocalDateTime.now());
+    }
+
+    public void append(Long donationId, String action, LocalDateTime at) {
+        if (auditLog != null) {
+            try {
+                auditLog.append(donationId, action, at).get(appendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.warn("Audit log append for donation {} failed; writing it to donation_history", donationId, e);
+            }
+        }
+        fallbacks.increment();
+        // After commit the original transaction is finished but still bound; write in a fresh one
+        requiresNew.executeWithoutResult(status -> {
+            DonationHistory history = new DonationHistory();
+            history.setDonation(donationsRepository.getReferenceById(donationId));
+            history.setAction(action);
+            history.setAction_date(at);
+            historyRepository.save(history);
+        });
+    }
+
+    /**
+     * The donation's donation_history rows and log entries, oldest first, in the shape of the table rows.
+     */
+    public List<DonationHistory> history(Donations donation) {
+        return history(donation, historyRepository::findByDonation);
+    }
+
+    /**
+     * Like {@link #history(Donations)}, with the rows from {@code table} (e.g. the archive).
+     */
+    public List<DonationHistory> history(Donations donation, Function<Donations, List<DonationHistory>> table) {
+        List<DonationHistory> rows = table.apply(donation);
+        List<SegmentedAuditLog.Entry> entries = auditLog != null ? auditLog.read(donation.getDonation_id()) : List.of();
+        if (entries.isEmpty()) {
+            return rows;
+        }
+        List<DonationHistory> history = new ArrayList<>(rows.size() + entries.size());
+        history.addAll(rows);
+        for (SegmentedAuditLog.Entry entry : entries) {
+            DonationHistory item = new DonationHistory();
+            item.setHistory_id(entry.sequence());
+            item.setAction(entry.action());
+            item.setAction_date(entry.timestamp());
+            item.setDonation(donation);
+            history.add(item);
+        }
+        history.sort(BY_TIME);
+        return history;
+    }
+
+    /**
+     * Sets the history the donation's JSON shows, from its already loaded histories collection plus the log.
+     */
+    public List<Donations> fill(List<Donations> donations) {
+        for (Donations donation : donations) {
+            List<DonationHistory> rows = donation.getHistories();
+            donation.setFullHistory(history(donation, d -> rows != null ? rows : List.of()));
+        }
+        return donations;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (auditLog == null) {
+            return;
+        }
+        compactor.shutdownNow();
+        auditLog.close();
+        if (deleteOnClose) {
+            try {
+                FileSystemUtils.deleteRecursively(dir);
+            } catch (IOException e) {
+                log.warn("Could not delete the audit log in {}", dir, e);
+            }
+        }
+    }
+
+    private SegmentedAuditLog open(Path dir, DataSize segmentSize, int maxBatch) {
+        try {
+            return new SegmentedAuditLog(dir, (int) segmentSize.toBytes(), maxBatch, historyIds::reserve);
+        } catch (Exception e) {
+            log.error("Could not open the audit log in {}; donation history goes to the donation_history table", dir, e);
+            return null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            if (auditLog.sealedSegments() >= compactAfterSegments) {
+                auditLog.compact(this::existingDonations);
+            }
+        } catch (Exception e) {
+            log.warn("Audit log compaction failed", e);
+        }
+    }
+
+    // Records of donations deleted since (e.g. by direct SQL) are dropped by compaction; archived ones are kept
+    private Set<Long> existingDonations(Set<Long> donationIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> ids = new ArrayList<>(donationIds);
+        for (int from = 0; from < ids.size(); from += LIVENESS_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LIVENESS_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            existing.addAll(jdbcTemplate.queryForList(
+                    "SELECT donation_id FROM donations WHERE donation_id IN (" + placeholders + ")",
+                    Long.class, chunk.toArray()));
+        }
+        Set<Long> missing = new HashSet<>(donationIds);
+        missing.removeAll(existing);
+        existing.addAll(archivedDonations.archivedIds(missing));
+        return existing;
+    }
+}
@@ -0,0 +1,217 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Top donors and most-supported pets for this week, this month and all time, kept sorted in memory.
+ *
+ * Each board is a map of totals by id plus a ConcurrentSkipListSet of the same standings ordered by
+ * amount, so a top-N read walks the first N nodes and a new donation is an O(log n) remove + insert.
+ * Only Completed donations count. Boards are rebuilt with GROUP BY queries at startup and then
+ * updated after each donation commits. Week (from Monday) and month boards start over empty when
+ * their period rolls over. The all-time boards also count donations already moved to the archive.
+ */
+@Component
+public class DonationLeaderboards {
+
+    public enum Window { WEEK, MONTH, ALL }
+
+    public enum Dimension { DONORS, PETS }
+
+    /** One id's standing on a board; amounts are kept in centavos so totals do not drift. */
+    public record Standing(long id, long totalCents, int donations) {
+        public BigDecimal total() {
+            return BigDecimal.valueOf(totalCents, 2);
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(DonationLeaderboards.class);
+    private static final Comparator<Standing> RANKING = Comparator.comparingLong(Standing::totalCents).reversed()
+            .thenComparingLong(Standing::id);
+
+    private final DonationsRepository donationsRepository;
+    private final ArchivedDonations archivedDonations;
+    private final Map<Dimension, Map<Window, AtomicReference<Board>>> boards = new EnumMap<>(Dimension.class);
+
+    // Donations committed while the startup rebuild runs are parked here and replayed afterwards
+    private final Queue<DonationCreatedEvent> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean ready;
+    private volatile long snapshotMaxId;
+
+    public DonationLeaderboards(DonationsRepository donationsRepository, ArchivedDonations archivedDonations) {
+        this.donationsRepository = donationsRepository;
+        this.archivedDonations = archivedDonations;
+        LocalDateTime now = LocalDateTime.now();
+        for (Dimension dimension : Dimension.values()) {
+            Map<Window, AtomicReference<Board>> byWindow = new EnumMap<>(Window.class);
+            for (Window window : Window.values()) {
+                byWindow.put(window, new AtomicReference<>(new Board(windowStart(window, now))));
+            }
+            boards.put(dimension, byWindow);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        Long maxId = donationsRepository.findMaxDonationId();
+        long snapshot = maxId != null ? maxId : 0L;
+        LocalDateTime now = LocalDateTime.now();
+        for (Window window : Window.values()) {
+            LocalDateTime since = windowStart(window, now);
+            List<Object[]> donors = new ArrayList<>(donationsRepository.sumCompletedByUserSince(since, snapshot));
+            List<Object[]> pets = new ArrayList<>(donationsRepository.sumCompletedByPetSince(since, snapshot));
+            // Only months older than the hot window are archived, so the week and month boards never need them
+            if (window == Window.ALL) {
+                donors.addAll(archivedDonations.sumCompletedByUser());
+                pets.addAll(archivedDonations.sumCompletedByPet());
+            }
+            boards.get(Dimension.DONORS).get(window).set(load(since, donors));
+            boards.get(Dimension.PETS).get(window).set(load(since, pets));
+        }
+        snapshotMaxId = snapshot;
+        ready = true;
+        drainPending();
+        log.info("Donation leaderboards rebuilt up to donation {} in {} ms", snapshot, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onDonationCreated(DonationCreatedEvent event) {
+        if (!ready) {
+            pending.add(event);
+            // The rebuild may have finished between the check and the add
+            if (ready) {
+                drainPending();
+            }
+            return;
+        }
+        apply(event);
+    }
+
+    /**
+     * The first {@code limit} standings of a board, highest total first.
+     */
+    public List<Standing> top(Dimension dimension, Window window, int limit) {
+        Board board = current(dimension, window, LocalDateTime.now());
+        List<Standing> top = new ArrayList<>(Math.min(limit, 100));
+        for (Standing standing : board.ranking) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(standing);
+        }
+        return top;
+    }
+
+    private void drainPending() {
+        DonationCreatedEvent event;
+        while ((event = pending.poll()) != null) {
+            apply(event);
+        }
+    }
+
+    private void apply(DonationCreatedEvent event) {
+        // Already counted by the rebuild queries
+        if (event.donationId() != null && event.donationId() <= snapshotMaxId) {
+            return;
+        }
+        if (!"Completed".equalsIgnoreCase(event.status()) || event.amount() <= 0) {
+            return;
+        }
+        long cents = Math.round(event.amount() * 100);
+        LocalDateTime date = event.donationDate() != null ? event.donationDate() : LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        for (Window window : Window.values()) {
+            if (event.userId() != null) {
+                current(Dimension.DONORS, window, now).add(event.userId(), cents, date);
+            }
+            if (event.petId() != null) {
+                current(Dimension.PETS, window, now).add(event.petId(), cents, date);
+            }
+        }
+    }
+
+    private Board current(Dimension dimension, Window window, LocalDateTime now) {
+        AtomicReference<Board> ref = boards.get(dimension).get(window);
+        LocalDateTime start = windowStart(window, now);
+        Board board = ref.get();
+        while (!board.start.equals(start)) {
+            // New week or month: start from an empty board (whoever wins the CAS installs it)
+            ref.compareAndSet(board, new Board(start));
+            board = ref.get();
+        }
+        return board;
+    }
+
+    private static Board load(LocalDateTime since, List<Object[]> rows) {
+        Board board = new Board(since);
+        for (Object[] row : rows) {
+            long id = ((Number) row[0]).longValue();
+            Standing standing = new Standing(id, Math.round(((Number) row[1]).doubleValue() * 100),
+                    ((Number) row[2]).intValue());
+            // An id can have both hot and archived rows
+            board.totals.merge(id, standing, (a, b) ->
+                    new Standing(id, a.totalCents() + b.totalCents(), a.donations() + b.donations()));
+        }
+        board.ranking.addAll(board.totals.values());
+        return board;
+    }
+
+    private static LocalDateTime windowStart(Window window, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        return switch (window) {
+            case WEEK -> today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTH -> today.withDayOfMonth(1).atStartOfDay();
+            case ALL -> LocalDateTime.of(1970, 1, 1, 0, 0);
+        };
+    }
+
+    private static final class Board {
+        final LocalDateTime start;
+        final ConcurrentHashMap<Long, Standing> totals = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<Standing> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+        Board(LocalDateTime start) {
+            this.start = start;
+        }
+
+        void add(long id, long cents, LocalDateTime date) {
+            if (date.isBefore(start)) {
+                return;
+            }
+            // compute() serializes updates per id; the skip list itself is safe for concurrent use
+            totals.compute(id, (key, old) -> {
+                Standing updated = old == null ? new Standing(id, cents, 1)
+                        : new Standing(id, old.totalCents() + cents, old.donations() + 1);
+                if (old != null) {
+                    ranking.remove(old);
+                }
+                ranking.add(updated);
+                return updated;
+            });
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.entity.DonationHistory;
+import com.pawsitivedrive.backend.entity.DonationReceipt;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.metrics.DomainMetrics;
+import com.pawsitivedrive.backend.profiling.DonationCreateEvent;
+import com.pawsitivedrive.backend.repository.DonationReceiptRepository;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Donation use cases, one transaction each. Open-in-view is off, so responses are serialized after the
+ * transaction has ended: reads load everything the JSON shows (user and pet, and the histories list,
+ * which DonationHistoryLog completes with the audit log entries) before returning. Read-only transactions
+ * skip Hibernate's dirty checking and flush and may be served by a read replica.
+ */
+@Service
+public class DonationService {
+
+    private final DonationsRepository donationsRepository;
+    private final UsersRepository usersRepository;
+    private final PetsRepository petsRepository;
+    private final DonationReceiptRepository receiptRepository;
+    private final DonationHistoryLog historyLog;
+    private final ArchivedDonations archivedDonations;
+    private final ReceiptDocuments receiptDocuments;
+    private final DomainMetrics domainMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DonationService(DonationsRepository donationsRepository,
+                           UsersRepository usersRepository,
+                           PetsRepository petsRepository,
+                           DonationReceiptRepository receiptRepository,
+                           DonationHistoryLog historyLog,
+                           ArchivedDonations archivedDonations,
+                           ReceiptDocuments receiptDocuments,
+                           DomainMetrics domainMetrics,
+                           ApplicationEventPublisher eventPublisher) {
+        this.donationsRepository = donationsRepository;
+        this.usersRepository = usersRepository;
+        this.petsRepository = petsRepository;
+        this.receiptRepository = receiptRepository;
+        this.historyLog = historyLog;
+        this.archivedDonations = archivedDonations;
+        this.receiptDocuments = receiptDocuments;
+        this.domainMetrics = domainMetrics;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * All donations; archived ones (see DonationArchive) only with {@code includeArchived}.
+     */
+    @Transactional(readOnly = true)
+    public List<Donations> list(boolean includeArchived) {
+        List<Donations> donations = initialize(donationsRepository.findAllWithRelations());
+        if (includeArchived) {
+            donations = new ArrayList<>(donations);
+            donations.addAll(historyLog.fill(archivedDonations.findAll()));
+        }
+        return donations;
+    }
+
+    /**
+     * @throws ResponseStatusException 404 for an unknown user
+     */
+    @Transactional(readOnly = true)
+    public List<Donations> listByUser(Long userId, boolean includeArchived) {
+        Users user = usersRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        List<Donations> donations = initialize(donationsRepository.findByUser(user));
+        if (includeArchived) {
+            donations = new ArrayList<>(donations);
+            donations.addAll(historyLog.fill(archivedDonations.findByUser(userId)));
+        }
+        return donations;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Donations> get(Long id, boolean includeArchived) {
+        Optional<Donations> donation = donationsRepository.findById(id);
+        if (donation.isPresent()) {
+            initialize(List.of(donation.get()));
+            return donation;
+        }
+        if (!includeArchived) {
+            return donation;
+        }
+        Optional<Donations> archived = archivedDonations.findById(id);
+        archived.ifPresent(d -> d.setFullHistory(historyLog.history(d, archivedDonations::history)));
+        return archived;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DonationReceipt> receipt(Long donationId, boolean includeArchived) {
+        Optional<DonationReceipt> receipt = receiptRepository.findByDonationId(donationId);
+        if (receipt.isEmpty() && includeArchived) {
+            receipt = archivedDonations.findById(donationId).flatMap(archivedDonations::findReceipt);
+        }
+        return receipt;
+    }
+
+    /**
+     * @throws ResponseStatusException 404 for an unknown donation
+     */
+    @Transactional(readOnly = true)
+    public List<DonationHistory> history(Long donationId, boolean includeArchived) {
+        Optional<Donations> hot = donationsRepository.findById(donationId);
+        if (hot.isPresent()) {
+            return historyLog.history(hot.get());
+        }
+        Donations archived = (includeArchived ? archivedDonations.findById(donationId) : Optional.<Donations>empty())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Donation not found"));
+        return historyLog.history(archived, archivedDonations::history);
+    }
+
+    /**
+     * Records a donation and its receipt in one transaction. A missing pet is ignored (the pet is optional).
+     *
+     * @throws ResponseStatusException 404 for an unknown user
+     */
+    @Transactional
+    public Donations create(Long userId, double amount, String paymentMethod, String status, Long petId) {
+        DonationCreateEvent event = new DonationCreateEvent();
+        event.begin();
+        Users user = usersRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        Donations donation = new Donations();
+        donation.setUser(user);
+        donation.setAmount(amount);
+        donation.setPayment_method(paymentMethod);
+        donation.setStatus(status);
+        if (petId != null) {
+            Pets pet = petsRepository.findById(petId).orElse(null);
+            donation.setPet(pet);
+        }
+        Donations saved = donationsRepository.save(donation);
+
+        DonationReceipt receipt = new DonationReceipt();
+        receipt.setDonation(saved);
+        // Generate receipt number: REC-{donation_id}-{timestamp}
+        String receiptNumber = ReceiptNumbers.format(saved.getDonation_id(), LocalDateTime.now());
+        receipt.setReceipt_number(receiptNumber);
+        receipt.setReceipt_date(LocalDateTime.now());
+        receipt.setDonor_name(user.getName());
+        receipt.setDonor_email(user.getEmail());
+        receipt.setDonor_address(user.getAddress() != null ? user.getAddress() : "");
+        receipt.setPayment_method(saved.getPayment_method());
+        receipt.setStatus(saved.getStatus());
+        receipt.setTransaction_id(receiptNumber); // Use receipt number as transaction ID
+        long receiptStart = System.nanoTime();
+        receipt.setDocument_hash(receiptDocuments.issue(receipt, saved));
+        event.receiptTime = System.nanoTime() - receiptStart;
+        receiptRepository.save(receipt);
+
+        domainMetrics.donationCreated(saved.getAmount());
+        // Delivered to listeners (leaderboards, the "Created" history entry etc.) only after this transaction commits
+        eventPublisher.publishEvent(new DonationCreatedEvent(saved.getDonation_id(), user.getUser_id(),
+                saved.getPet() != null ? saved.getPet().getPet_id() : null, saved.getAmount(),
+                saved.getStatus(), saved.getPayment_method(), saved.getDonation_date()));
+
+        event.donationId = saved.getDonation_id();
+        event.userId = userId;
+        event.petId = saved.getPet() != null ? saved.getPet().getPet_id() : 0;
+        event.amount = saved.getAmount();
+        event.commit();
+        return saved;
+    }
+
+    // hibernate.default_batch_fetch_size loads the histories of many donations per query
+    private List<Donations> initialize(List<Donations> donations) {
+        for (Donations donation : donations) {
+            Hibernate.initialize(donation.getHistories());
+        }
+        return historyLog.fill(donations);
+    }
+}
@@ -0,0 +1,174 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over registered e-mail addresses (lower-cased), so login can answer "no such account"
+ * without a users lookup. It never yields a false negative once built: every address in the table is
+ * loaded at startup and every new signup is added. A false positive just costs the normal lookup.
+ *
+ * Until the first build finishes every address is reported as possibly present. Addresses are only
+ * ever added; users created by another instance or by direct SQL are picked up by the next rebuild.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+    private static final int PAGE_SIZE = 10_000;
+
+    private final UsersRepository usersRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile Bits current;
+    // Set while a rebuild scans the table, so signups during the scan land in the new filter too
+    private volatile Bits rebuilding;
+
+    public EmailBloomFilter(UsersRepository usersRepository,
+                            @Value("${app.auth.email-filter.expected-insertions:100000}") long expectedInsertions,
+                            @Value("${app.auth.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usersRepository = usersRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // Read-write transaction so it runs on the primary: a lagging replica would leave out the newest
+    // signups, i.e. produce false negatives
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        // Leave headroom for growth until the next restart
+        Bits next = new Bits(Math.max(expectedInsertions, usersRepository.count() * 2), falsePositiveRate);
+        rebuilding = next;
+        try {
+            long loaded = 0;
+            Long after = 0L;
+            List<Object[]> page;
+            do {
+                page = usersRepository.findEmailsAfter(after, PageRequest.of(0, PAGE_SIZE));
+                for (Object[] row : page) {
+                    after = (Long) row[0];
+                    if (row[1] != null) {
+                        next.add(normalize((String) row[1]));
+                        loaded++;
+                    }
+                }
+            } while (page.size() == PAGE_SIZE);
+            current = next;
+            log.info("Email filter built from {} addresses ({} bits, {} hashes) in {} ms",
+                    loaded, next.bitCount, next.hashes, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * False means the address is definitely not registered.
+     */
+    public boolean mightContain(String email) {
+        Bits bits = current;
+        return bits == null || email == null || bits.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalize(email);
+        Bits bits = current;
+        if (bits != null) {
+            bits.add(key);
+        }
+        Bits next = rebuilding;
+        if (next != null) {
+            next.add(key);
+        }
+        // A rebuild may have published its filter and cleared rebuilding between the two reads above; the
+        // address must then go into the new filter too. Callers add after the signup commits, so a rebuild
+        // that starts after this point finds the address in the table.
+        Bits published = current;
+        if (published != bits && published != next) {
+            published.add(key);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashes;
+
+        Bits(long insertions, double fpp) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-insertions * Math.log(fpp) / (ln2 * ln2));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / insertions * ln2));
+        }
+
+        void add(String key) {
+            long h = hash(key);
+            long h1 = mix(h);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (a, b) -> a | b);
+                }
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h = hash(key);
+            long h1 = mix(h);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a over the UTF-16 chars
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return h;
+        }
+
+        // MurmurHash3 finalizer, so both double-hashing inputs are well spread
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
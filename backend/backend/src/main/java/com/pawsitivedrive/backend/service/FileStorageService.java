@@ -1,5 +1,11 @@
 package com.pawsitivedrive.backend.service;
 
+import com.pawsitivedrive.backend.profiling.ImageStoreEvent;
+import com.pawsitivedrive.backend.tracing.Span;
+import com.pawsitivedrive.backend.tracing.Tracer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -13,15 +19,45 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class FileStorageService {
 
     private final Path uploadDir;
+    private final Timer storeTimer;
+    private final Timer deleteTimer;
+    private final DistributionSummary storedBytes;
+    private final DistributionSummary deletedBytes;
+    private final Tracer tracer;
 
-    public FileStorageService(@Value("${app.upload-dir:uploads}") String uploadDirProperty) throws IOException {
+    public FileStorageService(@Value("${app.upload-dir:uploads}") String uploadDirProperty,
+                              MeterRegistry meterRegistry,
+                              Tracer tracer) throws IOException {
         this.uploadDir = Paths.get(uploadDirProperty).toAbsolutePath().normalize();
+        this.tracer = tracer;
         Files.createDirectories(this.uploadDir);
+
+        this.storeTimer = Timer.builder("pawsitive.storage.duration")
+                .tag("operation", "store")
+                .description("Time spent writing or deleting uploaded files")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deleteTimer = Timer.builder("pawsitive.storage.duration")
+                .tag("operation", "delete")
+                .description("Time spent writing or deleting uploaded files")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.storedBytes = DistributionSummary.builder("pawsitive.storage.bytes")
+                .tag("operation", "store")
+                .baseUnit("bytes")
+                .description("Size of uploaded files written or deleted")
+                .register(meterRegistry);
+        this.deletedBytes = DistributionSummary.builder("pawsitive.storage.bytes")
+                .tag("operation", "delete")
+                .baseUnit("bytes")
+                .description("Size of uploaded files written or deleted")
+                .register(meterRegistry);
     }
 
     public String store(MultipartFile file) throws IOException {
@@ -39,9 +75,21 @@ public class FileStorageService {
         String filename = UUID.randomUUID() + extension;
         Path target = uploadDir.resolve(filename);
 
-        try (InputStream inputStream = file.getInputStream()) {
-            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        ImageStoreEvent event = new ImageStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long written;
+        try (Span span = tracer.startSpan("FileStorageService.store");
+             InputStream inputStream = file.getInputStream()) {
+            written = Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+            span.attribute("file.size", written);
+        } finally {
+            storeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+        storedBytes.record(written);
+        event.filename = filename;
+        event.bytes = written;
+        event.commit();
 
         return filename;
     }
@@ -57,12 +105,21 @@ public class FileStorageService {
         if (filename == null || filename.isEmpty()) {
             return false;
         }
-        try {
+        long start = System.nanoTime();
+        try (Span span = tracer.startSpan("FileStorageService.delete")) {
             Path filePath = uploadDir.resolve(filename);
-            return Files.deleteIfExists(filePath);
+            long size = Files.exists(filePath) ? Files.size(filePath) : 0L;
+            boolean deleted = Files.deleteIfExists(filePath);
+            if (deleted) {
+                deletedBytes.record(size);
+            }
+            span.attribute("file.size", size).attribute("file.deleted", deleted);
+            return deleted;
         } catch (IOException e) {
             System.err.println("Failed to delete file: " + filename + " - " + e.getMessage());
             return false;
+        } finally {
+            deleteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
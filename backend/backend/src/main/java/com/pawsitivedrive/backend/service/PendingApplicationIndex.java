@@ -0,0 +1,71 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.repository.AdoptionApplicationsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory set of (user, pet) pairs that have a pending application, grouped by pet so that adopting
+ * or deleting a pet drops all its pairs at once.
+ *
+ * This is only a fast path for rejecting double submissions without touching the database. The unique
+ * pending_key column stays authoritative: an entry that goes missing (rollback, race with a removal)
+ * just lets the request fall through to the constraint. Entries are therefore added before the insert
+ * and removed as soon as an application stops being pending, never the other way round, so the index
+ * does not reject a request the database would accept. It is per instance, which is all this
+ * single-node deployment needs.
+ */
+@Component
+public class PendingApplicationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingApplicationIndex.class);
+
+    private final ConcurrentMap<Long, Set<Long>> usersByPet = new ConcurrentHashMap<>();
+    private final AdoptionApplicationsRepository applicationsRepository;
+
+    public PendingApplicationIndex(AdoptionApplicationsRepository applicationsRepository) {
+        this.applicationsRepository = applicationsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        long start = System.nanoTime();
+        int pairs = 0;
+        for (Object[] row : applicationsRepository.findPendingPairs()) {
+            tryReserve((Long) row[0], (Long) row[1]);
+            pairs++;
+        }
+        log.info("Pending application index warmed with {} pairs in {} ms", pairs, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Records the pair and returns true, or returns false if it is already pending.
+     */
+    public boolean tryReserve(Long userId, Long petId) {
+        return usersByPet.computeIfAbsent(petId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    public void release(Long userId, Long petId) {
+        Set<Long> users = usersByPet.get(petId);
+        if (users != null) {
+            users.remove(userId);
+        }
+    }
+
+    /**
+     * Drops every pending pair of the given pets, e.g. after they were adopted or deleted.
+     */
+    public void releasePets(Collection<Long> petIds) {
+        for (Long petId : petIds) {
+            usersByPet.remove(petId);
+        }
+    }
+}
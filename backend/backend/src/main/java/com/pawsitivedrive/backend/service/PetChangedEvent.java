@@ -0,0 +1,19 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.entity.Pets;
+
+/**
+ * Published when a pet's searchable text changes or the pet is deleted. Listeners use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}: inside a transaction they run after commit,
+ * outside one (the non-transactional controller saves) right away.
+ */
+public record PetChangedEvent(Long petId, String name, String breed, String description, boolean deleted) {
+
+    public static PetChangedEvent saved(Pets pet) {
+        return new PetChangedEvent(pet.getPet_id(), pet.getName(), pet.getBreed(), pet.getDescription(), false);
+    }
+
+    public static PetChangedEvent deleted(Long petId) {
+        return new PetChangedEvent(petId, null, null, null, true);
+    }
+}
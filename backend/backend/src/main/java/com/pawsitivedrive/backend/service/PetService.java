@@ -0,0 +1,185 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.metrics.DomainMetrics;
+import com.pawsitivedrive.backend.repository.AdoptionApplicationsRepository;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Pet use cases, one transaction each; reads are read-only transactions. Bulk administration is a
+ * handful of set-based statements in one transaction instead of one findById/save (or a cascading
+ * entity delete) per pet.
+ */
+@Service
+public class PetService {
+
+    private final PetsRepository petsRepository;
+    private final UsersRepository usersRepository;
+    private final AdoptionApplicationsRepository applicationsRepository;
+    private final DonationsRepository donationsRepository;
+    private final PendingApplicationIndex pendingIndex;
+    private final DomainMetrics domainMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PetService(PetsRepository petsRepository,
+                      UsersRepository usersRepository,
+                      AdoptionApplicationsRepository applicationsRepository,
+                      DonationsRepository donationsRepository,
+                      PendingApplicationIndex pendingIndex,
+                      DomainMetrics domainMetrics,
+                      ApplicationEventPublisher eventPublisher) {
+        this.petsRepository = petsRepository;
+        this.usersRepository = usersRepository;
+        this.applicationsRepository = applicationsRepository;
+        this.donationsRepository = donationsRepository;
+        this.pendingIndex = pendingIndex;
+        this.domainMetrics = domainMetrics;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * All pets, or those of one species or status (species wins if both are given).
+     */
+    @Transactional(readOnly = true)
+    public List<Pets> list(String species, String status) {
+        if (species != null) {
+            return petsRepository.findBySpeciesIgnoreCase(species);
+        }
+        if (status != null) {
+            return petsRepository.findByStatusIgnoreCase(status);
+        }
+        return petsRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Pets> get(Long id) {
+        return petsRepository.findById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Pets> findAll(Collection<Long> ids) {
+        return petsRepository.findAllById(ids);
+    }
+
+    /**
+     * @throws ResponseStatusException 400 if the adding user does not exist
+     */
+    @Transactional
+    public Pets create(Pets pet, Long addedByUserId) {
+        Users addedBy = usersRepository.findById(addedByUserId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "User not found for addedBy ID: " + addedByUserId));
+        pet.setAddedBy(addedBy);
+        Pets saved = petsRepository.save(pet);
+        eventPublisher.publishEvent(PetChangedEvent.saved(saved));
+        return saved;
+    }
+
+    /**
+     * Replaces the editable fields of a pet; the adding user only changes if {@code input} names one.
+     * {@code input} must carry the version the client read, so an edit made from a stale copy is refused
+     * instead of silently undoing someone else's change.
+     *
+     * @throws ObjectOptimisticLockingFailureException (409) if the pet has changed since that version
+     */
+    @Transactional
+    public Optional<Pets> update(Long id, Pets input) {
+        return petsRepository.findById(id).map(existing -> {
+            if (existing.getVersion() != input.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Pets.class, id);
+            }
+            existing.setName(input.getName());
+            existing.setSpecies(input.getSpecies());
+            existing.setBreed(input.getBreed());
+            existing.setAge(input.getAge());
+            existing.setGender(input.getGender());
+            existing.setStatus(input.getStatus());
+            existing.setDescription(input.getDescription());
+            existing.setImage_url(input.getImage_url());
+            if (input.getAddedBy() != null) {
+                existing.setAddedBy(input.getAddedBy());
+            }
+            Pets saved = petsRepository.save(existing);
+            eventPublisher.publishEvent(PetChangedEvent.saved(saved));
+            return saved;
+        });
+    }
+
+    /**
+     * Sets the status of many pets in one statement without breaking what approvals maintain: "Adopted"
+     * also rejects the pets' pending applications, like approving one application rejects the others, and
+     * a pet adopted through an approved application keeps its status (reported as a conflict) since the
+     * approval would otherwise point at a pet that is available again. The pets stay locked until commit,
+     * so no approval of one of them runs in between.
+     *
+     * @param reviewerId admin recorded on the rejected applications, or null
+     * @throws ResponseStatusException 404 for an unknown reviewer
+     */
+    @Transactional
+    public BulkResult updateStatus(List<Long> ids, String status, Long reviewerId) {
+        Users reviewer = null;
+        if (reviewerId != null) {
+            reviewer = usersRepository.findById(reviewerId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reviewer not found"));
+        }
+        Set<Long> existing = new HashSet<>();
+        for (Pets pet : petsRepository.lockAll(ids)) {
+            existing.add(pet.getPet_id());
+        }
+        boolean adopting = "Adopted".equalsIgnoreCase(status);
+        Set<Long> conflicts = adopting || existing.isEmpty() ? Set.of()
+                : new HashSet<>(applicationsRepository.findPetsWithApproved(existing));
+        Set<Long> updated = new HashSet<>(existing);
+        updated.removeAll(conflicts);
+        if (!updated.isEmpty()) {
+            petsRepository.updateStatus(updated, status);
+            if (adopting) {
+                domainMetrics.applicationsRejected(applicationsRepository.rejectPendingForPets(updated, reviewer));
+                pendingIndex.releasePets(updated);
+            }
+        }
+        BulkResult result = new BulkResult();
+        for (Long id : ids) {
+            result.put(id, updated.contains(id) ? BulkResult.UPDATED
+                    : conflicts.contains(id) ? BulkResult.CONFLICT : BulkResult.NOT_FOUND);
+        }
+        return result;
+    }
+
+    /**
+     * Deletes pets together with their applications (what CascadeType.ALL did one entity at a time).
+     * Donations made for a deleted pet are kept and just lose the pet reference.
+     */
+    @Transactional
+    public BulkResult delete(List<Long> ids) {
+        Set<Long> existing = new HashSet<>(petsRepository.findExistingIds(ids));
+        if (!existing.isEmpty()) {
+            donationsRepository.detachPets(existing);
+            applicationsRepository.deleteByPetIds(existing);
+            petsRepository.deleteByIds(existing);
+            pendingIndex.releasePets(existing);
+            for (Long id : existing) {
+                eventPublisher.publishEvent(PetChangedEvent.deleted(id));
+            }
+        }
+        BulkResult result = new BulkResult();
+        for (Long id : ids) {
+            result.put(id, existing.contains(id) ? BulkResult.DELETED : BulkResult.NOT_FOUND);
+        }
+        return result;
+    }
+}
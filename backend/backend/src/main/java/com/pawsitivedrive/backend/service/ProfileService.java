@@ -0,0 +1,112 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.entity.Profiles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.ProfilesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Profile use cases: the user lookup and the profile read or write share one transaction.
+ */
+@Service
+public class ProfileService {
+
+    private final ProfilesRepository profilesRepository;
+    private final UsersRepository usersRepository;
+    private final FileStorageService fileStorageService;
+
+    public ProfileService(ProfilesRepository profilesRepository, UsersRepository usersRepository,
+                          FileStorageService fileStorageService) {
+        this.profilesRepository = profilesRepository;
+        this.usersRepository = usersRepository;
+        this.fileStorageService = fileStorageService;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Profiles> list() {
+        return profilesRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Profiles> get(Long id) {
+        return profilesRepository.findById(id);
+    }
+
+    /**
+     * The user's first profile; empty if the user or the profile does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Profiles> findByUser(Long userId) {
+        return usersRepository.findById(userId)
+                .flatMap(user -> profilesRepository.findByUser(user).stream().findFirst());
+    }
+
+    /**
+     * Empty if the user does not exist.
+     */
+    @Transactional
+    public Optional<Profiles> create(Long userId, String bio, String profilePicture) {
+        return usersRepository.findById(userId).map(user -> {
+            Profiles profile = new Profiles();
+            profile.setUser(user);
+            profile.setBio(bio);
+            profile.setProfile_picture(profilePicture);
+            return profilesRepository.save(profile);
+        });
+    }
+
+    /**
+     * Changes the bio and/or picture of a profile; a null argument leaves that field alone. A replaced or
+     * removed picture file is deleted.
+     */
+    @Transactional
+    public Optional<Profiles> update(Long id, String bio, String profilePicture) {
+        return profilesRepository.findById(id).map(existing -> {
+            if (bio != null) {
+                existing.setBio(bio);
+            }
+            if (profilePicture != null) {
+                replacePicture(existing, profilePicture);
+            }
+            return profilesRepository.save(existing);
+        });
+    }
+
+    /**
+     * Sets both fields of the user's first profile, creating it if the user has none. Empty if the user
+     * does not exist.
+     */
+    @Transactional
+    public Optional<Profiles> updateForUser(Long userId, String bio, String profilePicture) {
+        Optional<Users> user = usersRepository.findById(userId);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Profiles> profiles = profilesRepository.findByUser(user.get());
+        if (profiles.isEmpty()) {
+            Profiles profile = new Profiles();
+            profile.setUser(user.get());
+            profile.setBio(bio);
+            profile.setProfile_picture(profilePicture);
+            return Optional.of(profilesRepository.save(profile));
+        }
+        Profiles existing = profiles.get(0);
+        replacePicture(existing, profilePicture);
+        existing.setBio(bio);
+        return Optional.of(profilesRepository.save(existing));
+    }
+
+    // Delete old profile picture file if it's being replaced or removed
+    private void replacePicture(Profiles profile, String newProfilePicture) {
+        String oldProfilePicture = profile.getProfile_picture();
+        if (oldProfilePicture != null && !oldProfilePicture.isEmpty() && !oldProfilePicture.equals(newProfilePicture)) {
+            fileStorageService.deleteFileByUrl(oldProfilePicture);
+        }
+        profile.setProfile_picture(newProfilePicture);
+    }
+}
@@ -0,0 +1,315 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.entity.DonationReceipt;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.repository.DonationReceiptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Receipt documents rendered once, when the receipt is issued, as HTML and plain text. Both are stored
+ * under receipts/{hash}.{html,txt}, where hash is the SHA-256 of the text rendering; receipts never
+ * change after issue, so a hash always names the same bytes and can be cached forever.
+ *
+ * Looking up the document of a donation or receipt number reads one indexed column pair, and the
+ * answer is kept in a small LRU map since it cannot change either. Receipts issued before this existed
+ * have no hash; their documents are rendered on first request and the hash recorded then. Receipts moved to
+ * the archive (see DonationArchive) are only looked up when the request asks for archived ones.
+ *
+ * Documents are written before the receipt row that references them, so a committed hash always has its
+ * files. The lookup cache only learns a hash once the issuing transaction commits, and a rollback deletes
+ * the files it created (see {@link ReceiptIssuedEvent}).
+ */
+@Service
+public class ReceiptDocuments {
+
+    public enum Format {
+        HTML("html", "text/html;charset=UTF-8"),
+        TEXT("txt", "text/plain;charset=UTF-8");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Optional<Format> of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(name) || format.name().equalsIgnoreCase(name)) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    // Prefix of lookup-cache keys for archived receipts, so they are not served to requests for hot ones
+    private static final String ARCHIVED = "a:";
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Logger log = LoggerFactory.getLogger(ReceiptDocuments.class);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy h:mm a", Locale.ENGLISH);
+
+    private final DonationReceiptRepository receiptRepository;
+    private final ArchivedDonations archivedDonations;
+    private final ApplicationEventPublisher events;
+    private final Path dir;
+    private final Map<String, String> hashByKey;
+
+    public ReceiptDocuments(DonationReceiptRepository receiptRepository,
+                            ArchivedDonations archivedDonations,
+                            ApplicationEventPublisher events,
+                            @Value("${app.receipts.dir:receipts}") String dir,
+                            @Value("${app.receipts.lookup-cache-size:10000}") int lookupCacheSize) throws IOException {
+        this.receiptRepository = receiptRepository;
+        this.archivedDonations = archivedDonations;
+        this.events = events;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        Files.createDirectories(this.dir);
+        this.hashByKey = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > lookupCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Renders and stores the documents of a new receipt and returns their hash, to be saved on the receipt.
+     */
+    public String issue(DonationReceipt receipt, Donations donation) {
+        List<String> created = new ArrayList<>(2);
+        String hash = store(receipt, donation, created);
+        events.publishEvent(new ReceiptIssuedEvent(donation.getDonation_id(), receipt.getReceipt_number(), hash, created));
+        return hash;
+    }
+
+    /**
+     * Renders and stores the documents of a receipt written without JPA (the data generator) and returns
+     * their hash. Nothing is cached, and the files stay if the insert fails.
+     */
+    public String render(DonationReceipt receipt, Donations donation) {
+        return store(receipt, donation, new ArrayList<>(2));
+    }
+
+    // Outside a transaction (the backfill of an old receipt) this runs right away
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssued(ReceiptIssuedEvent event) {
+        hashByKey.put(donationKey(event.donationId()), event.hash());
+        hashByKey.put(numberKey(event.receiptNumber()), event.hash());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onIssueRolledBack(ReceiptIssuedEvent event) {
+        for (String name : event.createdFiles()) {
+            try {
+                Files.deleteIfExists(dir.resolve(name));
+            } catch (IOException e) {
+                log.warn("Could not delete receipt document {} of a rolled back receipt", name, e);
+            }
+        }
+    }
+
+    /**
+     * The document hash of the donation's receipt; archived receipts only with {@code includeArchived}.
+     */
+    public Optional<String> hashForDonation(Long donationId, boolean includeArchived) {
+        Optional<String> hash = lookup(donationKey(donationId),
+                () -> receiptRepository.findDocumentRefByDonationId(donationId), this::backfill);
+        if (hash.isEmpty() && includeArchived) {
+            hash = lookup(ARCHIVED + donationKey(donationId),
+                    () -> archivedDonations.findReceiptDocumentRefByDonationId(donationId), this::backfillArchived);
+        }
+        return hash;
+    }
+
+    /**
+     * The document hash of the receipt with this number; archived receipts only with {@code includeArchived}.
+     */
+    public Optional<String> hashForReceiptNumber(String receiptNumber, boolean includeArchived) {
+        Optional<String> hash = lookup(numberKey(receiptNumber),
+                () -> receiptRepository.findDocumentRefByReceiptNumber(receiptNumber), this::backfill);
+        if (hash.isEmpty() && includeArchived) {
+            hash = lookup(ARCHIVED + numberKey(receiptNumber),
+                    () -> archivedDonations.findReceiptDocumentRefByReceiptNumber(receiptNumber), this::backfillArchived);
+        }
+        return hash;
+    }
+
+    /**
+     * The stored document, or empty for a malformed or unknown hash.
+     */
+    public Optional<byte[]> read(String hash, Format format) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path file = dir.resolve(hash + "." + format.extension);
+        try {
+            return Files.exists(file) ? Optional.of(Files.readAllBytes(file)) : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Rows are [receipt_id, document_hash, ...]; a missing hash is filled in by backfill
+    private Optional<String> lookup(String key, Supplier<List<Object[]>> query, Function<Object[], String> backfill) {
+        String cached = hashByKey.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        List<Object[]> rows = query.get();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        String hash = (String) rows.get(0)[1];
+        if (hash == null) {
+            hash = backfill.apply(rows.get(0));
+        }
+        hashByKey.put(key, hash);
+        return Optional.of(hash);
+    }
+
+    private String backfill(Object[] ref) {
+        Long receiptId = (Long) ref[0];
+        DonationReceipt receipt = receiptRepository.findById(receiptId).orElseThrow();
+        String hash = issue(receipt, receipt.getDonation());
+        receiptRepository.setDocumentHashIfMissing(receiptId, hash);
+        return hash;
+    }
+
+    // Not issue(): its event would cache the hash under the hot-table keys
+    private String backfillArchived(Object[] ref) {
+        Donations donation = archivedDonations.findById((Long) ref[2]).orElseThrow();
+        DonationReceipt receipt = archivedDonations.findReceipt(donation).orElseThrow();
+        String hash = store(receipt, donation, new ArrayList<>(2));
+        archivedDonations.setReceiptDocumentHashIfMissing((Long) ref[0], hash);
+        return hash;
+    }
+
+    // Renders and writes both documents; adds the names of the files this call created to created
+    private String store(DonationReceipt receipt, Donations donation, List<String> created) {
+        String text = renderText(receipt, donation);
+        String hash = sha256(text);
+        if (write(hash, Format.TEXT, text)) {
+            created.add(hash + "." + Format.TEXT.extension);
+        }
+        if (write(hash, Format.HTML, renderHtml(receipt, donation))) {
+            created.add(hash + "." + Format.HTML.extension);
+        }
+        return hash;
+    }
+
+    // True if this call created the file
+    private boolean write(String hash, Format format, String content) {
+        Path target = dir.resolve(hash + "." + format.extension);
+        if (Files.exists(target)) {
+            return false;
+        }
+        try {
+            // Write then rename, so a reader never sees a partial document under its final name
+            Path temp = Files.createTempFile(dir, hash, ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store receipt document " + target, e);
+        }
+    }
+
+    private static String renderText(DonationReceipt receipt, Donations donation) {
+        StringBuilder text = new StringBuilder();
+        text.append("PAWSITIVE DRIVE\nDonation Receipt\n\n");
+        for (Map.Entry<String, String> line : lines(receipt, donation).entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-16s %s%n", line.getKey() + ":", line.getValue()));
+        }
+        text.append("\nThank you for supporting our rescued pets.\n");
+        return text.toString();
+    }
+
+    private static String renderHtml(DonationReceipt receipt, Donations donation) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html lang=\"en\"><head><meta charset=\"utf-8\">")
+                .append("<title>Receipt ").append(HtmlUtils.htmlEscape(value(receipt.getReceipt_number()))).append("</title>")
+                .append("<style>body{font-family:sans-serif;max-width:32rem;margin:2rem auto}")
+                .append("th{text-align:left;padding-right:1rem}td,th{padding:.25rem 0}</style></head><body>\n")
+                .append("<h1>Pawsitive Drive</h1><h2>Donation Receipt</h2>\n<table>\n");
+        for (Map.Entry<String, String> line : lines(receipt, donation).entrySet()) {
+            html.append("<tr><th>").append(HtmlUtils.htmlEscape(line.getKey())).append("</th><td>")
+                    .append(HtmlUtils.htmlEscape(line.getValue())).append("</td></tr>\n");
+        }
+        html.append("</table>\n<p>Thank you for supporting our rescued pets.</p>\n</body></html>\n");
+        return html.toString();
+    }
+
+    private static Map<String, String> lines(DonationReceipt receipt, Donations donation) {
+        Map<String, String> lines = new LinkedHashMap<>();
+        lines.put("Receipt Number", value(receipt.getReceipt_number()));
+        lines.put("Date", receipt.getReceipt_date() != null ? DATE.format(receipt.getReceipt_date()) : "N/A");
+        lines.put("Donor", value(receipt.getDonor_name()));
+        lines.put("Email", value(receipt.getDonor_email()));
+        lines.put("Address", value(receipt.getDonor_address()));
+        lines.put("Amount", String.format(Locale.ROOT, "PHP %,.2f", donation.getAmount()));
+        if (donation.getPet() != null) {
+            lines.put("For", value(donation.getPet().getName()));
+        }
+        lines.put("Payment Method", value(receipt.getPayment_method()));
+        lines.put("Status", value(receipt.getStatus()));
+        lines.put("Transaction ID", value(receipt.getTransaction_id()));
+        return lines;
+    }
+
+    private static String value(String value) {
+        return value == null || value.isBlank() ? "N/A" : value;
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String donationKey(Long donationId) {
+        return "d:" + donationId;
+    }
+
+    private static String numberKey(String receiptNumber) {
+        return "n:" + receiptNumber;
+    }
+}
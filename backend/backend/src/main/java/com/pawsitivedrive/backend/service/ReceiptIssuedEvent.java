@@ -0,0 +1,12 @@
+package com.pawsitivedrive.backend.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link ReceiptDocuments#issue} once a receipt's documents are on disk. After commit the
+ * lookup cache learns the hash; after a rollback the files this issue created are deleted again.
+ *
+ * @param createdFiles document files that did not exist before this issue
+ */
+public record ReceiptIssuedEvent(Long donationId, String receiptNumber, String hash, List<String> createdFiles) {
+}
@@ -0,0 +1,20 @@
+package com.pawsitivedrive.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats donation receipt numbers as REC-{donation_id}-{yyyyMMddHHmmss}.
+ */
+public final class ReceiptNumbers {
+
+    // DateTimeFormatter is immutable and thread-safe, so one instance is shared by all requests
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private ReceiptNumbers() {
+    }
+
+    public static String format(Long donationId, LocalDateTime issuedAt) {
+        return "REC-" + donationId + "-" + TIMESTAMP.format(issuedAt);
+    }
+}
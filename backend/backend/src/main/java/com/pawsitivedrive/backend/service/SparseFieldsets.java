@@ -0,0 +1,173 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.entity.AdoptionApplications;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@code ?fields=a,b,c} for the list and detail endpoints. The requested fields become the select list of
+ * a criteria tuple query, so only those columns are read (and a relation is only joined when one of its
+ * fields is asked for); rows come back as maps in the requested order, always starting with the id.
+ *
+ * Each entity has a whitelist of field names; "user_name" style names reach into a to-one relation
+ * through a LEFT JOIN. Anything else, password included, is rejected with {@link UnknownFieldException}.
+ */
+@Service
+public class SparseFieldsets {
+
+    public static final Spec PETS = new Spec(Pets.class, "pet_id")
+            .field("name").field("species").field("breed").field("age").field("gender").field("status")
+            .field("description").field("image_url").field("created_at")
+            .field("addedBy_id", "addedBy.user_id").field("addedBy_name", "addedBy.name");
+
+    public static final Spec USERS = new Spec(Users.class, "user_id")
+            .field("name").field("email").field("role_id", "role.role_id").field("role_name").field("status")
+            .field("contact_number").field("address").field("created_at");
+
+    public static final Spec DONATIONS = new Spec(Donations.class, "donation_id")
+            .field("amount").field("donation_date").field("payment_method").field("status")
+            .field("user_id", "user.user_id").field("user_name", "user.name")
+            .field("pet_id", "pet.pet_id").field("pet_name", "pet.name");
+
+    public static final Spec APPLICATIONS = new Spec(AdoptionApplications.class, "application_id")
+            .field("application_date").field("status").field("version")
+            .field("pet_id", "pet.pet_id").field("pet_name", "pet.name").field("pet_status", "pet.status")
+            .field("user_id", "user.user_id").field("user_name", "user.name")
+            .field("reviewedBy_id", "reviewedBy.user_id").field("reviewedBy_name", "reviewedBy.name");
+
+    /**
+     * The selectable fields of one entity: response name -> attribute path.
+     */
+    public static final class Spec {
+        private final Class<?> entity;
+        private final String idField;
+        private final Map<String, String> paths = new LinkedHashMap<>();
+
+        Spec(Class<?> entity, String idField) {
+            this.entity = entity;
+            this.idField = idField;
+            paths.put(idField, idField);
+        }
+
+        Spec field(String name) {
+            return field(name, name);
+        }
+
+        Spec field(String name, String path) {
+            paths.put(name, path);
+            return this;
+        }
+    }
+
+    public static class UnknownFieldException extends IllegalArgumentException {
+        public UnknownFieldException(String message) {
+            super(message);
+        }
+    }
+
+    private final EntityManager entityManager;
+
+    public SparseFieldsets(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * All rows, optionally narrowed by case-insensitive equality on whitelisted fields.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> list(Spec spec, String fields, Map<String, String> equalsIgnoreCase) {
+        return query(spec, parse(spec, fields), equalsIgnoreCase, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> get(Spec spec, String fields, Long id) {
+        List<Map<String, Object>> rows = query(spec, parse(spec, fields), Map.of(), id);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private static List<String> parse(Spec spec, String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(spec.idField);
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!spec.paths.containsKey(name)) {
+                throw new UnknownFieldException("Unknown field '" + name + "'; allowed: " + String.join(",", spec.paths.keySet()));
+            }
+            names.add(name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    private List<Map<String, Object>> query(Spec spec, List<String> fields, Map<String, String> equalsIgnoreCase, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(spec.entity);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(path(root, joins, spec.paths.get(field)).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> where = new ArrayList<>();
+        if (id != null) {
+            where.add(cb.equal(root.get(spec.idField), id));
+        }
+        for (Map.Entry<String, String> filter : equalsIgnoreCase.entrySet()) {
+            Path<String> path = path(root, joins, spec.paths.get(filter.getKey()));
+            where.add(cb.equal(cb.lower(path), filter.getValue().toLowerCase(Locale.ROOT)));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get(spec.idField)));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // "attribute" or "relation.attribute"; one LEFT JOIN per relation, shared by all its fields
+    private static <Y> Path<Y> path(Root<?> root, Map<String, Join<?, ?>> joins, String path) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            return root.get(path);
+        }
+        String relation = path.substring(0, dot);
+        From<?, ?> join = joins.computeIfAbsent(relation, r -> root.join(r, JoinType.LEFT));
+        return join.get(path.substring(dot + 1));
+    }
+}
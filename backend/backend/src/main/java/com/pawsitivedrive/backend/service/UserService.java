@@ -0,0 +1,61 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User reads for the API. A user's JSON includes their profiles and donations (with each donation's
+ * histories, completed from the audit log by DonationHistoryLog), so reads load those collections before the
+ * read-only transaction ends; with hibernate.default_batch_fetch_size that is a few IN queries for a whole
+ * page of users, not one per user.
+ */
+@Service
+public class UserService {
+
+    private final UsersRepository usersRepository;
+    private final DonationHistoryLog historyLog;
+
+    public UserService(UsersRepository usersRepository, DonationHistoryLog historyLog) {
+        this.usersRepository = usersRepository;
+        this.historyLog = historyLog;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Users> list() {
+        List<Users> users = usersRepository.findAll();
+        users.forEach(this::initialize);
+        return users;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Users> get(Long id) {
+        return usersRepository.findById(id).map(this::initialize);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Users> findByEmail(String email) {
+        return usersRepository.findByEmail(email).map(this::initialize);
+    }
+
+    @Transactional
+    public Users create(Users user) {
+        return usersRepository.save(user);
+    }
+
+    private Users initialize(Users user) {
+        Hibernate.initialize(user.getProfiles());
+        Hibernate.initialize(user.getDonations());
+        for (Donations donation : user.getDonations()) {
+            Hibernate.initialize(donation.getHistories());
+        }
+        historyLog.fill(user.getDonations());
+        return user;
+    }
+}
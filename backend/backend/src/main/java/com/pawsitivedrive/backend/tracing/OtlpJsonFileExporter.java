@@ -0,0 +1,237 @@
+package com.pawsitivedrive.backend.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes finished spans to {dir}/traces.jsonl in the OTLP file format: one JSON-encoded
+ * ExportTraceServiceRequest per line, as the OpenTelemetry Collector's file exporter writes and its
+ * otlpjsonfile receiver reads. Spans are queued by request threads and written in batches by a single
+ * daemon thread; when the queue is full spans are dropped rather than slowing requests down.
+ *
+ * Once the file passes max-file-size it is renamed to traces-{timestamp}.jsonl and a new one started;
+ * only the newest max-files rolled files are kept.
+ */
+public class OtlpJsonFileExporter implements AutoCloseable {
+
+    static final String FILE = "traces.jsonl";
+    private static final int MAX_BATCH = 512;
+    private static final DateTimeFormatter ROLLED = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final Logger log = LoggerFactory.getLogger(OtlpJsonFileExporter.class);
+
+    private final Path dir;
+    private final Path file;
+    private final String serviceName;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final BlockingQueue<Span> queue;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(64 * 1024);
+    private final Counter exported;
+    private final Counter dropped;
+    private final Thread writer;
+    private OutputStream out;
+    private long size;
+    private volatile boolean closed;
+
+    public OtlpJsonFileExporter(TracingProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.dir = Paths.get(properties.getDir()).toAbsolutePath().normalize();
+        this.file = dir.resolve(FILE);
+        this.serviceName = properties.getServiceName();
+        this.maxFileSize = properties.getMaxFileSize().toBytes();
+        this.maxFiles = properties.getMaxFiles();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Files.createDirectories(dir);
+        this.exported = Counter.builder("pawsitive.tracing.spans")
+                .description("Finished spans, by whether they were written to the trace file")
+                .tag("outcome", "exported")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("pawsitive.tracing.spans")
+                .description("Finished spans, by whether they were written to the trace file")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "trace-exporter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void export(Span span) {
+        if (closed || !queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    /** Writes what is queued and closes the file. */
+    @Override
+    public void close() {
+        // Not interrupted: an interrupt during a write would close the file channel under it
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Span> batch = new ArrayList<>(MAX_BATCH);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Span first = closed ? queue.poll() : queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+                exported.increment(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                dropped.increment(batch.size());
+                log.warn("Could not write {} spans to {}", batch.size(), file, e);
+                closeFile();
+            } finally {
+                batch.clear();
+            }
+        }
+        closeFile();
+    }
+
+    private void write(List<Span> spans) throws IOException {
+        line.reset();
+        try (JsonGenerator json = jsonFactory.createGenerator(line)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            attribute(json, "service.name", serviceName);
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", "com.pawsitivedrive.backend");
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+            for (Span span : spans) {
+                span(json, span);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        line.write('\n');
+
+        if (out != null && size + line.size() > maxFileSize && size > 0) {
+            roll();
+        }
+        if (out == null) {
+            out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            size = Files.size(file);
+        }
+        line.writeTo(out);
+        out.flush();
+        size += line.size();
+    }
+
+    // Field names and encodings follow the OTLP/JSON mapping: hex ids, 64-bit integers as strings
+    private static void span(JsonGenerator json, Span span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.traceId);
+        json.writeStringField("spanId", span.spanId);
+        if (span.traceState != null) {
+            json.writeStringField("traceState", span.traceState);
+        }
+        if (span.parentSpanId != null) {
+            json.writeStringField("parentSpanId", span.parentSpanId);
+        }
+        json.writeStringField("name", span.name);
+        json.writeNumberField("kind", span.kind.otlp);
+        json.writeStringField("startTimeUnixNano", Long.toString(span.startEpochNanos));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.endEpochNanos));
+        if (!span.attributes.isEmpty()) {
+            json.writeArrayFieldStart("attributes");
+            for (int i = 0; i < span.attributes.size(); i += 2) {
+                attribute(json, (String) span.attributes.get(i), span.attributes.get(i + 1));
+            }
+            json.writeEndArray();
+        }
+        if (span.errorMessage != null) {
+            json.writeObjectFieldStart("status");
+            json.writeStringField("message", span.errorMessage);
+            json.writeNumberField("code", 2);
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static void attribute(JsonGenerator json, String key, Object value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        if (value instanceof Boolean bool) {
+            json.writeBooleanField("boolValue", bool);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            json.writeStringField("intValue", value.toString());
+        } else if (value instanceof Number number) {
+            json.writeNumberField("doubleValue", number.doubleValue());
+        } else {
+            json.writeStringField("stringValue", value.toString());
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void roll() throws IOException {
+        closeFile();
+        Files.move(file, dir.resolve("traces-" + LocalDateTime.now().format(ROLLED) + ".jsonl"));
+        List<Path> rolled;
+        try (Stream<Path> files = Files.list(dir)) {
+            // The timestamp sorts by name
+            rolled = files.filter(path -> path.getFileName().toString().startsWith("traces-"))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+        for (Path old : rolled.subList(Math.min(maxFiles, rolled.size()), rolled.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Could not close {}", file, e);
+            }
+            out = null;
+        }
+    }
+}
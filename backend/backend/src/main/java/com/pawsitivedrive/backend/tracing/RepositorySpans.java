@@ -0,0 +1,64 @@
+package com.pawsitivedrive.backend.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * A CLIENT span per Spring Data repository call, named "Repository.method" (e.g. "DonationsRepository.save").
+ * The interceptor is added to each repository proxy ahead of its transaction interceptor, so for a call that
+ * is not already in a transaction the span includes getting the connection and the commit.
+ */
+public class RepositorySpans implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    // Looked up lazily: post-processors are created before the beans they could depend on
+    public RepositorySpans(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(0,
+                            new Interceptor(tracer, information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static final class Interceptor implements MethodInterceptor {
+
+        private final ObjectProvider<Tracer> tracerProvider;
+        private final String repository;
+        private Tracer tracer;
+
+        Interceptor(ObjectProvider<Tracer> tracerProvider, String repository) {
+            this.tracerProvider = tracerProvider;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (tracer == null) {
+                tracer = tracerProvider.getObject();
+            }
+            if (!tracer.current().isRecording()) {
+                return invocation.proceed();
+            }
+            try (Span span = tracer.startSpan(repository + "." + invocation.getMethod().getName(), Span.Kind.CLIENT)) {
+                span.attribute("code.namespace", invocation.getMethod().getDeclaringClass().getName())
+                        .attribute("code.function", invocation.getMethod().getName());
+                try {
+                    return invocation.proceed();
+                } catch (Throwable e) {
+                    span.error(e);
+                    throw e;
+                }
+            }
+        }
+    }
+}
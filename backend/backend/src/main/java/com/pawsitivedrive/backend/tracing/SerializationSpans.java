@@ -0,0 +1,64 @@
+package com.pawsitivedrive.backend.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * A "serialize" span per response body: started just before the message converter writes the body and
+ * ended when the handler has completed, so it covers Jackson (or CBOR/Smile) encoding and the write to the
+ * response, separately from the controller and repository spans before it.
+ */
+@ControllerAdvice
+public class SerializationSpans implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    private static final String ATTRIBUTE = SerializationSpans.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    public SerializationSpans(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return tracer.current().isRecording();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest && body != null) {
+            HttpServletRequest servlet = servletRequest.getServletRequest();
+            end(servlet);
+            Span span = tracer.startSpan("serialize")
+                    .attribute("http.response.content_type", String.valueOf(contentType))
+                    .attribute("http.message_converter", converterType.getSimpleName());
+            servlet.setAttribute(ATTRIBUTE, span);
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        end(request);
+    }
+
+    /** Ends the request's serialize span, if one is still open; {@link TracingFilter} calls this as well. */
+    static void end(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof Span span) {
+            request.removeAttribute(ATTRIBUTE);
+            span.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.pawsitivedrive.backend.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One timed operation of a trace. Spans are started by {@link Tracer}, become the current span of their
+ * thread and must be closed on that thread, normally with try-with-resources. Closing hands a sampled span
+ * to the exporter; spans of unsampled traces are never recorded.
+ */
+public final class Span implements AutoCloseable {
+
+    /** OTLP Span.SpanKind values. */
+    public enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        final int otlp;
+
+        Kind(int otlp) {
+            this.otlp = otlp;
+        }
+    }
+
+    /** Returned where nothing is traced: outside a request, in unsampled requests and when tracing is off. */
+    static final Span NOOP = new Span(null, null, "0".repeat(32), "0".repeat(16), null, null, "", Kind.INTERNAL, false, 0);
+
+    private final Tracer tracer;
+    private final Span parent;
+    final String traceId;
+    final String spanId;
+    final String parentSpanId;
+    final String traceState;
+    final Kind kind;
+    final boolean sampled;
+    final long startEpochNanos;
+    String name;
+    long endEpochNanos;
+    // key, value, key, value...; most spans carry a handful, so no map
+    final List<Object> attributes = new ArrayList<>(8);
+    String errorMessage;
+    private boolean closed;
+
+    Span(Tracer tracer, Span parent, String traceId, String spanId, String parentSpanId, String traceState,
+         String name, Kind kind, boolean sampled, long startEpochNanos) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.traceState = traceState;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    /** False for {@link #NOOP} and unsampled spans; callers can skip computing attributes. */
+    public boolean isRecording() {
+        return sampled && !closed;
+    }
+
+    public Span name(String name) {
+        if (isRecording()) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    /** String, integral, floating point and boolean values are kept as such, anything else as its toString. */
+    public Span attribute(String key, Object value) {
+        if (isRecording() && value != null) {
+            attributes.add(key);
+            attributes.add(value);
+        }
+        return this;
+    }
+
+    /** Marks the span as failed (OTLP status ERROR) and records the exception type and message. */
+    public Span error(Throwable error) {
+        if (isRecording()) {
+            attribute("exception.type", error.getClass().getName());
+            attribute("exception.message", error.getMessage());
+            errorMessage = error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+        }
+        return this;
+    }
+
+    /** Marks the span as failed without an exception, e.g. for a 5xx response. */
+    public Span error(String message) {
+        if (isRecording()) {
+            errorMessage = message;
+        }
+        return this;
+    }
+
+    /** The W3C traceparent value naming this span as the parent. */
+    public String traceparent() {
+        return "00-" + traceId + '-' + spanId + (sampled ? "-01" : "-00");
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    @Override
+    public void close() {
+        if (tracer == null || closed) {
+            return;
+        }
+        closed = true;
+        tracer.end(this);
+    }
+}
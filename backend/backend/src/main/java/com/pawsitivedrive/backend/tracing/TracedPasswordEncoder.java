@@ -0,0 +1,39 @@
+package com.pawsitivedrive.backend.tracing;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Puts every hash computation of the wrapped encoder in its own span. BCrypt at the configured strength is
+ * by far the most expensive step of signup and login, and the span makes that visible next to the SQL.
+ */
+public class TracedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Tracer tracer;
+
+    public TracedPasswordEncoder(PasswordEncoder delegate, Tracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        try (Span span = tracer.startSpan("PasswordEncoder.encode")) {
+            return delegate.encode(rawPassword);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        try (Span span = tracer.startSpan("PasswordEncoder.matches")) {
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            span.attribute("password.matches", matches);
+            return matches;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
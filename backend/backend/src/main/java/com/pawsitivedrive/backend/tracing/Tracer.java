@@ -0,0 +1,135 @@
+package com.pawsitivedrive.backend.tracing;
+
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Starts spans and keeps track of the current span of each thread. Traces begin only at
+ * {@link #startServerSpan} (one per HTTP request, see {@link TracingFilter}); {@link #startSpan} adds a child
+ * to the current span, so repository calls from startup runners or background jobs are not traced.
+ *
+ * Sampling is decided once per trace: a caller's traceparent flag is followed, otherwise sample-rate applies.
+ * Sampled spans are queued for {@link OtlpJsonFileExporter} when they close; unsampled ones cost an object
+ * and a thread-local write.
+ */
+public class Tracer implements AutoCloseable {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final double sampleRate;
+    private final OtlpJsonFileExporter exporter;
+    // System.nanoTime() precision on an epoch base, as OTLP wants
+    private final long epochNanosBase;
+    private final long nanoTimeBase;
+
+    public Tracer(double sampleRate, OtlpJsonFileExporter exporter) {
+        this.sampleRate = sampleRate;
+        this.exporter = exporter;
+        Instant now = Instant.now();
+        this.nanoTimeBase = System.nanoTime();
+        this.epochNanosBase = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    /** A tracer that never records, for code constructed outside Spring (benchmarks). */
+    public static Tracer noop() {
+        return new Tracer(0, null);
+    }
+
+    /**
+     * Starts the root span of a request, or continues the caller's trace if traceparent is valid. Invalid
+     * headers are ignored as the W3C spec asks; tracestate is kept only with a valid traceparent.
+     */
+    public Span startServerSpan(String name, String traceparent, String tracestate) {
+        String traceId;
+        String parentSpanId = null;
+        String traceState = null;
+        boolean sampled;
+        if (isValid(traceparent)) {
+            traceId = traceparent.substring(3, 35);
+            parentSpanId = traceparent.substring(36, 52);
+            // Over 512 characters it may be dropped (W3C); the header is kept verbatim otherwise
+            traceState = tracestate != null && tracestate.length() <= 512 ? tracestate : null;
+            sampled = (HEX.fromHexDigits(traceparent, 53, 55) & 1) == 1;
+        } else {
+            traceId = HEX.toHexDigits(randomId()) + HEX.toHexDigits(randomId());
+            sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+        return start(null, traceId, parentSpanId, traceState, name, Span.Kind.SERVER, sampled && exporter != null);
+    }
+
+    /** Starts a child of the current span, or returns a no-op span if this thread is not in a sampled trace. */
+    public Span startSpan(String name) {
+        return startSpan(name, Span.Kind.INTERNAL);
+    }
+
+    public Span startSpan(String name, Span.Kind kind) {
+        Span parent = current.get();
+        if (parent == null || !parent.sampled) {
+            return Span.NOOP;
+        }
+        return start(parent, parent.traceId, parent.spanId, parent.traceState, name, kind, true);
+    }
+
+    /** The current span of this thread, or {@link Span#NOOP}. */
+    public Span current() {
+        Span span = current.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    @Override
+    public void close() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    void end(Span span) {
+        span.endEpochNanos = now();
+        // Normally span is the current one; if an inner span was left open, its parent becomes current anyway
+        if (span.parent() != null) {
+            current.set(span.parent());
+        } else {
+            current.remove();
+        }
+        if (span.sampled) {
+            exporter.export(span);
+        }
+    }
+
+    private Span start(Span parent, String traceId, String parentSpanId, String traceState, String name,
+                       Span.Kind kind, boolean sampled) {
+        Span span = new Span(this, parent, traceId, HEX.toHexDigits(randomId()), parentSpanId, traceState,
+                name, kind, sampled, now());
+        current.set(span);
+        return span;
+    }
+
+    private long now() {
+        return epochNanosBase + (System.nanoTime() - nanoTimeBase);
+    }
+
+    private static long randomId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    private static boolean isValid(String traceparent) {
+        // Version ff is invalid; later versions may append fields after the four we read
+        if (traceparent == null || traceparent.length() < 55 || traceparent.startsWith("ff")
+                || (traceparent.length() > 55 && (traceparent.startsWith("00") || traceparent.charAt(55) != '-'))) {
+            return false;
+        }
+        return TRACEPARENT.matcher(traceparent).region(0, 55).matches()
+                && !INVALID_TRACE_ID.equals(traceparent.substring(3, 35))
+                && !INVALID_SPAN_ID.equals(traceparent.substring(36, 52));
+    }
+}
@@ -0,0 +1,64 @@
+package com.pawsitivedrive.backend.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens the SERVER span of each request, continuing the caller's trace from its W3C traceparent and
+ * tracestate headers. The span is named "METHOD route" (e.g. "GET /api/donations/{id}") once the handler is
+ * known, and its id is returned in a traceresponse header (W3C Trace Context Level 2) so a client can find
+ * the trace of a slow call.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACEPARENT = "traceparent";
+    public static final String TRACESTATE = "tracestate";
+    public static final String TRACERESPONSE = "traceresponse";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span span = tracer.startServerSpan(request.getMethod(), request.getHeader(TRACEPARENT),
+                request.getHeader(TRACESTATE));
+        response.setHeader(TRACERESPONSE, span.traceparent());
+        if (span.isRecording()) {
+            span.attribute("http.request.method", request.getMethod())
+                    .attribute("url.path", request.getRequestURI());
+            if (request.getQueryString() != null) {
+                span.attribute("url.query", request.getQueryString());
+            }
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            SerializationSpans.end(request);
+            if (span.isRecording()) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (route != null) {
+                    span.name(request.getMethod() + " " + route).attribute("http.route", route);
+                }
+                int status = response.getStatus();
+                span.attribute("http.response.status_code", status);
+                if (status >= 500) {
+                    span.error("HTTP " + status);
+                }
+            }
+            span.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pawsitivedrive.backend.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * app.tracing.* settings. Requests under /api are traced with the given probability (a sampled or unsampled
+ * traceparent from the caller wins) and finished spans are written to dir as OTLP-JSON lines.
+ */
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+    // Probability that a request without a traceparent header is traced
+    private double sampleRate = 0.1;
+    private String serviceName = "pawsitivedrive-backend";
+    private String dir = "traces";
+    // The current file is rolled over to traces-{timestamp}.jsonl at this size; max-files rolled files are kept
+    private DataSize maxFileSize = DataSize.ofMegabytes(64);
+    private int maxFiles = 10;
+    // Finished spans waiting for the exporter; more are dropped (and counted) rather than blocking requests
+    private int queueCapacity = 16_384;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public double getSampleRate() { return sampleRate; }
+    public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+    public String getServiceName() { return serviceName; }
+    public void setServiceName(String serviceName) { this.serviceName = serviceName; }
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+    public DataSize getMaxFileSize() { return maxFileSize; }
+    public void setMaxFileSize(DataSize maxFileSize) { this.maxFileSize = maxFileSize; }
+    public int getMaxFiles() { return maxFiles; }
+    public void setMaxFiles(int maxFiles) { this.maxFiles = maxFiles; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+}
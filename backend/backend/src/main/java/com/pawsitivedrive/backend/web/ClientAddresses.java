@@ -0,0 +1,28 @@
+package com.pawsitivedrive.backend.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identifies the client of a request by IP, for the filters that key state per client (rate limits,
+ * read-your-writes).
+ */
+public final class ClientAddresses {
+
+    private ClientAddresses() {
+    }
+
+    /**
+     * The remote address, or the first X-Forwarded-For entry when trustForwardedFor is set. Only trust
+     * that header when the app runs behind a proxy that sets it; otherwise clients can pick their own key.
+     */
+    public static String of(HttpServletRequest request, boolean trustForwardedFor) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
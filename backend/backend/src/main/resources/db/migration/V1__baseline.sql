@@ -0,0 +1,102 @@
+-- Schema as Hibernate created it (ddl-auto=update) before versioned migrations were introduced.
+-- Databases that already have these tables are baselined at this version and start from V2.
+
+create table roles (
+    role_id bigint not null auto_increment,
+    role_name varchar(255),
+    primary key (role_id),
+    constraint uk_roles_role_name unique (role_name)
+) engine=InnoDB;
+
+create table users (
+    created_at datetime(6),
+    role_id bigint,
+    user_id bigint not null auto_increment,
+    password varchar(60),
+    address varchar(255),
+    contact_number varchar(255),
+    email varchar(255),
+    name varchar(255),
+    role_name varchar(255),
+    status varchar(255),
+    primary key (user_id),
+    constraint uk_users_email unique (email),
+    constraint fk_users_role foreign key (role_id) references roles (role_id)
+) engine=InnoDB;
+
+create table profiles (
+    profile_id bigint not null auto_increment,
+    user_id bigint not null,
+    bio varchar(255),
+    profile_picture varchar(255),
+    primary key (profile_id),
+    constraint fk_profiles_user foreign key (user_id) references users (user_id)
+) engine=InnoDB;
+
+create table pets (
+    age integer not null,
+    added_by bigint not null,
+    created_at datetime(6),
+    pet_id bigint not null auto_increment,
+    breed varchar(255),
+    description varchar(255),
+    gender varchar(255),
+    image_url varchar(255),
+    name varchar(255),
+    species varchar(255),
+    status varchar(255),
+    primary key (pet_id),
+    constraint fk_pets_added_by foreign key (added_by) references users (user_id)
+) engine=InnoDB;
+
+create table adoption_applications (
+    application_date datetime(6),
+    application_id bigint not null auto_increment,
+    pet_id bigint not null,
+    reviewed_by bigint,
+    user_id bigint not null,
+    status varchar(255),
+    primary key (application_id),
+    constraint fk_adoption_applications_pet foreign key (pet_id) references pets (pet_id),
+    constraint fk_adoption_applications_reviewed_by foreign key (reviewed_by) references users (user_id),
+    constraint fk_adoption_applications_user foreign key (user_id) references users (user_id)
+) engine=InnoDB;
+
+create table donations (
+    amount float(53) not null,
+    donation_date datetime(6),
+    donation_id bigint not null auto_increment,
+    pet_id bigint,
+    user_id bigint not null,
+    payment_method varchar(255),
+    status varchar(255),
+    primary key (donation_id),
+    constraint fk_donations_pet foreign key (pet_id) references pets (pet_id),
+    constraint fk_donations_user foreign key (user_id) references users (user_id)
+) engine=InnoDB;
+
+create table donation_history (
+    action_date datetime(6),
+    donation_id bigint not null,
+    history_id bigint not null auto_increment,
+    action varchar(255),
+    primary key (history_id),
+    constraint fk_donation_history_donation foreign key (donation_id) references donations (donation_id)
+) engine=InnoDB;
+
+create table donation_receipt (
+    donation_id bigint not null,
+    receipt_date datetime(6),
+    receipt_id bigint not null auto_increment,
+    donor_address varchar(255),
+    donor_email varchar(255),
+    donor_name varchar(255),
+    notes varchar(255),
+    payment_method varchar(255),
+    receipt_number varchar(255),
+    status varchar(255),
+    transaction_id varchar(255),
+    primary key (receipt_id),
+    constraint uk_donation_receipt_donation unique (donation_id),
+    constraint fk_donation_receipt_donation foreign key (donation_id) references donations (donation_id)
+) engine=InnoDB;
@@ -0,0 +1,3 @@
+-- Optimistic locking of pets and adoption applications; existing rows start at version 0
+alter table pets add column version bigint not null default 0;
+alter table adoption_applications add column version bigint not null default 0;
@@ -0,0 +1,5 @@
+-- "userId:petId" while an application is Pending, NULL otherwise: MySQL has no partial unique index, so this
+-- stands in for UNIQUE (user_id, pet_id) WHERE status = 'Pending'. Existing rows keep a NULL key (they may
+-- already hold duplicate pairs); PendingApplicationIndex still covers them and reviews set or clear the key.
+alter table adoption_applications add column pending_key varchar(41);
+alter table adoption_applications add constraint uk_adoption_applications_pending_key unique (pending_key);
@@ -0,0 +1,3 @@
+-- SHA-256 of the rendered receipt documents, and receipt lookup by number
+alter table donation_receipt add column document_hash varchar(64);
+alter table donation_receipt add constraint idx_receipt_number unique (receipt_number);
@@ -0,0 +1,14 @@
+-- Stored responses of requests sent with an Idempotency-Key header
+create table idempotency_keys (
+    status_code integer,
+    expires_at bigint not null,
+    locked_until bigint,
+    idempotency_key varchar(64) not null,
+    request_hash varchar(64) not null,
+    content_type varchar(255),
+    location varchar(255),
+    body mediumblob,
+    primary key (idempotency_key)
+) engine=InnoDB;
+
+create index idx_idempotency_expires on idempotency_keys (expires_at);
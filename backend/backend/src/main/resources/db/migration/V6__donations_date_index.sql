@@ -0,0 +1,2 @@
+-- Month-by-month scans of donations by date (archival)
+create index idx_donations_date on donations (donation_date);
@@ -0,0 +1,49 @@
+-- Archive of donations older than app.archive.hot-months, with their history and receipts (DonationArchive).
+-- Compressed and RANGE-partitioned by archive_month (yyyyMM); the archiver splits a monthly partition off
+-- pmax before moving a month. Partitioned tables allow no foreign keys and need the partitioning column in
+-- every unique key, hence the composite primary keys. The partitioning is a MySQL versioned comment (as
+-- mysqldump writes it) so the script also runs on H2, where the tables stay unpartitioned
+create table donations_archive (
+    amount float(53) not null,
+    archive_month integer not null,
+    donation_date datetime(6),
+    donation_id bigint not null,
+    pet_id bigint,
+    user_id bigint,
+    payment_method varchar(255),
+    status varchar(255),
+    primary key (donation_id, archive_month),
+    key idx_donations_archive_user_id (user_id)
+) engine=InnoDB row_format=compressed
+/*!50100 partition by range (archive_month) (partition pmax values less than maxvalue) */;
+
+create table donation_history_archive (
+    action_date datetime(6),
+    archive_month integer not null,
+    donation_id bigint not null,
+    history_id bigint not null,
+    action varchar(255),
+    primary key (history_id, archive_month),
+    key idx_donation_history_archive_donation_id (donation_id)
+) engine=InnoDB row_format=compressed
+/*!50100 partition by range (archive_month) (partition pmax values less than maxvalue) */;
+
+create table donation_receipt_archive (
+    archive_month integer not null,
+    donation_id bigint not null,
+    receipt_date datetime(6),
+    receipt_id bigint not null,
+    document_hash varchar(64),
+    donor_address varchar(255),
+    donor_email varchar(255),
+    donor_name varchar(255),
+    notes varchar(255),
+    payment_method varchar(255),
+    receipt_number varchar(255),
+    status varchar(255),
+    transaction_id varchar(255),
+    primary key (receipt_id, archive_month),
+    key idx_donation_receipt_archive_donation_id (donation_id),
+    key idx_donation_receipt_archive_receipt_number (receipt_number)
+) engine=InnoDB row_format=compressed
+/*!50100 partition by range (archive_month) (partition pmax values less than maxvalue) */;
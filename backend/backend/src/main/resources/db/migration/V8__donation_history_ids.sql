@@ -0,0 +1,11 @@
+-- Last history_id handed out, shared by donation_history rows and audit log entries (DonationHistoryIds).
+-- donation_history keeps its AUTO_INCREMENT so inserts without an id still work; new ids come from here
+create table donation_history_ids (
+    last_val bigint,
+    sequence_name varchar(255) not null,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into donation_history_ids (sequence_name, last_val)
+select 'donation_history', greatest(coalesce((select max(history_id) from donation_history), 0),
+        coalesce((select max(history_id) from donation_history_archive), 0));
@@ -0,0 +1,149 @@
+package com.pawsitivedrive.backend;
+
+import com.pawsitivedrive.backend.entity.AdoptionApplications;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.AdoptionApplicationsRepository;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.AdoptionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Many admins approve different applications for the same pet at the same moment; exactly one may win.
+ * Also checks that reopened applications stay under the one-pending-application-per-pet constraint.
+ * Runs on the embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+class AdoptionApprovalConcurrencyTests {
+
+	private static final int ROUNDS = 10;
+	private static final int APPLICANTS = 16;
+
+	@Autowired
+	private AdoptionService adoptionService;
+	@Autowired
+	private AdoptionApplicationsRepository applicationsRepository;
+	@Autowired
+	private PetsRepository petsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+
+	@Test
+	void concurrentApprovalsAdoptPetExactlyOnce() throws Exception {
+		Roles adminRole = rolesRepository.findByRoleNameIgnoreCase("Admin").orElseThrow();
+		Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+		Users admin = usersRepository.save(new Users("Race Admin", "race-admin@test.local", "x", adminRole, "active"));
+
+		ExecutorService pool = Executors.newFixedThreadPool(APPLICANTS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				Pets pet = new Pets();
+				pet.setName("Contested " + round);
+				pet.setSpecies("Dog");
+				pet.setStatus("Available");
+				pet.setAddedBy(admin);
+				pet = petsRepository.save(pet);
+
+				List<Long> applicationIds = new ArrayList<>();
+				for (int i = 0; i < APPLICANTS; i++) {
+					Users adopter = usersRepository.save(new Users("Adopter " + round + "-" + i,
+							"race-" + round + "-" + i + "@test.local", "x", donorRole, "active"));
+					AdoptionApplications app = new AdoptionApplications();
+					app.setPet(pet);
+					app.setUser(adopter);
+					app.setStatus("Pending");
+					applicationIds.add(applicationsRepository.save(app).getApplication_id());
+				}
+
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<Boolean>> results = new ArrayList<>();
+				for (Long applicationId : applicationIds) {
+					results.add(pool.submit(() -> {
+						start.await();
+						try {
+							adoptionService.review(applicationId, "Approved", admin.getUser_id());
+							return true;
+						} catch (ResponseStatusException e) {
+							assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+							return false;
+						}
+					}));
+				}
+				start.countDown();
+
+				int winners = 0;
+				for (Future<Boolean> result : results) {
+					if (result.get(30, TimeUnit.SECONDS)) {
+						winners++;
+					}
+				}
+
+				assertEquals(1, winners, "round " + round);
+				assertEquals("Adopted", petsRepository.findById(pet.getPet_id()).orElseThrow().getStatus());
+				List<AdoptionApplications> applications = applicationsRepository.findByPet(pet);
+				assertEquals(1, applications.stream().filter(a -> "Approved".equals(a.getStatus())).count());
+				assertEquals(APPLICANTS - 1, applications.stream().filter(a -> "Rejected".equals(a.getStatus())).count());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Reopening a rejected application restores its pending_key, so it cannot sit next to another pending one
+	@Test
+	void reopenedApplicationIsCoveredByPendingConstraint() {
+		Roles adminRole = rolesRepository.findByRoleNameIgnoreCase("Admin").orElseThrow();
+		Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+		Users admin = usersRepository.save(new Users("Reopen Admin", "reopen-admin@test.local", "x", adminRole, "active"));
+		Users adopter = usersRepository.save(new Users("Reopen Adopter", "reopen-adopter@test.local", "x", donorRole, "active"));
+		Pets unsaved = new Pets();
+		unsaved.setName("Reopened");
+		unsaved.setSpecies("Cat");
+		unsaved.setStatus("Available");
+		unsaved.setAddedBy(admin);
+		Pets pet = petsRepository.save(unsaved);
+
+		Long first = application(pet, adopter, "Pending");
+		Long second = application(pet, adopter, "Rejected");
+
+		ResponseStatusException duplicate = assertThrows(ResponseStatusException.class,
+				() -> adoptionService.review(second, "Pending", admin.getUser_id()));
+		assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+		assertEquals("Rejected", applicationsRepository.findById(second).orElseThrow().getStatus());
+
+		adoptionService.review(first, "Rejected", admin.getUser_id());
+		adoptionService.review(second, "Pending", admin.getUser_id());
+		assertThrows(DataIntegrityViolationException.class, () -> application(pet, adopter, "Pending"));
+	}
+
+	private Long application(Pets pet, Users user, String status) {
+		AdoptionApplications app = new AdoptionApplications();
+		app.setPet(pet);
+		app.setUser(user);
+		app.setStatus(status);
+		return applicationsRepository.save(app).getApplication_id();
+	}
+}
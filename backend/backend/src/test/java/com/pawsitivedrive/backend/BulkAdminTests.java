@@ -0,0 +1,203 @@
+package com.pawsitivedrive.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.entity.AdoptionApplications;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.AdoptionApplicationsRepository;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.PendingApplicationIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The bulk admin endpoints report an outcome per id, refuse more than app.bulk.max-ids ids, keep the
+ * adoption invariants when pet statuses change, and keep donations of deleted pets. Runs on the embedded
+ * H2 database of the loadtest profile.
+ */
+@SpringBootTest(properties = "app.bulk.max-ids=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class BulkAdminTests {
+
+	private static final long MISSING = 999_999_999L;
+	private static final AtomicInteger USERS = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private PetsRepository petsRepository;
+	@Autowired
+	private AdoptionApplicationsRepository applicationsRepository;
+	@Autowired
+	private DonationsRepository donationsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+	@Autowired
+	private PendingApplicationIndex pendingIndex;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void statusUpdateReportsEachId() throws Exception {
+		Pets first = pet("Bulk One", "Available");
+		Pets second = pet("Bulk Two", "Available");
+
+		mockMvc.perform(json(put("/api/pets/bulk/status"),
+						Map.of("ids", List.of(first.getPet_id(), MISSING, second.getPet_id()), "status", "Pending")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.outcomes['" + first.getPet_id() + "']").value("updated"))
+				.andExpect(jsonPath("$.outcomes['" + MISSING + "']").value("not_found"))
+				.andExpect(jsonPath("$.outcomes['" + second.getPet_id() + "']").value("updated"))
+				.andExpect(jsonPath("$.summary.updated").value(2))
+				.andExpect(jsonPath("$.summary.not_found").value(1));
+
+		assertEquals("Pending", petsRepository.findById(first.getPet_id()).orElseThrow().getStatus());
+		assertEquals("Pending", petsRepository.findById(second.getPet_id()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void adoptingRejectsPendingApplications() throws Exception {
+		Pets pet = pet("Bulk Adopted", "Available");
+		Users adopter = user();
+		AdoptionApplications application = application(pet, adopter, "Pending");
+		assertFalse(pendingIndex.tryReserve(adopter.getUser_id(), pet.getPet_id()));
+
+		mockMvc.perform(json(put("/api/pets/bulk/status"), Map.of("ids", List.of(pet.getPet_id()), "status", "Adopted")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.outcomes['" + pet.getPet_id() + "']").value("updated"));
+
+		AdoptionApplications rejected = applicationsRepository.findById(application.getApplication_id()).orElseThrow();
+		assertEquals("Rejected", rejected.getStatus());
+		assertNull(jdbcTemplate.queryForObject("SELECT pending_key FROM adoption_applications WHERE application_id = ?",
+				String.class, application.getApplication_id()));
+		assertTrue(pendingIndex.tryReserve(adopter.getUser_id(), pet.getPet_id()), "the pair must be released");
+		pendingIndex.release(adopter.getUser_id(), pet.getPet_id());
+	}
+
+	@Test
+	void petAdoptedThroughApprovalKeepsItsStatus() throws Exception {
+		Pets pet = pet("Bulk Approved", "Adopted");
+		application(pet, user(), "Approved");
+
+		mockMvc.perform(json(put("/api/pets/bulk/status"), Map.of("ids", List.of(pet.getPet_id()), "status", "Available")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.outcomes['" + pet.getPet_id() + "']").value("conflict"));
+
+		assertEquals("Adopted", petsRepository.findById(pet.getPet_id()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void moreThanMaxIdsIsRejected() throws Exception {
+		List<Long> ids = List.of(1L, 2L, 3L, 4L);
+
+		mockMvc.perform(json(put("/api/pets/bulk/status"), Map.of("ids", ids, "status", "Available")))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(json(post("/api/pets/bulk/delete"), Map.of("ids", ids)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(json(put("/api/applications/bulk/review"), Map.of("ids", ids, "status", "Rejected")))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void deleteRemovesApplicationsAndKeepsDonations() throws Exception {
+		Pets pet = pet("Bulk Deleted", "Available");
+		Users donor = user();
+		AdoptionApplications application = application(pet, donor, "Pending");
+		Donations donation = new Donations();
+		donation.setUser(donor);
+		donation.setPet(pet);
+		donation.setAmount(300);
+		donation.setPayment_method("GCash");
+		donation.setStatus("Completed");
+		donation = donationsRepository.save(donation);
+
+		mockMvc.perform(json(post("/api/pets/bulk/delete"), Map.of("ids", List.of(pet.getPet_id(), MISSING))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.outcomes['" + pet.getPet_id() + "']").value("deleted"))
+				.andExpect(jsonPath("$.outcomes['" + MISSING + "']").value("not_found"));
+
+		assertFalse(petsRepository.existsById(pet.getPet_id()));
+		assertFalse(applicationsRepository.existsById(application.getApplication_id()));
+		Donations kept = donationsRepository.findById(donation.getDonation_id()).orElseThrow();
+		assertNull(kept.getPet());
+		assertEquals(300, kept.getAmount());
+	}
+
+	@Test
+	void reviewApprovesOnePerPetAndReportsEachId() throws Exception {
+		Pets pet = pet("Bulk Reviewed", "Available");
+		AdoptionApplications first = application(pet, user(), "Pending");
+		AdoptionApplications second = application(pet, user(), "Pending");
+
+		mockMvc.perform(json(put("/api/applications/bulk/review"), Map.of("status", "Approved",
+						"ids", List.of(first.getApplication_id(), second.getApplication_id(), MISSING))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.outcomes['" + first.getApplication_id() + "']").value("approved"))
+				.andExpect(jsonPath("$.outcomes['" + second.getApplication_id() + "']").value("rejected"))
+				.andExpect(jsonPath("$.outcomes['" + MISSING + "']").value("not_found"));
+
+		assertEquals("Adopted", petsRepository.findById(pet.getPet_id()).orElseThrow().getStatus());
+		assertEquals("Rejected", applicationsRepository.findById(second.getApplication_id()).orElseThrow().getStatus());
+	}
+
+	private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+		return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+	}
+
+	private Pets pet(String name, String status) {
+		Pets pet = new Pets();
+		pet.setName(name);
+		pet.setSpecies("Cat");
+		pet.setStatus(status);
+		pet.setAddedBy(user());
+		return petsRepository.save(pet);
+	}
+
+	private AdoptionApplications application(Pets pet, Users user, String status) {
+		AdoptionApplications application = new AdoptionApplications();
+		application.setPet(pet);
+		application.setUser(user);
+		application.setStatus(status);
+		AdoptionApplications saved = applicationsRepository.save(application);
+		if ("Pending".equals(status)) {
+			pendingIndex.tryReserve(user.getUser_id(), pet.getPet_id());
+		}
+		return saved;
+	}
+
+	private Users user() {
+		Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+		int n = USERS.incrementAndGet();
+		return usersRepository.save(new Users("Bulk User " + n, "bulk-" + n + "@test.local", "x", donorRole, "active"));
+	}
+}
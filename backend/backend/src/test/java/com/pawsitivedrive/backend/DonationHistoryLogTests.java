@@ -0,0 +1,199 @@
+package com.pawsitivedrive.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.entity.DonationHistory;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.DonationHistoryRepository;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.DonationHistoryIds;
+import com.pawsitivedrive.backend.service.DonationHistoryLog;
+import com.pawsitivedrive.backend.service.DonationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Donation history from the audit log next to donation_history rows: log entries take positive ids from the
+ * table's id space that stay the same across reopens, lost "Created" entries are restored on startup, and the
+ * history endpoint and donation JSON show the log entries in the shape of table rows. Runs on the embedded H2
+ * database of the loadtest profile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class DonationHistoryLogTests {
+
+	private static final LocalDateTime AT = LocalDateTime.of(2024, 5, 1, 12, 30);
+
+	@Autowired
+	private DonationService donationService;
+	@Autowired
+	private DonationHistoryRepository historyRepository;
+	@Autowired
+	private DonationsRepository donationsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+	@Autowired
+	private ArchivedDonations archivedDonations;
+	@Autowired
+	private DonationHistoryIds historyIds;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void logEntriesShareTheTableIdSpaceAcrossReopens() throws Exception {
+		Donations donation = donation("reopen@test.local", AT);
+		DonationHistory imported = row(donation, "Imported", AT.minusDays(1));
+
+		List<Long> ids;
+		try (DonationHistoryLog historyLog = open()) {
+			historyLog.append(donation.getDonation_id(), "Created", AT);
+			ids = historyLog.history(donation).stream().map(DonationHistory::getHistory_id).toList();
+		}
+		DonationHistory later = row(donation, "Updated", AT.plusDays(1));
+		try (DonationHistoryLog historyLog = open()) {
+			historyLog.append(donation.getDonation_id(), "Refunded", AT.plusDays(2));
+			List<DonationHistory> history = historyLog.history(donation);
+			assertEquals(List.of("Imported", "Created", "Updated", "Refunded"),
+					history.stream().map(DonationHistory::getAction).toList());
+			List<Long> reopened = history.stream().map(DonationHistory::getHistory_id).toList();
+			assertEquals(ids, reopened.subList(0, 2), "ids must not change when the log is reopened");
+			assertEquals(imported.getHistory_id(), reopened.get(0));
+			assertEquals(later.getHistory_id(), reopened.get(2));
+			// One counter: every id is positive and each one is handed out after the one before it
+			for (int i = 1; i < reopened.size(); i++) {
+				assertTrue(reopened.get(i) > reopened.get(i - 1), "ids must grow with time: " + reopened);
+			}
+			assertTrue(reopened.get(0) > 0);
+		}
+		assertTrue(historyIds.reserve(1, 1) > ids.get(1) + 1, "reopening must not hand out the log's ids again");
+	}
+
+	@Test
+	void historyEndpointShowsLogEntriesLikeTableRows() throws Exception {
+		Users user = user("endpoint@test.local");
+		Donations created = donationService.create(user.getUser_id(), 60, "GCash", "Completed", null);
+		DonationHistory table = row(created, "Updated", LocalDateTime.now().plusMinutes(1));
+
+		JsonNode history = objectMapper.readTree(mockMvc.perform(get("/api/donations/" + created.getDonation_id()
+						+ "/history").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+
+		assertEquals(2, history.size());
+		JsonNode logged = history.get(0);
+		JsonNode row = history.get(1);
+		assertEquals("Created", logged.get("action").asText());
+		assertEquals("Updated", row.get("action").asText());
+		// The baseline format is a donation_history row as the endpoint always returned it
+		assertEquals(fieldNames(objectMapper.valueToTree(table)), fieldNames(row));
+		assertEquals(fieldNames(row), fieldNames(logged));
+		assertEquals(created.getDonation_id(), logged.get("donation").get("donation_id").asLong());
+		assertTrue(logged.get("history_id").isIntegralNumber());
+		assertTrue(logged.get("history_id").asLong() > 0, "log entries have positive ids");
+		assertEquals(table.getHistory_id(), row.get("history_id").asLong());
+		assertTrue(row.get("history_id").asLong() > logged.get("history_id").asLong());
+		assertEquals(2, new HashSet<>(List.of(logged.get("history_id").asLong(), row.get("history_id").asLong())).size());
+	}
+
+	@Test
+	void reconcileRestoresCreatedEntryLostBeforeTheAppend() throws Exception {
+		try (DonationHistoryLog historyLog = open()) {
+			LocalDateTime date = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.SECONDS);
+			Donations lost = donation("lost@test.local", date);
+
+			historyLog.reconcile();
+			historyLog.reconcile();
+
+			List<DonationHistory> history = historyLog.history(lost);
+			assertEquals(1, history.size());
+			assertEquals("Created", history.get(0).getAction());
+			assertEquals(date, history.get(0).getAction_date());
+		}
+	}
+
+	@Test
+	void donationJsonShowsLogEntries() throws Exception {
+		Users user = user("json@test.local");
+		Donations created = donationService.create(user.getUser_id(), 75, "GCash", "Completed", null);
+
+		Donations loaded = donationService.get(created.getDonation_id(), false).orElseThrow();
+		JsonNode histories = objectMapper.valueToTree(loaded).get("histories");
+		assertEquals(1, histories.size());
+		assertEquals("Created", histories.get(0).get("action").asText());
+	}
+
+	private DonationHistoryLog open() {
+		return new DonationHistoryLog(historyRepository, donationsRepository, jdbcTemplate, archivedDonations,
+				historyIds, transactionManager, new SimpleMeterRegistry(), true, dir, false, DataSize.ofKilobytes(64), 16,
+				Duration.ofSeconds(5), 8, Duration.ofHours(1), Duration.ofHours(1));
+	}
+
+	private DonationHistory row(Donations donation, String action, LocalDateTime at) {
+		DonationHistory history = new DonationHistory();
+		history.setDonation(donation);
+		history.setAction(action);
+		history.setAction_date(at);
+		return historyRepository.save(history);
+	}
+
+	private static List<String> fieldNames(JsonNode node) {
+		List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+
+	private Donations donation(String email, LocalDateTime date) {
+		Donations donation = new Donations();
+		donation.setUser(user(email));
+		donation.setAmount(100);
+		donation.setPayment_method("GCash");
+		donation.setStatus("Completed");
+		donation.setDonation_date(date);
+		return donationsRepository.save(donation);
+	}
+
+	private Users user(String email) {
+		Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+		return usersRepository.save(new Users("History Donor", email, "x", donorRole, "active"));
+	}
+}
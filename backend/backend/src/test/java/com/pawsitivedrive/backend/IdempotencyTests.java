@@ -0,0 +1,167 @@
+package com.pawsitivedrive.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.DonationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * POST /api/donations with an Idempotency-Key runs once: retries replay the first status, body and
+ * Location, a duplicate that arrives mid-request waits for it, a reused key with another body is a 422,
+ * and a 5xx releases the key for a real retry. Runs on the embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class IdempotencyTests {
+
+	private static final AtomicInteger USERS = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private DonationsRepository donationsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+	@MockitoSpyBean
+	private DonationService donationService;
+
+	@Test
+	void retryReplaysTheFirstResponse() throws Exception {
+		Users donor = donor();
+		String key = UUID.randomUUID().toString();
+
+		MockHttpServletResponse first = donate(key, donor, 150);
+		MockHttpServletResponse retry = donate(key, donor, 150);
+
+		assertEquals(201, first.getStatus());
+		assertNull(first.getHeader("Idempotent-Replayed"));
+		assertEquals(201, retry.getStatus());
+		assertEquals("true", retry.getHeader("Idempotent-Replayed"));
+		assertEquals(first.getHeader(HttpHeaders.LOCATION), retry.getHeader(HttpHeaders.LOCATION));
+		assertTrue(retry.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE), retry.getContentType());
+		assertArrayEquals(first.getContentAsByteArray(), retry.getContentAsByteArray());
+		assertEquals(1, donationsRepository.findByUser(donor).size());
+	}
+
+	@Test
+	void reusedKeyWithAnotherBodyIsRejected() throws Exception {
+		Users donor = donor();
+		String key = UUID.randomUUID().toString();
+		donate(key, donor, 150);
+
+		MockHttpServletResponse reused = donate(key, donor, 9000);
+
+		assertEquals(422, reused.getStatus());
+		assertEquals(1, donationsRepository.findByUser(donor).size());
+	}
+
+	@Test
+	void concurrentDuplicateWaitsForTheFirst() throws Exception {
+		Users donor = donor();
+		String key = UUID.randomUUID().toString();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			proceed.await(10, TimeUnit.SECONDS);
+			return invocation.callRealMethod();
+		}).when(donationService).create(any(), anyDouble(), anyString(), anyString(), any());
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> donateUnchecked(key, donor));
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> donateUnchecked(key, donor));
+		Thread.sleep(300);
+		assertFalse(duplicate.isDone(), "the duplicate must wait for the first request");
+		proceed.countDown();
+
+		MockHttpServletResponse original = first.get(10, TimeUnit.SECONDS);
+		MockHttpServletResponse replayed = duplicate.get(10, TimeUnit.SECONDS);
+		assertEquals(201, original.getStatus());
+		assertEquals(201, replayed.getStatus());
+		assertEquals("true", replayed.getHeader("Idempotent-Replayed"));
+		assertEquals(original.getHeader(HttpHeaders.LOCATION), replayed.getHeader(HttpHeaders.LOCATION));
+		assertArrayEquals(original.getContentAsByteArray(), replayed.getContentAsByteArray());
+		verify(donationService, times(1)).create(any(), anyDouble(), anyString(), anyString(), any());
+		assertEquals(1, donationsRepository.findByUser(donor).size());
+	}
+
+	@Test
+	void serverErrorReleasesTheKey() throws Exception {
+		Users donor = donor();
+		String key = UUID.randomUUID().toString();
+		doThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Payments are down"))
+				.doCallRealMethod()
+				.when(donationService).create(any(), anyDouble(), anyString(), anyString(), any());
+
+		MockHttpServletResponse failed = donate(key, donor, 150);
+		MockHttpServletResponse retry = donate(key, donor, 150);
+
+		assertEquals(503, failed.getStatus());
+		assertEquals(201, retry.getStatus());
+		assertNull(retry.getHeader("Idempotent-Replayed"), "the retry must run, not replay the 503");
+		assertEquals(1, donationsRepository.findByUser(donor).size());
+	}
+
+	private MockHttpServletResponse donateUnchecked(String key, Users donor) {
+		try {
+			return donate(key, donor, 150);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MockHttpServletResponse donate(String key, Users donor, double amount) throws Exception {
+		Map<String, Object> body = Map.of("user", Map.of("user_id", donor.getUser_id()), "amount", amount,
+				"payment_method", "GCash", "status", "Completed");
+		return mockMvc.perform(post("/api/donations").header("Idempotency-Key", key)
+						.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body)))
+				.andReturn().getResponse();
+	}
+
+	private Users donor() {
+		Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+		int n = USERS.incrementAndGet();
+		return usersRepository.save(new Users("Idempotent Donor " + n, "idempotent-" + n + "@test.local", "x", donorRole, "active"));
+	}
+}
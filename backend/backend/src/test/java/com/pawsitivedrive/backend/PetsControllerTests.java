@@ -0,0 +1,83 @@
+package com.pawsitivedrive.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pet administration over HTTP: an edit made from a stale copy of a pet is refused with 409 instead of
+ * overwriting the newer one. Runs on the embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class PetsControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private PetsRepository petsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+
+	@Test
+	void updateFromStaleVersionIsRejected() throws Exception {
+		Pets pet = pet("Versioned", "Available");
+		Map<String, Object> first = edit(pet, "Calm and house-trained.");
+		Map<String, Object> second = edit(pet, "Loves long walks.");
+
+		mockMvc.perform(put("/api/pets/" + pet.getPet_id()).contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(first)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(pet.getVersion() + 1));
+		mockMvc.perform(put("/api/pets/" + pet.getPet_id()).contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(second)))
+				.andExpect(status().isConflict());
+
+		assertEquals("Calm and house-trained.", petsRepository.findById(pet.getPet_id()).orElseThrow().getDescription());
+	}
+
+	// What an admin's form sends back: the pet as it was read, with one field changed
+	private Map<String, Object> edit(Pets pet, String description) {
+		return Map.of("name", pet.getName(), "species", pet.getSpecies(), "status", pet.getStatus(),
+				"description", description, "version", pet.getVersion());
+	}
+
+	private Pets pet(String name, String status) {
+		Pets pet = new Pets();
+		pet.setName(name);
+		pet.setSpecies("Dog");
+		pet.setStatus(status);
+		pet.setAddedBy(admin());
+		return petsRepository.save(pet);
+	}
+
+	private Users admin() {
+		return usersRepository.findByEmail("pets-admin@test.local").orElseGet(() -> {
+			Roles adminRole = rolesRepository.findByRoleNameIgnoreCase("Admin").orElseThrow();
+			return usersRepository.save(new Users("Pets Admin", "pets-admin@test.local", "x", adminRole, "active"));
+		});
+	}
+}
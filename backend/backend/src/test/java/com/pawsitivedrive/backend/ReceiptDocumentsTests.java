@@ -0,0 +1,84 @@
+package com.pawsitivedrive.backend;
+
+import com.pawsitivedrive.backend.archive.DonationArchive;
+import com.pawsitivedrive.backend.entity.DonationReceipt;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.service.ReceiptDocuments;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A receipt issued in a transaction that rolls back leaves neither documents on disk nor a cached hash
+ * for its donation and receipt number. Archived receipts are found only when asked for.
+ */
+@SpringBootTest(properties = "app.receipts.dir=target/test-receipts")
+@ActiveProfiles("loadtest")
+class ReceiptDocumentsTests {
+
+	@Autowired
+	private ReceiptDocuments receiptDocuments;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void rolledBackIssueLeavesNoDocumentsOrCacheEntries() {
+		Donations donation = new Donations();
+		donation.setDonation_id(987_654L);
+		donation.setAmount(250);
+		DonationReceipt receipt = new DonationReceipt();
+		receipt.setReceipt_number("REC-987654-ROLLBACK");
+		receipt.setReceipt_date(LocalDateTime.of(2024, 5, 1, 12, 0));
+		receipt.setDonor_name("Rollback Donor");
+		receipt.setDonor_email("rollback@test.local");
+
+		String hash = transactionTemplate.execute(status -> {
+			String issued = receiptDocuments.issue(receipt, donation);
+			assertTrue(Files.exists(Path.of("target/test-receipts", issued + ".txt")));
+			status.setRollbackOnly();
+			return issued;
+		});
+
+		assertFalse(Files.exists(Path.of("target/test-receipts", hash + ".txt")));
+		assertFalse(Files.exists(Path.of("target/test-receipts", hash + ".html")));
+		assertTrue(receiptDocuments.hashForDonation(987_654L, false).isEmpty());
+		assertTrue(receiptDocuments.hashForReceiptNumber("REC-987654-ROLLBACK", false).isEmpty());
+	}
+
+	@Test
+	void archivedReceiptIsFoundOnlyWithIncludeArchived() {
+		Timestamp date = Timestamp.valueOf(LocalDateTime.of(2020, 3, 5, 9, 0));
+		jdbcTemplate.update("INSERT INTO " + DonationArchive.DONATIONS + " (donation_id, amount, donation_date,"
+				+ " payment_method, status, archive_month) VALUES (?, ?, ?, ?, ?, ?)",
+				876_543L, 500.0, date, "GCash", "Completed", 202003);
+		jdbcTemplate.update("INSERT INTO " + DonationArchive.RECEIPTS + " (receipt_id, receipt_number, receipt_date,"
+				+ " donor_name, donation_id, archive_month) VALUES (?, ?, ?, ?, ?, ?)",
+				876_543L, "REC-876543-ARCHIVED", date, "Archived Donor", 876_543L, 202003);
+
+		assertTrue(receiptDocuments.hashForDonation(876_543L, false).isEmpty());
+		assertTrue(receiptDocuments.hashForReceiptNumber("REC-876543-ARCHIVED", false).isEmpty());
+
+		String hash = receiptDocuments.hashForDonation(876_543L, true).orElseThrow();
+		assertEquals(hash, receiptDocuments.hashForReceiptNumber("REC-876543-ARCHIVED", true).orElseThrow());
+		assertTrue(new String(receiptDocuments.read(hash, ReceiptDocuments.Format.TEXT).orElseThrow())
+				.contains("Archived Donor"));
+		// The hash rendered on first request is recorded, and the hot lookups still find nothing
+		assertEquals(hash, jdbcTemplate.queryForObject("SELECT document_hash FROM " + DonationArchive.RECEIPTS
+				+ " WHERE receipt_id = ?", String.class, 876_543L));
+		assertTrue(receiptDocuments.hashForDonation(876_543L, false).isEmpty());
+	}
+}
@@ -0,0 +1,124 @@
+package com.pawsitivedrive.backend;
+
+import com.pawsitivedrive.backend.datasource.ReadYourWrites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Read/write routing against separate embedded H2 databases: a primary, two replicas and one replica that
+ * cannot be reached. Each database holds a marker row naming it, so a query shows where it was routed.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + ReplicaRoutingTests.PRIMARY,
+		"app.datasource.replicas.enabled=true",
+		"app.datasource.replicas.nodes[0].url=" + ReplicaRoutingTests.REPLICA_A,
+		"app.datasource.replicas.nodes[1].url=" + ReplicaRoutingTests.REPLICA_B,
+		"app.datasource.replicas.nodes[2].url=jdbc:h2:tcp://127.0.0.1:1/unreachable",
+		"app.datasource.replicas.connection-timeout=500ms",
+		"app.datasource.replicas.health-check-interval=200ms",
+		"app.datasource.replicas.sticky-window=1s"
+})
+@ActiveProfiles("loadtest")
+class ReplicaRoutingTests {
+
+	static final String OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	static final String PRIMARY = "jdbc:h2:mem:routing_primary" + OPTIONS;
+	static final String REPLICA_A = "jdbc:h2:mem:routing_replica_a" + OPTIONS;
+	static final String REPLICA_B = "jdbc:h2:mem:routing_replica_b" + OPTIONS;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private ReadYourWrites readYourWrites;
+
+	@BeforeEach
+	void createMarkers() throws Exception {
+		createMarker(PRIMARY, "primary");
+		createMarker(REPLICA_A, "replica_a");
+		createMarker(REPLICA_B, "replica_b");
+	}
+
+	@Test
+	void readOnlyTransactionsRoundRobinOverHealthyReplicas() {
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < 12; i++) {
+			seen.add(readOnly());
+		}
+		assertEquals(Set.of("replica_a", "replica_b"), seen);
+	}
+
+	@Test
+	void readWriteTransactionsAndAutoCommitUsePrimary() {
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+		assertEquals("primary", readWrite.execute(status -> marker()));
+		assertEquals("primary", marker());
+	}
+
+	@Test
+	void clientThatWroteReadsFromPrimaryUntilWindowPasses() throws Exception {
+		readYourWrites.begin("client-1");
+		try {
+			assertEquals("primary", new TransactionTemplate(transactionManager).execute(status -> marker()));
+			// Same request, after its write
+			assertEquals("primary", readOnly());
+		} finally {
+			readYourWrites.end();
+		}
+
+		readYourWrites.begin("client-1");
+		try {
+			assertEquals("primary", readOnly());
+		} finally {
+			readYourWrites.end();
+		}
+		readYourWrites.begin("client-2");
+		try {
+			assertEquals(true, readOnly().startsWith("replica"));
+		} finally {
+			readYourWrites.end();
+		}
+
+		Thread.sleep(1_200);
+		readYourWrites.begin("client-1");
+		try {
+			assertEquals(true, readOnly().startsWith("replica"));
+		} finally {
+			readYourWrites.end();
+		}
+	}
+
+	private String readOnly() {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(true);
+		return template.execute(status -> marker());
+	}
+
+	private String marker() {
+		return jdbcTemplate.queryForObject("SELECT name FROM routing_marker", String.class);
+	}
+
+	private static void createMarker(String url, String name) throws Exception {
+		try (Connection connection = DriverManager.getConnection(url, "sa", "");
+			 Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS routing_marker (name VARCHAR(20))");
+			statement.execute("DELETE FROM routing_marker");
+			statement.execute("INSERT INTO routing_marker VALUES ('" + name + "')");
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.pawsitivedrive.backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The schema built by the db/migration scripts is the one the entities expect: the context only starts if
+ * Hibernate's ddl-auto=validate accepts it. Runs on its own embedded H2 database in MySQL mode.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.flyway.enabled=true",
+		"spring.jpa.hibernate.ddl-auto=validate"})
+@ActiveProfiles("loadtest")
+class SchemaMigrationTests {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Test
+	void migrationsProduceTheEntitySchema() {
+		assertEquals(8, flyway.info().applied().length);
+		assertEquals(0, flyway.info().pending().length);
+	}
+}
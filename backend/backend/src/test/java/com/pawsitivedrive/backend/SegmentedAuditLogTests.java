@@ -0,0 +1,136 @@
+package com.pawsitivedrive.backend;
+
+import com.pawsitivedrive.backend.audit.SegmentedAuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The audit log on small segments: entries survive a reopen, sequences come in blocks from the given source,
+ * a torn tail is cut off, full segments roll over and compaction drops the donations it is told are gone.
+ */
+class SegmentedAuditLogTests {
+
+	private static final LocalDateTime AT = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void entriesSurviveReopenAndKeepTheirSequence() throws Exception {
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 1)) {
+			log.append(7, "Created", AT).get();
+			log.append(8, "Created", AT).get();
+			log.append(7, "Refunded", AT.plusDays(1)).get();
+		}
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 1)) {
+			List<SegmentedAuditLog.Entry> entries = log.read(7);
+			assertEquals(List.of(
+					new SegmentedAuditLog.Entry(1, 7, AT, "Created"),
+					new SegmentedAuditLog.Entry(3, 7, AT.plusDays(1), "Refunded")), entries);
+			assertTrue(log.contains(8));
+			assertEquals(AT.plusDays(1), log.newestTimestamp());
+			assertEquals(4, log.append(9, "Created", AT).get().sequence());
+		}
+	}
+
+	@Test
+	void sequencesComeInBlocksFromTheSource() throws Exception {
+		// A shared counter that others also draw from: every block starts at 100 past the previous one
+		List<Long> asked = new ArrayList<>();
+		SegmentedAuditLog.Sequences shared = (atLeast, count) -> {
+			asked.add(atLeast);
+			return Math.max(atLeast, 100L * asked.size());
+		};
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 2, shared)) {
+			assertEquals(100, log.append(7, "Created", AT).get().sequence());
+			assertEquals(101, log.append(7, "Updated", AT).get().sequence());
+			assertEquals(200, log.append(7, "Refunded", AT).get().sequence());
+		}
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 2, shared)) {
+			assertEquals(300, log.append(8, "Created", AT).get().sequence());
+			assertEquals(List.of(100L, 101L, 200L), log.read(7).stream().map(SegmentedAuditLog.Entry::sequence).toList());
+		}
+		// Each block is asked for above the highest sequence the log has used, also after a reopen
+		assertEquals(List.of(1L, 102L, 201L), asked);
+	}
+
+	@Test
+	void tornTailIsCutOffOnReopen() throws Exception {
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 1)) {
+			log.append(1, "Created", AT).get();
+			log.append(1, "Updated", AT).get();
+		}
+		Path segment = onlySegment();
+		try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+			// Corrupt the last byte of the second record's action
+			int first = 8 + 30 + "Created".length();
+			int secondEnd = first + 8 + 30 + "Updated".length();
+			file.seek(secondEnd - 1);
+			file.write('X');
+		}
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 1)) {
+			assertEquals(List.of("Created"), log.read(1).stream().map(SegmentedAuditLog.Entry::action).toList());
+			log.append(1, "Refunded", AT).get();
+		}
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 4096, 1)) {
+			assertEquals(List.of("Created", "Refunded"),
+					log.read(1).stream().map(SegmentedAuditLog.Entry::action).toList());
+		}
+	}
+
+	@Test
+	void fullSegmentsRollAndCompactionDropsGoneDonations() throws Exception {
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 2048, 1)) {
+			for (int i = 0; i < 200; i++) {
+				log.append(i % 10, "Created", AT).get();
+			}
+			int sealed = log.sealedSegments();
+			assertTrue(sealed >= 3, "expected several sealed segments, got " + sealed);
+
+			long dropped = log.compact(ids -> ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toSet()));
+			assertTrue(dropped > 0);
+			assertEquals(1, log.sealedSegments());
+			assertEquals(20, log.read(4).size());
+			assertTrue(log.read(3).size() < 20);
+		}
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 2048, 1)) {
+			assertEquals(20, log.read(4).size());
+			assertEquals(201, log.append(4, "Updated", AT).get().sequence());
+		}
+	}
+
+	@Test
+	void concurrentAppendsShareGroupCommits() throws Exception {
+		try (SegmentedAuditLog log = new SegmentedAuditLog(dir, 1 << 20, 64)) {
+			CompletableFuture<?>[] appends = new CompletableFuture<?>[500];
+			for (int i = 0; i < appends.length; i++) {
+				appends[i] = log.append(i, "Created", AT);
+			}
+			CompletableFuture.allOf(appends).get();
+			assertEquals(500, log.records());
+			assertTrue(log.batches() < 500, "expected batching, got " + log.batches() + " syncs");
+			assertEquals(499L, log.read(499).get(0).donationId());
+		}
+	}
+
+	private Path onlySegment() throws Exception {
+		try (Stream<Path> files = Files.list(dir)) {
+			List<Path> segments = files.filter(path -> path.toString().endsWith(".log")).toList();
+			assertEquals(1, segments.size());
+			return segments.get(0);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.pawsitivedrive.backend;
+
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ?fields= returns the id plus exactly the requested whitelisted fields, in the requested order, and
+ * refuses any other name (password included) with 400 on every endpoint that takes it. Runs on the
+ * embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class SparseFieldsetsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private PetsRepository petsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+
+	@Test
+	void requestedFieldsOnly() throws Exception {
+		Users admin = admin();
+		Pets pet = new Pets();
+		pet.setName("Sparse");
+		pet.setSpecies("Rabbit");
+		pet.setStatus("Available");
+		pet.setAddedBy(admin);
+		pet = petsRepository.save(pet);
+
+		mockMvc.perform(get("/api/pets/" + pet.getPet_id()).param("fields", "addedBy_name, species,name,species"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("{\"pet_id\":" + pet.getPet_id()
+						+ ",\"addedBy_name\":\"Sparse Admin\",\"species\":\"Rabbit\",\"name\":\"Sparse\"}", true))
+				.andExpect(content().string(containsString("{\"pet_id\":" + pet.getPet_id() + ",\"addedBy_name\"")));
+		mockMvc.perform(get("/api/pets").param("fields", "name").param("species", "rabbit"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.pet_id == " + pet.getPet_id() + ")].name").value("Sparse"))
+				.andExpect(jsonPath("$[0].species").doesNotExist());
+		mockMvc.perform(get("/api/users/" + admin.getUser_id()).param("fields", "email,role_name"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(not(containsString("password"))))
+				.andExpect(jsonPath("$.email").value("sparse-admin@test.local"));
+	}
+
+	@Test
+	void unknownFieldsAreRejected() throws Exception {
+		String[] endpoints = {"/api/pets", "/api/pets/1", "/api/users", "/api/users/1", "/api/donations",
+				"/api/donations/1", "/api/applications", "/api/applications/1"};
+		for (String endpoint : endpoints) {
+			mockMvc.perform(get(endpoint).param("fields", "status,password"))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.message").value(containsString("Unknown field 'password'")));
+		}
+		mockMvc.perform(get("/api/users").param("fields", "password_hash"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/donations").param("fields", "user.password"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/pets").param("fields", "addedBy"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value(containsString("allowed: pet_id,name,")));
+	}
+
+	private Users admin() {
+		return usersRepository.findByEmail("sparse-admin@test.local").orElseGet(() -> {
+			Roles adminRole = rolesRepository.findByRoleNameIgnoreCase("Admin").orElseThrow();
+			return usersRepository.save(new Users("Sparse Admin", "sparse-admin@test.local", "x", adminRole, "active"));
+		});
+	}
+}
@@ -0,0 +1,128 @@
+package com.pawsitivedrive.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.PetsRepository;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * CBOR and Smile round trips: a donation posted in either encoding is created, and reading it back in that
+ * encoding gives the same document as JSON, id references included. JSON stays the default for Accept: *&#47;*.
+ * Runs on the embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class WireFormatTests {
+
+	private static final Map<String, ObjectMapper> MAPPERS = Map.of(
+			"application/cbor", new CBORMapper(),
+			"application/x-jackson-smile", new SmileMapper());
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private PetsRepository petsRepository;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+	void donationRoundTripsInBinaryEncodings(String mediaType) throws Exception {
+		ObjectMapper mapper = MAPPERS.get(mediaType);
+		Users donor = user(mediaType);
+		Pets pet = pet(donor);
+		byte[] body = mapper.writeValueAsBytes(Map.of("user", Map.of("user_id", donor.getUser_id()),
+				"pet", Map.of("pet_id", pet.getPet_id()), "amount", 250.75, "payment_method", "GCash",
+				"status", "Completed"));
+
+		MvcResult created = mockMvc.perform(post("/api/donations").contentType(mediaType).content(body)
+						.accept(mediaType))
+				.andExpect(status().isCreated())
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn();
+		JsonNode donation = mapper.readTree(created.getResponse().getContentAsByteArray());
+		long id = donation.get("donation_id").asLong();
+		assertEquals("/api/donations/" + id, created.getResponse().getHeader(HttpHeaders.LOCATION));
+		assertEquals(250.75, donation.get("amount").asDouble());
+		assertEquals(donor.getUser_id(), donation.get("user").get("user_id").asLong());
+
+		JsonNode asJson = objectMapper.readTree(mockMvc.perform(get("/api/donations/" + id).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+		JsonNode asBinary = mapper.readTree(mockMvc.perform(get("/api/donations/" + id).accept(mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn().getResponse().getContentAsByteArray());
+		assertEquals(asJson.toString(), asBinary.toString());
+
+		JsonNode byId = mapper.readTree(mockMvc.perform(get("/api/donations").param("refs", "id").accept(mediaType))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+		boolean found = false;
+		for (JsonNode row : byId) {
+			if (row.get("donation_id").asLong() == id) {
+				assertTrue(row.get("user").isNumber(), row.toString());
+				assertEquals(donor.getUser_id(), row.get("user").asLong());
+				assertEquals(pet.getPet_id(), row.get("pet").asLong());
+				found = true;
+			}
+		}
+		assertTrue(found, "donation " + id + " not listed");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"*/*", "application/json"})
+	void jsonIsTheDefault(String accept) throws Exception {
+		mockMvc.perform(get("/api/pets/" + pet(user("json-" + accept.hashCode())).getPet_id()).accept(accept))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+	}
+
+	private Pets pet(Users addedBy) {
+		Pets pet = new Pets();
+		pet.setName("Encoded");
+		pet.setSpecies("Dog");
+		pet.setStatus("Available");
+		pet.setAddedBy(addedBy);
+		return petsRepository.save(pet);
+	}
+
+	private Users user(String tag) {
+		String email = "wire-" + tag.replaceAll("[^a-z0-9-]", "") + "@test.local";
+		return usersRepository.findByEmail(email).orElseGet(() -> {
+			Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+			return usersRepository.save(new Users("Wire User", email, "x", donorRole, "active"));
+		});
+	}
+}
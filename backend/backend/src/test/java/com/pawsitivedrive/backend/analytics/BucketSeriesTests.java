@@ -0,0 +1,74 @@
+package com.pawsitivedrive.backend.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Range sums read from month, day and hour buckets agree with adding up every hour of the range, and the
+ * hour tier drops days that leave the window while their day and month buckets stay.
+ */
+class BucketSeriesTests {
+
+	private final BucketCalendar calendar = new BucketCalendar(LocalDate.of(2024, 1, 15), 1);
+
+	@Test
+	void rangeSumsMatchHourByHourTotals() {
+		BucketSeries series = new BucketSeries("GCash", "Completed", calendar, calendar.days());
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			series.add(random.nextInt(calendar.hours()), 1 + random.nextInt(100_000), 0);
+		}
+
+		for (int i = 0; i < 500; i++) {
+			int from = random.nextInt(calendar.hours());
+			int to = from + random.nextInt(calendar.hours() - from + 1);
+			long[] expected = new long[2];
+			for (int h = from; h < to; h++) {
+				expected[0] += series.count(Granularity.HOUR, h);
+				expected[1] += series.cents(Granularity.HOUR, h);
+			}
+			long[] actual = new long[2];
+			series.sum(from, to, actual);
+			assertArrayEquals(expected, actual, "hours [" + from + ", " + to + ")");
+		}
+		long[] all = new long[2];
+		series.sum(0, calendar.hours(), all);
+		assertEquals(20_000, all[0]);
+	}
+
+	@Test
+	void calendarStartsOnTheFirstOfTheMonth() {
+		assertEquals(LocalDate.of(2024, 1, 1), calendar.start());
+		assertEquals(366, calendar.days());
+		assertEquals(1, calendar.monthOfDay(31));
+		assertEquals(31 + 29, calendar.firstDayOfMonth(2));
+		assertEquals(-1, calendar.hourIndex(LocalDate.of(2023, 12, 31).atTime(23, 0)));
+		assertEquals(24 * 31 + 5, calendar.hourIndex(LocalDate.of(2024, 2, 1).atTime(5, 59)));
+		assertEquals(24 * 31 + 6, calendar.clampHourCeil(LocalDate.of(2024, 2, 1).atTime(5, 1)));
+		assertEquals(calendar.hours(), calendar.clampHourCeil(LocalDate.of(2030, 1, 1).atStartOfDay()));
+	}
+
+	@Test
+	void hoursLeavingTheWindowAreDroppedButDaysStay() {
+		BucketSeries series = new BucketSeries("Card", "Completed", calendar, 2);
+		series.add(10 * 24 + 3, 500, 10);
+		series.add(8 * 24, 700, 10);
+
+		assertEquals(1, series.count(Granularity.HOUR, 10 * 24 + 3));
+		assertEquals(0, series.count(Granularity.HOUR, 8 * 24), "day 8 is before the window");
+		assertEquals(1, series.count(Granularity.DAY, 8));
+
+		series.add(12 * 24 + 1, 900, 11);
+
+		assertEquals(0, series.count(Granularity.HOUR, 10 * 24 + 3));
+		assertEquals(1, series.count(Granularity.HOUR, 12 * 24 + 1));
+		assertEquals(500, series.cents(Granularity.DAY, 10));
+		assertEquals(3, series.count(Granularity.MONTH, 0));
+		assertEquals(2100, series.cents(Granularity.MONTH, 0));
+	}
+}
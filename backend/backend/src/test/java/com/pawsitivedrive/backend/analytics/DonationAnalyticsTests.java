@@ -0,0 +1,111 @@
+package com.pawsitivedrive.backend.analytics;
+
+import com.pawsitivedrive.backend.analytics.DonationAnalytics.Bucket;
+import com.pawsitivedrive.backend.analytics.DonationAnalytics.Total;
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.service.DonationCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Donations land in the month, day and hour buckets of their series, filters and groupings sum the right
+ * series, donations seen before the backfill finishes are replayed unless the backfill covered them, and
+ * ranges the store cannot answer are refused.
+ */
+class DonationAnalyticsTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final ArchivedDonations archivedDonations = mock(ArchivedDonations.class);
+	private final DonationAnalytics analytics = new DonationAnalytics(jdbcTemplate, archivedDonations,
+			LocalDate.of(2020, 1, 1), 20, 8, 3, 1, 50_000);
+	private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+	@BeforeEach
+	void backfill() throws InterruptedException {
+		// The donations table holds ids up to 5; the mocked scans return no rows
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(5L);
+		analytics.onDonationCreated(donation(4, now, 999.0, "GCash", "Completed"));
+		analytics.onDonationCreated(donation(10, now, 100.0, "GCash", "Completed"));
+		analytics.onDonationCreated(donation(11, now, 50.5, "Card", "Completed"));
+		analytics.onDonationCreated(donation(12, now.minusHours(1), 20.0, "GCash", "Pending"));
+		assertFalse(analytics.isComplete());
+
+		analytics.startBackfill();
+		for (int i = 0; i < 500 && !analytics.isComplete(); i++) {
+			Thread.sleep(10);
+		}
+		assertTrue(analytics.isComplete());
+
+		analytics.onDonationCreated(donation(13, LocalDateTime.of(2024, 3, 10, 12, 0), 10.0, "GCash", "Completed"));
+		analytics.onDonationCreated(donation(14, LocalDateTime.of(2024, 3, 31, 23, 30), 5.0, "GCash", "Completed"));
+		analytics.onDonationCreated(donation(15, LocalDateTime.of(2024, 4, 1, 0, 0), 7.0, "GCash", "Completed"));
+		analytics.onDonationCreated(donation(16, LocalDateTime.of(2010, 6, 1, 0, 0), 3.0, "GCash", "Completed"));
+	}
+
+	@Test
+	void monthAndDayBucketsFollowTheCalendar() {
+		assertEquals(List.of(bucket("2024-03-01T00:00", 2, "15.00"), bucket("2024-04-01T00:00", 1, "7.00")),
+				analytics.series(Granularity.MONTH, LocalDateTime.of(2024, 3, 1, 0, 0),
+						LocalDateTime.of(2024, 5, 1, 0, 0), null, null, 10));
+		assertEquals(List.of(bucket("2024-03-31T00:00", 1, "5.00"), bucket("2024-04-01T00:00", 1, "7.00")),
+				analytics.series(Granularity.DAY, LocalDateTime.of(2024, 3, 31, 0, 0),
+						LocalDateTime.of(2024, 4, 2, 0, 0), "gcash", "completed", 10));
+	}
+
+	@Test
+	void recentHoursAreReplayedAfterTheBackfill() {
+		assertEquals(List.of(new Bucket(now.minusHours(1), 1, new BigDecimal("20.00")),
+						new Bucket(now, 2, new BigDecimal("150.50"))),
+				analytics.series(Granularity.HOUR, now.minusHours(1), now.plusHours(1), null, null, 10));
+		assertEquals(List.of(new Bucket(now.minusHours(1), 0, new BigDecimal("0.00")),
+						new Bucket(now, 1, new BigDecimal("50.50"))),
+				analytics.series(Granularity.HOUR, now.minusHours(1), now.plusHours(1), "Card", null, 10));
+	}
+
+	@Test
+	void rollupsGroupAndWidenOldBoundsToWholeDays() {
+		assertEquals(List.of(new Total(null, null, 6, new BigDecimal("192.50"))),
+				analytics.rollup(LocalDateTime.of(2000, 1, 1, 0, 0), now.plusDays(1), false, false));
+		assertEquals(List.of(new Total(null, null, 1, new BigDecimal("10.00"))),
+				analytics.rollup(LocalDateTime.of(2024, 3, 10, 13, 0), LocalDateTime.of(2024, 3, 10, 14, 0),
+						false, false));
+
+		List<Total> byStatus = analytics.rollup(now.minusHours(1), now.plusHours(1), false, true);
+		assertEquals(2, byStatus.size());
+		assertTrue(byStatus.contains(new Total(null, "Completed", 2, new BigDecimal("150.50"))), byStatus.toString());
+		assertTrue(byStatus.contains(new Total(null, "Pending", 1, new BigDecimal("20.00"))), byStatus.toString());
+	}
+
+	@Test
+	void unanswerableRangesAreRefused() {
+		assertThrows(IllegalArgumentException.class, () -> analytics.series(Granularity.HOUR,
+				LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 6, 0), null, null, 100));
+		assertThrows(IllegalArgumentException.class, () -> analytics.series(Granularity.DAY,
+				LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0), null, null, 31));
+		assertTrue(analytics.series(Granularity.DAY, now, now, null, null, 10).isEmpty());
+	}
+
+	private static DonationCreatedEvent donation(long id, LocalDateTime date, double amount, String method, String status) {
+		return new DonationCreatedEvent(id, 1L, 1L, amount, status, method, date);
+	}
+
+	private static Bucket bucket(String start, long count, String amount) {
+		return new Bucket(LocalDateTime.parse(start), count, new BigDecimal(amount));
+	}
+}
@@ -0,0 +1,151 @@
+package com.pawsitivedrive.backend.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+import com.pawsitivedrive.backend.repository.RolesRepository;
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import com.pawsitivedrive.backend.service.DonationHistoryIds;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Months older than hot-months move, in batches, with their history and receipts into the archive tables
+ * and leave the hot tables; recent donations stay. Archived donations are only returned with
+ * ?includeArchived=true. Runs on the embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest(properties = {"app.archive.hot-months=2", "app.archive.batch-size=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class DonationArchiveTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private DonationArchive donationArchive;
+	@Autowired
+	private DonationHistoryIds historyIds;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private UsersRepository usersRepository;
+	@Autowired
+	private RolesRepository rolesRepository;
+
+	@Test
+	void coldMonthsMoveWithTheirHistoryAndReceipts() throws Exception {
+		Users donor = donor();
+		List<Long> march = new ArrayList<>();
+		for (int day = 1; day <= 3; day++) {
+			march.add(donate(donor, LocalDateTime.of(2020, 3, day, 10, 0)));
+		}
+		long april = donate(donor, LocalDateTime.of(2020, 4, 30, 23, 59));
+		long recent = donate(donor, null);
+		jdbcTemplate.update("INSERT INTO donation_history (history_id, action, action_date, donation_id)"
+						+ " VALUES (?, 'Refunded', ?, ?)", historyIds.reserve(1, 1), Timestamp.valueOf(LocalDateTime.of(2020, 3, 5, 9, 0)), march.get(0));
+
+		assertTrue(donationArchive.available());
+		assertEquals(4, donationArchive.archiveColdMonths());
+
+		for (long id : march) {
+			assertArchived(id, 202003);
+		}
+		assertArchived(april, 202004);
+		assertEquals(1, count("SELECT COUNT(*) FROM donations WHERE donation_id = ?", recent));
+		assertEquals(0, count("SELECT COUNT(*) FROM donations_archive WHERE donation_id = ?", recent));
+		assertEquals(1, count("SELECT COUNT(*) FROM donation_history_archive WHERE donation_id = ? AND action = 'Refunded'",
+				march.get(0)));
+		assertEquals(0, donationArchive.archiveColdMonths(), "nothing left to move");
+
+		long archived = march.get(0);
+		mockMvc.perform(get("/api/donations/" + archived))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/donations/" + archived).param("includeArchived", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.donation_id").value(archived))
+				.andExpect(jsonPath("$.amount").value(100.0))
+				.andExpect(jsonPath("$.user.user_id").value(donor.getUser_id()))
+				.andExpect(jsonPath("$.histories[*].action").value(hasItem("Refunded")));
+		mockMvc.perform(get("/api/donations/" + archived + "/history").param("includeArchived", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].action").value(hasItem("Refunded")));
+		mockMvc.perform(get("/api/donations/" + archived + "/receipt").param("includeArchived", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.donor_email").value(donor.getEmail()));
+		mockMvc.perform(get("/api/donations/user/" + donor.getUser_id()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(1)));
+		mockMvc.perform(get("/api/donations/user/" + donor.getUser_id()).param("includeArchived", "true"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(5)));
+	}
+
+	@Test
+	void fieldsCannotReadTheArchive() throws Exception {
+		mockMvc.perform(get("/api/donations").param("fields", "amount").param("includeArchived", "true"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/donations/1").param("fields", "amount").param("includeArchived", "true"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/donations").param("fields", "amount"))
+				.andExpect(status().isOk());
+	}
+
+	private void assertArchived(long id, int month) {
+		for (String table : List.of("donations", "donation_history", "donation_receipt")) {
+			assertEquals(0, count("SELECT COUNT(*) FROM " + table + " WHERE donation_id = ?", id), table + " " + id);
+		}
+		assertEquals(1, count("SELECT COUNT(*) FROM donations_archive WHERE donation_id = ? AND archive_month = " + month, id));
+		assertEquals(1, count("SELECT COUNT(*) FROM donation_receipt_archive WHERE donation_id = ? AND archive_month = "
+				+ month, id));
+	}
+
+	// Created through the API (receipt included), then dated back
+	private long donate(Users donor, LocalDateTime date) throws Exception {
+		Map<String, Object> body = Map.of("user", Map.of("user_id", donor.getUser_id()), "amount", 100,
+				"payment_method", "GCash", "status", "Completed");
+		JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/donations")
+						.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString());
+		long id = created.get("donation_id").asLong();
+		if (date != null) {
+			jdbcTemplate.update("UPDATE donations SET donation_date = ? WHERE donation_id = ?", Timestamp.valueOf(date), id);
+		}
+		return id;
+	}
+
+	private long count(String sql, Object... args) {
+		return jdbcTemplate.queryForObject(sql, Long.class, args);
+	}
+
+	private Users donor() {
+		return usersRepository.findByEmail("archive-donor@test.local").orElseGet(() -> {
+			Roles donorRole = rolesRepository.findByRoleNameIgnoreCase("Donor").orElseThrow();
+			return usersRepository.save(new Users("Archive Donor", "archive-donor@test.local", "x", donorRole, "active"));
+		});
+	}
+}
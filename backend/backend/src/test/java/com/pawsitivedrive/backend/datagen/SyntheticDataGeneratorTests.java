@@ -0,0 +1,59 @@
+package com.pawsitivedrive.backend.datagen;
+
+import com.pawsitivedrive.backend.service.ReceiptDocuments;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Generated data keeps the invariants the API maintains: few users and pets make the random draws repeat
+ * (user, pet) pairs, yet each pair has at most one Pending application and that one carries its
+ * pending_key; every receipt has a document_hash whose documents exist. Runs on its own H2 database.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:datagen;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.receipts.dir=target/test-receipts",
+		"app.datagen.users=20", "app.datagen.pets=3", "app.datagen.applications=300", "app.datagen.donations=40",
+		"app.datagen.batch-size=16", "app.datagen.chunk-batches=2", "app.datagen.workers=2",
+		"app.datagen.exit-when-done=false"})
+@ActiveProfiles({"loadtest", "datagen"})
+class SyntheticDataGeneratorTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private ReceiptDocuments receiptDocuments;
+
+	@Test
+	void pendingPairsAreUniqueAndKeyed() {
+		assertEquals(300, count("SELECT COUNT(*) FROM adoption_applications"));
+		assertTrue(count("SELECT COUNT(*) FROM adoption_applications WHERE status = 'Pending'") > 0);
+		assertEquals(0, count("SELECT COUNT(*) FROM (SELECT user_id, pet_id FROM adoption_applications"
+				+ " WHERE status = 'Pending' GROUP BY user_id, pet_id HAVING COUNT(*) > 1) repeated"));
+		assertEquals(0, count("SELECT COUNT(*) FROM adoption_applications WHERE status = 'Pending'"
+				+ " AND (pending_key IS NULL OR pending_key <> CONCAT(user_id, ':', pet_id))"));
+		assertEquals(0, count("SELECT COUNT(*) FROM adoption_applications WHERE status <> 'Pending'"
+				+ " AND pending_key IS NOT NULL"));
+	}
+
+	@Test
+	void receiptsHaveTheirDocuments() {
+		List<String> hashes = jdbcTemplate.queryForList("SELECT document_hash FROM donation_receipt", String.class);
+		assertEquals(40, hashes.size());
+		for (String hash : hashes) {
+			assertTrue(receiptDocuments.read(hash, ReceiptDocuments.Format.TEXT).isPresent(), "no document for " + hash);
+			assertTrue(receiptDocuments.read(hash, ReceiptDocuments.Format.HTML).isPresent(), "no document for " + hash);
+		}
+	}
+
+	private long count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Long.class);
+	}
+}
@@ -0,0 +1,141 @@
+package com.pawsitivedrive.backend.idempotency;
+
+import com.pawsitivedrive.backend.idempotency.IdempotencyStore.Decision;
+import com.pawsitivedrive.backend.idempotency.IdempotencyStore.Outcome;
+import com.pawsitivedrive.backend.idempotency.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The idempotency_keys table is the shared claim: keys evicted from memory, or claimed by another
+ * instance, are still resolved from it, and a running request's lease is renewed so no other instance
+ * takes the key over. Runs on the embedded H2 database of the loadtest profile.
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+class IdempotencyStoreTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<IdempotencyStore> stores = new ArrayList<>();
+
+	@AfterEach
+	void close() {
+		stores.forEach(IdempotencyStore::close);
+	}
+
+	@Test
+	void evictedKeysAreReplayedFromTheTable() throws Exception {
+		IdempotencyStore store = store(4, Duration.ofMinutes(2), Duration.ofSeconds(1));
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			String key = key();
+			Outcome outcome = store.begin(key, "body-" + i);
+			assertEquals(Decision.EXECUTE, outcome.decision());
+			store.complete(key, outcome.entry(), response(i));
+			keys.add(key);
+		}
+		assertTrue(store.size() <= 5, "entries in memory: " + store.size());
+
+		for (int i = 0; i < keys.size(); i++) {
+			Outcome replay = store.begin(keys.get(i), "body-" + i);
+			assertEquals(Decision.REPLAY, replay.decision(), "key " + i);
+			assertEquals(201, replay.response().status());
+			assertEquals("/api/donations/" + i, replay.response().location());
+			assertArrayEquals(response(i).body(), replay.response().body());
+		}
+		assertEquals(Decision.MISMATCH, store.begin(keys.get(0), "another body").decision());
+	}
+
+	@Test
+	void claimsAreSharedBetweenInstances() throws Exception {
+		IdempotencyStore first = store(100, Duration.ofMinutes(2), Duration.ofMillis(300));
+		IdempotencyStore second = store(100, Duration.ofMinutes(2), Duration.ofMillis(300));
+		String key = key();
+
+		Outcome running = first.begin(key, "body");
+		assertEquals(Decision.EXECUTE, running.decision());
+		assertEquals(Decision.IN_PROGRESS, second.begin(key, "body").decision());
+		assertEquals(Decision.MISMATCH, second.begin(key, "other").decision());
+
+		first.complete(key, running.entry(), response(7));
+		Outcome replay = second.begin(key, "body");
+		assertEquals(Decision.REPLAY, replay.decision());
+		assertEquals("/api/donations/7", replay.response().location());
+	}
+
+	@Test
+	void abortedAndFailedKeysRunAgain() throws Exception {
+		IdempotencyStore first = store(100, Duration.ofMinutes(2), Duration.ofMillis(300));
+		IdempotencyStore second = store(100, Duration.ofMinutes(2), Duration.ofMillis(300));
+		String key = key();
+
+		first.abort(key, first.begin(key, "body").entry());
+
+		assertEquals(0, count(key));
+		assertEquals(Decision.EXECUTE, second.begin(key, "body").decision());
+	}
+
+	@Test
+	void runningRequestsKeepTheirLease() throws Exception {
+		Duration lease = Duration.ofMillis(300);
+		IdempotencyStore owner = store(100, lease, Duration.ofMillis(200));
+		IdempotencyStore other = store(100, lease, Duration.ofMillis(200));
+		String key = key();
+		Outcome running = owner.begin(key, "body");
+
+		// Several leases long; without renewal the other instance would take the key over
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(lease.toMillis());
+			assertEquals(Decision.IN_PROGRESS, other.begin(key, "body").decision(), "after " + (i + 1) + " leases");
+		}
+		assertTrue(lockedUntil(key) > System.currentTimeMillis());
+
+		owner.close();
+		Thread.sleep(lease.toMillis() * 2);
+		assertEquals(Decision.EXECUTE, other.begin(key, "body").decision(), "a stopped owner loses the key");
+		owner.complete(key, running.entry(), response(1));
+	}
+
+	private IdempotencyStore store(int maxEntries, Duration lease, Duration waitTimeout) {
+		IdempotencyProperties properties = new IdempotencyProperties();
+		properties.setMaxEntries(maxEntries);
+		properties.setInFlightLease(lease);
+		properties.setWaitTimeout(waitTimeout);
+		IdempotencyStore store = new IdempotencyStore(jdbcTemplate, properties);
+		stores.add(store);
+		return store;
+	}
+
+	private static StoredResponse response(int i) {
+		return new StoredResponse(201, "application/json", "/api/donations/" + i,
+				("{\"donation_id\":" + i + "}").getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String key() {
+		return UUID.randomUUID().toString().replace("-", "");
+	}
+
+	private long count(String key) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys WHERE idempotency_key = ?", Long.class, key);
+	}
+
+	private long lockedUntil(String key) {
+		return jdbcTemplate.queryForObject("SELECT locked_until FROM idempotency_keys WHERE idempotency_key = ?", Long.class, key);
+	}
+}
@@ -0,0 +1,54 @@
+package com.pawsitivedrive.backend.loadshed;
+
+import com.pawsitivedrive.backend.loadshed.LoadSheddingProperties.Priority;
+import com.pawsitivedrive.backend.web.AdminTokenFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Readiness stays UP while NORMAL requests are being shed, and the load shedder's details are shown only
+ * to requests carrying the admin token.
+ */
+@SpringBootTest(properties = "app.admin.token=readiness-test-token")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class ReadinessTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AdaptiveConcurrencyLimit limit;
+
+	@Test
+	void readinessStaysUpWhileSheddingAndHidesDetails() throws Exception {
+		int acquired = 0;
+		try {
+			while (limit.tryAcquire(Priority.NORMAL)) {
+				acquired++;
+			}
+
+			mockMvc.perform(get("/actuator/health/readiness"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.status").value("UP"))
+					.andExpect(jsonPath("$.components").doesNotExist());
+
+			mockMvc.perform(get("/actuator/health/readiness").header(AdminTokenFilter.HEADER, "readiness-test-token"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.status").value("UP"))
+					.andExpect(jsonPath("$.components.loadShedding.details.inflight").value(acquired))
+					.andExpect(jsonPath("$.components.loadShedding.details.lastShed").exists());
+		} finally {
+			for (int i = 0; i < acquired; i++) {
+				limit.release(1_000_000);
+			}
+		}
+	}
+}
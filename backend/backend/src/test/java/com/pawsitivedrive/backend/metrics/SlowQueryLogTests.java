@@ -0,0 +1,31 @@
+package com.pawsitivedrive.backend.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Slow query parameters are written as their types unless values are asked for, and password hashes
+ * never appear either way.
+ */
+class SlowQueryLogTests {
+
+	private static final String BCRYPT = "$2a$10$" + "x".repeat(53);
+
+	@Test
+	void parametersAreTypesByDefault() {
+		List<List<Object>> parameters = List.of(Arrays.asList("donor@test.local", 42L, null), List.of(BCRYPT));
+
+		assertEquals("[String, Long, null][String]", SlowQueryLog.format(parameters, false));
+	}
+
+	@Test
+	void valuesAreWrittenOnlyWhenAskedForAndHashesStayRedacted() {
+		List<List<Object>> parameters = List.of(Arrays.asList("donor@test.local", 42L, BCRYPT));
+
+		assertEquals("[donor@test.local, 42, <redacted>]", SlowQueryLog.format(parameters, true));
+	}
+}
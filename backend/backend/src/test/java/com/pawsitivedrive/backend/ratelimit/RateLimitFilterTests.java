@@ -0,0 +1,118 @@
+package com.pawsitivedrive.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Which bucket a request draws from: the remote address or the forwarded client for IP rules, the JSON
+ * body field for ACCOUNT rules, and nothing for requests no rule matches.
+ */
+class RateLimitFilterTests {
+
+	@Test
+	void ipRuleKeysByRemoteAddress() throws Exception {
+		RateLimitFilter filter = filter(false, ipRule(2));
+		assertEquals(200, login("10.0.0.1", null, null, filter));
+		assertEquals(200, login("10.0.0.1", null, null, filter));
+		assertEquals(429, login("10.0.0.1", null, null, filter));
+		assertEquals(200, login("10.0.0.2", null, null, filter));
+	}
+
+	@Test
+	void forwardedForIsOnlyUsedWhenTrusted() throws Exception {
+		RateLimitFilter untrusted = filter(false, ipRule(1));
+		assertEquals(200, login("10.0.0.1", "203.0.113.1", null, untrusted));
+		assertEquals(429, login("10.0.0.1", "203.0.113.2", null, untrusted));
+
+		RateLimitFilter trusted = filter(true, ipRule(1));
+		assertEquals(200, login("10.0.0.1", "203.0.113.1, 10.0.0.9", null, trusted));
+		assertEquals(200, login("10.0.0.1", "203.0.113.2", null, trusted));
+		assertEquals(429, login("10.0.0.1", "203.0.113.1", null, trusted));
+	}
+
+	@Test
+	void accountRuleKeysByBodyFieldAcrossAddresses() throws Exception {
+		RateLimitFilter filter = filter(false, accountRule(1));
+		assertEquals(200, login("10.0.0.1", null, "{\"email\":\"Ann@Example.com\"}", filter));
+		// Same account, normalised, from another address
+		assertEquals(429, login("10.0.0.2", null, "{\"email\":\" ann@example.com \"}", filter));
+		assertEquals(200, login("10.0.0.2", null, "{\"email\":\"bob@example.com\"}", filter));
+		// No account field: only IP rules apply, and there are none here
+		assertEquals(200, login("10.0.0.3", null, "{}", filter));
+		assertEquals(200, login("10.0.0.3", null, "{}", filter));
+	}
+
+	@Test
+	void rejectionCarriesRetryAfterAndLeavesOtherPathsAlone() throws Exception {
+		RateLimitFilter filter = filter(false, ipRule(1));
+		login("10.0.0.1", null, null, filter);
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(request("POST", "/api/auth/login", "10.0.0.1", null, null), rejected, new MockFilterChain());
+		assertEquals(429, rejected.getStatus());
+		assertNotNull(rejected.getHeader("Retry-After"));
+
+		MockHttpServletResponse other = new MockHttpServletResponse();
+		filter.doFilter(request("GET", "/api/pets", "10.0.0.1", null, null), other, new MockFilterChain());
+		assertEquals(200, other.getStatus());
+	}
+
+	private static int login(String remoteAddr, String forwardedFor, String body, RateLimitFilter filter) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request("POST", "/api/auth/login", remoteAddr, forwardedFor, body), response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	private static MockHttpServletRequest request(String method, String path, String remoteAddr, String forwardedFor, String body) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader("X-Forwarded-For", forwardedFor);
+		}
+		if (body != null) {
+			request.setContentType("application/json");
+			request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		}
+		return request;
+	}
+
+	private static RateLimitFilter filter(boolean trustForwardedFor, RateLimitProperties.Rule rule) {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setTrustForwardedFor(trustForwardedFor);
+		properties.setRules(List.of(rule));
+		return new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+	}
+
+	private static RateLimitProperties.Rule ipRule(int capacity) {
+		return rule("login-ip", RateLimitProperties.KeyType.IP, capacity);
+	}
+
+	private static RateLimitProperties.Rule accountRule(int capacity) {
+		RateLimitProperties.Rule rule = rule("login-account", RateLimitProperties.KeyType.ACCOUNT, capacity);
+		rule.setAccountField("email");
+		return rule;
+	}
+
+	private static RateLimitProperties.Rule rule(String name, RateLimitProperties.KeyType key, int capacity) {
+		RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+		rule.setName(name);
+		rule.setPattern("/api/auth/login");
+		rule.setMethods(List.of("POST"));
+		rule.setKey(key);
+		rule.setCapacity(capacity);
+		rule.setRefillTokens(1);
+		rule.setRefillPeriod(Duration.ofHours(1));
+		return rule;
+	}
+}
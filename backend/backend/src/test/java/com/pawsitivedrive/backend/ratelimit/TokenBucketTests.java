@@ -0,0 +1,70 @@
+package com.pawsitivedrive.backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token bucket arithmetic on an explicit clock: a full burst, the wait reported when empty, gradual refill
+ * and the cap at capacity.
+ */
+class TokenBucketTests {
+
+	// 5 tokens, 1 more every 200 ms
+	private static final TokenBucket.Limit LIMIT = new TokenBucket.Limit(5, 1, 200);
+
+	@Test
+	void allowsBurstUpToCapacityThenReportsWait() {
+		TokenBucket bucket = new TokenBucket(0, LIMIT);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, bucket.tryTake(0, LIMIT), "take " + i);
+		}
+		assertEquals(200, bucket.tryTake(0, LIMIT));
+		assertEquals(50, bucket.tryTake(150, LIMIT));
+	}
+
+	@Test
+	void refillsOneTokenPerPeriod() {
+		TokenBucket bucket = new TokenBucket(0, LIMIT);
+		for (int i = 0; i < 5; i++) {
+			bucket.tryTake(0, LIMIT);
+		}
+		assertEquals(0, bucket.tryTake(200, LIMIT));
+		assertTrue(bucket.tryTake(200, LIMIT) > 0);
+		// Two periods later: two tokens, not more
+		assertEquals(0, bucket.tryTake(600, LIMIT));
+		assertEquals(0, bucket.tryTake(600, LIMIT));
+		assertTrue(bucket.tryTake(600, LIMIT) > 0);
+	}
+
+	@Test
+	void refillStopsAtCapacity() {
+		TokenBucket bucket = new TokenBucket(0, LIMIT);
+		bucket.tryTake(0, LIMIT);
+		int taken = 0;
+		while (bucket.tryTake(60_000, LIMIT) == 0) {
+			taken++;
+		}
+		assertEquals(5, taken);
+	}
+
+	@Test
+	void isIdleOnlyOnceFullAgain() {
+		TokenBucket bucket = new TokenBucket(0, LIMIT);
+		for (int i = 0; i < 5; i++) {
+			bucket.tryTake(0, LIMIT);
+		}
+		// An empty bucket needs 1000 ms to refill, longer than the 500 ms idle interval
+		assertFalse(bucket.isIdle(500, 500));
+		assertTrue(bucket.isIdle(1000, 500));
+	}
+
+	@Test
+	void rejectsCapacityOutsideTheFixedPointRange() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket.Limit(0, 1, 1000));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket.Limit(TokenBucket.MAX_CAPACITY + 1, 1, 1000));
+	}
+}
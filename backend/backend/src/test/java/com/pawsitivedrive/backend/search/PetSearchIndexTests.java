@@ -0,0 +1,123 @@
+package com.pawsitivedrive.backend.search;
+
+import com.pawsitivedrive.backend.search.PetSearchIndex.Hit;
+import com.pawsitivedrive.backend.service.PetChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BM25 over a small known corpus: scores match the formula, name matches outrank breed and description
+ * matches, plurals and prefixes find their terms, edits and deletes drop stale postings, and changes made
+ * while a rebuild scans the table survive the swap.
+ */
+class PetSearchIndexTests {
+
+	private static final List<PetChangedEvent> CORPUS = List.of(
+			pet(1, "Max", "Labrador Retriever", "Friendly dog who loves fetch."),
+			pet(2, "Bella", "Beagle", "Calm beagle, great with kids."),
+			pet(3, "Labby", "Persian", "A lazy cat that likes the labrador next door."),
+			pet(4, "Rex", "Mixed", "Loves kids and other dogs."));
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final PetSearchIndex index = new PetSearchIndex(jdbcTemplate);
+
+	@BeforeEach
+	void load() {
+		CORPUS.forEach(index::onPetChanged);
+	}
+
+	@Test
+	void scoreFollowsBm25() {
+		// Pet 2: "beagle" as breed (weight 2) and in the description (1); length 3 + 2 + 4 = 9 of 40 over 4 pets
+		double idf = Math.log(1 + (4 - 1 + 0.5) / (1 + 0.5));
+		double norm = 1.2 * (1 - 0.75 + 0.75 * 9 / 10.0);
+		double expected = idf * 3 * (1.2 + 1) / (3 + norm);
+
+		List<Hit> hits = index.search("Beagle", 10, false);
+
+		assertEquals(1, hits.size());
+		assertEquals(2, hits.get(0).petId());
+		assertEquals(expected, hits.get(0).score(), 1e-9);
+	}
+
+	@Test
+	void fieldWeightsAndMatchedWordsDecideTheOrder() {
+		assertEquals(List.of(1L, 3L), ids(index.search("labrador", 10, false)));
+		assertEquals(List.of(2L, 4L), ids(index.search("beagle kids", 10, false)));
+		// Same term frequency: the shorter text ranks first
+		assertEquals(List.of(4L, 1L), ids(index.search("Dog's", 10, false)));
+		assertEquals(List.of(2L), ids(index.search("beagle kids", 1, false)));
+		assertTrue(index.search("the and with", 10, false).isEmpty());
+	}
+
+	@Test
+	void lastWordMatchesAsPrefix() {
+		assertTrue(index.search("lab", 10, false).isEmpty());
+		// "labby" in pet 3's name beats "labrador" in pet 1's breed
+		assertEquals(List.of(3L, 1L), ids(index.search("lab", 10, true)));
+		assertEquals(List.of(3L, 1L), ids(index.search("cat lab", 10, true)));
+		assertTrue(index.search("l", 10, true).isEmpty());
+		double typedOut = index.search("labrador", 10, false).get(0).score();
+		double prefixed = index.search("labrado", 10, true).get(0).score();
+		assertEquals(typedOut * 0.7, prefixed, 1e-9);
+	}
+
+	@Test
+	void editsAndDeletesDropStaleTerms() {
+		index.onPetChanged(pet(1, "Max", "Labrador Retriever", "Sleepy."));
+		index.onPetChanged(PetChangedEvent.deleted(4L));
+
+		assertTrue(index.search("fetch", 10, false).isEmpty());
+		assertEquals(List.of(1L), ids(index.search("sleepy", 10, false)));
+		assertTrue(index.search("rex", 10, false).isEmpty());
+		assertEquals(List.of(2L), ids(index.search("kids", 10, false)));
+	}
+
+	@Test
+	void changesDuringRebuildSurviveTheSwap() throws Exception {
+		ResultSet row = mock(ResultSet.class);
+		doAnswer(invocation -> {
+			// A rename commits while the scan is running, after the scan read the old row
+			RowCallbackHandler handler = invocation.getArgument(1);
+			for (PetChangedEvent pet : CORPUS) {
+				when(row.getLong(1)).thenReturn(pet.petId());
+				when(row.getString(2)).thenReturn(pet.name());
+				when(row.getString(3)).thenReturn(pet.breed());
+				when(row.getString(4)).thenReturn(pet.description());
+				handler.processRow(row);
+			}
+			index.onPetChanged(pet(2, "Daisy", "Beagle", "Calm beagle, great with kids."));
+			return null;
+		}).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+		assertFalse(index.isComplete());
+
+		index.rebuild();
+
+		assertTrue(index.isComplete());
+		assertEquals(List.of(2L), ids(index.search("daisy", 10, false)));
+		assertTrue(index.search("bella", 10, false).isEmpty());
+		assertEquals(List.of(1L, 3L), ids(index.search("labrador", 10, false)));
+	}
+
+	private static PetChangedEvent pet(long id, String name, String breed, String description) {
+		return new PetChangedEvent(id, name, breed, description, false);
+	}
+
+	private static List<Long> ids(List<Hit> hits) {
+		return hits.stream().map(Hit::petId).toList();
+	}
+}
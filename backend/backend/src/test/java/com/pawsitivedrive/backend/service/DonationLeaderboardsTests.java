@@ -0,0 +1,127 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.archive.ArchivedDonations;
+import com.pawsitivedrive.backend.repository.DonationsRepository;
+import com.pawsitivedrive.backend.service.DonationLeaderboards.Dimension;
+import com.pawsitivedrive.backend.service.DonationLeaderboards.Standing;
+import com.pawsitivedrive.backend.service.DonationLeaderboards.Window;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Boards rank by total, highest first, merge hot and archived sums on the all-time board, count only
+ * Completed donations committed after the rebuild snapshot, and replay donations that arrived while
+ * the rebuild was running.
+ */
+class DonationLeaderboardsTests {
+
+	private final DonationsRepository donationsRepository = mock(DonationsRepository.class);
+	private final ArchivedDonations archivedDonations = mock(ArchivedDonations.class);
+	private final DonationLeaderboards leaderboards = new DonationLeaderboards(donationsRepository, archivedDonations);
+
+	@Test
+	void rebuildRanksByTotalAndMergesArchivedSums() {
+		when(donationsRepository.findMaxDonationId()).thenReturn(10L);
+		when(donationsRepository.sumCompletedByUserSince(any(), anyLong())).thenReturn(rows(
+				row(1, 500.0, 2), row(2, 1200.5, 3), row(3, 500.0, 1)));
+		when(donationsRepository.sumCompletedByPetSince(any(), anyLong())).thenReturn(rows(row(7, 300.0, 1)));
+		when(archivedDonations.sumCompletedByUser()).thenReturn(rows(row(1, 1000.0, 4)));
+		when(archivedDonations.sumCompletedByPet()).thenReturn(rows(row(8, 50.0, 1)));
+
+		leaderboards.rebuild();
+
+		assertEquals(List.of(new Standing(1, 150_000, 6), new Standing(2, 120_050, 3), new Standing(3, 50_000, 1)),
+				leaderboards.top(Dimension.DONORS, Window.ALL, 10));
+		// Archived sums only reach the all-time board; equal totals fall back to the lower id
+		assertEquals(List.of(new Standing(2, 120_050, 3), new Standing(1, 50_000, 2)),
+				leaderboards.top(Dimension.DONORS, Window.MONTH, 2));
+		assertEquals(List.of(7L), ids(leaderboards.top(Dimension.PETS, Window.WEEK, 10)));
+		assertEquals(List.of(7L, 8L), ids(leaderboards.top(Dimension.PETS, Window.ALL, 10)));
+		assertEquals(new BigDecimal("1200.50"), leaderboards.top(Dimension.DONORS, Window.ALL, 10).get(1).total());
+	}
+
+	@Test
+	void onlyNewCompletedDonationsAreCounted() {
+		when(donationsRepository.findMaxDonationId()).thenReturn(10L);
+		when(donationsRepository.sumCompletedByUserSince(any(), anyLong())).thenReturn(rows(row(1, 100.0, 1)));
+		leaderboards.rebuild();
+
+		leaderboards.onDonationCreated(donation(10, 1, 5, 999.0, "Completed"));
+		leaderboards.onDonationCreated(donation(11, 2, 5, 999.0, "Pending"));
+		leaderboards.onDonationCreated(donation(12, 2, 5, 0, "Completed"));
+		leaderboards.onDonationCreated(donation(13, 2, 5, 250.25, "Completed"));
+		leaderboards.onDonationCreated(donation(14, 1, 6, 100.0, "completed"));
+
+		for (Window window : Window.values()) {
+			assertEquals(List.of(new Standing(2, 25_025, 1), new Standing(1, 20_000, 2)),
+					leaderboards.top(Dimension.DONORS, window, 10), window.name());
+			assertEquals(List.of(new Standing(5, 25_025, 1), new Standing(6, 10_000, 1)),
+					leaderboards.top(Dimension.PETS, window, 10), window.name());
+		}
+	}
+
+	@Test
+	void donationsBeforeTheRebuildAreReplayed() {
+		when(donationsRepository.findMaxDonationId()).thenReturn(3L);
+		when(donationsRepository.sumCompletedByUserSince(any(), anyLong())).thenReturn(rows(row(1, 100.0, 1)));
+		// Donation 3 is already in the snapshot, donation 4 committed after it
+		leaderboards.onDonationCreated(donation(3, 1, 5, 100.0, "Completed"));
+		leaderboards.onDonationCreated(donation(4, 1, 5, 40.0, "Completed"));
+		assertTrue(leaderboards.top(Dimension.DONORS, Window.ALL, 10).isEmpty());
+
+		leaderboards.rebuild();
+
+		assertEquals(List.of(new Standing(1, 14_000, 2)), leaderboards.top(Dimension.DONORS, Window.ALL, 10));
+	}
+
+	@Test
+	void concurrentDonationsAddUp() throws Exception {
+		when(donationsRepository.findMaxDonationId()).thenReturn(0L);
+		leaderboards.rebuild();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int i = 1; i <= 4000; i++) {
+			long id = i;
+			executor.execute(() -> leaderboards.onDonationCreated(donation(id, id % 4, id % 2, 1.25, "Completed")));
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+		List<Standing> donors = leaderboards.top(Dimension.DONORS, Window.ALL, 10);
+		assertEquals(List.of(0L, 1L, 2L, 3L), ids(donors));
+		for (Standing standing : donors) {
+			assertEquals(new Standing(standing.id(), 125_000, 1000), standing);
+		}
+		assertEquals(2, leaderboards.top(Dimension.PETS, Window.WEEK, 10).size());
+	}
+
+	private static DonationCreatedEvent donation(long id, long userId, long petId, double amount, String status) {
+		return new DonationCreatedEvent(id, userId, petId, amount, status, "GCash", LocalDateTime.now());
+	}
+
+	private static Object[] row(long id, double sum, long count) {
+		return new Object[]{id, sum, count};
+	}
+
+	private static List<Object[]> rows(Object[]... rows) {
+		return new ArrayList<>(List.of(rows));
+	}
+
+	private static List<Long> ids(List<Standing> standings) {
+		return standings.stream().map(Standing::id).toList();
+	}
+}
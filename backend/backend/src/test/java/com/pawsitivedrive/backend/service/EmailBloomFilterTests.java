@@ -0,0 +1,126 @@
+package com.pawsitivedrive.backend.service;
+
+import com.pawsitivedrive.backend.repository.UsersRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The e-mail filter never reports a registered address as unknown: not after a rebuild, not for signups
+ * that land while a rebuild is scanning the table, and not before the first build. Unknown addresses are
+ * mostly answered as such.
+ */
+class EmailBloomFilterTests {
+
+	private final UsersRepository usersRepository = mock(UsersRepository.class);
+	// The users table; a signup commits its row here and then calls add(), as UserService does
+	private final List<String> table = new CopyOnWriteArrayList<>();
+
+	@Test
+	void everyRegisteredAddressIsFoundAfterRebuild() {
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < 25_000; i++) {
+			emails.add("Donor" + i + "@Test.Local");
+		}
+		EmailBloomFilter filter = new EmailBloomFilter(usersRepository, 1000, 0.01);
+		table.addAll(emails);
+		scan(null);
+
+		filter.rebuild();
+
+		for (String email : emails) {
+			assertTrue(filter.mightContain(email.toLowerCase() + " "), email);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.mightContain("stranger" + i + "@test.local")) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void everythingMightBePresentBeforeTheFirstBuild() {
+		EmailBloomFilter filter = new EmailBloomFilter(usersRepository, 1000, 0.01);
+
+		assertTrue(filter.mightContain("anyone@test.local"));
+	}
+
+	@Test
+	void signupsDuringRebuildAreKept() {
+		EmailBloomFilter filter = new EmailBloomFilter(usersRepository, 1000, 0.01);
+		table.add("old@test.local");
+		// The scan has already read its page when these sign up, so only add() can put them in the new filter
+		scan(() -> signUp(filter, "during-first@test.local"));
+		filter.rebuild();
+		scan(() -> signUp(filter, "during-second@test.local"));
+		filter.rebuild();
+		signUp(filter, "after@test.local");
+
+		assertTrue(filter.mightContain("old@test.local"));
+		assertTrue(filter.mightContain("during-first@test.local"));
+		assertTrue(filter.mightContain("during-second@test.local"));
+		assertTrue(filter.mightContain("after@test.local"));
+		assertFalse(filter.mightContain("never-registered@test.local"));
+	}
+
+	@Test
+	void concurrentSignupsSurviveRepeatedRebuilds() throws Exception {
+		EmailBloomFilter filter = new EmailBloomFilter(usersRepository, 1000, 0.001);
+		table.add("seed@test.local");
+		scan(null);
+		filter.rebuild();
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread signups = Thread.ofPlatform().start(() -> {
+			for (int i = 0; running.get() && i < 20_000; i++) {
+				signUp(filter, "racer" + i + "@test.local");
+			}
+		});
+		try {
+			for (int i = 0; i < 200; i++) {
+				filter.rebuild();
+			}
+		} finally {
+			running.set(false);
+			signups.join();
+		}
+
+		for (String email : table) {
+			assertTrue(filter.mightContain(email), email);
+		}
+	}
+
+	private void signUp(EmailBloomFilter filter, String email) {
+		table.add(email);
+		filter.add(email);
+	}
+
+	// Pages of the table by position as user id; afterFirstPage runs once the rebuild has read the first page
+	private void scan(Runnable afterFirstPage) {
+		when(usersRepository.count()).thenAnswer(invocation -> (long) table.size());
+		when(usersRepository.findEmailsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+			long after = invocation.getArgument(0);
+			int size = invocation.<Pageable>getArgument(1).getPageSize();
+			List<Object[]> page = new ArrayList<>();
+			for (int i = (int) after; i < table.size() && page.size() < size; i++) {
+				page.add(new Object[] {(long) i + 1, table.get(i)});
+			}
+			if (afterFirstPage != null && after == 0) {
+				afterFirstPage.run();
+			}
+			return page;
+		});
+	}
+}
@@ -0,0 +1,151 @@
+package com.pawsitivedrive.backend.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A caller's traceparent is continued: same trace id, the caller's span as parent, its tracestate kept and
+ * its sampled flag followed whatever the sample rate. Without one (or with an invalid one) a new trace starts
+ * and sample-rate decides. Spans are read back from the exporter's file.
+ */
+class TracingFilterTests {
+
+	private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+	private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void sampledTraceparentIsContinued() throws Exception {
+		Tracer tracer = tracer(0);
+		MockHttpServletResponse response = get(tracer, "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01", "vendor=abc");
+		tracer.close();
+
+		String traceresponse = response.getHeader(TracingFilter.TRACERESPONSE);
+		assertTrue(traceresponse.startsWith("00-" + TRACE_ID + "-"), traceresponse);
+		assertTrue(traceresponse.endsWith("-01"), traceresponse);
+		List<JsonNode> spans = exported();
+		assertEquals(2, spans.size());
+		JsonNode server = spans.stream().filter(span -> span.get("kind").asInt() == 2).findFirst().orElseThrow();
+		JsonNode child = spans.stream().filter(span -> span.get("name").asText().equals("child")).findFirst().orElseThrow();
+		assertEquals(TRACE_ID, server.get("traceId").asText());
+		assertEquals(CALLER_SPAN_ID, server.get("parentSpanId").asText());
+		assertEquals("vendor=abc", server.get("traceState").asText());
+		assertEquals(traceresponse.substring(36, 52), server.get("spanId").asText());
+		assertNotEquals(CALLER_SPAN_ID, server.get("spanId").asText());
+		assertEquals(TRACE_ID, child.get("traceId").asText());
+		assertEquals(server.get("spanId").asText(), child.get("parentSpanId").asText());
+	}
+
+	@Test
+	void unsampledTraceparentIsFollowed() throws Exception {
+		Tracer tracer = tracer(1);
+		MockHttpServletResponse response = get(tracer, "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-00", null);
+		tracer.close();
+
+		String traceresponse = response.getHeader(TracingFilter.TRACERESPONSE);
+		assertTrue(traceresponse.startsWith("00-" + TRACE_ID + "-"), traceresponse);
+		assertTrue(traceresponse.endsWith("-00"), traceresponse);
+		assertTrue(exported().isEmpty());
+	}
+
+	@Test
+	void withoutTraceparentSampleRateDecides() throws Exception {
+		Tracer never = tracer(0);
+		for (int i = 0; i < 20; i++) {
+			assertTrue(get(never, null, null).getHeader(TracingFilter.TRACERESPONSE).endsWith("-00"));
+		}
+		never.close();
+		assertTrue(exported().isEmpty());
+
+		Tracer always = tracer(1);
+		List<String> traceIds = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			String traceresponse = get(always, null, null).getHeader(TracingFilter.TRACERESPONSE);
+			assertTrue(traceresponse.endsWith("-01"), traceresponse);
+			traceIds.add(traceresponse.substring(3, 35));
+		}
+		always.close();
+		List<JsonNode> servers = exported().stream().filter(span -> span.get("kind").asInt() == 2).toList();
+		assertEquals(20, servers.size());
+		assertEquals(20, traceIds.stream().distinct().count());
+		for (JsonNode server : servers) {
+			assertTrue(traceIds.contains(server.get("traceId").asText()));
+			assertFalse(server.has("parentSpanId"));
+		}
+	}
+
+	@Test
+	void invalidTraceparentStartsANewTrace() throws Exception {
+		Tracer tracer = tracer(1);
+		List<String> invalid = List.of(
+				"ff-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01",
+				"00-" + "0".repeat(32) + "-" + CALLER_SPAN_ID + "-01",
+				"00-" + TRACE_ID + "-" + "0".repeat(16) + "-01",
+				"00-" + TRACE_ID.toUpperCase() + "-" + CALLER_SPAN_ID + "-01",
+				"00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01-extra");
+		for (String traceparent : invalid) {
+			String traceresponse = get(tracer, traceparent, "vendor=abc").getHeader(TracingFilter.TRACERESPONSE);
+			assertFalse(traceresponse.contains(TRACE_ID), traceparent);
+		}
+		tracer.close();
+		for (JsonNode span : exported()) {
+			assertFalse(span.has("parentSpanId") && span.get("kind").asInt() == 2);
+			assertFalse(span.has("traceState"));
+		}
+	}
+
+	private MockHttpServletResponse get(Tracer tracer, String traceparent, String tracestate) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pets");
+		if (traceparent != null) {
+			request.addHeader(TracingFilter.TRACEPARENT, traceparent);
+		}
+		if (tracestate != null) {
+			request.addHeader(TracingFilter.TRACESTATE, tracestate);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		// What a repository call inside the request would do
+		FilterChain chain = (req, res) -> tracer.startSpan("child").close();
+		new TracingFilter(tracer).doFilter(request, response, chain);
+		return response;
+	}
+
+	private Tracer tracer(double sampleRate) throws Exception {
+		TracingProperties properties = new TracingProperties();
+		properties.setDir(dir.toString());
+		properties.setSampleRate(sampleRate);
+		return new Tracer(sampleRate, new OtlpJsonFileExporter(properties, new SimpleMeterRegistry()));
+	}
+
+	private List<JsonNode> exported() throws Exception {
+		Path file = dir.resolve(OtlpJsonFileExporter.FILE);
+		List<JsonNode> spans = new ArrayList<>();
+		if (!Files.exists(file)) {
+			return spans;
+		}
+		ObjectMapper objectMapper = new ObjectMapper();
+		for (String line : Files.readAllLines(file)) {
+			for (JsonNode span : objectMapper.readTree(line).at("/resourceSpans/0/scopeSpans/0/spans")) {
+				spans.add(span);
+			}
+		}
+		return spans;
+	}
+}
@@ -0,0 +1,71 @@
+package com.pawsitivedrive.benchmarks;
+
+import com.pawsitivedrive.backend.service.FileStorageService;
+import com.pawsitivedrive.backend.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileStorageService.store for a small avatar-sized upload and a large photo close to the 10MB limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    @Param({"16384", "8388608"})
+    public int bytes;
+
+    private Path dir;
+    private FileStorageService storage;
+    private MockMultipartFile file;
+    private String lastStored;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("pawsitive-bench-uploads");
+        storage = new FileStorageService(dir.toString(), new SimpleMeterRegistry(), Tracer.noop());
+        byte[] content = new byte[bytes];
+        new Random(42).nextBytes(content);
+        file = new MockMultipartFile("file", "photo.jpg", "image/jpeg", content);
+    }
+
+    @Benchmark
+    public String store() throws Exception {
+        lastStored = storage.store(file);
+        return lastStored;
+    }
+
+    // Keep the disk from filling up during long runs; measured separately from store()
+    @TearDown(Level.Invocation)
+    public void deleteStored() {
+        storage.deleteFile(lastStored);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+}
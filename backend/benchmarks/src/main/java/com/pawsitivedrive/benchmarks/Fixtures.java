@@ -0,0 +1,114 @@
+package com.pawsitivedrive.benchmarks;
+
+import com.pawsitivedrive.backend.entity.AdoptionApplications;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Roles;
+import com.pawsitivedrive.backend.entity.Users;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds entity graphs shaped like the ones the controllers return.
+ */
+final class Fixtures {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final String DESCRIPTION = "Friendly and calm, good with kids and other pets. "
+            + "Fully vaccinated, house-trained and loves long walks in the park.";
+
+    private Fixtures() {
+    }
+
+    static Roles role(String name) {
+        Roles role = new Roles();
+        role.setRole_id(name.equals("Admin") ? 2L : 1L);
+        role.setRole_name(name);
+        return role;
+    }
+
+    static Users user(long id) {
+        Users user = new Users("Donor " + id, "donor" + id + "@example.com",
+                "$2a$10$abcdefghijklmnopqrstuuKzZ1F7dQ9cZ1Ne2XbNfN2cJqzq3tVZS", role("Donor"), "active");
+        user.setUser_id(id);
+        user.setContact_number("0917" + String.format("%07d", id));
+        user.setAddress(id + " Mabini St., Cebu City");
+        user.setCreated_at(BASE.plusMinutes(id));
+        return user;
+    }
+
+    static Pets pet(long id, Users addedBy) {
+        Pets pet = new Pets();
+        pet.setPet_id(id);
+        pet.setName("Pet " + id);
+        pet.setSpecies(id % 2 == 0 ? "Dog" : "Cat");
+        pet.setBreed(id % 2 == 0 ? "Aspin" : "Puspin");
+        pet.setAge((int) (id % 15));
+        pet.setGender(id % 3 == 0 ? "Female" : "Male");
+        pet.setStatus("Available");
+        pet.setDescription(DESCRIPTION);
+        pet.setImage_url("http://localhost:8080/uploads/" + id + ".webp");
+        pet.setCreated_at(BASE.plusHours(id));
+        pet.setAddedBy(addedBy);
+        return pet;
+    }
+
+    static Donations donation(long id, Users user, Pets pet) {
+        Donations donation = new Donations();
+        donation.setDonation_id(id);
+        donation.setAmount(100 + (id % 50) * 25);
+        donation.setDonation_date(BASE.plusMinutes(id * 7));
+        donation.setPayment_method(id % 2 == 0 ? "GCash" : "Credit Card");
+        donation.setStatus("Completed");
+        donation.setUser(user);
+        donation.setPet(pet);
+        return donation;
+    }
+
+    static List<Users> users(int count) {
+        List<Users> users = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    static List<Pets> pets(int count) {
+        Users admin = user(0);
+        List<Pets> pets = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            pets.add(pet(i, admin));
+        }
+        return pets;
+    }
+
+    static List<Donations> donations(int count) {
+        List<Users> users = users(Math.max(1, count / 10));
+        List<Pets> pets = pets(Math.max(1, count / 20));
+        List<Donations> donations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            donations.add(donation(i + 1L, users.get(i % users.size()), pets.get(i % pets.size())));
+        }
+        return donations;
+    }
+
+    static List<AdoptionApplications> applications(int count) {
+        Users admin = user(0);
+        List<Users> users = users(Math.max(1, count / 10));
+        List<Pets> pets = pets(Math.max(1, count / 20));
+        List<AdoptionApplications> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AdoptionApplications application = new AdoptionApplications();
+            application.setApplication_id(i + 1L);
+            application.setUser(users.get(i % users.size()));
+            application.setPet(pets.get(i % pets.size()));
+            application.setReviewedBy(i % 3 == 0 ? null : admin);
+            application.setApplication_date(BASE.plusMinutes(i * 11L));
+            application.setStatus(i % 3 == 0 ? "Pending" : "Rejected");
+            applications.add(application);
+        }
+        return applications;
+    }
+}
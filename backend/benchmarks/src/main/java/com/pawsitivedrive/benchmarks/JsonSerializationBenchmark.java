@@ -0,0 +1,65 @@
+package com.pawsitivedrive.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.entity.Donations;
+import com.pawsitivedrive.backend.entity.Pets;
+import com.pawsitivedrive.backend.entity.Users;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list endpoints (GET /api/pets, /api/donations, /api/users).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Pets> pets;
+    private List<Donations> donations;
+    private List<Users> users;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        pets = Fixtures.pets(size);
+        donations = Fixtures.donations(size);
+        users = Fixtures.users(size);
+    }
+
+    @Benchmark
+    public byte[] pets() throws Exception {
+        return mapper.writeValueAsBytes(pets);
+    }
+
+    @Benchmark
+    public byte[] donations() throws Exception {
+        return mapper.writeValueAsBytes(donations);
+    }
+
+    @Benchmark
+    public byte[] users() throws Exception {
+        return mapper.writeValueAsBytes(users);
+    }
+}
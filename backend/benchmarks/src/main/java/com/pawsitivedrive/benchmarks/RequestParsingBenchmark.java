@@ -0,0 +1,85 @@
+package com.pawsitivedrive.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pawsitivedrive.backend.controller.RequestPayloads;
+import com.pawsitivedrive.backend.service.ReceiptNumbers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-map parsing done by DonationsController.create, AdoptionApplicationsController.create and
+ * PetsController.create (addedBy), plus receipt number formatting. The maps are produced by Jackson
+ * from the same JSON the frontend sends, so numeric ids arrive as Integer and string ids as String.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestParsingBenchmark {
+
+    private Map<String, Object> donationRequest;
+    private Map<String, Object> applicationRequest;
+    private Map<String, Object> petObjectRequest;
+    private Map<String, Object> petRawIdRequest;
+    private LocalDateTime issuedAt;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        TypeReference<Map<String, Object>> type = new TypeReference<>() { };
+        donationRequest = mapper.readValue(
+                "{\"user\":{\"user_id\":42},\"pet\":{\"pet_id\":\"7\"},\"amount\":\"500.00\","
+                        + "\"payment_method\":\"GCash\",\"status\":\"Completed\"}", type);
+        applicationRequest = mapper.readValue(
+                "{\"pet\":{\"id\":7},\"user\":{\"user_id\":42},\"status\":\"Pending\"}", type);
+        petObjectRequest = mapper.readValue(
+                "{\"name\":\"Bantay\",\"age\":\"3\",\"addedBy\":{\"user_id\":1}}", type);
+        petRawIdRequest = mapper.readValue(
+                "{\"name\":\"Muning\",\"age\":2,\"addedBy\":\"1\"}", type);
+        issuedAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+    }
+
+    @Benchmark
+    public void donationCreate(Blackhole bh) {
+        bh.consume(RequestPayloads.nestedId(donationRequest, "user", "user_id"));
+        bh.consume(RequestPayloads.nestedId(donationRequest, "pet", "pet_id"));
+        bh.consume(Double.parseDouble(donationRequest.get("amount").toString()));
+    }
+
+    @Benchmark
+    public void applicationCreate(Blackhole bh) {
+        bh.consume(RequestPayloads.nestedId(applicationRequest, "pet", "pet_id"));
+        bh.consume(RequestPayloads.nestedId(applicationRequest, "user", "user_id"));
+    }
+
+    @Benchmark
+    public Long petAddedByObject() {
+        return RequestPayloads.addedByUserId(petObjectRequest);
+    }
+
+    @Benchmark
+    public Long petAddedByRawId() {
+        return RequestPayloads.addedByUserId(petRawIdRequest);
+    }
+
+    @Benchmark
+    public String receiptNumber() {
+        return ReceiptNumbers.format(123456L, issuedAt);
+    }
+}
@@ -0,0 +1,112 @@
+package com.pawsitivedrive.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.pawsitivedrive.backend.config.EntityReferenceModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin list payloads (GET /api/donations, /api/applications) per wire format and nesting mode:
+ * encode time on the server and decode time for a client that reads the generic tree. Payload sizes are
+ * reported next to the timings as the donationBytes / applicationBytes secondary results, e.g.
+ * {@code java -jar target/benchmarks.jar WireFormat -p size=1000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    // nested = current responses, id = ?refs=id
+    @Param({"nested", "id"})
+    public String refs;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private ObjectWriter writer;
+    private List<?> donations;
+    private List<?> applications;
+    private byte[] donationBytes;
+    private byte[] applicationBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same builder and module as the MVC converters in WireFormatConfig
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(new EntityReferenceModule());
+        mapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        writer = "id".equals(refs) ? mapper.writer(EntityReferenceModule.ID_REFERENCES) : mapper.writer();
+        donations = Fixtures.donations(size);
+        applications = Fixtures.applications(size);
+        donationBytes = writer.writeValueAsBytes(donations);
+        applicationBytes = writer.writeValueAsBytes(applications);
+    }
+
+    /**
+     * Payload sizes of the trial's parameters. JMH zeroes the fields before each iteration and reads them
+     * after it; every invocation sets (not adds) them, so the reported value is the size itself.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long donationBytes;
+        public long applicationBytes;
+    }
+
+    private void report(PayloadSize payload) {
+        payload.donationBytes = donationBytes.length;
+        payload.applicationBytes = applicationBytes.length;
+    }
+
+    @Benchmark
+    public byte[] encodeDonations(PayloadSize payload) throws Exception {
+        report(payload);
+        return writer.writeValueAsBytes(donations);
+    }
+
+    @Benchmark
+    public byte[] encodeApplications(PayloadSize payload) throws Exception {
+        report(payload);
+        return writer.writeValueAsBytes(applications);
+    }
+
+    @Benchmark
+    public JsonNode decodeDonations(PayloadSize payload) throws Exception {
+        report(payload);
+        return mapper.readTree(donationBytes);
+    }
+
+    @Benchmark
+    public JsonNode decodeApplications(PayloadSize payload) throws Exception {
+        report(payload);
+        return mapper.readTree(applicationBytes);
+    }
+}
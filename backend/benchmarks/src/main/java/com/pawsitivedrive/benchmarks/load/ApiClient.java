@@ -0,0 +1,87 @@
+package com.pawsitivedrive.benchmarks.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin JSON wrapper around java.net.http.HttpClient that records every call into {@link EndpointStats}.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /** Result of one call; body is only parsed when the caller asks for it. */
+    record Response(int status, String body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    Response get(EndpointStats stats, String endpoint, String path, long intendedStartNanos) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        return send(stats, endpoint, request, intendedStartNanos);
+    }
+
+    Response post(EndpointStats stats, String endpoint, String path, Object body, long intendedStartNanos) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode request body for " + endpoint, e);
+        }
+        return send(stats, endpoint, request, intendedStartNanos);
+    }
+
+    Map<String, Object> json(Response response) {
+        try {
+            return mapper.readValue(response.body(), new TypeReference<>() { });
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected response body: " + response.body(), e);
+        }
+    }
+
+    /**
+     * Latency is measured from the intended start time so that, in the open model, time spent
+     * queued behind a slow server is counted (no coordinated omission).
+     */
+    private Response send(EndpointStats stats, String endpoint, HttpRequest request, long intendedStartNanos) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(endpoint, System.nanoTime() - intendedStartNanos, response.statusCode());
+            return new Response(response.statusCode(), response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.recordFailure(endpoint, System.nanoTime() - intendedStartNanos);
+            return new Response(-1, "");
+        } catch (Exception e) {
+            stats.recordFailure(endpoint, System.nanoTime() - intendedStartNanos);
+            return new Response(-1, "");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.pawsitivedrive.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (HdrHistogram, microsecond resolution) and status code counts.
+ * Recording is lock-free so it does not distort the measurements it takes.
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    static final class Endpoint {
+        private final Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long nanos, int status, boolean error) {
+            recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_TRACKABLE_MICROS));
+            statusCodes.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+
+    /** Immutable view of one endpoint at the end of a run. */
+    record Snapshot(String endpoint, Histogram latencyMicros, Map<Integer, Long> statusCodes, long errors) {
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+    }
+
+    void record(String endpoint, long nanos, int status) {
+        // 409 is an expected answer (duplicate application, email taken) rather than a server failure
+        boolean error = status >= 500 || (status >= 400 && status != 409);
+        endpoint(endpoint).record(nanos, status, error);
+    }
+
+    void recordFailure(String endpoint, long nanos) {
+        endpoint(endpoint).record(nanos, -1, true);
+    }
+
+    /** Drops everything recorded so far (used at the end of warm-up). */
+    void reset() {
+        endpoints.clear();
+    }
+
+    Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        endpoints.forEach((name, e) -> {
+            Map<Integer, Long> codes = new TreeMap<>();
+            e.statusCodes.forEach((code, count) -> codes.put(code, count.sum()));
+            result.put(name, new Snapshot(name, e.recorder.getIntervalHistogram(), codes, e.errors.sum()));
+        });
+        return result;
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, n -> new Endpoint());
+    }
+}
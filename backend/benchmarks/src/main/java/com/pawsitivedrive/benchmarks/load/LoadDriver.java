@@ -0,0 +1,176 @@
+package com.pawsitivedrive.benchmarks.load;
+
+import com.pawsitivedrive.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP load driver for the backend API.
+ *
+ * <p>Without --base-url the application is started in-process with the "loadtest" profile (embedded
+ * H2 in MySQL mode), so no MySQL server is needed. Two workload models are supported:
+ * <ul>
+ *   <li>closed: --users virtual users each run a journey, think for ~--think-ms, and repeat;</li>
+ *   <li>open: journeys arrive as a Poisson process at --rate per second regardless of how fast the
+ *       server answers, which is what exposes queueing and p99 growth near capacity.</li>
+ * </ul>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.pawsitivedrive.benchmarks.load.LoadDriver --model=open --rate=150 --duration=60
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        String model = opts.getOrDefault("model", "closed");
+        long warmupSeconds = Long.parseLong(opts.getOrDefault("warmup", "10"));
+        long durationSeconds = Long.parseLong(opts.getOrDefault("duration", "60"));
+        int users = Integer.parseInt(opts.getOrDefault("users", "32"));
+        long thinkMs = Long.parseLong(opts.getOrDefault("think-ms", "200"));
+        double rate = Double.parseDouble(opts.getOrDefault("rate", "100"));
+        int maxInFlight = Integer.parseInt(opts.getOrDefault("max-in-flight", "2000"));
+        int donors = Integer.parseInt(opts.getOrDefault("donors", "100"));
+        int pets = Integer.parseInt(opts.getOrDefault("pets", "50"));
+        long seed = Long.parseLong(opts.getOrDefault("seed", "42"));
+        String mix = opts.getOrDefault("mix", "browse:45,login:15,donate:15,apply:10,admin:15");
+        Path out = Paths.get(opts.getOrDefault("out", "results/load-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+
+        ConfigurableApplicationContext app = null;
+        String baseUrl = opts.get("base-url");
+        if (baseUrl == null) {
+            app = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles("loadtest")
+                    .run("--server.port=0");
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            ApiClient client = new ApiClient(baseUrl);
+            EndpointStats stats = new EndpointStats();
+            System.out.printf("Seeding %d donors and %d pets against %s ...%n", donors, pets, baseUrl);
+            Workload workload = Workload.seed(client, stats, Workload.parseMix(mix), donors, pets, seed);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("base_url", baseUrl);
+            settings.put("model", model);
+            settings.put("mix", mix);
+            settings.put("warmup_seconds", warmupSeconds);
+            settings.put("duration_seconds", durationSeconds);
+            settings.put("seed", seed);
+            settings.put("donors", workload.donorCount());
+            settings.put("pets", workload.petCount());
+            if ("open".equals(model)) {
+                settings.put("rate_per_second", rate);
+                settings.put("max_in_flight", maxInFlight);
+            } else {
+                settings.put("users", users);
+                settings.put("think_ms", thinkMs);
+            }
+
+            System.out.printf("Warming up for %ds (%s model) ...%n", warmupSeconds, model);
+            run(model, workload, users, thinkMs, rate, maxInFlight, seed, warmupSeconds, stats);
+            stats.reset();
+
+            System.out.printf("Measuring for %ds ...%n", durationSeconds);
+            long started = System.nanoTime();
+            run(model, workload, users, thinkMs, rate, maxInFlight, seed + 1, durationSeconds, stats);
+            double measured = (System.nanoTime() - started) / 1e9;
+
+            LoadReport report = new LoadReport(settings, stats.snapshot(), measured);
+            report.print(System.out);
+            report.writeJson(out);
+            System.out.println("Results written to " + out.toAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static void run(String model, Workload workload, int users, long thinkMs, double rate,
+                            int maxInFlight, long seed, long seconds, EndpointStats stats) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        switch (model) {
+            case "closed" -> runClosed(workload, users, thinkMs, seed, deadline);
+            case "open" -> runOpen(workload, rate, maxInFlight, seed, deadline, stats);
+            default -> throw new IllegalArgumentException("--model must be 'closed' or 'open', got: " + model);
+        }
+    }
+
+    private static void runClosed(Workload workload, int users, long thinkMs, long seed, long deadline) {
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                SplittableRandom random = new SplittableRandom(seed * 31 + u);
+                pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        workload.runOnce(random, System.nanoTime());
+                        // Exponentially distributed think time with the requested mean
+                        long think = (long) (-Math.log(1 - random.nextDouble()) * thinkMs);
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(think));
+                    }
+                });
+            }
+        }
+    }
+
+    private static void runOpen(Workload workload, double rate, int maxInFlight, long seed, long deadline,
+                                EndpointStats stats) {
+        SplittableRandom arrivals = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = System.nanoTime();
+            while (next < deadline) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = next;
+                if (!inFlight.tryAcquire()) {
+                    // The driver itself is saturated; count the arrival as failed instead of silently
+                    // slowing down (which would turn the open model back into a closed one)
+                    stats.recordFailure("driver overload", 0);
+                } else {
+                    SplittableRandom random = arrivals.split();
+                    pool.submit(() -> {
+                        try {
+                            workload.runOnce(random, intendedStart);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                next += (long) (-Math.log(1 - arrivals.nextDouble()) / rate * 1e9);
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,98 @@
+package com.pawsitivedrive.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the per-endpoint summary table and writes the full results (including latency histograms)
+ * as JSON so that two runs can be compared.
+ */
+final class LoadReport {
+
+    private final Map<String, Object> settings;
+    private final Map<String, EndpointStats.Snapshot> endpoints;
+    private final double seconds;
+
+    LoadReport(Map<String, Object> settings, Map<String, EndpointStats.Snapshot> endpoints, double seconds) {
+        this.settings = settings;
+        this.endpoints = endpoints;
+        this.seconds = seconds;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-28s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        long errors = 0;
+        for (EndpointStats.Snapshot s : endpoints.values()) {
+            Histogram h = s.latencyMicros();
+            total += s.requests();
+            errors += s.errors();
+            out.printf("%-28s %9d %9.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.endpoint(), s.requests(), s.requests() / seconds, errorRate(s) * 100,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        }
+        out.printf("%-28s %9d %9.1f %6.2f%%%n%n", "TOTAL", total, total / seconds,
+                total == 0 ? 0.0 : errors * 100.0 / total);
+    }
+
+    void writeJson(Path file) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (EndpointStats.Snapshot s : endpoints.values()) {
+            Histogram h = s.latencyMicros();
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("mean", ms((long) h.getMean()));
+            latency.put("p50", ms(h.getValueAtPercentile(50)));
+            latency.put("p90", ms(h.getValueAtPercentile(90)));
+            latency.put("p99", ms(h.getValueAtPercentile(99)));
+            latency.put("p999", ms(h.getValueAtPercentile(99.9)));
+            latency.put("max", ms(h.getMaxValue()));
+
+            // Log-scale buckets starting at 1 ms: [<=1ms, <=2ms, <=4ms, ...]
+            List<Map<String, Object>> buckets = new ArrayList<>();
+            for (HistogramIterationValue v : h.logarithmicBucketValues(1000, 2)) {
+                if (v.getCountAddedInThisIterationStep() > 0) {
+                    buckets.add(Map.of("le_ms", ms(v.getValueIteratedTo()), "count", v.getCountAddedInThisIterationStep()));
+                }
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", s.endpoint());
+            row.put("requests", s.requests());
+            row.put("throughput_rps", s.requests() / seconds);
+            row.put("errors", s.errors());
+            row.put("error_rate", errorRate(s));
+            row.put("status_codes", s.statusCodes());
+            row.put("latency_ms", latency);
+            row.put("histogram", buckets);
+            rows.add(row);
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("measured_seconds", seconds);
+        json.put("endpoints", rows);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    private static double errorRate(EndpointStats.Snapshot s) {
+        return s.requests() == 0 ? 0.0 : (double) s.errors() / s.requests();
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
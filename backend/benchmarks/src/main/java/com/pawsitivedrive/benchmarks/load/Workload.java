@@ -0,0 +1,180 @@
+package com.pawsitivedrive.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The user journeys driven against the API and their relative weights. Each journey may issue several
+ * requests; every request is recorded under its own endpoint template (e.g. "GET /api/pets/{id}").
+ */
+final class Workload {
+
+    static final String PASSWORD = "LoadTest#2025";
+
+    enum Journey { BROWSE, LOGIN, DONATE, APPLY, ADMIN }
+
+    private final ApiClient client;
+    private final EndpointStats stats;
+    private final Journey[] table;
+    private final List<Long> donorIds;
+    private final List<String> donorEmails;
+    private final List<Long> petIds;
+
+    private Workload(ApiClient client, EndpointStats stats, Map<Journey, Integer> mix,
+                     List<Long> donorIds, List<String> donorEmails, List<Long> petIds) {
+        this.client = client;
+        this.stats = stats;
+        this.donorIds = donorIds;
+        this.donorEmails = donorEmails;
+        this.petIds = petIds;
+
+        // Expand the weights into a 100-ish slot lookup table so picking a journey is one array read
+        List<Journey> slots = new ArrayList<>();
+        mix.forEach((journey, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(journey);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix must have at least one positive weight");
+        }
+        this.table = slots.toArray(new Journey[0]);
+    }
+
+    /** Parses "browse:45,login:15,donate:15,apply:10,admin:15". */
+    static Map<Journey, Integer> parseMix(String spec) {
+        Map<Journey, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            mix.put(Journey.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Creates an admin, {@code donors} donor accounts and {@code pets} pets through the public API.
+     * Signup runs BCrypt, so accounts are created in parallel on virtual threads. Seeding calls are
+     * not counted in {@code stats}.
+     */
+    static Workload seed(ApiClient client, EndpointStats stats, Map<Journey, Integer> mix,
+                         int donors, int pets, long seed) throws Exception {
+        EndpointStats seeding = new EndpointStats();
+        String runTag = Long.toString(seed, 36) + "-" + Long.toString(System.currentTimeMillis(), 36);
+
+        Map<String, Object> admin = client.json(expectOk(client.post(seeding, "seed", "/api/auth/signup", Map.of(
+                "name", "Load Admin", "email", "admin-" + runTag + "@loadtest.local",
+                "password", PASSWORD, "role", "Admin"), System.nanoTime())));
+        Object adminId = admin.get("user_id");
+
+        List<Long> donorIds = new ArrayList<>();
+        List<String> donorEmails = new ArrayList<>();
+        List<Long> petIds = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<String, Object>>> users = new ArrayList<>();
+            for (int i = 0; i < donors; i++) {
+                String email = "donor" + i + "-" + runTag + "@loadtest.local";
+                users.add(pool.submit(() -> client.json(expectOk(client.post(seeding, "seed", "/api/auth/signup", Map.of(
+                        "name", "Donor " + email.substring(0, email.indexOf('-')), "email", email,
+                        "password", PASSWORD, "role", "Donor"), System.nanoTime())))));
+            }
+            SplittableRandom random = new SplittableRandom(seed);
+            List<Future<Map<String, Object>>> created = new ArrayList<>();
+            for (int i = 0; i < pets; i++) {
+                boolean dog = random.nextBoolean();
+                Map<String, Object> pet = Map.of(
+                        "name", (dog ? "Bantay " : "Muning ") + i,
+                        "species", dog ? "Dog" : "Cat",
+                        "breed", dog ? "Aspin" : "Puspin",
+                        "age", 1 + random.nextInt(14),
+                        "gender", random.nextBoolean() ? "Male" : "Female",
+                        "status", "Available",
+                        "description", "Seeded by the load driver. Gentle, vaccinated and ready for a home.",
+                        "addedBy", Map.of("user_id", adminId));
+                created.add(pool.submit(() -> client.json(expectOk(client.post(seeding, "seed", "/api/pets", pet, System.nanoTime())))));
+            }
+            for (Future<Map<String, Object>> user : users) {
+                Map<String, Object> body = user.get();
+                donorIds.add(((Number) body.get("user_id")).longValue());
+                donorEmails.add((String) body.get("email"));
+            }
+            for (Future<Map<String, Object>> pet : created) {
+                petIds.add(((Number) pet.get().get("pet_id")).longValue());
+            }
+        }
+        return new Workload(client, stats, mix, donorIds, donorEmails, petIds);
+    }
+
+    int donorCount() {
+        return donorIds.size();
+    }
+
+    int petCount() {
+        return petIds.size();
+    }
+
+    /** Runs one randomly chosen journey; latency of each request is measured from {@code intendedStart}. */
+    void runOnce(SplittableRandom random, long intendedStart) {
+        switch (table[random.nextInt(table.length)]) {
+            case BROWSE -> browse(random, intendedStart);
+            case LOGIN -> login(random, intendedStart);
+            case DONATE -> donate(random, intendedStart);
+            case APPLY -> apply(random, intendedStart);
+            case ADMIN -> adminDashboard(intendedStart);
+        }
+    }
+
+    private void browse(SplittableRandom random, long start) {
+        client.get(stats, "GET /api/pets", "/api/pets", start);
+        client.get(stats, "GET /api/pets/{id}", "/api/pets/" + pick(petIds, random), System.nanoTime());
+    }
+
+    private void login(SplittableRandom random, long start) {
+        String email = donorEmails.get(random.nextInt(donorEmails.size()));
+        client.post(stats, "POST /api/auth/login", "/api/auth/login",
+                Map.of("email", email, "password", PASSWORD), start);
+    }
+
+    private void donate(SplittableRandom random, long start) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("user", Map.of("user_id", pick(donorIds, random)));
+        if (random.nextInt(4) != 0) {
+            body.put("pet", Map.of("pet_id", pick(petIds, random)));
+        }
+        body.put("amount", 50 + random.nextInt(40) * 25);
+        body.put("payment_method", random.nextBoolean() ? "GCash" : "Credit Card");
+        body.put("status", "Completed");
+        client.post(stats, "POST /api/donations", "/api/donations", body, start);
+    }
+
+    private void apply(SplittableRandom random, long start) {
+        client.post(stats, "POST /api/applications", "/api/applications", Map.of(
+                "pet", Map.of("pet_id", pick(petIds, random)),
+                "user", Map.of("user_id", pick(donorIds, random)),
+                "status", "Pending"), start);
+    }
+
+    /** The requests AdminDashboard.jsx issues when it opens. */
+    private void adminDashboard(long start) {
+        client.get(stats, "GET /api/applications", "/api/applications", start);
+        client.get(stats, "GET /api/donations", "/api/donations", System.nanoTime());
+        client.get(stats, "GET /api/users", "/api/users", System.nanoTime());
+        client.get(stats, "GET /api/pets", "/api/pets", System.nanoTime());
+    }
+
+    private static Long pick(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static ApiClient.Response expectOk(ApiClient.Response response) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Seeding request failed with HTTP " + response.status() + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,267 @@
+package com.pawsitivedrive.benchmarks.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching the backend JVM to its first successful HTTP response, for the startup modes the
+ * prod build enables: plain JVM, Spring AOT initializers, a CDS archive, and both.
+ *
+ * <p>Run it against the output of {@code ./mvnw -Pprod package} (target/prod holds the extracted jar and
+ * application.jsa). Each run starts a fresh process on a free port, polls --path until it answers 2xx and
+ * then stops the process. Modes are interleaved so that drift (page cache, CPU frequency) hits all alike.
+ * By default the backend runs on an in-memory H2 database; --db=configured uses the profile's database.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.pawsitivedrive.benchmarks.startup.StartupBenchmark --runs=5
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final Map<String, List<String>> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("jvm", List.of());
+        MODES.put("aot", List.of("-Dspring.aot.enabled=true"));
+        MODES.put("cds", List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off"));
+        MODES.put("aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off"));
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        Path dir = Paths.get(opts.getOrDefault("dir", "../backend/target/prod")).toAbsolutePath().normalize();
+        List<String> modes = Arrays.asList(opts.getOrDefault("modes", String.join(",", MODES.keySet())).split(","));
+        int runs = Integer.parseInt(opts.getOrDefault("runs", "5"));
+        int warmupRuns = Integer.parseInt(opts.getOrDefault("warmup-runs", "1"));
+        String path = opts.getOrDefault("path", "/api/pets");
+        String profile = opts.getOrDefault("profile", "prod");
+        String db = opts.getOrDefault("db", "h2");
+        long timeoutSeconds = Long.parseLong(opts.getOrDefault("timeout", "120"));
+        Path out = Paths.get(opts.getOrDefault("out", "results/startup-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+
+        Path jar = findJar(dir);
+        for (String mode : modes) {
+            if (!MODES.containsKey(mode)) {
+                throw new IllegalArgumentException("Unknown mode '" + mode + "'; expected one of " + MODES.keySet());
+            }
+        }
+        if (modes.stream().anyMatch(mode -> mode.contains("cds")) && !Files.exists(dir.resolve("application.jsa"))) {
+            throw new IllegalStateException("No application.jsa in " + dir + "; build with ./mvnw -Pprod package");
+        }
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        modes.forEach(mode -> results.put(mode, new ArrayList<>()));
+        System.out.printf("Startup benchmark: %s, %d runs per mode (+%d warmup), first request GET %s%n",
+                jar.getFileName(), runs, warmupRuns, path);
+        for (int i = -warmupRuns; i < runs; i++) {
+            for (String mode : modes) {
+                Run run = launch(http, dir, jar, MODES.get(mode), profile, db, path, timeoutSeconds);
+                System.out.printf("  %-8s %s %8.0f ms to first response (Spring reported %.0f ms)%n",
+                        mode, i < 0 ? "warmup" : "run " + (i + 1), run.firstResponseMs(), run.springStartedMs());
+                if (i >= 0) {
+                    results.get(mode).add(run);
+                }
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        System.out.printf("%n%-8s %10s %10s %10s %14s%n", "mode", "min ms", "median ms", "max ms", "spring p50 ms");
+        for (Map.Entry<String, List<Run>> entry : results.entrySet()) {
+            double[] first = entry.getValue().stream().mapToDouble(Run::firstResponseMs).sorted().toArray();
+            double[] started = entry.getValue().stream().mapToDouble(Run::springStartedMs).sorted().toArray();
+            System.out.printf("%-8s %10.0f %10.0f %10.0f %14.0f%n", entry.getKey(),
+                    first[0], median(first), first[first.length - 1], median(started));
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("jvm_args", MODES.get(entry.getKey()));
+            row.put("first_response_ms", Arrays.stream(first).boxed().toList());
+            row.put("first_response_median_ms", median(first));
+            row.put("spring_started_median_ms", median(started));
+            summary.put(entry.getKey(), row);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("jar", jar.toString());
+        settings.put("runs", runs);
+        settings.put("warmup_runs", warmupRuns);
+        settings.put("path", path);
+        settings.put("profile", profile);
+        settings.put("db", db);
+        settings.put("java", System.getProperty("java.version"));
+        settings.put("cpus", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("modes", summary);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), json);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private record Run(double firstResponseMs, double springStartedMs) {
+    }
+
+    private static Run launch(HttpClient http, Path dir, Path jar, List<String> jvmArgs, String profile, String db,
+                              String path, long timeoutSeconds) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.getFileName().toString());
+        command.add("--spring.profiles.active=" + profile);
+        command.add("--server.port=" + port);
+        // Keep the run's files out of the working directory's real data
+        Path scratch = Files.createTempDirectory("startup-bench");
+        command.add("--app.audit.dir=" + scratch.resolve("audit"));
+        command.add("--app.receipts.dir=" + scratch.resolve("receipts"));
+        command.add("--app.upload-dir=" + scratch.resolve("uploads"));
+        command.add("--app.tracing.dir=" + scratch.resolve("traces"));
+        command.add("--app.profiling.dir=" + scratch.resolve("recordings"));
+        if ("h2".equals(db)) {
+            command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+            command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            command.add("--spring.datasource.username=sa");
+            command.add("--spring.datasource.password=");
+            command.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+            command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        }
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true).start();
+        double[] springStarted = {Double.NaN};
+        Deque<String> tail = new ArrayDeque<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        springStarted[0] = Double.parseDouble(matcher.group(1)) * 1000;
+                    }
+                    synchronized (tail) {
+                        tail.addLast(line);
+                        if (tail.size() > 40) {
+                            tail.removeFirst();
+                        }
+                    }
+                }
+            } catch (IOException ignored) {
+                // Process ended
+            }
+        }, "startup-bench-output");
+        reader.setDaemon(true);
+        reader.start();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend exited with " + process.exitValue() + ":\n" + tail(tail));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No 2xx from " + path + " within " + timeoutSeconds + "s:\n" + tail(tail));
+                }
+                try {
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        double firstResponseMs = (System.nanoTime() - start) / 1e6;
+                        // With deferred JPA bootstrap the first response can beat the "Started" log line
+                        long logDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                        while (Double.isNaN(springStarted[0]) && System.nanoTime() < logDeadline) {
+                            Thread.sleep(10);
+                        }
+                        return new Run(firstResponseMs, springStarted[0]);
+                    }
+                } catch (IOException notListeningYet) {
+                    // Connection refused until Tomcat is up
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            process.descendants().forEach(ProcessHandle::destroy);
+            process.destroy();
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            reader.join(1000);
+            deleteRecursively(scratch);
+        }
+    }
+
+    private static Path findJar(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-exec.jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No *-exec.jar in " + dir + "; build with ./mvnw -Pprod package"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(double[] sorted) {
+        int n = sorted.length;
+        return n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+    }
+
+    private static String tail(Deque<String> tail) {
+        synchronized (tail) {
+            return String.join("\n", tail);
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted((a, b) -> b.getNameCount() - a.getNameCount()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return opts;
+    }
+}